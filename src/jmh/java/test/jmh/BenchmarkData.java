@@ -0,0 +1,159 @@
+package test.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.io.FileUtils;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * Shared routines for the JMH benchmarks: They load the bundled TSPLib
+ * instances, create reproducible random tours, and wrap runs of
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction
+ * objective functions} whose log files are written to a temporary
+ * directory. All random data is derived from {@link #SEED}, so that the
+ * results of different versions of the code can be compared.
+ */
+public final class BenchmarkData {
+
+  /** the seed of all random data used in the benchmarks: {@value} */
+  public static final long SEED = 0x75B5C0DE5EEDL;
+
+  /** forbidden */
+  private BenchmarkData() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get a bundled instance by its name
+   *
+   * @param name
+   *          the name of the instance
+   * @return the instance
+   */
+  public static final Instance getInstance(final String name) {
+    final Instance inst;
+
+    inst = Instance.forName(name);
+    if (inst == null) {
+      throw new IllegalArgumentException(//
+          "Unknown instance: " + name); //$NON-NLS-1$
+    }
+    return inst;
+  }
+
+  /**
+   * Load the distance computer of a bundled instance in the same
+   * representation which is used in a real run
+   *
+   * @param name
+   *          the name of the instance
+   * @return the distance computer
+   * @throws IOException
+   *           if loading fails
+   */
+  public static final DistanceComputer load(final String name)
+      throws IOException {
+    return BenchmarkData.getInstance(name).load(
+        Benchmark.DEFAULT_MATRIX_LIMIT_DIM);
+  }
+
+  /**
+   * Create a new randomizer seeded with {@link #SEED}
+   *
+   * @return the randomizer
+   */
+  public static final Randomizer createRandom() {
+    return new Randomizer(BenchmarkData.SEED);
+  }
+
+  /**
+   * Create a uniformly random tour over the nodes {@code 1..n}
+   *
+   * @param n
+   *          the number of nodes
+   * @param r
+   *          the randomizer
+   * @return the tour
+   */
+  public static final int[] randomTour(final int n, final Randomizer r) {
+    final int[] tour;
+    int i;
+
+    tour = new int[n];
+    for (i = n; i > 0; i--) {
+      tour[i - 1] = i;
+    }
+    r.shuffle(tour);
+    return tour;
+  }
+
+  /**
+   * Create a temporary directory for the log files of the objective
+   * functions
+   *
+   * @return the directory
+   * @throws IOException
+   *           if the directory cannot be created
+   */
+  public static final File createTempDir() throws IOException {
+    return Files.createTempDirectory("tspSuiteJMH").toFile(); //$NON-NLS-1$
+  }
+
+  /**
+   * Begin a run on a bundled instance. The limits of the run are lifted,
+   * so that the run does not terminate while being benchmarked.
+   *
+   * @param name
+   *          the name of the instance
+   * @param algorithm
+   *          the algorithm
+   * @param dir
+   *          the directory for the log file
+   * @return the objective function
+   */
+  public static final ObjectiveFunction beginRun(final String name,
+      final NamedObject algorithm, final File dir) {
+    final Benchmark benchmark;
+    final ObjectiveFunction f;
+
+    benchmark = new Benchmark(dir, BenchmarkData.getInstance(name));
+    benchmark.setMaxFEs(Long.MAX_VALUE);
+    benchmark.setMaxDEs(Long.MAX_VALUE);
+    benchmark.setMaxRuntime(Long.MAX_VALUE);
+    f = benchmark.createObjective();
+    f.beginRun(algorithm);
+    return f;
+  }
+
+  /**
+   * End a run begun with
+   * {@link #beginRun(String, NamedObject, File)} and delete its log
+   * directory
+   *
+   * @param f
+   *          the objective function, or {@code null}
+   * @param dir
+   *          the directory for the log file, or {@code null}
+   * @throws IOException
+   *           if the directory cannot be deleted
+   */
+  public static final void endRun(final ObjectiveFunction f,
+      final File dir) throws IOException {
+    try {
+      if (f != null) {
+        f.endRun();
+      }
+    } finally {
+      if (dir != null) {
+        FileUtils.delete(dir);
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package test.jmh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * <p>
+ * The entry point for running the JMH benchmarks of the hot paths of the
+ * TSP Suite. It accepts all command line arguments of JMH and only
+ * changes the default result format: Unless specified otherwise, the
+ * results are written as JSON to file {@value #DEFAULT_RESULT_FILE}, so
+ * that the results of different versions can be compared with each other.
+ * </p>
+ * <p>
+ * The benchmarks are compiled with the Maven profile {@code jmh} and can
+ * be run offline, as they only use the instances bundled with the TSP
+ * Suite:
+ * </p>
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec
+ * mvn -Pjmh test-compile exec:exec -Djmh.args=&quot;DistanceComputerBenchmark -p n=100,1000&quot;
+ * </pre>
+ */
+public final class RunBenchmarks {
+
+  /** the default result file: {@value} */
+  public static final String DEFAULT_RESULT_FILE = "jmh-result.json"; //$NON-NLS-1$
+
+  /** forbidden */
+  private RunBenchmarks() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Run the benchmarks
+   *
+   * @param args
+   *          the JMH command line arguments
+   * @throws Exception
+   *           if something goes wrong
+   */
+  public static final void main(final String[] args) throws Exception {
+    final ArrayList<String> list;
+
+    list = new ArrayList<>();
+    if (!(Arrays.asList(args).contains("-rf"))) { //$NON-NLS-1$
+      list.add("-rf"); //$NON-NLS-1$
+      list.add("json"); //$NON-NLS-1$
+      list.add("-rff"); //$NON-NLS-1$
+      list.add(RunBenchmarks.DEFAULT_RESULT_FILE);
+    }
+    for (final String arg : args) {
+      if ((arg != null) && (arg.length() > 0)) {
+        list.add(arg);
+      }
+    }
+
+    Main.main(list.toArray(new String[list.size()]));
+  }
+}
@@ -0,0 +1,187 @@
+package test.jmh.org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.BenchmarkData;
+
+/**
+ * A benchmark of the coordinate-based
+ * {@link org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer
+ * distance computers}: For each edge weight type and for both integer and
+ * floating point coordinates, a random instance of the given size is
+ * created in the TSPLib format and loaded with
+ * {@link org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer#read(java.io.Reader, int, boolean, boolean)}
+ * , which picks the same implementation as for a real instance. We then
+ * measure {@link DistanceComputer#distance(int, int)} for random node
+ * pairs and {@link DistanceComputer#evaluate(int[])} for a random tour.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class DistanceComputerBenchmark {
+
+  /** the number of node pairs per invocation: {@value} */
+  private static final int PAIRS = 1024;
+
+  /** the edge weight type */
+  @Param({ "EUC_2D", "CEIL_2D", "ATT", "GEO", "MAN_2D", "MAX_2D",
+      "EUC_3D", "MAN_3D", "MAX_3D", "XRAY1" })
+  public String type;
+
+  /** are the coordinates integers? */
+  @Param({ "true", "false" })
+  public boolean intCoords;
+
+  /** the number of nodes */
+  @Param({ "100", "1000", "10000", "85900" })
+  public int n;
+
+  /** the distance computer */
+  private DistanceComputer m_dist;
+
+  /** the first nodes of the pairs */
+  private int[] m_a;
+
+  /** the second nodes of the pairs */
+  private int[] m_b;
+
+  /** the tour */
+  private int[] m_tour;
+
+  /** create */
+  public DistanceComputerBenchmark() {
+    super();
+  }
+
+  /**
+   * Create a random coordinate
+   *
+   * @param r
+   *          the randomizer
+   * @param geo
+   *          is this a coordinate in the {@code DDD.MM} format?
+   * @param max
+   *          the maximum (for geographical coordinates: the maximum
+   *          degree)
+   * @param sb
+   *          the string builder to append to
+   */
+  private final void __coord(final Randomizer r, final boolean geo,
+      final int max, final StringBuilder sb) {
+    sb.append(' ');
+    if (geo) {
+      if (this.intCoords) {
+        sb.append(r.nextInt((max << 1) + 1) - max);
+      } else {
+        sb.append((r.nextInt((max << 1) + 1) - max)
+            + (0.01d * r.nextInt(60)));
+      }
+    } else {
+      if (this.intCoords) {
+        sb.append(r.nextInt(max));
+      } else {
+        sb.append(r.nextDouble() * max);
+      }
+    }
+  }
+
+  /**
+   * Create the instance and the random data
+   *
+   * @throws IOException
+   *           if loading fails
+   */
+  @Setup
+  public void setup() throws IOException {
+    final Randomizer r;
+    final StringBuilder sb;
+    final boolean geo, threeD;
+    int i;
+
+    r = BenchmarkData.createRandom();
+    geo = "GEO".equals(this.type); //$NON-NLS-1$
+    threeD = this.type.endsWith("3D") || //$NON-NLS-1$
+        "XRAY1".equals(this.type); //$NON-NLS-1$
+
+    sb = new StringBuilder();
+    sb.append("NAME: jmh\nTYPE: TSP\nDIMENSION: "); //$NON-NLS-1$
+    sb.append(this.n);
+    sb.append("\nEDGE_WEIGHT_TYPE: "); //$NON-NLS-1$
+    sb.append(this.type);
+    sb.append("\nNODE_COORD_SECTION\n"); //$NON-NLS-1$
+    for (i = 1; i <= this.n; i++) {
+      sb.append(i);
+      this.__coord(r, geo, (geo ? 89 : 100000), sb);
+      this.__coord(r, geo, (geo ? 179 : 100000), sb);
+      if (threeD) {
+        this.__coord(r, geo, 100000, sb);
+      }
+      sb.append('\n');
+    }
+    sb.append("EOF\n"); //$NON-NLS-1$
+
+    this.m_dist = DistanceComputer.read(new StringReader(sb.toString()),
+        0, this.intCoords, true);
+
+    this.m_a = new int[DistanceComputerBenchmark.PAIRS];
+    this.m_b = new int[DistanceComputerBenchmark.PAIRS];
+    for (i = DistanceComputerBenchmark.PAIRS; (--i) >= 0;) {
+      this.m_a[i] = (1 + r.nextInt(this.n));
+      this.m_b[i] = (1 + r.nextInt(this.n));
+    }
+    this.m_tour = BenchmarkData.randomTour(this.n, r);
+  }
+
+  /**
+   * Compute the distances of random node pairs
+   *
+   * @return the sum of the distances
+   */
+  @Benchmark
+  @OperationsPerInvocation(DistanceComputerBenchmark.PAIRS)
+  public long distance() {
+    final DistanceComputer dist;
+    final int[] a, b;
+    long sum;
+    int i;
+
+    dist = this.m_dist;
+    a = this.m_a;
+    b = this.m_b;
+    sum = 0L;
+    for (i = a.length; (--i) >= 0;) {
+      sum += dist.distance(a[i], b[i]);
+    }
+    return sum;
+  }
+
+  /**
+   * Compute the length of a random tour
+   *
+   * @return the tour length
+   */
+  @Benchmark
+  public long evaluate() {
+    return this.m_dist.evaluate(this.m_tour);
+  }
+}
@@ -0,0 +1,122 @@
+package test.jmh.org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.BenchmarkData;
+
+/**
+ * A benchmark of the matrix-based
+ * {@link org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer
+ * distance computers}: The symmetric instances are converted to a
+ * triangular distance matrix regardless of their size, the asymmetric
+ * instances are stored as full matrices anyway. We measure
+ * {@link DistanceComputer#distance(int, int)} for random node pairs and
+ * {@link DistanceComputer#evaluate(int[])} for a random tour.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class DistanceMatrixBenchmark {
+
+  /** the number of node pairs per invocation: {@value} */
+  private static final int PAIRS = 1024;
+
+  /** the instance */
+  @Param({ "kroA100", "dsj1000", "rl11849", "ftv170", "rbg443" })
+  public String instance;
+
+  /** the distance computer */
+  private DistanceComputer m_dist;
+
+  /** the first nodes of the pairs */
+  private int[] m_a;
+
+  /** the second nodes of the pairs */
+  private int[] m_b;
+
+  /** the tour */
+  private int[] m_tour;
+
+  /** create */
+  public DistanceMatrixBenchmark() {
+    super();
+  }
+
+  /**
+   * Load the instance and create the random data
+   *
+   * @throws IOException
+   *           if loading fails
+   */
+  @Setup
+  public void setup() throws IOException {
+    final Randomizer r;
+    final int n;
+    int i;
+
+    this.m_dist = BenchmarkData.getInstance(this.instance).load(
+        Integer.MAX_VALUE);
+    n = this.m_dist.n();
+
+    r = BenchmarkData.createRandom();
+    this.m_a = new int[DistanceMatrixBenchmark.PAIRS];
+    this.m_b = new int[DistanceMatrixBenchmark.PAIRS];
+    for (i = DistanceMatrixBenchmark.PAIRS; (--i) >= 0;) {
+      this.m_a[i] = (1 + r.nextInt(n));
+      this.m_b[i] = (1 + r.nextInt(n));
+    }
+    this.m_tour = BenchmarkData.randomTour(n, r);
+  }
+
+  /**
+   * Compute the distances of random node pairs
+   *
+   * @return the sum of the distances
+   */
+  @Benchmark
+  @OperationsPerInvocation(DistanceMatrixBenchmark.PAIRS)
+  public long distance() {
+    final DistanceComputer dist;
+    final int[] a, b;
+    long sum;
+    int i;
+
+    dist = this.m_dist;
+    a = this.m_a;
+    b = this.m_b;
+    sum = 0L;
+    for (i = a.length; (--i) >= 0;) {
+      sum += dist.distance(a[i], b[i]);
+    }
+    return sum;
+  }
+
+  /**
+   * Compute the length of a random tour
+   *
+   * @return the tour length
+   */
+  @Benchmark
+  public long evaluate() {
+    return this.m_dist.evaluate(this.m_tour);
+  }
+}
@@ -0,0 +1,127 @@
+package test.jmh.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.BenchmarkData;
+
+/**
+ * A benchmark of the bookkeeping done by
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#registerFE(int[], long)}
+ * for every evaluated solution during a run, i.e., counting the FE,
+ * checking the log and termination conditions, and updating the best
+ * solution. We register a fixed set of random tours with known lengths in
+ * a round-robin fashion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ObjectiveFunctionBenchmark {
+
+  /** the number of tours: {@value} */
+  private static final int TOURS = 16;
+
+  /** the instance */
+  @Param({ "kroA100", "dsj1000", "rl11849", "pla85900" })
+  public String instance;
+
+  /** the directory for the log file */
+  private File m_dir;
+
+  /** the objective function */
+  private ObjectiveFunction m_f;
+
+  /** the tours */
+  private int[][] m_tours;
+
+  /** the tour lengths */
+  private long[] m_lengths;
+
+  /** create */
+  public ObjectiveFunctionBenchmark() {
+    super();
+  }
+
+  /**
+   * Begin the run and create the tours
+   *
+   * @throws IOException
+   *           if the log directory cannot be created
+   */
+  @Setup
+  public void setup() throws IOException {
+    final Randomizer r;
+    int i;
+
+    this.m_dir = BenchmarkData.createTempDir();
+    this.m_f = BenchmarkData.beginRun(this.instance, new NamedObject(
+        "registerFE"), this.m_dir); //$NON-NLS-1$
+
+    r = BenchmarkData.createRandom();
+    this.m_tours = new int[ObjectiveFunctionBenchmark.TOURS][];
+    this.m_lengths = new long[ObjectiveFunctionBenchmark.TOURS];
+    for (i = ObjectiveFunctionBenchmark.TOURS; (--i) >= 0;) {
+      this.m_tours[i] = BenchmarkData.randomTour(this.m_f.n(), r);
+      this.m_lengths[i] = this.m_f.evaluate(this.m_tours[i]);
+    }
+  }
+
+  /**
+   * End the run
+   *
+   * @throws IOException
+   *           if the log directory cannot be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    BenchmarkData.endRun(this.m_f, this.m_dir);
+    this.m_f = null;
+    this.m_dir = null;
+  }
+
+  /**
+   * Register the evaluations of all the tours
+   *
+   * @return the number of improvements
+   */
+  @Benchmark
+  @OperationsPerInvocation(ObjectiveFunctionBenchmark.TOURS)
+  public int registerFE() {
+    final ObjectiveFunction f;
+    final int[][] tours;
+    final long[] lengths;
+    int i, res;
+
+    f = this.m_f;
+    tours = this.m_tours;
+    lengths = this.m_lengths;
+    res = 0;
+    for (i = tours.length; (--i) >= 0;) {
+      if (f.registerFE(tours[i], lengths[i])) {
+        res++;
+      }
+    }
+    return res;
+  }
+}
@@ -0,0 +1,115 @@
+package test.jmh.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch.MultiNeighborhoodSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.BenchmarkData;
+
+/**
+ * A benchmark of
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch.MultiNeighborhoodSearch#localSearch(Individual, ObjectiveFunction)}
+ * : Each invocation performs one complete local search, starting at the
+ * same random tour. The large instances take long, they can be excluded
+ * with, e.g., {@code -p instance=kroA100,dsj1000}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class MultiNeighborhoodSearchBenchmark {
+
+  /** the instance */
+  @Param({ "kroA100", "dsj1000", "rl11849", "pla85900" })
+  public String instance;
+
+  /** the directory for the log file */
+  private File m_dir;
+
+  /** the objective function */
+  private ObjectiveFunction m_f;
+
+  /** the local search */
+  private MultiNeighborhoodSearch m_mns;
+
+  /** the original tour */
+  private int[] m_original;
+
+  /** the individual */
+  private Individual<int[]> m_ind;
+
+  /** create */
+  public MultiNeighborhoodSearchBenchmark() {
+    super();
+  }
+
+  /**
+   * Begin the run and create the tour
+   *
+   * @throws IOException
+   *           if the log directory cannot be created
+   */
+  @Setup
+  public void setup() throws IOException {
+    this.m_mns = new MultiNeighborhoodSearch();
+    this.m_dir = BenchmarkData.createTempDir();
+    this.m_f = BenchmarkData.beginRun(this.instance, this.m_mns,
+        this.m_dir);
+    this.m_mns.beginRun(this.m_f);
+    this.m_original = BenchmarkData.randomTour(this.m_f.n(),
+        BenchmarkData.createRandom());
+    this.m_ind = new Individual<>();
+    this.m_ind.solution = this.m_original.clone();
+  }
+
+  /**
+   * End the run
+   *
+   * @throws IOException
+   *           if the log directory cannot be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    try {
+      this.m_mns.endRun(this.m_f);
+    } finally {
+      BenchmarkData.endRun(this.m_f, this.m_dir);
+      this.m_f = null;
+      this.m_dir = null;
+    }
+  }
+
+  /**
+   * Perform a local search starting at the random tour
+   *
+   * @return the length of the resulting tour
+   */
+  @Benchmark
+  public long localSearch() {
+    final Individual<int[]> ind;
+
+    ind = this.m_ind;
+    System.arraycopy(this.m_original, 0, ind.solution, 0,
+        this.m_original.length);
+    this.m_mns.localSearch(ind, this.m_f);
+    return ind.tourLength;
+  }
+}
@@ -0,0 +1,202 @@
+package test.jmh.org.logisticPlanning.tsp.solving.operators.permutation.localOpt;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.ExhaustivelyEnumeratingLocal3Optimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.ExhaustivelyEnumeratingLocal4Optimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.ExhaustivelyEnumeratingLocal5Optimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.ExhaustivelyEnumeratingLocal6Optimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.LocalOptimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator;
+import org.logisticPlanning.utils.NamedObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.BenchmarkData;
+
+/**
+ * <p>
+ * A benchmark of the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.LocalOptimizer
+ * local optimizers}. One invocation applies the optimizer to every
+ * sub-path of a copy of the same random tour, in a single sweep.
+ * </p>
+ * <p>
+ * Three kinds of optimizers are compared for each sub-path length: the
+ * {@code static} ones are the exhaustively enumerating optimizers
+ * generated once by the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.CodeGenerator}
+ * and shipped as source code (e.g.,
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.ExhaustivelyEnumeratingLocal6Optimizer}
+ * ), the {@code generated} ones are produced and compiled at runtime by
+ * the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator}
+ * , and {@code dp} denotes the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer}
+ * .
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class LocalOptimizerBenchmark {
+
+  /** the kind of optimizer */
+  @Param({ "static", "generated", "dp" })
+  public String kind;
+
+  /** the sub-path length */
+  @Param({ "3", "4", "5", "6" })
+  public int length;
+
+  /** the instance */
+  @Param({ "kroA100", "dsj1000", "rl11849", "pla85900" })
+  public String instance;
+
+  /** the directory for the log file */
+  private File m_dir;
+
+  /** the objective function */
+  private ObjectiveFunction m_f;
+
+  /** the optimizer */
+  private LocalOptimizer m_opt;
+
+  /** the original tour */
+  private int[] m_original;
+
+  /** the tour to optimize */
+  private int[] m_tour;
+
+  /** create */
+  public LocalOptimizerBenchmark() {
+    super();
+  }
+
+  /**
+   * Create the static optimizer for the given length
+   *
+   * @param length
+   *          the length
+   * @return the optimizer
+   */
+  private static final LocalOptimizer __createStatic(final int length) {
+    switch (length) {
+      case 3: {
+        return new ExhaustivelyEnumeratingLocal3Optimizer();
+      }
+      case 4: {
+        return new ExhaustivelyEnumeratingLocal4Optimizer();
+      }
+      case 5: {
+        return new ExhaustivelyEnumeratingLocal5Optimizer();
+      }
+      case 6: {
+        return new ExhaustivelyEnumeratingLocal6Optimizer();
+      }
+      default: {
+        throw new IllegalArgumentException(//
+            "No static optimizer for length " + length); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * Begin the run and create the optimizer and tour
+   *
+   * @throws IOException
+   *           if the log directory cannot be created
+   */
+  @Setup
+  public void setup() throws IOException {
+    switch (this.kind) {
+      case "static": { //$NON-NLS-1$
+        this.m_opt = LocalOptimizerBenchmark.__createStatic(this.length);
+        break;
+      }
+      case "generated": { //$NON-NLS-1$
+        this.m_opt = RuntimeCodeGenerator.createOptimizer(this.length,
+            true);
+        if (this.m_opt instanceof DynamicProgrammingLocalOptimizer) {
+          throw new IllegalStateException(//
+              "No Java compiler available to generate the optimizer."); //$NON-NLS-1$
+        }
+        break;
+      }
+      case "dp": { //$NON-NLS-1$
+        this.m_opt = new DynamicProgrammingLocalOptimizer(this.length);
+        break;
+      }
+      default: {
+        throw new IllegalArgumentException(//
+            "Unknown kind of optimizer: " + this.kind); //$NON-NLS-1$
+      }
+    }
+
+    this.m_dir = BenchmarkData.createTempDir();
+    this.m_f = BenchmarkData.beginRun(this.instance, this.m_opt,
+        this.m_dir);
+    this.m_opt.beginRun(this.m_f);
+    this.m_original = BenchmarkData.randomTour(this.m_f.n(),
+        BenchmarkData.createRandom());
+    this.m_tour = this.m_original.clone();
+  }
+
+  /**
+   * End the run
+   *
+   * @throws IOException
+   *           if the log directory cannot be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    try {
+      this.m_opt.endRun(this.m_f);
+    } finally {
+      BenchmarkData.endRun(this.m_f, this.m_dir);
+      this.m_f = null;
+      this.m_dir = null;
+    }
+  }
+
+  /**
+   * Apply the optimizer to all sub-paths of a copy of the random tour
+   *
+   * @return the total improvement
+   */
+  @Benchmark
+  public long sweep() {
+    final LocalOptimizer opt;
+    final ObjectiveFunction f;
+    final int[] tour;
+    long sum;
+    int i;
+
+    opt = this.m_opt;
+    f = this.m_f;
+    tour = this.m_tour;
+    System.arraycopy(this.m_original, 0, tour, 0, tour.length);
+    sum = 0L;
+    for (i = 0; i < tour.length; i++) {
+      sum += opt.apply(tour, i, f);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,153 @@
+package test.jmh.org.logisticPlanning.tsp.solving.operators.permutation.update;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Left;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Right;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Swap;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.BenchmarkData;
+
+/**
+ * A benchmark of
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator#delta(int[], DistanceComputer, int, int)}
+ * , the move evaluation at the core of the local searches, for random
+ * index pairs in a random tour.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class PermutationUpdateOperatorBenchmark {
+
+  /** the number of moves per invocation: {@value} */
+  private static final int MOVES = 1024;
+
+  /** the operator */
+  @Param({ "swap", "reverse", "rotateLeft", "rotateRight" })
+  public String operator;
+
+  /** the instance */
+  @Param({ "kroA100", "dsj1000", "rl11849", "pla85900" })
+  public String instance;
+
+  /** the operator */
+  private PermutationUpdateOperator m_op;
+
+  /** the distance computer */
+  private DistanceComputer m_dist;
+
+  /** the tour */
+  private int[] m_tour;
+
+  /** the first indexes of the moves */
+  private int[] m_a;
+
+  /** the second indexes of the moves */
+  private int[] m_b;
+
+  /** create */
+  public PermutationUpdateOperatorBenchmark() {
+    super();
+  }
+
+  /**
+   * Load the instance and create the random data
+   *
+   * @throws IOException
+   *           if loading fails
+   */
+  @Setup
+  public void setup() throws IOException {
+    final Randomizer r;
+    final int n;
+    int i, a, b;
+
+    switch (this.operator) {
+      case "swap": { //$NON-NLS-1$
+        this.m_op = PermutationUpdate_Swap.INSTANCE;
+        break;
+      }
+      case "reverse": { //$NON-NLS-1$
+        this.m_op = PermutationUpdate_Reverse.INSTANCE;
+        break;
+      }
+      case "rotateLeft": { //$NON-NLS-1$
+        this.m_op = PermutationUpdate_Rotate_Left.INSTANCE;
+        break;
+      }
+      case "rotateRight": { //$NON-NLS-1$
+        this.m_op = PermutationUpdate_Rotate_Right.INSTANCE;
+        break;
+      }
+      default: {
+        throw new IllegalArgumentException(//
+            "Unknown operator: " + this.operator); //$NON-NLS-1$
+      }
+    }
+
+    this.m_dist = BenchmarkData.load(this.instance);
+    n = this.m_dist.n();
+
+    r = BenchmarkData.createRandom();
+    this.m_tour = BenchmarkData.randomTour(n, r);
+    this.m_a = new int[PermutationUpdateOperatorBenchmark.MOVES];
+    this.m_b = new int[PermutationUpdateOperatorBenchmark.MOVES];
+    for (i = PermutationUpdateOperatorBenchmark.MOVES; (--i) >= 0;) {
+      a = r.nextInt(n);
+      do {
+        b = r.nextInt(n);
+      } while (a == b);
+      this.m_a[i] = a;
+      this.m_b[i] = b;
+    }
+  }
+
+  /**
+   * Evaluate the moves
+   *
+   * @return the sum of the deltas
+   */
+  @Benchmark
+  @OperationsPerInvocation(PermutationUpdateOperatorBenchmark.MOVES)
+  public long delta() {
+    final PermutationUpdateOperator op;
+    final DistanceComputer dist;
+    final int[] tour, a, b;
+    long sum;
+    int i, d;
+
+    op = this.m_op;
+    dist = this.m_dist;
+    tour = this.m_tour;
+    a = this.m_a;
+    b = this.m_b;
+    sum = 0L;
+    for (i = a.length; (--i) >= 0;) {
+      d = op.delta(tour, dist, a[i], b[i]);
+      if (d != PermutationUpdateOperator.NO_EFFECT) {
+        sum += d;
+      }
+    }
+    return sum;
+  }
+}
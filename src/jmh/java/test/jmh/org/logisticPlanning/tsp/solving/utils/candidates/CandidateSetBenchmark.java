@@ -0,0 +1,99 @@
+package test.jmh.org.logisticPlanning.tsp.solving.utils.candidates;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet;
+import org.logisticPlanning.utils.NamedObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.BenchmarkData;
+
+/**
+ * A benchmark of
+ * {@link org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet#allocate(ObjectiveFunction, int, CandidateSet)}
+ * , i.e., of building the nearest-neighbor candidate sets at the
+ * beginning of a run. The candidate set of the previous invocation is
+ * passed in for re-use, just as an algorithm performing several runs
+ * would do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class CandidateSetBenchmark {
+
+  /** the instance */
+  @Param({ "kroA100", "dsj1000", "rl11849", "pla85900" })
+  public String instance;
+
+  /** the number of candidates per node */
+  @Param({ "5", "10" })
+  public int m;
+
+  /** the directory for the log file */
+  private File m_dir;
+
+  /** the objective function */
+  private ObjectiveFunction m_f;
+
+  /** the candidate set */
+  private CandidateSet m_set;
+
+  /** create */
+  public CandidateSetBenchmark() {
+    super();
+  }
+
+  /**
+   * Begin the run
+   *
+   * @throws IOException
+   *           if the log directory cannot be created
+   */
+  @Setup
+  public void setup() throws IOException {
+    this.m_dir = BenchmarkData.createTempDir();
+    this.m_f = BenchmarkData.beginRun(this.instance, new NamedObject(
+        "candidateSet"), this.m_dir); //$NON-NLS-1$
+  }
+
+  /**
+   * End the run
+   *
+   * @throws IOException
+   *           if the log directory cannot be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    BenchmarkData.endRun(this.m_f, this.m_dir);
+    this.m_f = null;
+    this.m_dir = null;
+    this.m_set = null;
+  }
+
+  /**
+   * Allocate the candidate set
+   *
+   * @return the candidate set
+   */
+  @Benchmark
+  public CandidateSet allocate() {
+    return (this.m_set = CandidateSet.allocate(this.m_f, this.m, this.m_set));
+  }
+}
@@ -0,0 +1,420 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * A bounded cache for the distances of a coordinate-based, symmetric
+ * distance computer. Instances whose dimension exceeds the
+ * {@link DistanceComputer#read(java.io.BufferedReader, int, boolean, boolean)
+ * matrix limit} compute each distance from the coordinates, which may
+ * involve square roots or, for geographical coordinates, trigonometric
+ * functions. Local searches, however, evaluate the same few "hot" edges
+ * (between nearby nodes) again and again. This cache keeps these
+ * distances with a memory consumption linear in the given budget instead
+ * of the <code>O(n<sup>2</sup>)</code> of a distance matrix. It has two
+ * levels:
+ * </p>
+ * <ol>
+ * <li>A neighbor slot table with {@code k} slots per node. The slots of a
+ * node can be {@link #cacheNeighbors(int, int[], int[], int, int) primed}
+ * with its nearest neighbors, as done by the candidate sets, or are
+ * otherwise filled on demand with the first {@code k} other nodes for
+ * which a distance is requested.</li>
+ * <li>A direct-mapped table indexed by the node pair, which uses the
+ * remaining memory budget and caches all other distances.</li>
+ * </ol>
+ * <p>
+ * Each entry is one {@code long} holding both the key and the distance,
+ * so that the cache can be shared by multiple threads without locking: An
+ * entry is either read completely or not at all. The cache returns
+ * exactly the same distances as the wrapped distance computer. Batch
+ * requests via {@link #distances(int, int[], int, int, int[])} and
+ * {@link #distanceRow(int, int[])} are scans over many nodes: they are
+ * passed to the wrapped computer directly, as they would only evict the
+ * hot edges.
+ * </p>
+ * <p>
+ * The cache counts its hits and misses, which can be queried via
+ * {@link #getNeighborHits()}, {@link #getTableHits()}, and
+ * {@link #getMisses()}. These counters are not synchronized. A thread
+ * should therefore not use a cache directly if other threads may use it,
+ * too, but obtain its own view via {@link #share()}: All views of a cache
+ * share the cached distances, but each view has its own counters, which
+ * can be reset via {@link #resetStatistics()}. Since the cache always
+ * returns the exact distances, sharing it among threads and runs only
+ * affects the hit rate, never the results.
+ * </p>
+ */
+public final class DistanceCache extends DistanceComputer {
+
+  /** the maximum number of neighbor slots per node: {@value} */
+  public static final int MAX_NEIGHBOR_SLOTS = 8;
+
+  /** the bytes per cache entry: {@value} */
+  private static final int ENTRY_BYTES = 8;
+
+  /** the maximum number of entries in the direct-mapped table */
+  private static final int MAX_TABLE_SIZE = (1 << 30);
+
+  /** the wrapped distance computer */
+  private final DistanceComputer m_source;
+
+  /** the number of neighbor slots per node */
+  private final int m_k;
+
+  /**
+   * the neighbor slots: the {@link #m_k} slots of node {@code i} start at
+   * index {@code (i-1)*k}, each holding the other node in the upper and
+   * the distance in the lower 32 bits, or {@code 0} if empty
+   */
+  private final AtomicLongArray m_slots;
+
+  /**
+   * the direct-mapped table, or {@code null}: each entry holds the
+   * {@code (tag+1)} of the node pair in the upper and the distance in the
+   * lower 32 bits, or {@code 0} if empty
+   */
+  private final AtomicLongArray m_table;
+
+  /** the mask for the table index */
+  private final long m_mask;
+
+  /** the shift giving the tag of a node pair */
+  private final int m_shift;
+
+  /** the hits in the neighbor slots of this view */
+  private long m_neighborHits;
+
+  /** the hits in the direct-mapped table of this view */
+  private long m_tableHits;
+
+  /** the cache misses of this view */
+  private long m_misses;
+
+  /**
+   * create
+   *
+   * @param source
+   *          the wrapped distance computer
+   * @param k
+   *          the number of neighbor slots per node
+   * @param tableBits
+   *          the base-2 logarithm of the size of the direct-mapped table,
+   *          or {@code -1} if there is none
+   */
+  private DistanceCache(final DistanceComputer source, final int k,
+      final int tableBits) {
+    super(source.m_n);
+
+    this.m_source = source;
+    this.m_k = k;
+    this.m_slots = ((k > 0) ? new AtomicLongArray(k * source.m_n) : null);
+    if (tableBits >= 0) {
+      this.m_table = new AtomicLongArray(1 << tableBits);
+      this.m_mask = ((1L << tableBits) - 1L);
+      this.m_shift = tableBits;
+    } else {
+      this.m_table = null;
+      this.m_mask = 0L;
+      this.m_shift = 0;
+    }
+  }
+
+  /**
+   * create a view sharing the cached distances of another cache
+   *
+   * @param shared
+   *          the cache whose distances are shared
+   */
+  private DistanceCache(final DistanceCache shared) {
+    super(shared.m_n);
+
+    this.m_source = shared.m_source;
+    this.m_k = shared.m_k;
+    this.m_slots = shared.m_slots;
+    this.m_table = shared.m_table;
+    this.m_mask = shared.m_mask;
+    this.m_shift = shared.m_shift;
+  }
+
+  /**
+   * Put a cache in front of a distance computer. Distance matrices are
+   * returned as-is, since they need no cache. For the other distance
+   * computers, which must be symmetric, the given memory budget is split
+   * between the neighbor slots, which get up to half of it but at most
+   * {@link #MAX_NEIGHBOR_SLOTS} slots per node, and the direct-mapped
+   * table, whose size is the largest power of two fitting into the rest.
+   *
+   * @param dist
+   *          the distance computer
+   * @param memory
+   *          the memory budget in bytes: if {@code 0}, no cache is used
+   * @return the cached distance computer, or {@code dist} if no cache
+   *         could be created with the given budget
+   */
+  public static final DistanceComputer cache(final DistanceComputer dist,
+      final long memory) {
+    final long n, maxPair;
+    long rest;
+    int k, bits;
+
+    if ((memory <= 0L) || (dist instanceof _DistanceMatrix)
+        || (dist instanceof DistanceCache)) {
+      return dist;
+    }
+
+    n = dist.m_n;
+    k = ((int) (Math.min(DistanceCache.MAX_NEIGHBOR_SLOTS,
+        ((memory >>> 1) / (n * DistanceCache.ENTRY_BYTES)))));
+    rest = ((memory - (n * k * DistanceCache.ENTRY_BYTES)) / //
+    DistanceCache.ENTRY_BYTES);
+
+    bits = -1;
+    if (rest > 1L) {
+      rest = Math.min(DistanceCache.MAX_TABLE_SIZE,
+          Long.highestOneBit(rest));
+      bits = Long.numberOfTrailingZeros(rest);
+      // the tag of the largest node pair index must fit into 32 bits
+      maxPair = (((n * (n - 1L)) >>> 1) - 1L);
+      if ((maxPair >>> bits) >= 0xffffffffL) {
+        bits = -1;
+      }
+    }
+
+    if ((k <= 0) && (bits < 0)) {
+      return dist;
+    }
+    return new DistanceCache(dist, k, bits);
+  }
+
+  /**
+   * Create a view of this cache which shares all cached distances with it,
+   * but has its own hit and miss counters, which start at zero. Each
+   * thread using the cache should use its own view.
+   *
+   * @return the new view
+   */
+  public final DistanceCache share() {
+    return new DistanceCache(this);
+  }
+
+  /**
+   * Set the hit and miss counters of this view to zero, e.g., at the
+   * beginning of a run. The cached distances are kept.
+   */
+  public final void resetStatistics() {
+    this.m_neighborHits = 0L;
+    this.m_tableHits = 0L;
+    this.m_misses = 0L;
+  }
+
+  /**
+   * Get the wrapped distance computer
+   *
+   * @return the wrapped distance computer
+   */
+  public final DistanceComputer getSource() {
+    return this.m_source;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int i, final int j) {
+    final AtomicLongArray slots, table;
+    final int k, dist;
+    final long pair;
+    int a, b, s, freeI, freeJ, index, baseI, baseJ;
+    long e, tag;
+
+    if (i == j) {
+      return this.m_source.distance(i, j);
+    }
+
+    freeI = freeJ = index = (-1);
+    baseI = baseJ = 0;
+    tag = 0L;
+
+    slots = this.m_slots;
+    k = this.m_k;
+    if (slots != null) {
+      baseI = ((i - 1) * k);
+      for (s = 0; s < k; s++) {
+        e = slots.get(baseI + s);
+        if (e == 0L) {
+          freeI = s;
+          break;
+        }
+        if (((int) (e >>> 32)) == j) {
+          this.m_neighborHits++;
+          return ((int) e);
+        }
+      }
+
+      baseJ = ((j - 1) * k);
+      for (s = 0; s < k; s++) {
+        e = slots.get(baseJ + s);
+        if (e == 0L) {
+          freeJ = s;
+          break;
+        }
+        if (((int) (e >>> 32)) == i) {
+          this.m_neighborHits++;
+          return ((int) e);
+        }
+      }
+    }
+
+    table = this.m_table;
+    if (table != null) {
+      if (i < j) {
+        a = i;
+        b = j;
+      } else {
+        a = j;
+        b = i;
+      }
+      pair = ((((((long) b) - 1L) * (b - 2L)) >>> 1) + (a - 1L));
+      index = ((int) (pair & this.m_mask));
+      tag = ((pair >>> this.m_shift) + 1L);
+      e = table.get(index);
+      if ((e >>> 32) == tag) {
+        this.m_tableHits++;
+        return ((int) e);
+      }
+    }
+
+    this.m_misses++;
+    dist = this.m_source.distance(i, j);
+
+    if (freeI >= 0) {
+      slots.lazySet((baseI + freeI),
+          ((((long) j) << 32) | (dist & 0xffffffffL)));
+    }
+    if (freeJ >= 0) {
+      slots.lazySet((baseJ + freeJ),
+          ((((long) i) << 32) | (dist & 0xffffffffL)));
+    }
+    if (index >= 0) {
+      table.lazySet(index, ((tag << 32) | (dist & 0xffffffffL)));
+    }
+
+    return dist;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    this.m_source.distances(from, to, off, len, out);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void distanceRow(final int from, final int[] out) {
+    this.m_source.distanceRow(from, out);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The neighbor slots of {@code node} are replaced with the first (at
+   * most {@code k}) given neighbors.
+   * </p>
+   */
+  @Override
+  public final void cacheNeighbors(final int node, final int[] neighbors,
+      final int[] dists, final int off, final int len) {
+    final AtomicLongArray slots;
+    final int k, base, use;
+    int s;
+
+    slots = this.m_slots;
+    if (slots == null) {
+      return;
+    }
+
+    k = this.m_k;
+    base = ((node - 1) * k);
+    use = Math.min(k, len);
+    for (s = 0; s < use; s++) {
+      slots.set((base + s), ((((long) (neighbors[off + s])) << 32) | //
+          (dists[off + s] & 0xffffffffL)));
+    }
+    for (; s < k; s++) {
+      slots.set((base + s), 0L);
+    }
+  }
+
+  /**
+   * Get the number of neighbor slots per node
+   *
+   * @return the number of neighbor slots per node
+   */
+  public final int getNeighborSlots() {
+    return this.m_k;
+  }
+
+  /**
+   * Get the number of entries of the direct-mapped table
+   *
+   * @return the number of entries of the direct-mapped table
+   */
+  public final int getTableSize() {
+    return ((this.m_table != null) ? this.m_table.length() : 0);
+  }
+
+  /**
+   * Get the number of distance requests to this view answered from the
+   * neighbor slots
+   *
+   * @return the number of distance requests answered from the neighbor
+   *         slots
+   */
+  public final long getNeighborHits() {
+    return this.m_neighborHits;
+  }
+
+  /**
+   * Get the number of distance requests to this view answered from the
+   * direct-mapped table
+   *
+   * @return the number of distance requests answered from the
+   *         direct-mapped table
+   */
+  public final long getTableHits() {
+    return this.m_tableHits;
+  }
+
+  /**
+   * Get the number of distance requests to this view passed on to the
+   * wrapped distance computer
+   *
+   * @return the number of distance requests passed on to the wrapped
+   *         distance computer
+   */
+  public final long getMisses() {
+    return this.m_misses;
+  }
+
+  /**
+   * Get the fraction of the distance requests to this view answered from
+   * the cache
+   *
+   * @return the hit rate, in {@code [0,1]}
+   */
+  public final double getHitRate() {
+    final long hits, total;
+
+    hits = (this.m_neighborHits + this.m_tableHits);
+    total = (hits + this.m_misses);
+    return ((total > 0L) ? (hits / ((double) total)) : 0d);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void print(final PrintWriter out) {
+    this.m_source.print(out);
+  }
+}
@@ -442,6 +442,81 @@ public abstract class DistanceComputer extends _Constants {
    */
   public abstract int distance(final int i, final int j);
 
+  /**
+   * Compute the distances from one city or node to several others at
+   * once: For each index {@code k} in {@code off..off+len-1}, store
+   * <code>{@link #distance(int, int) distance}(from, to[k])</code> in
+   * {@code out[k]}. The arrays {@code to} and {@code out} may be the same.
+   * This is faster than calling {@link #distance(int, int)} {@code len}
+   * times, as the coordinates of {@code from} need to be loaded only once
+   * and the distance computers implement this method as a tight loop.
+   *
+   * @param from
+   *          the city (or node) to compute the distances from, 1-based
+   * @param to
+   *          the array with the cities (or nodes) to compute the
+   *          distances to, 1-based
+   * @param off
+   *          the index of the first city in {@code to}
+   * @param len
+   *          the number of distances to compute
+   * @param out
+   *          the array to receive the distances, at the same indexes as
+   *          the cities in {@code to}
+   */
+  public void distances(final int from, final int[] to, final int off,
+      final int len, final int[] out) {
+    final int end;
+    int k;
+
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      out[k] = this.distance(from, to[k]);
+    }
+  }
+
+  /**
+   * Compute the distances from one city or node to all cities: Store
+   * <code>{@link #distance(int, int) distance}(from, j)</code> in
+   * {@code out[j-1]} for each {@code j} in {@code 1..}{@link #n()}. For
+   * distance matrices, this copies directly from the matrix.
+   *
+   * @param from
+   *          the city (or node) to compute the distances from, 1-based
+   * @param out
+   *          the array to receive the distances, must have at least
+   *          {@link #n()} elements
+   */
+  public void distanceRow(final int from, final int[] out) {
+    int j;
+
+    for (j = this.m_n; j > 0; j--) {
+      out[j - 1] = this.distance(from, j);
+    }
+  }
+
+  /**
+   * Tell the distance computer that the given nodes are the nearest
+   * neighbors of {@code node}, so that a {@link DistanceCache cache} can
+   * keep their distances. This method does nothing by default.
+   *
+   * @param node
+   *          the city (or node) whose neighbors are given, 1-based
+   * @param neighbors
+   *          the array with the neighbors, 1-based, nearest first
+   * @param dists
+   *          the distances from {@code node} to the neighbors, at the
+   *          same indexes as the neighbors
+   * @param off
+   *          the index of the first neighbor in {@code neighbors}
+   * @param len
+   *          the number of neighbors
+   */
+  public void cacheNeighbors(final int node, final int[] neighbors,
+      final int[] dists, final int off, final int len) {
+    //
+  }
+
   /**
    * <p>
    * Compute the total round-trip distance of a complete candidate solution
@@ -438,6 +438,30 @@ final class _2DCeiledEuclideanDistanceDouble extends _2DDoubleCoords {
 
     return ((int) (0.5d + Math.ceil(Math.sqrt((x * x) + (y * y)))));
   }
+  /** {@inheritDoc} */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    final double[] m;
+    final double xf, yf;
+    final int end;
+    int a, k;
+    double x, y;
+
+    m = this.m_coords;
+    a = ((from - 1) << 1);
+    xf = m[a++];
+    yf = m[a];
+
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      a = ((to[k] - 1) << 1);
+      x = (xf - m[a++]);
+      y = (yf - m[a]);
+      out[k] = ((int) (0.5d + Math.ceil(Math.sqrt((x * x) + (y * y)))));
+    }
+  }
+
 
   /**
    * Compute the total round-trip distance of a complete candidate solution
@@ -497,6 +497,17 @@ abstract class _2DDoubleCoords extends DistanceComputer {
     for (a = 0; a < b; a++) {
       c[a] = s.readDouble();
     }
+
+    this._loaded();
+  }
+
+  /**
+   * This method is called after the coordinates have been loaded or
+   * de-serialized. It allows sub-classes to compute additional per-node
+   * data. By default, it does nothing.
+   */
+  void _loaded() {
+    //
   }
 
   /** {@inheritDoc} */
@@ -519,6 +530,7 @@ abstract class _2DDoubleCoords extends DistanceComputer {
           this.setCoords(nums.nextInt(), nums.nextDouble(),
               nums.nextDouble());
         }
+        this._loaded();
         return;
       }
 
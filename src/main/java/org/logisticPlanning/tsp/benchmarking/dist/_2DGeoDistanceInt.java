@@ -525,6 +525,9 @@ import java.io.PrintWriter;
  */
 final class _2DGeoDistanceInt extends _2DIntCoords {
 
+  /** the per-node table of the radians and their sines and cosines */
+  private transient _GeoTable m_table;
+
   /**
    * create
    *
@@ -537,38 +540,44 @@ final class _2DGeoDistanceInt extends _2DIntCoords {
 
   /** {@inheritDoc} */
   @Override
-  public final int distance(final int i, final int j) {
-
-    if (i == j) {
-      return 0;
-    }
-
+  final void _loaded() {
     final int[] m;
-    int a;
-    int x, y;
-
-    final double latA, longA, latB, longB, q1, q2, q3;
+    final _GeoTable table;
+    int a, i, x, y;
 
     m = this.m_coords;
+    this.m_table = table = new _GeoTable(this.m_n);
+    a = 0;
+    for (i = 1; i <= this.m_n; i++) {
+      x = m[a++];
+      y = m[a++];
+      table._set(i, ((3.141592d * x) / 180d), ((3.141592d * y) / 180d));
+    }
+  }
 
-    a = ((i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    latA = ((3.141592d * x) / 180d);
-    longA = ((3.141592d * y) / 180d);
-
-    a = ((j - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    latB = ((3.141592d * x) / 180d);
-    longB = ((3.141592d * y) / 180d);
-
-    q1 = Math.cos(longA - longB);
-    q2 = Math.cos(latA - latB);
-    q3 = Math.cos(latA + latB);
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int i, final int j) {
+    if (i == j) {
+      return 0;
+    }
+    return this.m_table._distance(i, j);
+  }
 
-    return ((int) ((6378.388d * Math
-        .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
+  /** {@inheritDoc} */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    final _GeoTable table;
+    final int end;
+    int j, k;
+
+    table = this.m_table;
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      j = to[k];
+      out[k] = ((j == from) ? 0 : table._distance(from, j));
+    }
   }
 
   /**
@@ -588,40 +597,16 @@ final class _2DGeoDistanceInt extends _2DIntCoords {
    */
   @Override
   public final long evaluate(final int[] nodes) {
-    int a, old_i;
+    final _GeoTable table;
+    int old_i;
     long totalDist;
-    final int[] m;
-    int x, y;
-
-    double lat1, long1, lat2, long2, q1, q2, q3;
 
+    table = this.m_table;
     old_i = nodes[nodes.length - 1];
     totalDist = 0l;
-    m = this.m_coords;
-
-    a = ((old_i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    lat2 = ((3.141592d * x) / 180d);
-    long2 = ((3.141592d * y) / 180d);
 
     for (final int cur_i : nodes) {
-      a = ((cur_i - 1) << 1);
-
-      x = m[a++];
-      y = m[a];
-      lat1 = ((3.141592d * x) / 180d);
-      long1 = ((3.141592d * y) / 180d);
-
-      q1 = Math.cos(long2 - long1);
-      q2 = Math.cos(lat2 - lat1);
-      q3 = Math.cos(lat2 + lat1);
-
-      totalDist += ((int) ((6378.388d * Math
-          .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
-      long2 = long1;
-      lat2 = lat1;
-
+      totalDist += table._distance(old_i, cur_i);
       old_i = cur_i;
     }
 
@@ -648,41 +633,17 @@ final class _2DGeoDistanceInt extends _2DIntCoords {
    */
   @Override
   public final long evaluateAdj(final int[] adj) {
-    int a, old_i, cur_i;
+    final _GeoTable table;
+    int old_i, cur_i;
     long totalDist;
-    final int[] m;
-    int x, y;
-
-    double lat1, long1, lat2, long2, q1, q2, q3;
 
+    table = this.m_table;
     old_i = 1;
     totalDist = 0l;
-    m = this.m_coords;
-
-    a = ((old_i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    lat2 = ((3.141592d * x) / 180d);
-    long2 = ((3.141592d * y) / 180d);
 
     for (;;) {
       cur_i = adj[old_i - 1];
-      a = ((cur_i - 1) << 1);
-
-      x = m[a++];
-      y = m[a];
-      lat1 = ((3.141592d * x) / 180d);
-      long1 = ((3.141592d * y) / 180d);
-
-      q1 = Math.cos(long2 - long1);
-      q2 = Math.cos(lat2 - lat1);
-      q3 = Math.cos(lat2 + lat1);
-
-      totalDist += ((int) ((6378.388d * Math
-          .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
-      long2 = long1;
-      lat2 = lat1;
-
+      totalDist += table._distance(old_i, cur_i);
       if (cur_i == 1) {
         return totalDist;
       }
@@ -496,6 +496,17 @@ abstract class _2DIntCoords extends DistanceComputer {
     for (a = 0; a < b; a++) {
       c[a] = s.readInt();
     }
+
+    this._loaded();
+  }
+
+  /**
+   * This method is called after the coordinates have been loaded or
+   * de-serialized. It allows sub-classes to compute additional per-node
+   * data. By default, it does nothing.
+   */
+  void _loaded() {
+    //
   }
 
   /** {@inheritDoc} */
@@ -517,6 +528,7 @@ abstract class _2DIntCoords extends DistanceComputer {
         for (i = this.m_n; (--i) >= 0;) {
           this.setCoords(nums.nextInt(), nums.nextInt(), nums.nextInt());
         }
+        this._loaded();
         return;
       }
 
@@ -414,6 +414,27 @@ final class _2DManhattanDistanceInt extends _2DIntCoords {
     a = ((j - 1) << 1);
     return (Math.abs(x - m[a++]) + Math.abs(y - m[a]));
   }
+  /** {@inheritDoc} */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    final int[] m;
+    final int xf, yf;
+    final int end;
+    int a, k;
+
+    m = this.m_coords;
+    a = ((from - 1) << 1);
+    xf = m[a++];
+    yf = m[a];
+
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      a = ((to[k] - 1) << 1);
+      out[k] = (Math.abs(xf - m[a++]) + Math.abs(yf - m[a]));
+    }
+  }
+
 
   /**
    * Compute the total round-trip distance of a complete candidate solution
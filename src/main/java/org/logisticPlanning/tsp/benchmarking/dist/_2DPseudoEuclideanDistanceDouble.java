@@ -455,6 +455,34 @@ final class _2DPseudoEuclideanDistanceDouble extends _2DDoubleCoords {
     return ((tij < rij) ? (tij + 1) : tij);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    final double[] m;
+    final double xf, yf;
+    final int end;
+    int a, k;
+    double x, y;
+    double rij;
+    int tij;
+
+    m = this.m_coords;
+    a = ((from - 1) << 1);
+    xf = m[a++];
+    yf = m[a];
+
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      a = ((to[k] - 1) << 1);
+      x = (xf - m[a++]);
+      y = (yf - m[a]);
+      rij = Math.sqrt(((x * x) + (y * y)) * 0.1d);
+      tij = ((int) (0.5d + (rij)));
+      out[k] = ((tij < rij) ? (tij + 1) : tij);
+    }
+  }
+
   /**
    * Compute the total round-trip distance of a complete candidate solution
    * to the TSP. This function does not just add up distances like what the
@@ -439,6 +439,32 @@ final class _3DEuclideanDistanceDouble extends _3DDoubleCoords {
 
     return ((int) (0.5d + (Math.sqrt((x * x) + (y * y) + (z * z)))));
   }
+  /** {@inheritDoc} */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    final double[] m;
+    final double xf, yf, zf;
+    final int end;
+    int a, k;
+    double x, y, z;
+
+    m = this.m_coords;
+    a = ((from - 1) * 3);
+    xf = m[a++];
+    yf = m[a++];
+    zf = m[a];
+
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      a = ((to[k] - 1) * 3);
+      x = (xf - m[a++]);
+      y = (yf - m[a++]);
+      z = (zf - m[a]);
+      out[k] = ((int) (0.5d + (Math.sqrt((x * x) + (y * y) + (z * z)))));
+    }
+  }
+
 
   /**
    * Compute the total round-trip distance of a complete candidate solution
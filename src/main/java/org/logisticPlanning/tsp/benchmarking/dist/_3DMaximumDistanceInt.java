@@ -509,6 +509,29 @@ final class _3DMaximumDistanceInt extends _3DIntCoords {
     return (Math.max(Math.abs(x - m[a++]),
         Math.max(Math.abs(y - m[a++]), Math.abs(z - m[a++]))));
   }
+  /** {@inheritDoc} */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    final int[] m;
+    final int xf, yf, zf;
+    final int end;
+    int a, k;
+
+    m = this.m_coords;
+    a = ((from - 1) * 3);
+    xf = m[a++];
+    yf = m[a++];
+    zf = m[a];
+
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      a = ((to[k] - 1) * 3);
+      out[k] = (Math.max(Math.abs(xf - m[a++]),
+          Math.max(Math.abs(yf - m[a++]), Math.abs(zf - m[a]))));
+    }
+  }
+
 
   /**
    * Compute the total round-trip distance of a complete candidate solution
@@ -534,6 +534,31 @@ final class _3DXRay1DistanceInt extends _3DIntCoords {
         Math.max(Math.abs(m[a++] - chiw), Math.abs(m[a++] - twothw))))));
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    final int[] m;
+    final int phiw, chiw, twothw;
+    final int end;
+    int a, k;
+    int t;
+
+    m = this.m_coords;
+    a = ((from - 1) * 3);
+    phiw = m[a++];
+    chiw = m[a++];
+    twothw = m[a];
+
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      a = ((to[k] - 1) * 3);
+      t = Math.abs(m[a++] - phiw);
+      out[k] = ((int) (0.5d + (Math.max(Math.min(t, Math.abs(t - (360))),
+          Math.max(Math.abs(m[a++] - chiw), Math.abs(m[a] - twothw))))));
+    }
+  }
+
   /**
    * Compute the total round-trip distance of a complete candidate solution
    * to the TSP. This function does not just add up distances like what the
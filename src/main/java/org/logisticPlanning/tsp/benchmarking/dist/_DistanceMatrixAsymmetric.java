@@ -96,23 +96,70 @@ class _DistanceMatrixAsymmetric extends _DistanceMatrix {
 
   /** {@inheritDoc} */
   @Override
-  final void fillFrom(final DistanceComputer src) {
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
     final int[] m;
-    int i, j, k;
+    final int base, end;
+    int k, j;
 
     m = this.m_data;
-    k = 0;
-
-    for (i = 1; i <= this.m_n; i++) {
-      for (j = 1; j <= this.m_n; j++) {
-        if (i == j) {
-          continue;
+    base = ((from - 1) * (this.m_n - 1));
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      j = to[k];
+      if (j > from) {
+        out[k] = m[(base + j) - 2];
+      } else {
+        if (j < from) {
+          out[k] = m[(base + j) - 1];
+        } else {
+          out[k] = 0;
         }
-        m[k++] = src.distance(i, j);
       }
     }
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void distanceRow(final int from, final int[] out) {
+    final int base;
+
+    // the row is stored consecutively, without the diagonal element
+    base = ((from - 1) * (this.m_n - 1));
+    System.arraycopy(this.m_data, base, out, 0, (from - 1));
+    out[from - 1] = 0;
+    System.arraycopy(this.m_data, (base + from - 1), out, from,
+        (this.m_n - from));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void fillFrom(final DistanceComputer src) {
+    final int[] m, to, row;
+    final int n;
+    int i, k;
+
+    m = this.m_data;
+    n = this.m_n;
+    to = new int[n - 1];
+    row = new int[n - 1];
+    for (i = to.length; i > 0; i--) {
+      to[i - 1] = (i + 1);
+    }
+
+    // the row of city i holds the distances to all cities except i, so
+    // going from row i-1 to row i only replaces city i by city i-1
+    k = 0;
+    for (i = 1; i <= n; i++) {
+      if (i > 1) {
+        to[i - 2] = (i - 1);
+      }
+      src.distances(i, to, 0, to.length, row);
+      System.arraycopy(row, 0, m, k, row.length);
+      k += row.length;
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public final void print(final PrintWriter out) {
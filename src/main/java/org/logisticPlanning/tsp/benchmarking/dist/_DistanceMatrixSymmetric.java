@@ -108,21 +108,71 @@ final class _DistanceMatrixSymmetric extends _DistanceMatrix {
 
   /** {@inheritDoc} */
   @Override
-  final void fillFrom(final DistanceComputer src) {
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
     final int[] m;
-    int i, j, k;
+    final int base, end;
+    int k, j;
 
     m = this.m_data;
-    i = 1;
-    j = 1;
-
-    for (k = 0; k < m.length; k++) {
-      j++;
-      if (j >= i) {
-        i++;
-        j = 1;
+    base = ((((from - 1) * (from - 2)) >>> 1) - 1);
+    end = (off + len);
+    for (k = off; k < end; k++) {
+      j = to[k];
+      if (j < from) {
+        out[k] = m[base + j];
+      } else {
+        if (j > from) {
+          out[k] = m[((((j - 1) * (j - 2)) >>> 1) + from) - 1];
+        } else {
+          out[k] = 0;
+        }
       }
-      m[k] = src.distance(i, j);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void distanceRow(final int from, final int[] out) {
+    final int[] m;
+    final int n;
+    int j, k;
+
+    m = this.m_data;
+    n = this.m_n;
+
+    // the distances to the cities j<from are stored consecutively
+    System.arraycopy(m, (((from - 1) * (from - 2)) >>> 1), out, 0,
+        (from - 1));
+    out[from - 1] = 0;
+
+    // the distances to the cities j>from are in column from
+    k = ((((from * (from - 1)) >>> 1) + from) - 1);
+    for (j = from; j < n;) {
+      out[j] = m[k];
+      k += (j++);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void fillFrom(final DistanceComputer src) {
+    final int[] m, to, row;
+    int i, k;
+
+    m = this.m_data;
+    to = new int[this.m_n];
+    row = new int[this.m_n];
+    for (i = to.length; i > 0; i--) {
+      to[i - 1] = i;
+    }
+
+    // row i holds the distances to the cities 1..i-1
+    k = 0;
+    for (i = 2; i <= this.m_n; i++) {
+      src.distances(i, to, 0, (i - 1), row);
+      System.arraycopy(row, 0, m, k, (i - 1));
+      k += (i - 1);
     }
   }
 
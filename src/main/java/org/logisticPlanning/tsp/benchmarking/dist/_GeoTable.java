@@ -0,0 +1,149 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A table holding, for each node of a
+ * {@link org.logisticPlanning.tsp.benchmarking.dist._2DGeoDistanceDouble
+ * geographical} {@link org.logisticPlanning.tsp.benchmarking.dist._2DGeoDistanceInt
+ * distance computer}, the latitude and longitude in radians as well as
+ * their sines and cosines. The TSPLIB formula for the distance between
+ * nodes {@code a} and {@code b} is
+ * </p>
+ * <p>
+ * {@code (int)(6378.388*acos(0.5*((1+q1)*q2-(1-q1)*q3))+1)}
+ * </p>
+ * <p>
+ * with {@code q1=cos(longA-longB)}, {@code q2=cos(latA-latB)}, and
+ * {@code q3=cos(latA+latB)}. By the cosine-difference and cosine-sum
+ * identities, the argument of {@code acos} equals
+ * {@code sin(latA)*sin(latB)+cos(latA)*cos(latB)*q1} with
+ * {@code q1=cos(longA)*cos(longB)+sin(longA)*sin(longB)}, so with the
+ * table a distance computation needs only one call to
+ * {@link java.lang.Math#acos(double)} instead of three calls to
+ * {@link java.lang.Math#cos(double)} plus one to {@code acos}.
+ * </p>
+ * <p>
+ * The two ways of computing the argument are mathematically identical but
+ * may differ in the last bits. The distance is truncated to an integer,
+ * so such a difference matters only if the real-valued distance lies very
+ * close to an integer. In this case, which happens for a small fraction
+ * of the node pairs only, or if the argument leaves the domain of
+ * {@code acos} due to rounding, the distance is computed with the
+ * original formula. The results are therefore always identical to those
+ * of the TSPLIB formula.
+ * </p>
+ */
+final class _GeoTable {
+
+  /** the earth radius used by TSPLIB: {@value} */
+  private static final double RRR = 6378.388d;
+
+  /**
+   * the minimum distance from an integer the real-valued distance must
+   * have for the fast computation to be used: {@value}. The error of the
+   * fast computation is at most in the order of {@code 1e-4} for nodes
+   * at almost the same position and far below that otherwise.
+   */
+  private static final double EPSILON = 1e-3d;
+
+  /**
+   * the table: for node {@code i}, the values at index {@code 6*(i-1)}
+   * are the latitude, the longitude, the sine and cosine of the latitude,
+   * and the sine and cosine of the longitude
+   */
+  private final double[] m_table;
+
+  /**
+   * create
+   *
+   * @param n
+   *          the number of nodes
+   */
+  _GeoTable(final int n) {
+    super();
+    this.m_table = new double[6 * n];
+  }
+
+  /**
+   * Set the coordinates of a node
+   *
+   * @param i
+   *          the node index, starting at {@code 1}
+   * @param lat
+   *          the latitude in radians
+   * @param lon
+   *          the longitude in radians
+   */
+  final void _set(final int i, final double lat, final double lon) {
+    final double[] t;
+    int a;
+
+    t = this.m_table;
+    a = (6 * (i - 1));
+    t[a++] = lat;
+    t[a++] = lon;
+    t[a++] = Math.sin(lat);
+    t[a++] = Math.cos(lat);
+    t[a++] = Math.sin(lon);
+    t[a] = Math.cos(lon);
+  }
+
+  /**
+   * Compute the distance between two distinct nodes
+   *
+   * @param i
+   *          the first node, starting at {@code 1}
+   * @param j
+   *          the second node, starting at {@code 1}
+   * @return the distance
+   */
+  final int _distance(final int i, final int j) {
+    final double[] t;
+    final double v, frac;
+    final int a, b, r;
+
+    t = this.m_table;
+    a = (6 * (i - 1));
+    b = (6 * (j - 1));
+
+    v = ((_GeoTable.RRR * Math.acos((t[a + 2] * t[b + 2])
+        + ((t[a + 3] * t[b + 3]) * //
+        ((t[a + 5] * t[b + 5]) + (t[a + 4] * t[b + 4]))))) + 1d);
+    r = ((int) v);
+    frac = (v - r);
+    if ((frac > _GeoTable.EPSILON) && (frac < (1d - _GeoTable.EPSILON))) {
+      return r;
+    }
+
+    return _GeoTable._reference(t[a], t[a + 1], t[b], t[b + 1]);
+  }
+
+  /**
+   * The original TSPLIB formula for the geographical distance
+   *
+   * @param latA
+   *          the latitude of the first node in radians
+   * @param longA
+   *          the longitude of the first node in radians
+   * @param latB
+   *          the latitude of the second node in radians
+   * @param longB
+   *          the longitude of the second node in radians
+   * @return the distance
+   */
+  private static final int _reference(final double latA,
+      final double longA, final double latB, final double longB) {
+    final double q1, q2, q3;
+
+    q1 = Math.cos(longA - longB);
+    q2 = Math.cos(latA - latB);
+    q3 = Math.cos(latA + latB);
+
+    return ((int) ((_GeoTable.RRR * Math
+        .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
+  }
+}
@@ -3,6 +3,7 @@ package org.logisticPlanning.tsp.benchmarking.objective;
 import java.io.File;
 import java.io.PrintStream;
 
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceCache;
 import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
 import org.logisticPlanning.utils.config.Configurable;
@@ -158,6 +159,14 @@ public final class Benchmark extends Configurable {
    */
   public static final int DEFAULT_MATRIX_LIMIT_DIM = 4096;
 
+  /**
+   * The default memory budget in bytes for the
+   * {@link org.logisticPlanning.tsp.benchmarking.dist.DistanceCache
+   * distance cache} used for instances which are not converted to a
+   * distance matrix: {@value}, i.e., no cache is used
+   */
+  public static final long DEFAULT_DISTANCE_CACHE_MEMORY = 0L;
+
   /** the default number of runs: {@value} */
   public static final int DEFAULT_MAX_RUNS = 30;
 
@@ -197,6 +206,21 @@ public final class Benchmark extends Configurable {
    */
   public static final String PARAM_LIMIT_DIM = "maxAutoDistanceMatrixConversionDim"; //$NON-NLS-1$
 
+  /**
+   * the memory budget of the distance cache in bytes ({@value} , defaults
+   * to {@link #DEFAULT_DISTANCE_CACHE_MEMORY})
+   */
+  public static final String PARAM_DISTANCE_CACHE_MEMORY = "distanceCacheMemory"; //$NON-NLS-1$
+
+  /** the hits in the neighbor slots of the distance cache during a run */
+  static final String DISTANCE_CACHE_NEIGHBOR_HITS = "distanceCacheNeighborHits"; //$NON-NLS-1$
+
+  /** the hits in the table of the distance cache during a run */
+  static final String DISTANCE_CACHE_TABLE_HITS = "distanceCacheTableHits"; //$NON-NLS-1$
+
+  /** the misses of the distance cache during a run */
+  static final String DISTANCE_CACHE_MISSES = "distanceCacheMisses"; //$NON-NLS-1$
+
   /**
    * the root directory for all results
    *
@@ -257,6 +281,17 @@ public final class Benchmark extends Configurable {
    */
   int m_limitDim;
 
+  /**
+   * the memory budget in bytes of the distance cache put in front of
+   * distance computers which are not distance matrices. The cache is
+   * shared by all objective functions, threads, and runs of this
+   * benchmark, while its hit and miss counts written to the log files
+   * belong to a single run.
+   *
+   * @serial a non-negative long value, {@code 0} if no cache is used
+   */
+  long m_cacheMemory;
+
   /**
    * the maximum number of runs per problem instance
    *
@@ -308,6 +343,7 @@ public final class Benchmark extends Configurable {
     this.m_maxDEs = ((z > 0l) ? z : Long.MAX_VALUE);
     this.m_maxTime = Benchmark.DEFAULT_MAX_TIME_PER_RUN;
     this.m_limitDim = Benchmark.DEFAULT_MATRIX_LIMIT_DIM;
+    this.m_cacheMemory = Benchmark.DEFAULT_DISTANCE_CACHE_MEMORY;
     this.m_maxRuns = Benchmark.DEFAULT_MAX_RUNS;
   }
 
@@ -330,6 +366,10 @@ public final class Benchmark extends Configurable {
         Integer.MAX_VALUE,//
         this.m_limitDim);
 
+    this.m_cacheMemory = config.getLong(
+        Benchmark.PARAM_DISTANCE_CACHE_MEMORY, 0L, Long.MAX_VALUE,
+        this.m_cacheMemory);
+
     this.m_maxRuns = config.getInt(Benchmark.PARAM_MAX_RUNS, 0, 100000,//
         this.m_maxRuns);
 
@@ -340,6 +380,8 @@ public final class Benchmark extends Configurable {
   /** {@inheritDoc} */
   @Override
   public final void printConfiguration(final PrintStream ps) {
+    final DistanceComputer dist;
+
     super.printConfiguration(ps);
 
     this.m_instance.printConfiguration(ps);
@@ -356,9 +398,13 @@ public final class Benchmark extends Configurable {
     Configurable.printKey(Benchmark.PARAM_LIMIT_DIM, ps);
     ps.println(this.m_limitDim);
 
-    if (this.m_dist != null) {
+    Configurable.printKey(Benchmark.PARAM_DISTANCE_CACHE_MEMORY, ps);
+    ps.println(this.m_cacheMemory);
+
+    dist = this.m_dist;
+    if (dist != null) {
       Configurable.printKey(Benchmark.DISTANCE_COMPUTER_TYPE, ps);
-      Configurable.printlnClass(this.m_dist.getClass(), ps);
+      Configurable.printlnClass(dist.getClass(), ps);
     }
 
     Configurable.printKey(Benchmark.PARAM_DEST_DIR, ps);
@@ -389,6 +435,10 @@ public final class Benchmark extends Configurable {
     ps.println(//
     "The maximum problem dimension at which a coordinate list is still translated to a distance matrix."); //$NON-NLS-1$
 
+    Configurable.printKey(Benchmark.PARAM_DISTANCE_CACHE_MEMORY, ps);
+    ps.println(//
+    "The memory budget in bytes of the cache for the distances of instances not translated to a distance matrix, 0 for no cache."); //$NON-NLS-1$
+
     Configurable.printKey(Benchmark.PARAM_DEST_DIR, ps);
     ps.println(//
     "The destination directory to store the log files."); //$NON-NLS-1$
@@ -535,7 +585,8 @@ public final class Benchmark extends Configurable {
           this.__getRealDir().mkdirs();
         }
 
-        this.m_dist = this.m_instance.load(this.m_limitDim);
+        this.m_dist = DistanceCache.cache(//
+            this.m_instance.load(this.m_limitDim), this.m_cacheMemory);
 
         this.m_valuesToLog = Benchmark.getLogObjectiveValues(//
             this.m_instance.optimum());
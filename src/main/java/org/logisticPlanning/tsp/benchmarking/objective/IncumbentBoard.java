@@ -0,0 +1,279 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * A board on which several
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#createWorker()
+ * worker} objective functions, each used by a different thread, publish
+ * their progress during one run. Each worker
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#joinBoard(IncumbentBoard, int, boolean)
+ * joins} the board with its own slot. Whenever it registers a candidate
+ * solution which is better than the best solution on the board, the
+ * solution becomes the new incumbent, i.e., the new best solution on the
+ * board. Other workers can then
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#pullIncumbent()
+ * pull} it into their own best solution record.
+ * </p>
+ * <p>
+ * The board is lock-free: The incumbent is an immutable record which is
+ * replaced via compare-and-set, and the consumed FEs and DEs of each
+ * worker are published in its own slot of an atomic array. A worker
+ * therefore never waits for another one. Only a single thread, usually
+ * the one owning the objective function of the run, may
+ * {@link #await(long) wait} for new incumbents and collect the progress
+ * of all workers.
+ * </p>
+ * <p>
+ * The board can also hold a {@link #setBudget(long, long) budget} of FEs
+ * and DEs shared by all workers. Whenever a worker publishes its
+ * progress, the FEs and DEs it consumed since its last report are taken
+ * from the budget, and once the budget is used up, the worker terminates.
+ * Together, the workers therefore exceed the budget by at most the work
+ * they register in one step each.
+ * </p>
+ */
+public final class IncumbentBoard {
+
+  /** the current incumbent */
+  private final AtomicReference<_Incumbent> m_best;
+
+  /** the FEs consumed by the workers, one slot per worker */
+  private final AtomicLongArray m_fes;
+
+  /** the DEs consumed by the workers, one slot per worker */
+  private final AtomicLongArray m_des;
+
+  /** the FEs which the workers may still consume together */
+  private final AtomicLong m_remainingFEs;
+
+  /** the DEs which the workers may still consume together */
+  private final AtomicLong m_remainingDEs;
+
+  /** the thread waiting for new incumbents */
+  private volatile Thread m_waiter;
+
+  /**
+   * create the board
+   *
+   * @param slots
+   *          the number of slots, i.e., of workers which will join the
+   *          board
+   */
+  public IncumbentBoard(final int slots) {
+    super();
+    this.m_best = new AtomicReference<>(new _Incumbent(null,
+        Long.MAX_VALUE));
+    this.m_fes = new AtomicLongArray(slots);
+    this.m_des = new AtomicLongArray(slots);
+    this.m_remainingFEs = new AtomicLong(Long.MAX_VALUE);
+    this.m_remainingDEs = new AtomicLong(Long.MAX_VALUE);
+  }
+
+  /**
+   * Get the number of slots of this board
+   *
+   * @return the number of slots of this board
+   */
+  public final int getSlots() {
+    return this.m_fes.length();
+  }
+
+  /**
+   * Offer a candidate solution to the board. If it is better than the
+   * current incumbent, it is copied and becomes the new incumbent.
+   *
+   * @param tour
+   *          the candidate solution in path representation, which will not
+   *          be modified
+   * @param length
+   *          its tour length
+   * @return {@code true} if the solution became the new incumbent,
+   *         {@code false} otherwise
+   */
+  public final boolean offer(final int[] tour, final long length) {
+    final AtomicReference<_Incumbent> best;
+    final Thread waiter;
+    _Incumbent cur, next;
+
+    best = this.m_best;
+    cur = best.get();
+    if (length >= cur.m_length) {
+      return false;
+    }
+
+    next = new _Incumbent(tour.clone(), length);
+    while (!(best.compareAndSet(cur, next))) {
+      cur = best.get();
+      if (length >= cur.m_length) {
+        return false;
+      }
+    }
+
+    waiter = this.m_waiter;
+    if (waiter != null) {
+      LockSupport.unpark(waiter);
+    }
+    return true;
+  }
+
+  /**
+   * Get the tour length of the incumbent
+   *
+   * @return the tour length of the incumbent, or {@link Long#MAX_VALUE}
+   *         if no solution has been offered yet
+   */
+  public final long getBestLength() {
+    return this.m_best.get().m_length;
+  }
+
+  /**
+   * Copy the incumbent into an array if it is better than a given tour
+   * length.
+   *
+   * @param dest
+   *          the destination array
+   * @param than
+   *          the tour length to beat
+   * @return the tour length of the incumbent which was copied into
+   *         {@code dest}, or {@link Long#MAX_VALUE} if the incumbent is
+   *         not better than {@code than} and {@code dest} was not modified
+   */
+  public final long getCopyOfBest(final int[] dest, final long than) {
+    final _Incumbent cur;
+
+    cur = this.m_best.get();
+    if (cur.m_length >= than) {
+      return Long.MAX_VALUE;
+    }
+    System.arraycopy(cur.m_tour, 0, dest, 0, dest.length);
+    return cur.m_length;
+  }
+
+  /**
+   * Set the number of FEs and DEs which the workers may consume together
+   * from now on. This method should be called after all workers have
+   * begun their work, but before they perform any of it.
+   *
+   * @param fes
+   *          the FEs which the workers may consume together
+   * @param des
+   *          the DEs which the workers may consume together
+   */
+  public final void setBudget(final long fes, final long des) {
+    this.m_remainingFEs.set(fes);
+    this.m_remainingDEs.set(des);
+  }
+
+  /**
+   * Publish the number of FEs and DEs consumed by a worker and take the
+   * FEs and DEs it consumed since its last report from the
+   * {@link #setBudget(long, long) budget}
+   *
+   * @param slot
+   *          the slot of the worker
+   * @param fes
+   *          the total number of FEs consumed by the worker
+   * @param des
+   *          the total number of DEs consumed by the worker
+   * @return {@code true} if the budget is used up, {@code false}
+   *         otherwise
+   */
+  final boolean _report(final int slot, final long fes, final long des) {
+    final long usedFEs, usedDEs;
+    final long remainingFEs, remainingDEs;
+
+    usedFEs = (fes - this.m_fes.getAndSet(slot, fes));
+    usedDEs = (des - this.m_des.getAndSet(slot, des));
+
+    remainingFEs = ((usedFEs > 0l) ? //
+        this.m_remainingFEs.addAndGet(-usedFEs)
+        : this.m_remainingFEs.get());
+    remainingDEs = ((usedDEs > 0l) ? //
+        this.m_remainingDEs.addAndGet(-usedDEs)
+        : this.m_remainingDEs.get());
+
+    return ((remainingFEs <= 0l) || (remainingDEs <= 0l));
+  }
+
+  /**
+   * Get the sum of the FEs published by all workers
+   *
+   * @return the sum of the FEs published by all workers
+   */
+  public final long getConsumedFEs() {
+    final AtomicLongArray fes;
+    long sum;
+    int i;
+
+    fes = this.m_fes;
+    sum = 0l;
+    for (i = fes.length(); (--i) >= 0;) {
+      sum += fes.get(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Get the sum of the DEs published by all workers
+   *
+   * @return the sum of the DEs published by all workers
+   */
+  public final long getConsumedDEs() {
+    final AtomicLongArray des;
+    long sum;
+    int i;
+
+    des = this.m_des;
+    sum = 0l;
+    for (i = des.length(); (--i) >= 0;) {
+      sum += des.get(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Wait until a new incumbent is offered or the given time has passed,
+   * whichever comes first. Only one thread may wait on a board at any
+   * time.
+   *
+   * @param maxMillis
+   *          the maximum number of milliseconds to wait
+   */
+  public final void await(final long maxMillis) {
+    this.m_waiter = Thread.currentThread();
+    try {
+      LockSupport.parkNanos(this, (maxMillis * 1000000l));
+    } finally {
+      this.m_waiter = null;
+    }
+  }
+
+  /** an immutable incumbent record */
+  private static final class _Incumbent {
+
+    /** the tour */
+    final int[] m_tour;
+
+    /** the tour length */
+    final long m_length;
+
+    /**
+     * create
+     *
+     * @param tour
+     *          the tour
+     * @param length
+     *          the tour length
+     */
+    _Incumbent(final int[] tour, final long length) {
+      super();
+      this.m_tour = tour;
+      this.m_length = length;
+    }
+  }
+}
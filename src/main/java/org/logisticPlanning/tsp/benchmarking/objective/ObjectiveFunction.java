@@ -3,9 +3,11 @@ package org.logisticPlanning.tsp.benchmarking.objective;
 import java.io.File;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceCache;
 import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
 import org.logisticPlanning.tsp.solving.utils.RepresentationUtils;
 import org.logisticPlanning.tsp.solving.utils.SolutionValidator;
@@ -699,6 +701,24 @@ import org.logisticPlanning.utils.math.random.Randomizer;
  * each end of the tour and adds the nearest (of the two) until the tour is
  * completed (all nodes are present).
  * </p>
+ * <p>
+ * The per-instance factor mainly reflects the speed of small loops on a
+ * single instance. In addition, a suite of kernels which also stress the
+ * memory hierarchy and the garbage collector is run once per host (see
+ * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedCalibration}
+ * ). The
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#benchmark()
+ * algorithm runner} performs it via {@link #calibrateSpeed()} before any
+ * run starts, i.e., while the CPU is otherwise idle, and passes the result
+ * to each objective function via {@link #setSpeedCalibration(double[])}.
+ * Otherwise, it is only performed when the first log file is written, so
+ * it does not bias any time measurement. Its runtime vector and their
+ * geometric mean are stored in the log files as
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#RUNTIME_CALIBRATION_FACTOR}
+ * and can be used by the
+ * {@link org.logisticPlanning.tsp.evaluation.data.sources.FileDataSource}
+ * to compare runtimes measured on different computers.
+ * </p>
  * <h2 id="detInit">Deterministic Initialization Processes</h2>
  * <p>
  * The system allows you to have one deterministic initialization process.
@@ -1936,6 +1956,85 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   public static final String RUNTIME_NORMALIZATION_FACTOR = "runtimeNormalizationFactor"; //$NON-NLS-1$
 
+  /**
+   * the name of the host on which the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedCalibration
+   * speed calibration} was performed: {@value}
+   */
+  public static final String RUNTIME_CALIBRATION_HOST = "runtimeCalibrationHost"; //$NON-NLS-1$
+
+  /**
+   * the prefix for the runtimes in milliseconds of the single kernels of
+   * the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedCalibration
+   * speed calibration}: {@value}
+   */
+  public static final String RUNTIME_CALIBRATION_PREFIX = "runtimeCalibration_"; //$NON-NLS-1$
+
+  /**
+   * the host-specific runtime calibration factor, i.e., the geometric mean
+   * of the kernel runtimes of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedCalibration
+   * speed calibration}: {@value}
+   */
+  public static final String RUNTIME_CALIBRATION_FACTOR = "runtimeCalibrationFactor"; //$NON-NLS-1$
+
+  /**
+   * the identifier to begin the section in the log files which holds the
+   * final values of the run metrics, i.e., the built-in measures and the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.RunCounter
+   * counters} and
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.RunTimer timers}
+   * registered by the algorithm: {@value}
+   */
+  public static final String METRICS_SECTION = "METRICS_SECTION"; //$NON-NLS-1$
+
+  /**
+   * the identifier to begin the section in the log files which holds the
+   * values of the run metrics sampled at each log point: {@value}
+   */
+  public static final String METRICS_LOG_SECTION = "METRICS_LOG_SECTION"; //$NON-NLS-1$
+
+  /**
+   * the runtime in milliseconds of the deterministic initialization phase
+   * of a run: {@value}
+   */
+  public static final String METRICS_INITIALIZATION_TIME = "initializationPhaseRuntime"; //$NON-NLS-1$
+
+  /**
+   * the runtime in milliseconds of the search phase of a run, i.e., the
+   * time after the deterministic initialization: {@value}
+   */
+  public static final String METRICS_SEARCH_TIME = "searchPhaseRuntime"; //$NON-NLS-1$
+
+  /**
+   * the number of bytes allocated per millisecond by the thread performing
+   * the run: {@value}
+   */
+  public static final String METRICS_ALLOCATION_RATE = "allocationRate"; //$NON-NLS-1$
+
+  /**
+   * the prefix for the values of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.RunCounter
+   * counters}: {@value}
+   */
+  public static final String METRICS_COUNTER_PREFIX = "counter_"; //$NON-NLS-1$
+
+  /**
+   * the prefix for the total times in milliseconds of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.RunTimer timers}
+   * : {@value}
+   */
+  public static final String METRICS_TIMER_PREFIX = "timer_"; //$NON-NLS-1$
+
+  /** the comments before the metrics section */
+  private static final char[][] METRICS_INFORMATION = new char[][] { //
+      ObjectiveFunction.EMPTY_LINE, //
+      ObjectiveFunction.EMPTY_LINE, //
+      ("// In this section, you can find the runtime of the phases of the run, the number and duration of garbage collections, the bytes allocated by the thread of the run, and the final values of the counters and timers of the algorithm. The values sampled at the log points are listed in section " + //$NON-NLS-1$
+      ObjectiveFunction.METRICS_LOG_SECTION).toCharArray(), //
+      ObjectiveFunction.METRICS_SECTION.toCharArray(), };
+
   /** the comments in the log file header */
   private static final char[][] HEADER_COMMENTS = new char[][] { //
       { '/', '/', ' ', 'T', 'h', 'i', 's', ' ', 'l', 'o', 'g', ' ', 'f',
@@ -2456,6 +2555,9 @@ public final class ObjectiveFunction extends DistanceComputer {
   /** we are in an initialization procedure: {@value} */
   private static final int STATE_IN_INIT = 2;
 
+  /** we are a worker doing a piece of work for our owner: {@value} */
+  private static final int STATE_IN_WORK = 3;
+
   /**
    * the log point was collected because it crossed an objective value
    * limit: * {@value}
@@ -2536,9 +2638,10 @@ public final class ObjectiveFunction extends DistanceComputer {
    * FEs have been performed
    *
    * @serial a {@code long} value (&gt;0) indicating the maximum number of
-   *         allowed function evaluations (FEs)
+   *         allowed function evaluations (FEs), which a
+   *         {@link #createWorker() worker} may lower for a piece of work
    */
-  private final long m_maxFEs;
+  private long m_maxFEs;
 
   /**
    * the maximum distance evaluations (DE)s, used in
@@ -2546,9 +2649,10 @@ public final class ObjectiveFunction extends DistanceComputer {
    * DEs have been performed
    *
    * @serial a {@code long} value (&gt;0) indicating the maximum number of
-   *         allowed distance evaluations (DEs)
+   *         allowed distance evaluations (DEs), which a
+   *         {@link #createWorker() worker} may lower for a piece of work
    */
-  private final long m_maxDEs;
+  private long m_maxDEs;
 
   /**
    * the best possible objective value, used in {@link #shouldTerminate()}
@@ -2573,6 +2677,19 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   private final DistanceComputer m_dist;
 
+  /**
+   * the own {@link DistanceCache#share() view} of the distance cache of
+   * the benchmark, or {@code null} if the distances are not cached
+   */
+  private final transient DistanceCache m_cache;
+
+  /**
+   * the distance cache views of the {@link #createWorker() workers} of the
+   * current run, or {@code null} if this is a worker or the distances are
+   * not cached
+   */
+  private final transient ArrayList<DistanceCache> m_workerCaches;
+
   /**
    * the pre-allocated array with log points
    *
@@ -2853,6 +2970,9 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   private final double m_timeNormalizationFactor;
 
+  /** the metrics of the runs */
+  private final transient _RunMetrics m_metrics;
+
   /**
    * the creator information record
    *
@@ -2860,6 +2980,14 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   private CreatorInfo m_creator;
 
+  /**
+   * the speed calibration vector, or {@code null} if it should be obtained
+   * when the first log file is written
+   *
+   * @serial the calibration vector, or {@code null}
+   */
+  private double[] m_calibration;
+
   /**
    * the initialization exception
    *
@@ -2877,6 +3005,26 @@ public final class ObjectiveFunction extends DistanceComputer {
   /** a linked list link */
   volatile transient ObjectiveFunction m_next;
 
+  /**
+   * the objective function owning this worker, or {@code null} if this is
+   * not a worker objective function
+   *
+   * @serial the owner objective function
+   */
+  private final ObjectiveFunction m_owner;
+
+  /**
+   * the incumbent board this worker has joined, or {@code null} if it has
+   * not joined any board
+   */
+  private transient IncumbentBoard m_board;
+
+  /** the slot of this worker on the incumbent board */
+  private transient int m_boardSlot;
+
+  /** may this worker pull incumbents from the board? */
+  private transient boolean m_boardPull;
+
   /**
    * create the objective function
    *
@@ -2885,6 +3033,21 @@ public final class ObjectiveFunction extends DistanceComputer {
    *          belongs
    */
   ObjectiveFunction(final Benchmark benchmark) {
+    this(benchmark, null);
+  }
+
+  /**
+   * create the objective function
+   *
+   * @param benchmark
+   *          the benchmark instance to which this objective function
+   *          belongs
+   * @param owner
+   *          the owning objective function if this is a
+   *          {@link #createWorker() worker}, {@code null} otherwise
+   */
+  private ObjectiveFunction(final Benchmark benchmark,
+      final ObjectiveFunction owner) {
     super(benchmark.m_instance.n());
 
     int i;
@@ -2896,7 +3059,24 @@ public final class ObjectiveFunction extends DistanceComputer {
     this.m_maxDEs = benchmark.m_maxDEs;
     this.m_maxFEs = benchmark.m_maxFEs;
     this.m_optimum = benchmark.m_instance.optimum();
-    this.m_dist = benchmark.m_dist;
+    // the cache is shared by all objective functions of the benchmark,
+    // but each of them counts its hits and misses in its own view
+    if (benchmark.m_dist instanceof DistanceCache) {
+      this.m_dist = this.m_cache = ((DistanceCache) (benchmark.m_dist))
+          .share();
+      if (owner != null) {
+        this.m_workerCaches = null;
+        synchronized (owner.m_workerCaches) {
+          owner.m_workerCaches.add(this.m_cache);
+        }
+      } else {
+        this.m_workerCaches = new ArrayList<>();
+      }
+    } else {
+      this.m_dist = benchmark.m_dist;
+      this.m_cache = null;
+      this.m_workerCaches = null;
+    }
 
     this.m_valuesToLog = benchmark.m_valuesToLog;
     this.m_FEsDEsToLog = benchmark.m_FEsDEsToLog;
@@ -2912,7 +3092,8 @@ public final class ObjectiveFunction extends DistanceComputer {
 
     i = this.n();
     this.m_bestX = new int[i];
-    this.m_i_bestX = new int[i];
+    // workers never perform deterministic initializations
+    this.m_i_bestX = ((owner != null) ? this.m_bestX : new int[i]);
     this.m_calendar = new GregorianCalendar();
 
     this.m_state = ObjectiveFunction.STATE_NOTHING;
@@ -2924,9 +3105,19 @@ public final class ObjectiveFunction extends DistanceComputer {
     this.m_lastImprovementLP = new LogPoint();
     this.m_initLP = new LogPoint();
 
-    // compute the time normalization factor
-    this.m_timeNormalizationFactor = _SpeedBenchmark
-        ._timeBenchmarkRun(this);
+    // the metrics must exist before the speed benchmark performs its run
+    if (owner != null) {
+      this.m_metrics = new _RunMetrics(0);
+      owner.m_metrics._addWorker(this.m_metrics);
+    } else {
+      this.m_metrics = new _RunMetrics(this.m_log.length);
+    }
+
+    // compute the time normalization factor, workers share the one of
+    // their owner
+    this.m_owner = owner;
+    this.m_timeNormalizationFactor = ((owner != null) ? owner.m_timeNormalizationFactor
+        : _SpeedBenchmark._timeBenchmarkRun(this));
   }
 
   /**
@@ -3031,6 +3222,34 @@ public final class ObjectiveFunction extends DistanceComputer {
     return this.m_currentLP;
   }
 
+  /**
+   * Get the maximum number of function evaluations (FEs) after which the
+   * run terminates. For a {@link #createWorker() worker} during a piece
+   * of work, this is the limit passed to
+   * {@link #beginWork(long, long, long)}.
+   *
+   * @return the maximum number of FEs, {@link Long#MAX_VALUE} if
+   *         unlimited
+   * @see #getMaxDEs()
+   */
+  public final long getMaxFEs() {
+    return this.m_maxFEs;
+  }
+
+  /**
+   * Get the maximum number of distance evaluations (DEs) after which the
+   * run terminates. For a {@link #createWorker() worker} during a piece
+   * of work, this is the limit passed to
+   * {@link #beginWork(long, long, long)}.
+   *
+   * @return the maximum number of DEs, {@link Long#MAX_VALUE} if
+   *         unlimited
+   * @see #getMaxFEs()
+   */
+  public final long getMaxDEs() {
+    return this.m_maxDEs;
+  }
+
   /**
    * Begin a new run with algorithm {@code algorithm}. The algorithm can
    * now use the objective function's data, such as
@@ -3069,6 +3288,15 @@ public final class ObjectiveFunction extends DistanceComputer {
         throw new IllegalStateException(
             "Cannot begin run, some deterministic initialization procedure is still ongoing."); //$NON-NLS-1$
       }
+      case ObjectiveFunction.STATE_IN_WORK: {
+        throw new IllegalStateException(
+            "Cannot begin run, a piece of work is still ongoing."); //$NON-NLS-1$
+      }
+    }
+
+    if (this.m_owner != null) {
+      throw new IllegalStateException(//
+          "Worker objective functions cannot perform runs."); //$NON-NLS-1$
     }
 
     this.m_state = ObjectiveFunction.STATE_IN_RUN;
@@ -3205,6 +3433,16 @@ public final class ObjectiveFunction extends DistanceComputer {
         throw new IllegalStateException(
             "Cannot begin deterministic initialization, a deterministic initialization procedure is still ongoing."); //$NON-NLS-1$
       }
+
+      case ObjectiveFunction.STATE_IN_WORK: {
+        throw new IllegalStateException(
+            "Cannot begin deterministic initialization, a piece of work is still ongoing."); //$NON-NLS-1$
+      }
+    }
+
+    if (this.m_owner != null) {
+      throw new IllegalStateException(//
+          "Worker objective functions cannot perform deterministic initializations."); //$NON-NLS-1$
     }
 
     this.m_state = ObjectiveFunction.STATE_IN_INIT;
@@ -3247,6 +3485,7 @@ public final class ObjectiveFunction extends DistanceComputer {
     this.m_i_randSeed = 0l;
 
     this.m_initializer = null;
+    this.m_metrics._deleteInit();
   }
 
   /**
@@ -3294,6 +3533,13 @@ public final class ObjectiveFunction extends DistanceComputer {
     this.m_shouldLog = false;
     this.m_fimproved = false;
 
+    this.m_metrics._begin(useInit);
+    if (this.m_cache != null) {
+      this.m_cache.resetStatistics();
+      synchronized (this.m_workerCaches) {
+        this.m_workerCaches.clear();
+      }
+    }
     this.m_r.setSeed(this.m_randSeed = this.m_r.nextLong());
 
     this.m_startTime = System.currentTimeMillis();
@@ -3310,6 +3556,308 @@ public final class ObjectiveFunction extends DistanceComputer {
     _TerminationThread._enqueue(this);
   }
 
+  /**
+   * <p>
+   * Create a worker objective function for this objective function. A
+   * worker allows a part of the work of one run to be done in a separate
+   * thread: It has its own FE/DE counters, its own best solution record,
+   * and its own {@link #getRandom() random number generator}, but it
+   * shares the benchmark instance, the distance computer, and the time
+   * normalization factor with this objective function. A worker never
+   * writes a log file.
+   * </p>
+   * <p>
+   * A worker can be used for any number of pieces of work, each starting
+   * with {@link #beginWork(long)} and ending with {@link #endWork()}. Once
+   * a piece of work has ended, the owner should be told about the consumed
+   * FEs and DEs as well as the best solution found via
+   * {@link #registerDEs(long)} and
+   * {@link #registerFEs(long, int[], long)}. As long as any worker of an
+   * objective function is working, the objective function itself must not
+   * be used.
+   * </p>
+   *
+   * @return the new worker
+   * @see #beginWork(long)
+   * @see #endWork()
+   */
+  public final ObjectiveFunction createWorker() {
+    return new ObjectiveFunction(this.m_benchmark, this);
+  }
+
+  /**
+   * Get the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.RunCounter
+   * counter} with the given name. The counter is created if it does not
+   * exist yet. Its value is reset to zero at the beginning of each run and
+   * sampled whenever a log point is stored. The sampled values as well as
+   * the final value are written to the log file. Counters of
+   * {@link #createWorker() workers} with the same name are added to the
+   * counter of their owner. Algorithms should obtain their counters in
+   * their {@link org.logisticPlanning.tsp.solving.TSPModule#beginRun(ObjectiveFunction)
+   * beginRun} method and keep them in fields.
+   *
+   * @param name
+   *          the name of the counter, e.g., {@code "movesApplied"}
+   * @return the counter
+   * @see #getTimer(String)
+   */
+  public final RunCounter getCounter(final String name) {
+    return this.m_metrics._getCounter(name);
+  }
+
+  /**
+   * Get the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.RunTimer timer}
+   * with the given name. The timer is created if it does not exist yet. It
+   * is handled in the same way as a {@link #getCounter(String) counter}.
+   *
+   * @param name
+   *          the name of the timer, e.g., {@code "localSearch"}
+   * @return the timer
+   * @see #getCounter(String)
+   */
+  public final RunTimer getTimer(final String name) {
+    return this.m_metrics._getTimer(name);
+  }
+
+  /**
+   * Get a short, human-readable description of the current state of the
+   * run, i.e., of the instance, the algorithm, the consumed FEs, DEs, and
+   * runtime, the best objective value, and the current values of the
+   * counters and timers. This method is intended for monitoring a run from
+   * a different thread, e.g., via JMX. It does not synchronize with the
+   * run, so the returned values may be slightly inconsistent.
+   *
+   * @return the description of the current state
+   */
+  public final String getStatus() {
+    final StringBuilder sb;
+    final LogPoint cur;
+    final NamedObject algo;
+
+    cur = this.m_currentLP;
+    sb = new StringBuilder();
+    sb.append(this.m_benchmark.m_instance.name());
+    algo = this.m_algorithm;
+    if (algo != null) {
+      sb.append('/');
+      sb.append(algo.name());
+    }
+    sb.append(": FE="); //$NON-NLS-1$
+    sb.append(cur.m_fe);
+    sb.append(", DE="); //$NON-NLS-1$
+    sb.append(cur.m_de);
+    sb.append(", time="); //$NON-NLS-1$
+    sb.append((System.currentTimeMillis() - this.m_startTime)
+        + this.m_time_offset);
+    sb.append("ms, f="); //$NON-NLS-1$
+    sb.append(cur.m_f);
+    sb.append(", "); //$NON-NLS-1$
+    this.m_metrics._appendCurrent(sb);
+    return sb.toString();
+  }
+
+  /**
+   * Begin a piece of work for the owner of this
+   * {@link #createWorker() worker} objective function. All counters, the
+   * best solution, the log point thresholds, and the time limits are
+   * copied from the owner, so the worker terminates exactly when the owner
+   * would terminate if it had performed the work itself. This method only
+   * reads the state of the owner, so it is safe to call it for several
+   * workers of the same owner in parallel. The seed of the worker should
+   * be obtained from the {@link #getRandom() random number generator} of
+   * the owner via
+   * {@link org.logisticPlanning.utils.math.random.Randomizer#nextSeed()},
+   * in a fixed order: Then the work of all workers is a deterministic
+   * function of the random seed of the run, which is stored in the log
+   * file.
+   *
+   * @param randSeed
+   *          the seed for the random number generator of this worker
+   * @see #createWorker()
+   * @see #beginWork(long, long, long)
+   * @see #endWork()
+   */
+  public final void beginWork(final long randSeed) {
+    this.beginWork(randSeed, Long.MAX_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Begin a piece of work for the owner of this
+   * {@link #createWorker() worker} objective function, just like
+   * {@link #beginWork(long)}, but terminate the work once {@code maxFEs}
+   * FEs or {@code maxDEs} DEs have been consumed in total, i.e., including
+   * the FEs and DEs consumed by the owner before. If several workers
+   * perform work in parallel, the owner can split its remaining budget
+   * among them this way, so that their merged work does not exceed the
+   * budget of the run.
+   *
+   * @param randSeed
+   *          the seed for the random number generator of this worker
+   * @param maxFEs
+   *          the total number of FEs after which the work terminates,
+   *          lowered to the maximum FEs of the run if larger
+   * @param maxDEs
+   *          the total number of DEs after which the work terminates,
+   *          lowered to the maximum DEs of the run if larger
+   * @see #createWorker()
+   * @see #beginWork(long)
+   * @see #endWork()
+   */
+  public final void beginWork(final long randSeed, final long maxFEs,
+      final long maxDEs) {
+    final ObjectiveFunction owner;
+
+    owner = this.m_owner;
+    if (owner == null) {
+      throw new IllegalStateException(//
+          "Only worker objective functions can begin a piece of work."); //$NON-NLS-1$
+    }
+    if (this.m_state != ObjectiveFunction.STATE_NOTHING) {
+      throw new IllegalStateException(//
+          "Cannot begin a piece of work, another one is still ongoing."); //$NON-NLS-1$
+    }
+
+    this.m_state = ObjectiveFunction.STATE_IN_WORK;
+
+    this.m_logSize = 0;
+    this.m_time_offset = owner.m_time_offset;
+
+    this.m_currentLP._assign(owner.m_currentLP);
+    this.m_currentLP.m_type = 0;
+    this.m_lastImprovementLP._assign(owner.m_lastImprovementLP);
+
+    this.m_fIdx = owner.m_fIdx;
+    this.m_nextF = owner.m_nextF;
+
+    this.m_maxDEs = Math.min(this.m_benchmark.m_maxDEs, maxDEs);
+    this.m_deIdx = owner.m_deIdx;
+    this.m_nextDE = Math.min(owner.m_nextDE, this.m_maxDEs);
+
+    this.m_maxFEs = Math.min(this.m_benchmark.m_maxFEs, maxFEs);
+    this.m_feIdx = owner.m_feIdx;
+    this.m_nextFE = Math.min(owner.m_nextFE, this.m_maxFEs);
+
+    System.arraycopy(owner.m_bestX, 0, this.m_bestX, //
+        0, this.m_bestX.length);
+
+    this.m_terminate = (owner.m_terminate || //
+        (this.m_currentLP.m_fe >= this.m_maxFEs) || //
+        (this.m_currentLP.m_de >= this.m_maxDEs));
+    this.m_shouldLog = false;
+    this.m_fimproved = false;
+
+    this.m_r.setSeed(this.m_randSeed = randSeed);
+
+    this.m_startTime = owner.m_startTime;
+    this.m_endTime = owner.m_endTime;
+
+    if (this.m_board != null) {
+      this.m_board._report(this.m_boardSlot, this.m_currentLP.m_fe,
+          this.m_currentLP.m_de);
+    }
+
+    _TerminationThread._enqueue(this);
+  }
+
+  /**
+   * End the current piece of work of this {@link #createWorker() worker}
+   * objective function. Afterwards, the {@link #getCurrentLogPoint()
+   * current log point} and {@link #getCopyOfBest(int[]) best solution}
+   * still provide the final state of the work.
+   *
+   * @see #createWorker()
+   * @see #beginWork(long)
+   */
+  public final void endWork() {
+    this.m_terminate = true;
+    _TerminationThread._dequeue(this);
+
+    if (this.m_state != ObjectiveFunction.STATE_IN_WORK) {
+      throw new IllegalStateException(
+          "Cannot end piece of work, as none was started."); //$NON-NLS-1$
+    }
+
+    if (this.m_board != null) {
+      this.m_board._report(this.m_boardSlot, this.m_currentLP.m_fe,
+          this.m_currentLP.m_de);
+    }
+
+    this.m_state = ObjectiveFunction.STATE_NOTHING;
+  }
+
+  /**
+   * Let this {@link #createWorker() worker} objective function join an
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard
+   * incumbent board} shared with other workers of the same owner. During
+   * its subsequent pieces of work, the worker offers each new best
+   * solution to the board and publishes its consumed FEs and DEs in its
+   * slot. If {@code pull} is {@code true}, the algorithm using the worker
+   * can also adopt the incumbent via {@link #pullIncumbent()}.
+   *
+   * @param board
+   *          the board to join, or {@code null} to leave the current board
+   * @param slot
+   *          the slot of this worker on the board
+   * @param pull
+   *          may this worker pull incumbents from the board?
+   * @see #pullIncumbent()
+   */
+  public final void joinBoard(final IncumbentBoard board, final int slot,
+      final boolean pull) {
+    if (this.m_owner == null) {
+      throw new IllegalStateException(//
+          "Only worker objective functions can join an incumbent board."); //$NON-NLS-1$
+    }
+    if (this.m_state != ObjectiveFunction.STATE_NOTHING) {
+      throw new IllegalStateException(//
+          "Cannot join an incumbent board during a piece of work."); //$NON-NLS-1$
+    }
+    if ((board != null) && ((slot < 0) || (slot >= board.getSlots()))) {
+      throw new IllegalArgumentException(//
+          "Invalid incumbent board slot: " + slot); //$NON-NLS-1$
+    }
+
+    this.m_board = board;
+    this.m_boardSlot = slot;
+    this.m_boardPull = ((board != null) && pull);
+  }
+
+  /**
+   * <p>
+   * Adopt the incumbent of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard
+   * incumbent board} this {@link #createWorker() worker} has
+   * {@link #joinBoard(IncumbentBoard, int, boolean) joined} if it is
+   * better than the best solution of this objective function. The
+   * incumbent is then registered as if it was evaluated, costing one FE,
+   * and will be returned by {@link #getCopyOfBest(int[])}.
+   * </p>
+   * <p>
+   * Algorithms can call this method at their restart points, i.e.,
+   * whenever they are about to continue from the best solution found so
+   * far. For objective functions which have not joined a board or may not
+   * pull from it, this method does nothing and returns {@code false}.
+   * </p>
+   *
+   * @return {@code true} if the incumbent was adopted, {@code false}
+   *         otherwise
+   */
+  public final boolean pullIncumbent() {
+    final long f;
+
+    if (!(this.m_boardPull)) {
+      return false;
+    }
+
+    f = this.m_board.getCopyOfBest(this.m_bestX, this.m_currentLP.m_f);
+    if (f >= Long.MAX_VALUE) {
+      return false;
+    }
+    return this.__register(1l, null, f, false, false);
+  }
+
   /** the deterministic initialization procedure has finished */
   public final void endDeterministicInitialization() {
     final LogPoint cur, lp;
@@ -3348,7 +3896,9 @@ public final class ObjectiveFunction extends DistanceComputer {
 
       if (ls > 0) {
         this.m_log[ls - 1].m_type |= ObjectiveFunction.TYPE_FLAG_INIT_END;
+        this.m_metrics._sample(ls - 1);
       }
+      this.m_metrics._endInit();
 
       this.m_i_logSize = ls;
 
@@ -3388,6 +3938,7 @@ public final class ObjectiveFunction extends DistanceComputer {
   public final void endRun() {
     final long opt, t, fm, tm, mm;
     final double optm;
+    final double[] calibration;
     final Runtime rt;
     final LogPoint cur, lp;
     int i, ls, type;
@@ -3425,6 +3976,7 @@ public final class ObjectiveFunction extends DistanceComputer {
 
       if (ls > 0) {
         this.m_log[ls - 1].m_type |= ObjectiveFunction.TYPE_FLAG_END;
+        this.m_metrics._sample(ls - 1);
       }
 
       opt = this.m_optimum;
@@ -3500,6 +4052,19 @@ public final class ObjectiveFunction extends DistanceComputer {
           }
           ps.println(ObjectiveFunction.SECTION_END);
 
+          // print the run metrics and their samples at the log points
+          for (final char[] chs : ObjectiveFunction.METRICS_INFORMATION) {
+            ps.println(chs);
+          }
+          this.m_metrics._printSummary(ps, this.m_log, ls,
+              ((this.m_initializer != null) ? this.m_initLP.m_time : 0L));
+          ps.println(ObjectiveFunction.SECTION_END);
+          ps.println();
+          ps.println();
+          ps.println(ObjectiveFunction.METRICS_LOG_SECTION);
+          this.m_metrics._printSamples(ps, this.m_log, ls);
+          ps.println(ObjectiveFunction.SECTION_END);
+
           // print best solution discovered, if at least 1 FE was
           // performed
           if ((ls > 0) && (this.m_log[ls - 1].m_fe > 0)) {
@@ -3539,6 +4104,9 @@ public final class ObjectiveFunction extends DistanceComputer {
             ps.println(chs);
           }
           this.m_benchmark.printConfiguration(ps);
+          if (this.m_cache != null) {
+            this.__printCacheStatistics(ps);
+          }
 
           Configurable.printKey(ObjectiveFunction.RAND_SEED, ps);
           ps.println(this.m_randSeed);
@@ -3641,6 +4209,23 @@ public final class ObjectiveFunction extends DistanceComputer {
               ObjectiveFunction.RUNTIME_NORMALIZATION_FACTOR, ps);
           ps.println(this.m_timeNormalizationFactor);
 
+          Configurable.printKey(ObjectiveFunction.RUNTIME_CALIBRATION_HOST,
+              ps);
+          ps.println(_SpeedCalibration._host());
+          // if no calibration was passed in, it is only performed when it
+          // is first needed, i.e., when the first log file is written
+          calibration = ((this.m_calibration != null) ? this.m_calibration
+              : _SpeedCalibration._vector());
+          for (i = 0; i < calibration.length; i++) {
+            Configurable.printKey(
+                (ObjectiveFunction.RUNTIME_CALIBRATION_PREFIX + _SpeedCalibration.KERNELS[i]),
+                ps);
+            ps.println(calibration[i]);
+          }
+          Configurable.printKey(
+              ObjectiveFunction.RUNTIME_CALIBRATION_FACTOR, ps);
+          ps.println(_SpeedCalibration._factor(calibration));
+
           for (final String s : ObjectiveFunction.SYS_INFOS) {
             final String v = System.getProperty(s);
             if (v != null) {
@@ -3768,6 +4353,35 @@ public final class ObjectiveFunction extends DistanceComputer {
     ps.println(ObjectiveFunction.SECTION_END);
   }
 
+  /**
+   * Print the hit and miss counts of the distance cache during the current
+   * run, including those of the {@link #createWorker() workers}
+   *
+   * @param ps
+   *          the print stream
+   */
+  private final void __printCacheStatistics(final PrintStream ps) {
+    long neighborHits, tableHits, misses;
+
+    neighborHits = this.m_cache.getNeighborHits();
+    tableHits = this.m_cache.getTableHits();
+    misses = this.m_cache.getMisses();
+    synchronized (this.m_workerCaches) {
+      for (final DistanceCache c : this.m_workerCaches) {
+        neighborHits += c.getNeighborHits();
+        tableHits += c.getTableHits();
+        misses += c.getMisses();
+      }
+    }
+
+    Configurable.printKey(Benchmark.DISTANCE_CACHE_NEIGHBOR_HITS, ps);
+    ps.println(neighborHits);
+    Configurable.printKey(Benchmark.DISTANCE_CACHE_TABLE_HITS, ps);
+    ps.println(tableHits);
+    Configurable.printKey(Benchmark.DISTANCE_CACHE_MISSES, ps);
+    ps.println(misses);
+  }
+
   /**
    * Set the creator information to be written to each log file
    *
@@ -3788,6 +4402,41 @@ public final class ObjectiveFunction extends DistanceComputer {
     return this.m_creator;
   }
 
+  /**
+   * Measure the speed of this host with the suite of kernels of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedCalibration
+   * speed calibration}, or load the result of an earlier measurement on
+   * this host. This takes a few seconds and should be done once, before
+   * any run starts: Other threads running in parallel would bias the
+   * measurement. The result can then be passed to all objective functions
+   * via {@link #setSpeedCalibration(double[])}.
+   *
+   * @return the calibration vector, holding the runtime in milliseconds
+   *         per call of each kernel
+   */
+  public static final double[] calibrateSpeed() {
+    return _SpeedCalibration._calibrate().clone();
+  }
+
+  /**
+   * Set the speed calibration vector to be written to each log file
+   *
+   * @param calibration
+   *          the calibration vector obtained via {@link #calibrateSpeed()},
+   *          or {@code null} to perform the calibration when the first log
+   *          file is written
+   */
+  public final void setSpeedCalibration(final double[] calibration) {
+    if ((calibration != null)
+        && (calibration.length != _SpeedCalibration.KERNELS.length)) {
+      throw new IllegalArgumentException(//
+          "The calibration vector must have " + //$NON-NLS-1$
+              _SpeedCalibration.KERNELS.length + " elements, but has " + //$NON-NLS-1$
+              calibration.length);
+    }
+    this.m_calibration = calibration;
+  }
+
   /** {@inheritDoc} */
   @Override
   public final int distance(final int i, final int j) {
@@ -3831,6 +4480,72 @@ public final class ObjectiveFunction extends DistanceComputer {
     return this.m_dist.distance(i, j);
   }
 
+  /**
+   * Compute the distances from one city to several others at once. The
+   * {@code len} distance evaluations are counted as one batch, i.e., the
+   * DE checkpoints are checked only once per call.
+   *
+   * @param from
+   *          the city (or node) to compute the distances from, 1-based
+   * @param to
+   *          the array with the cities (or nodes) to compute the
+   *          distances to, 1-based
+   * @param off
+   *          the index of the first city in {@code to}
+   * @param len
+   *          the number of distances to compute
+   * @param out
+   *          the array to receive the distances, at the same indexes as
+   *          the cities in {@code to}
+   */
+  @Override
+  public final void distances(final int from, final int[] to,
+      final int off, final int len, final int[] out) {
+    this.__countDEs(len);
+    this.m_dist.distances(from, to, off, len, out);
+  }
+
+  /**
+   * Compute the distances from one city to all cities. This counts as
+   * {@link #n()} distance evaluations, which are counted as one batch,
+   * i.e., the DE checkpoints are checked only once per call.
+   *
+   * @param from
+   *          the city (or node) to compute the distances from, 1-based
+   * @param out
+   *          the array to receive the distances, must have at least
+   *          {@link #n()} elements
+   */
+  @Override
+  public final void distanceRow(final int from, final int[] out) {
+    this.__countDEs(this.m_n);
+    this.m_dist.distanceRow(from, out);
+  }
+
+  /**
+   * Tell the distance computer that the given nodes are the nearest
+   * neighbors of {@code node}, so that a distance cache can keep their
+   * distances. The distances must have been computed via this objective
+   * function before, so this does not count as distance evaluation.
+   *
+   * @param node
+   *          the city (or node) whose neighbors are given, 1-based
+   * @param neighbors
+   *          the array with the neighbors, 1-based, nearest first
+   * @param dists
+   *          the distances from {@code node} to the neighbors, at the
+   *          same indexes as the neighbors
+   * @param off
+   *          the index of the first neighbor in {@code neighbors}
+   * @param len
+   *          the number of neighbors
+   */
+  @Override
+  public final void cacheNeighbors(final int node, final int[] neighbors,
+      final int[] dists, final int off, final int len) {
+    this.m_dist.cacheNeighbors(node, neighbors, dists, off, len);
+  }
+
   /**
    * <p>
    * Evaluate a given candidate solution in <a
@@ -3942,6 +4657,25 @@ public final class ObjectiveFunction extends DistanceComputer {
     return this.__register(fes, nodes, f, false, false);
   }
 
+  /**
+   * Register that a given number of distance evaluations has been
+   * performed without calling {@link #distance(int, int)}, e.g., by a
+   * {@link #createWorker() worker} objective function. No {@code FE} will
+   * be registered. The DEs are counted for the next log point, which will
+   * be taken when the next FE is registered.
+   *
+   * @param des
+   *          the number of distance evaluations that have (implicitly)
+   *          been performed
+   * @see #distance(int, int)
+   * @see #registerFEs(long, int[], long)
+   */
+  public final void registerDEs(final long des) {
+    if (des > 0l) {
+      this.__countDEs(des);
+    }
+  }
+
   /**
    * <p>
    * Evaluate a given candidate solution in <a
@@ -4111,7 +4845,7 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   private final boolean __register(final long fes, final int[] nodes,
       final long f, final boolean countDEs, final boolean adj) {
-    final long fe, de, t;
+    final long fe, t;
     final LogPoint cur;
     final boolean improved;
 
@@ -4123,6 +4857,7 @@ public final class ObjectiveFunction extends DistanceComputer {
 
       // then let us remember this improvement and copy the solution
       this.m_fimproved = true;
+      this.m_metrics.m_improvements++;
       cur.m_f = f;
       if (nodes != null) {
         if (adj) {
@@ -4180,29 +4915,7 @@ public final class ObjectiveFunction extends DistanceComputer {
     // should we count the DEs?
     if (countDEs) {
       // if so, we add the DEs
-      de = (cur.m_de += (fes * this.m_n));
-
-      // did we pass a check point?
-      if (de >= this.m_nextDE) {
-        this.m_shouldLog = true;
-        cur.m_type |= ObjectiveFunction.TYPE_FLAG_DE;
-
-        // find the next check point
-        do {
-          if ((--this.m_deIdx) < 0) {// no next check point? quit!
-            this.m_terminate = true;
-            break;
-          }
-          this.m_nextDE = this.m_FEsDEsToLog[this.m_deIdx];
-        } while (de >= this.m_nextDE);
-
-        // the maximum DE limit will always be a check point, so we only
-        // need
-        // to check it here
-        if (de >= this.m_maxDEs) {
-          this.m_terminate = true;
-        }
-      }
+      this.__countDEs(fes * this.m_n);
     }
 
     // we did not log but found an improvement: update internal point
@@ -4221,7 +4934,8 @@ public final class ObjectiveFunction extends DistanceComputer {
         // store a log point
         this.m_shouldLog = false;
         this.m_fimproved = false;
-        this.m_log[this.m_logSize++]._assign(cur);
+        this.m_log[this.m_logSize]._assign(cur);
+        this.m_metrics._sample(this.m_logSize++);
         cur.m_type = 0;
       }
 
@@ -4230,9 +4944,57 @@ public final class ObjectiveFunction extends DistanceComputer {
       }
     }
 
+    if (this.m_board != null) {
+      if (improved && (nodes != null)) {
+        this.m_board.offer(this.m_bestX, f);
+      }
+      if (this.m_board._report(this.m_boardSlot, fe, cur.m_de)) {
+        // the budget shared by the workers on the board is used up
+        this.m_terminate = true;
+      }
+    }
+
     return improved;
   }
 
+  /**
+   * Count a given number of distance evaluations and update the DE check
+   * points accordingly. The log point itself will be taken by the next
+   * registered improvement or function evaluation.
+   *
+   * @param des
+   *          the number of distance evaluations to count
+   */
+  private final void __countDEs(final long des) {
+    final long de;
+    final LogPoint cur;
+
+    cur = this.m_currentLP;
+    de = (cur.m_de += des);
+
+    // did we pass a check point?
+    if (de >= this.m_nextDE) {
+      this.m_shouldLog = true;
+      cur.m_type |= ObjectiveFunction.TYPE_FLAG_DE;
+
+      // find the next check point
+      do {
+        if ((--this.m_deIdx) < 0) {// no next check point? quit!
+          this.m_terminate = true;
+          break;
+        }
+        this.m_nextDE = this.m_FEsDEsToLog[this.m_deIdx];
+      } while (de >= this.m_nextDE);
+
+      // the maximum DE limit will always be a check point, so we only
+      // need
+      // to check it here
+      if (de >= this.m_maxDEs) {
+        this.m_terminate = true;
+      }
+    }
+  }
+
   /**
    * Get a copy of the best candidate solution discovered in this run in <a
    * href="#pathRepresentation"><em>path representation</em></a>. This is
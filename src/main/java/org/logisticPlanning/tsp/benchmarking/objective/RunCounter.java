@@ -0,0 +1,82 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+/**
+ * <p>
+ * A counter which an algorithm can obtain from an
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getCounter(String)
+ * objective function} in order to record how often a certain event
+ * happens during a run, e.g., how many moves were tried or applied, how
+ * often a local search was restarted, or how many nodes of a
+ * branch-and-bound tree were expanded.
+ * </p>
+ * <p>
+ * Counting is as cheap as incrementing a {@code long} field: The value of
+ * the counter is only read by the objective function when a
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.LogPoint log
+ * point} is stored. The values at these checkpoints and at the end of the
+ * run are written to the log file. A counter is not thread-safe: It must
+ * only be used by the thread working with the objective function it was
+ * obtained from. Algorithms using
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#createWorker()
+ * worker} objective functions should obtain the counter from each worker
+ * separately; the values of counters with the same name are then added up.
+ * </p>
+ */
+public final class RunCounter {
+
+  /** the name of the counter */
+  private final String m_name;
+
+  /** the value */
+  long m_value;
+
+  /**
+   * create the counter
+   *
+   * @param name
+   *          the name of the counter
+   */
+  RunCounter(final String name) {
+    super();
+    this.m_name = name;
+  }
+
+  /**
+   * Get the name of this counter
+   *
+   * @return the name of this counter
+   */
+  public final String getName() {
+    return this.m_name;
+  }
+
+  /** Increment the counter by one */
+  public final void increment() {
+    this.m_value++;
+  }
+
+  /**
+   * Add a value to the counter
+   *
+   * @param value
+   *          the value to add
+   */
+  public final void add(final long value) {
+    this.m_value += value;
+  }
+
+  /**
+   * Get the current value of the counter
+   *
+   * @return the current value of the counter
+   */
+  public final long get() {
+    return this.m_value;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((this.m_name + '=') + this.m_value);
+  }
+}
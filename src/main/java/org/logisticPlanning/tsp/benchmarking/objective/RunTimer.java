@@ -0,0 +1,106 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+/**
+ * <p>
+ * A timer which an algorithm can obtain from an
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getTimer(String)
+ * objective function} in order to measure how much time it spends in a
+ * certain phase or procedure, e.g., in a local search or in the
+ * construction of a candidate set. Each pair of calls to {@link #start()}
+ * and {@link #stop()} adds the elapsed time to the total time of the timer
+ * and counts as one interval.
+ * </p>
+ * <p>
+ * Each call to {@link #start()} or {@link #stop()} reads the
+ * {@link java.lang.System#nanoTime() system time}, so timers should be
+ * wrapped around procedures taking at least a few microseconds, not around
+ * single moves. Like a
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.RunCounter
+ * counter}, a timer is only read at log checkpoints and is not
+ * thread-safe.
+ * </p>
+ */
+public final class RunTimer {
+
+  /** the name of the timer */
+  private final String m_name;
+
+  /** the total measured time in nanoseconds */
+  long m_total;
+
+  /** the number of measured intervals */
+  long m_count;
+
+  /** the start time of the current interval, or {@code -1} if stopped */
+  private long m_start;
+
+  /**
+   * create the timer
+   *
+   * @param name
+   *          the name of the timer
+   */
+  RunTimer(final String name) {
+    super();
+    this.m_name = name;
+    this.m_start = (-1L);
+  }
+
+  /**
+   * Get the name of this timer
+   *
+   * @return the name of this timer
+   */
+  public final String getName() {
+    return this.m_name;
+  }
+
+  /** Start measuring an interval */
+  public final void start() {
+    this.m_start = System.nanoTime();
+  }
+
+  /**
+   * Stop measuring the current interval and add its duration to the total
+   * time. If the timer was not started, nothing happens.
+   */
+  public final void stop() {
+    if (this.m_start >= 0L) {
+      this.m_total += (System.nanoTime() - this.m_start);
+      this.m_count++;
+      this.m_start = (-1L);
+    }
+  }
+
+  /**
+   * Get the total time measured in all completed intervals
+   *
+   * @return the total time in milliseconds
+   */
+  public final double getTotalTime() {
+    return (this.m_total / 1e6d);
+  }
+
+  /**
+   * Get the number of completed intervals
+   *
+   * @return the number of completed intervals
+   */
+  public final long getCount() {
+    return this.m_count;
+  }
+
+  /** reset the timer */
+  final void _reset() {
+    this.m_total = 0L;
+    this.m_count = 0L;
+    this.m_start = (-1L);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((((this.m_name + '=') + this.getTotalTime()) + "ms/") + //$NON-NLS-1$
+    this.m_count);
+  }
+}
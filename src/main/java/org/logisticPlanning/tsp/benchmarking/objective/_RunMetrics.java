@@ -0,0 +1,612 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.logisticPlanning.utils.config.Configurable;
+
+/**
+ * <p>
+ * The metrics of the runs of one
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction
+ * objective function}: the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.RunCounter
+ * counters} and {@link org.logisticPlanning.tsp.benchmarking.objective.RunTimer
+ * timers} registered by the algorithm as well as some built-in measures,
+ * namely the number and duration of garbage collections, the number of
+ * bytes allocated by the thread performing the run, and the number of
+ * improvements of the best solution.
+ * </p>
+ * <p>
+ * All of these values are only sampled when a
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.LogPoint log
+ * point} is stored, so they do not slow down the run. The samples are
+ * kept in rows parallel to the log points. The metrics of
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#createWorker()
+ * workers} are not sampled by themselves, instead their counters and
+ * timers are added to the ones of their owner with the same name.
+ * </p>
+ */
+final class _RunMetrics {
+
+  /** the built-in columns */
+  private static final String[] BUILT_IN = { "gcCount", //$NON-NLS-1$
+      "gcTime", //$NON-NLS-1$
+      "allocatedBytes", //$NON-NLS-1$
+      "improvements" //$NON-NLS-1$
+  };
+
+  /** the index of the number of garbage collections */
+  private static final int GC_COUNT = 0;
+  /** the index of the time spent in garbage collection */
+  private static final int GC_TIME = 1;
+  /** the index of the number of allocated bytes */
+  private static final int ALLOCATED = 2;
+  /** the index of the number of improvements */
+  private static final int IMPROVEMENTS = 3;
+
+  /** the empty counter array */
+  private static final RunCounter[] NO_COUNTERS = new RunCounter[0];
+  /** the empty timer array */
+  private static final RunTimer[] NO_TIMERS = new RunTimer[0];
+
+  /** the garbage collectors */
+  private static final List<GarbageCollectorMXBean> GCS;
+
+  /** the thread bean, or {@code null} if not supported */
+  private static final Object THREADS;
+
+  /**
+   * the method for getting the number of bytes allocated by a thread, or
+   * {@code null} if not supported
+   */
+  private static final Method ALLOCATED_BYTES;
+
+  static {
+    List<GarbageCollectorMXBean> gcs;
+    Object threads;
+    Method m;
+
+    try {
+      gcs = ManagementFactory.getGarbageCollectorMXBeans();
+    } catch (final Throwable t) {
+      gcs = new ArrayList<>();
+    }
+    GCS = gcs;
+
+    threads = null;
+    m = null;
+    try {
+      threads = ManagementFactory.getThreadMXBean();
+      m = Class.forName("com.sun.management.ThreadMXBean").getMethod(//$NON-NLS-1$
+          "getThreadAllocatedBytes", long.class); //$NON-NLS-1$
+      if (!(m.getDeclaringClass().isInstance(threads))) {
+        m = null;
+      }
+    } catch (final Throwable t) {
+      m = null;
+    }
+    THREADS = ((m != null) ? threads : null);
+    ALLOCATED_BYTES = m;
+  }
+
+  /** the counters */
+  private volatile RunCounter[] m_counters;
+
+  /** the timers */
+  private volatile RunTimer[] m_timers;
+
+  /** the metrics of the workers */
+  private final ArrayList<_RunMetrics> m_workers;
+
+  /** the number of improvements */
+  long m_improvements;
+
+  /** the garbage collection count at the beginning */
+  private long m_gcCount0;
+
+  /** the garbage collection time at the beginning */
+  private long m_gcTime0;
+
+  /** the allocated bytes at the beginning */
+  private long m_allocated0;
+
+  /** the id of the thread performing the run */
+  private long m_thread;
+
+  /** the names of the counters in the samples */
+  private final ArrayList<String> m_counterNames;
+
+  /** the names of the timers in the samples */
+  private final ArrayList<String> m_timerNames;
+
+  /** the sampled counter values, parallel to the log points */
+  private final long[][] m_counterSamples;
+
+  /** the sampled timer values, parallel to the log points */
+  private final long[][] m_timerSamples;
+
+  /** the counters at the end of the deterministic initialization */
+  private long[] m_initCounters;
+
+  /** the timers at the end of the deterministic initialization */
+  private long[] m_initTimers;
+
+  /**
+   * create the metrics
+   *
+   * @param logSize
+   *          the maximum number of log points, or {@code 0} if samples
+   *          are never taken, i.e., for workers
+   */
+  _RunMetrics(final int logSize) {
+    super();
+    this.m_counters = _RunMetrics.NO_COUNTERS;
+    this.m_timers = _RunMetrics.NO_TIMERS;
+    this.m_workers = new ArrayList<>();
+    this.m_counterNames = new ArrayList<>();
+    this.m_timerNames = new ArrayList<>();
+    this.m_counterSamples = new long[logSize][];
+    this.m_timerSamples = new long[logSize][];
+  }
+
+  /**
+   * Get the counter of the given name, create it if necessary
+   *
+   * @param name
+   *          the name
+   * @return the counter
+   */
+  final RunCounter _getCounter(final String name) {
+    final RunCounter[] old;
+    final RunCounter[] counters;
+    final RunCounter c;
+
+    old = this.m_counters;
+    for (final RunCounter x : old) {
+      if (x.getName().equals(name)) {
+        return x;
+      }
+    }
+    c = new RunCounter(name);
+    counters = new RunCounter[old.length + 1];
+    System.arraycopy(old, 0, counters, 0, old.length);
+    counters[old.length] = c;
+    this.m_counters = counters;
+    return c;
+  }
+
+  /**
+   * Get the timer of the given name, create it if necessary
+   *
+   * @param name
+   *          the name
+   * @return the timer
+   */
+  final RunTimer _getTimer(final String name) {
+    final RunTimer[] old;
+    final RunTimer[] timers;
+    final RunTimer t;
+
+    old = this.m_timers;
+    for (final RunTimer x : old) {
+      if (x.getName().equals(name)) {
+        return x;
+      }
+    }
+    t = new RunTimer(name);
+    timers = new RunTimer[old.length + 1];
+    System.arraycopy(old, 0, timers, 0, old.length);
+    timers[old.length] = t;
+    this.m_timers = timers;
+    return t;
+  }
+
+  /**
+   * Add the metrics of a worker
+   *
+   * @param worker
+   *          the metrics of the worker
+   */
+  final synchronized void _addWorker(final _RunMetrics worker) {
+    this.m_workers.add(worker);
+  }
+
+  /**
+   * Get the total number of garbage collections
+   *
+   * @return the total number of garbage collections
+   */
+  private static final long __gcCount() {
+    long s, v;
+
+    s = 0L;
+    for (final GarbageCollectorMXBean b : _RunMetrics.GCS) {
+      v = b.getCollectionCount();
+      if (v > 0L) {
+        s += v;
+      }
+    }
+    return s;
+  }
+
+  /**
+   * Get the total time spent in garbage collection
+   *
+   * @return the total time spent in garbage collection, in milliseconds
+   */
+  private static final long __gcTime() {
+    long s, v;
+
+    s = 0L;
+    for (final GarbageCollectorMXBean b : _RunMetrics.GCS) {
+      v = b.getCollectionTime();
+      if (v > 0L) {
+        s += v;
+      }
+    }
+    return s;
+  }
+
+  /**
+   * Get the number of bytes allocated by a thread
+   *
+   * @param thread
+   *          the thread id
+   * @return the number of allocated bytes, or {@code 0} if unknown
+   */
+  private static final long __allocated(final long thread) {
+    final Object v;
+
+    if (_RunMetrics.ALLOCATED_BYTES != null) {
+      try {
+        v = _RunMetrics.ALLOCATED_BYTES.invoke(_RunMetrics.THREADS,
+            Long.valueOf(thread));
+        if (v instanceof Long) {
+          return Math.max(0L, ((Long) v).longValue());
+        }
+      } catch (final Throwable t) {
+        // not supported, ignore
+      }
+    }
+    return 0L;
+  }
+
+  /**
+   * Begin a run or initialization procedure
+   *
+   * @param useInit
+   *          continue from the values at the end of the deterministic
+   *          initialization procedure (or not)
+   */
+  final void _begin(final boolean useInit) {
+    final long[] c, t;
+    int i, j;
+
+    synchronized (this) {
+      this.m_workers.clear();
+    }
+    this.m_thread = Thread.currentThread().getId();
+    this.m_gcCount0 = _RunMetrics.__gcCount();
+    this.m_gcTime0 = _RunMetrics.__gcTime();
+    this.m_allocated0 = _RunMetrics.__allocated(this.m_thread);
+
+    for (final RunCounter x : this.m_counters) {
+      x.m_value = 0L;
+    }
+    for (final RunTimer x : this.m_timers) {
+      x._reset();
+    }
+    this.m_improvements = 0L;
+
+    c = this.m_initCounters;
+    t = this.m_initTimers;
+    if (useInit && (c != null) && (t != null)) {
+      this.m_gcCount0 -= c[_RunMetrics.GC_COUNT];
+      this.m_gcTime0 -= c[_RunMetrics.GC_TIME];
+      this.m_allocated0 -= c[_RunMetrics.ALLOCATED];
+      this.m_improvements = c[_RunMetrics.IMPROVEMENTS];
+
+      j = _RunMetrics.BUILT_IN.length;
+      for (i = 0; i < (c.length - j); i++) {
+        this._getCounter(this.m_counterNames.get(i)).m_value = c[i + j];
+      }
+      for (i = 0; i < t.length; i++) {
+        this._getTimer(this.m_timerNames.get(i)).m_total = t[i];
+      }
+    }
+  }
+
+  /** the deterministic initialization procedure has ended */
+  final void _endInit() {
+    this.m_initCounters = this.__sampleCounters(null);
+    this.m_initTimers = this.__sampleTimers(null);
+  }
+
+  /** the deterministic initialization data has been deleted */
+  final void _deleteInit() {
+    this.m_initCounters = null;
+    this.m_initTimers = null;
+  }
+
+  /**
+   * Get the column of a name
+   *
+   * @param names
+   *          the column names
+   * @param name
+   *          the name to find
+   * @return the column index
+   */
+  private static final int __column(final ArrayList<String> names,
+      final String name) {
+    int i;
+
+    i = names.indexOf(name);
+    if (i < 0) {
+      i = names.size();
+      names.add(name);
+    }
+    return i;
+  }
+
+  /**
+   * Sample the current counter values
+   *
+   * @param row
+   *          a row which may be re-used, or {@code null}
+   * @return the row
+   */
+  private final long[] __sampleCounters(final long[] row) {
+    final int base;
+    final ArrayList<String> names;
+    long[] r;
+
+    names = this.m_counterNames;
+    base = _RunMetrics.BUILT_IN.length;
+    for (final RunCounter c : this.m_counters) {
+      _RunMetrics.__column(names, c.getName());
+    }
+    synchronized (this) {
+      for (final _RunMetrics w : this.m_workers) {
+        for (final RunCounter c : w.m_counters) {
+          _RunMetrics.__column(names, c.getName());
+        }
+      }
+
+      r = row;
+      if ((r == null) || (r.length != (base + names.size()))) {
+        r = new long[base + names.size()];
+      } else {
+        Arrays.fill(r, 0L);
+      }
+
+      r[_RunMetrics.GC_COUNT] = (_RunMetrics.__gcCount() - this.m_gcCount0);
+      r[_RunMetrics.GC_TIME] = (_RunMetrics.__gcTime() - this.m_gcTime0);
+      r[_RunMetrics.ALLOCATED] = (_RunMetrics.__allocated(this.m_thread) - this.m_allocated0);
+      r[_RunMetrics.IMPROVEMENTS] = this.m_improvements;
+
+      for (final RunCounter c : this.m_counters) {
+        r[base + names.indexOf(c.getName())] += c.m_value;
+      }
+      for (final _RunMetrics w : this.m_workers) {
+        for (final RunCounter c : w.m_counters) {
+          r[base + names.indexOf(c.getName())] += c.m_value;
+        }
+      }
+    }
+    return r;
+  }
+
+  /**
+   * Sample the current timer values
+   *
+   * @param row
+   *          a row which may be re-used, or {@code null}
+   * @return the row
+   */
+  private final long[] __sampleTimers(final long[] row) {
+    final ArrayList<String> names;
+    long[] r;
+
+    names = this.m_timerNames;
+    for (final RunTimer t : this.m_timers) {
+      _RunMetrics.__column(names, t.getName());
+    }
+    synchronized (this) {
+      for (final _RunMetrics w : this.m_workers) {
+        for (final RunTimer t : w.m_timers) {
+          _RunMetrics.__column(names, t.getName());
+        }
+      }
+
+      r = row;
+      if ((r == null) || (r.length != names.size())) {
+        r = new long[names.size()];
+      } else {
+        Arrays.fill(r, 0L);
+      }
+
+      for (final RunTimer t : this.m_timers) {
+        r[names.indexOf(t.getName())] += t.m_total;
+      }
+      for (final _RunMetrics w : this.m_workers) {
+        for (final RunTimer t : w.m_timers) {
+          r[names.indexOf(t.getName())] += t.m_total;
+        }
+      }
+    }
+    return r;
+  }
+
+  /**
+   * Take a sample for the log point at the given index
+   *
+   * @param index
+   *          the index of the log point
+   */
+  final void _sample(final int index) {
+    if (index >= this.m_counterSamples.length) {
+      return;
+    }
+    this.m_counterSamples[index] = this
+        .__sampleCounters(this.m_counterSamples[index]);
+    this.m_timerSamples[index] = this
+        .__sampleTimers(this.m_timerSamples[index]);
+  }
+
+  /**
+   * Get a sampled value, or {@code 0} if the column did not exist when
+   * the sample was taken
+   *
+   * @param row
+   *          the row
+   * @param index
+   *          the index
+   * @return the value
+   */
+  private static final long __get(final long[] row, final int index) {
+    return (((row != null) && (index < row.length)) ? row[index] : 0L);
+  }
+
+  /**
+   * Print the metrics section with the final values of the run
+   *
+   * @param ps
+   *          the print stream
+   * @param log
+   *          the log points
+   * @param logSize
+   *          the number of log points
+   * @param initTime
+   *          the runtime of the deterministic initialization procedure in
+   *          milliseconds, or {@code 0} if there was none
+   */
+  final void _printSummary(final PrintStream ps, final LogPoint[] log,
+      final int logSize, final long initTime) {
+    final long[] c, t;
+    final long time;
+    final int base;
+    int i;
+
+    if (logSize > 0) {
+      c = this.m_counterSamples[logSize - 1];
+      t = this.m_timerSamples[logSize - 1];
+      time = log[logSize - 1].m_time;
+    } else {
+      c = this.__sampleCounters(null);
+      t = this.__sampleTimers(null);
+      time = 0L;
+    }
+
+    Configurable.printKey(ObjectiveFunction.METRICS_INITIALIZATION_TIME,
+        ps);
+    ps.println(initTime);
+    Configurable.printKey(ObjectiveFunction.METRICS_SEARCH_TIME, ps);
+    ps.println(Math.max(0L, (time - initTime)));
+
+    base = _RunMetrics.BUILT_IN.length;
+    for (i = 0; i < base; i++) {
+      Configurable.printKey(_RunMetrics.BUILT_IN[i], ps);
+      ps.println(_RunMetrics.__get(c, i));
+    }
+    Configurable.printKey(ObjectiveFunction.METRICS_ALLOCATION_RATE, ps);
+    ps.println((time > 0L) ? (_RunMetrics.__get(c,
+        _RunMetrics.ALLOCATED) / ((double) time)) : 0d);
+
+    for (i = 0; i < this.m_counterNames.size(); i++) {
+      Configurable.printKey(ObjectiveFunction.METRICS_COUNTER_PREFIX
+          + this.m_counterNames.get(i), ps);
+      ps.println(_RunMetrics.__get(c, i + base));
+    }
+    for (i = 0; i < this.m_timerNames.size(); i++) {
+      Configurable.printKey(ObjectiveFunction.METRICS_TIMER_PREFIX
+          + this.m_timerNames.get(i), ps);
+      ps.println(_RunMetrics.__get(t, i) / 1e6d);
+    }
+  }
+
+  /**
+   * Print the table with the values sampled at the log points
+   *
+   * @param ps
+   *          the print stream
+   * @param log
+   *          the log points
+   * @param logSize
+   *          the number of log points
+   */
+  final void _printSamples(final PrintStream ps, final LogPoint[] log,
+      final int logSize) {
+    final int base, counters, timers;
+    long[] c, t;
+    LogPoint p;
+    int i, j;
+
+    base = _RunMetrics.BUILT_IN.length;
+    counters = this.m_counterNames.size();
+    timers = this.m_timerNames.size();
+
+    ps.print("// Format: FE time"); //$NON-NLS-1$
+    for (final String s : _RunMetrics.BUILT_IN) {
+      ps.print(' ');
+      ps.print(s);
+    }
+    for (final String s : this.m_counterNames) {
+      ps.print(' ');
+      ps.print(ObjectiveFunction.METRICS_COUNTER_PREFIX);
+      ps.print(s);
+    }
+    for (final String s : this.m_timerNames) {
+      ps.print(' ');
+      ps.print(ObjectiveFunction.METRICS_TIMER_PREFIX);
+      ps.print(s);
+    }
+    ps.println();
+
+    for (i = 0; i < logSize; i++) {
+      p = log[i];
+      c = this.m_counterSamples[i];
+      t = this.m_timerSamples[i];
+      ps.print(p.m_fe);
+      ps.print('\t');
+      ps.print(p.m_time);
+      for (j = 0; j < (base + counters); j++) {
+        ps.print('\t');
+        ps.print(_RunMetrics.__get(c, j));
+      }
+      for (j = 0; j < timers; j++) {
+        ps.print('\t');
+        ps.print(_RunMetrics.__get(t, j) / 1e6d);
+      }
+      ps.println();
+    }
+  }
+
+  /**
+   * Append the current values of the counters and timers, for monitoring.
+   * This method may be called by any thread and may return slightly
+   * inconsistent values.
+   *
+   * @param sb
+   *          the string builder
+   */
+  final void _appendCurrent(final StringBuilder sb) {
+    sb.append(_RunMetrics.BUILT_IN[_RunMetrics.IMPROVEMENTS]);
+    sb.append('=');
+    sb.append(this.m_improvements);
+    for (final RunCounter c : this.m_counters) {
+      sb.append(',');
+      sb.append(c);
+    }
+    for (final RunTimer t : this.m_timers) {
+      sb.append(',');
+      sb.append(t);
+    }
+  }
+}
@@ -0,0 +1,568 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.util.Arrays;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.IndividualTourLengthComparator;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it. It measures the speed of the
+ * host computer with a suite of small kernels that resemble the work done
+ * by typical TSP solvers. Different from the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedBenchmark
+ * per-instance speed benchmark}, which runs a nearest neighbor heuristic
+ * on the benchmark instance itself and thus mainly captures the speed of
+ * small loops and method calls, the kernels here also stress the memory
+ * hierarchy and the garbage collector:
+ * </p>
+ * <ol>
+ * <li>{@code matrixScan}: sum up all entries of the distance matrix of
+ * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#DSJ1000
+ * dsj1000}.</li>
+ * <li>{@code coordinateEvaluation}: evaluate a random tour of the
+ * coordinate-based instance
+ * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#RL11849
+ * rl11849}.</li>
+ * <li>{@code permutationUpdate}: compute the delta of and then apply
+ * random reversals on a random tour of
+ * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#RL11849
+ * rl11849}.</li>
+ * <li>{@code allocation}: perform generations of a simple
+ * {@code (mu+lambda)} evolutionary algorithm on
+ * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#DSJ1000
+ * dsj1000} which allocates a new individual and tour for each offspring.</li>
+ * </ol>
+ * <p>
+ * Each kernel is first run for a while to give the JIT a chance to compile
+ * it. Then, its runtime per call is measured several times in the same
+ * way as in
+ * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedBenchmark#_timeBenchmarkRun(ObjectiveFunction)}
+ * and the smallest value is kept. The result is a vector with one
+ * millisecond value per kernel, whose geometric mean can serve as a
+ * single, instance-independent normalization factor.
+ * </p>
+ * <p>
+ * The calibration needs a few seconds, so it is performed only once per
+ * JVM. The
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#benchmark()
+ * algorithm runner} performs it via {@link #_calibrate()} before its
+ * worker threads start, so that the measurement is not disturbed by
+ * concurrent runs. Its result is then stored in a small file in the
+ * temporary directory, whose name contains the host name and a hash of the
+ * JVM/hardware description. Other processes on the same host can thus use
+ * the same values, which makes their normalized runtimes directly
+ * comparable. If the calibration was not performed in advance, it is
+ * performed via {@link #_vector()} when the first log file is written. As
+ * other runs may be going on at that time, such a result is used by this
+ * JVM only and never stored in the file.
+ * </p>
+ */
+final class _SpeedCalibration {
+
+  /** the names of the kernels */
+  static final String[] KERNELS = { "matrixScan", //$NON-NLS-1$
+      "coordinateEvaluation", //$NON-NLS-1$
+      "permutationUpdate", //$NON-NLS-1$
+      "allocation" //$NON-NLS-1$
+  };
+
+  /** the seed used for all random decisions */
+  private static final long SEED = 0x5DEECE66DL;
+
+  /** the number of reversals per call of the permutation update kernel */
+  private static final int REVERSALS = 256;
+
+  /** the population size of the allocation kernel */
+  private static final int MU = 16;
+
+  /** the minimum time in ms for warming up a kernel */
+  private static final long WARMUP_TIME = 200L;
+
+  /** the minimum time in ms for a single measurement */
+  private static final long MEASURE_TIME = 30L;
+
+  /** the number of measurements per kernel */
+  private static final int MEASUREMENTS = 5;
+
+  /** the object used for locking */
+  private static final Object LOCK = new Object();
+
+  /** the host name, or {@code null} if not yet determined */
+  private static volatile String HOST;
+
+  /** the calibration vector, or {@code null} if not yet determined */
+  private static volatile double[] VECTOR;
+
+  /** the dsj1000 distance matrix */
+  private final DistanceComputer m_matrix;
+
+  /** the rl11849 coordinate-based distance computer */
+  private final DistanceComputer m_coords;
+
+  /** a random tour of rl11849 */
+  private final int[] m_tour;
+
+  /** a working copy of {@link #m_tour} */
+  private final int[] m_work;
+
+  /** the randomizer */
+  private final Randomizer m_random;
+
+  /** the population of the allocation kernel */
+  private final Individual<int[]>[] m_pop;
+
+  /**
+   * create the calibration kernels
+   *
+   * @throws IOException
+   *           if the instances cannot be loaded
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private _SpeedCalibration() throws IOException {
+    super();
+
+    this.m_matrix = Instance.DSJ1000
+        .load(Benchmark.DEFAULT_MATRIX_LIMIT_DIM);
+    this.m_coords = Instance.RL11849
+        .load(Benchmark.DEFAULT_MATRIX_LIMIT_DIM);
+    this.m_random = new Randomizer(_SpeedCalibration.SEED);
+    this.m_tour = _SpeedCalibration.__randomTour(this.m_coords.n(),
+        this.m_random);
+    this.m_work = new int[this.m_tour.length];
+    this.m_pop = new Individual[_SpeedCalibration.MU << 1];
+  }
+
+  /**
+   * Create a random tour
+   *
+   * @param n
+   *          the number of nodes
+   * @param r
+   *          the randomizer
+   * @return the tour
+   */
+  private static final int[] __randomTour(final int n, final Randomizer r) {
+    final int[] tour;
+    int i, j, t;
+
+    tour = new int[n];
+    for (i = n; i > 0; i--) {
+      tour[i - 1] = i;
+    }
+    for (i = n; i > 1;) {
+      j = r.nextInt(i--);
+      t = tour[i];
+      tour[i] = tour[j];
+      tour[j] = t;
+    }
+    return tour;
+  }
+
+  /**
+   * Get the name of the host this JVM is running on
+   *
+   * @return the name of the host
+   */
+  static final String _host() {
+    String s;
+
+    s = _SpeedCalibration.HOST;
+    if (s != null) {
+      return s;
+    }
+
+    synchronized (_SpeedCalibration.LOCK) {
+      if (_SpeedCalibration.HOST == null) {
+        s = null;
+        try {
+          s = InetAddress.getLocalHost().getHostName();
+        } catch (final Throwable t) {
+          s = System.getenv("HOSTNAME"); //$NON-NLS-1$
+          if (s == null) {
+            s = System.getenv("COMPUTERNAME"); //$NON-NLS-1$
+          }
+        }
+        if ((s == null) || ((s = s.trim()).isEmpty())) {
+          s = "unknown"; //$NON-NLS-1$
+        }
+        _SpeedCalibration.HOST = s;
+      }
+      return _SpeedCalibration.HOST;
+    }
+  }
+
+  /**
+   * Get the calibration vector of this host, performing the calibration if
+   * it has neither been performed nor stored before. This method should
+   * be called before any run starts, as the result of a new calibration
+   * is stored in the cache file. The returned array must not be modified.
+   *
+   * @return the calibration vector, holding the runtime in milliseconds
+   *         per call of each of the {@link #KERNELS}
+   */
+  static final double[] _calibrate() {
+    return _SpeedCalibration.__vector(true);
+  }
+
+  /**
+   * Get the calibration vector of this host, performing the calibration if
+   * it has neither been performed nor stored before. As runs may be going
+   * on in parallel, the result of a new calibration is not stored in the
+   * cache file. The returned array must not be modified.
+   *
+   * @return the calibration vector, holding the runtime in milliseconds
+   *         per call of each of the {@link #KERNELS}
+   */
+  static final double[] _vector() {
+    return _SpeedCalibration.__vector(false);
+  }
+
+  /**
+   * Get the calibration vector of this host
+   *
+   * @param store
+   *          should the result of a new calibration be stored in the
+   *          cache file?
+   * @return the calibration vector, holding the runtime in milliseconds
+   *         per call of each of the {@link #KERNELS}
+   */
+  private static final double[] __vector(final boolean store) {
+    final String desc;
+    final File cache;
+    double[] v;
+
+    v = _SpeedCalibration.VECTOR;
+    if (v != null) {
+      return v;
+    }
+
+    synchronized (_SpeedCalibration.LOCK) {
+      if (_SpeedCalibration.VECTOR == null) {
+        desc = _SpeedCalibration.__describe();
+        cache = new File(System.getProperty("java.io.tmpdir"), //$NON-NLS-1$
+            "tspSuite-calibration-" + //$NON-NLS-1$
+                _SpeedCalibration._host().replaceAll("[^a-zA-Z0-9.-]", //$NON-NLS-1$
+                    "_") + '-' + //$NON-NLS-1$
+                Integer.toHexString(desc.hashCode()) + ".txt"); //$NON-NLS-1$
+
+        v = _SpeedCalibration.__read(cache, desc);
+        if (v == null) {
+          try {
+            v = new _SpeedCalibration().__measure();
+          } catch (final IOException ioe) {
+            throw new RuntimeException(ioe);
+          }
+          if (store) {
+            _SpeedCalibration.__write(cache, desc, v);
+          }
+        }
+        _SpeedCalibration.VECTOR = v;
+      }
+      return _SpeedCalibration.VECTOR;
+    }
+  }
+
+  /**
+   * Get the single normalization factor resulting from a calibration
+   * vector, i.e., the geometric mean of its elements
+   *
+   * @param vector
+   *          the calibration vector
+   * @return the factor
+   */
+  static final double _factor(final double[] vector) {
+    double s;
+
+    s = 0d;
+    for (final double d : vector) {
+      s += Math.log(d);
+    }
+    return Math.exp(s / vector.length);
+  }
+
+  /**
+   * Describe the host, the hardware, and the JVM
+   *
+   * @return the description
+   */
+  private static final String __describe() {
+    final StringBuilder sb;
+
+    sb = new StringBuilder();
+    sb.append(_SpeedCalibration._host());
+    sb.append(';');
+    sb.append(System.getProperty("os.name")); //$NON-NLS-1$
+    sb.append(';');
+    sb.append(System.getProperty("os.arch")); //$NON-NLS-1$
+    sb.append(';');
+    sb.append(System.getProperty("java.vm.name")); //$NON-NLS-1$
+    sb.append(';');
+    sb.append(System.getProperty("java.vm.version")); //$NON-NLS-1$
+    sb.append(';');
+    sb.append(Runtime.getRuntime().availableProcessors());
+    return sb.toString();
+  }
+
+  /**
+   * Read a cached calibration vector
+   *
+   * @param file
+   *          the cache file
+   * @param desc
+   *          the expected host description
+   * @return the vector, or {@code null} if the cache does not exist or
+   *         does not fit to this host
+   */
+  private static final double[] __read(final File file, final String desc) {
+    final double[] v;
+    String s;
+    int i;
+
+    if (!(file.isFile())) {
+      return null;
+    }
+
+    v = new double[_SpeedCalibration.KERNELS.length];
+    try (FileReader fr = new FileReader(file)) {
+      try (BufferedReader br = new BufferedReader(fr)) {
+        if (!(desc.equals(br.readLine()))) {
+          return null;
+        }
+        for (i = 0; i < v.length; i++) {
+          s = br.readLine();
+          if (s == null) {
+            return null;
+          }
+          v[i] = Double.parseDouble(s);
+          if ((!(v[i] > 0d)) || (v[i] >= Double.POSITIVE_INFINITY)) {
+            return null;
+          }
+        }
+      }
+    } catch (final Throwable t) {
+      return null;
+    }
+    return v;
+  }
+
+  /**
+   * Store a calibration vector in the cache, ignoring any error
+   *
+   * @param file
+   *          the cache file
+   * @param desc
+   *          the host description
+   * @param v
+   *          the vector
+   */
+  private static final void __write(final File file, final String desc,
+      final double[] v) {
+    try (FileWriter fw = new FileWriter(file)) {
+      try (PrintWriter pw = new PrintWriter(fw)) {
+        pw.println(desc);
+        for (final double d : v) {
+          pw.println(d);
+        }
+      }
+    } catch (final Throwable t) {
+      // the cache is only an optimization
+    }
+  }
+
+  /**
+   * Run a kernel once
+   *
+   * @param kernel
+   *          the kernel index
+   * @return a checksum
+   */
+  private final long __run(final int kernel) {
+    switch (kernel) {
+      case 0: {
+        return this.__matrixScan();
+      }
+      case 1: {
+        return this.m_coords.evaluate(this.m_tour);
+      }
+      case 2: {
+        return this.__permutationUpdate();
+      }
+      default: {
+        return this.__allocation();
+      }
+    }
+  }
+
+  /**
+   * sum up all entries of the distance matrix
+   *
+   * @return the sum
+   */
+  private final long __matrixScan() {
+    final DistanceComputer d;
+    final int n;
+    long sum;
+    int i, j;
+
+    d = this.m_matrix;
+    n = d.n();
+    sum = 0L;
+    for (i = n; i > 0; i--) {
+      for (j = n; j > 0; j--) {
+        sum += d.distance(i, j);
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * apply random reversals to a copy of the random tour
+   *
+   * @return the sum of the deltas
+   */
+  private final long __permutationUpdate() {
+    final DistanceComputer d;
+    final Randomizer r;
+    final int[] tour;
+    final int n;
+    long sum;
+    int k, i, j, t;
+
+    d = this.m_coords;
+    r = this.m_random;
+    tour = this.m_work;
+    n = tour.length;
+    System.arraycopy(this.m_tour, 0, tour, 0, n);
+    r.setSeed(_SpeedCalibration.SEED);
+
+    sum = 0L;
+    for (k = _SpeedCalibration.REVERSALS; (--k) >= 0;) {
+      i = (1 + r.nextInt(n - 2));
+      j = (1 + r.nextInt(n - 2));
+      if (i > j) {
+        t = i;
+        i = j;
+        j = t;
+      }
+      sum += (((d.distance(tour[i - 1], tour[j]) + //
+      d.distance(tour[i], tour[j + 1])) - //
+      d.distance(tour[i - 1], tour[i])) - //
+      d.distance(tour[j], tour[j + 1]));
+      for (; i < j; i++, j--) {
+        t = tour[i];
+        tour[i] = tour[j];
+        tour[j] = t;
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * perform some generations of a simple evolutionary algorithm
+   *
+   * @return the best tour length
+   */
+  private final long __allocation() {
+    final Individual<int[]>[] pop;
+    final DistanceComputer d;
+    final Randomizer r;
+    final int n;
+    Individual<int[]> ind;
+    int[] x;
+    int g, k, i, j, t;
+
+    pop = this.m_pop;
+    d = this.m_matrix;
+    r = this.m_random;
+    n = d.n();
+    r.setSeed(_SpeedCalibration.SEED);
+
+    for (k = _SpeedCalibration.MU; (--k) >= 0;) {
+      ind = new Individual<>();
+      ind.solution = x = _SpeedCalibration.__randomTour(n, r);
+      ind.tourLength = d.evaluate(x);
+      pop[k] = ind;
+    }
+
+    for (g = 16; (--g) >= 0;) {
+      for (k = pop.length; (--k) >= _SpeedCalibration.MU;) {
+        ind = new Individual<>();
+        ind.solution = x = pop[r.nextInt(_SpeedCalibration.MU)].solution
+            .clone();
+        i = r.nextInt(n);
+        j = r.nextInt(n);
+        if (i > j) {
+          t = i;
+          i = j;
+          j = t;
+        }
+        for (; i < j; i++, j--) {
+          t = x[i];
+          x[i] = x[j];
+          x[j] = t;
+        }
+        ind.tourLength = d.evaluate(x);
+        pop[k] = ind;
+      }
+      Arrays.sort(pop, IndividualTourLengthComparator.INSTANCE);
+    }
+
+    return pop[0].tourLength;
+  }
+
+  /**
+   * Measure all kernels
+   *
+   * @return the calibration vector
+   */
+  private final double[] __measure() {
+    final double[] v;
+    long start, time, check;
+    int kernel, rep, calls;
+    double best, cur;
+
+    v = new double[_SpeedCalibration.KERNELS.length];
+    check = 0L;
+    for (kernel = 0; kernel < v.length; kernel++) {
+
+      start = System.currentTimeMillis();
+      do {
+        check += this.__run(kernel);
+      } while ((System.currentTimeMillis() - start) < _SpeedCalibration.WARMUP_TIME);
+
+      best = Double.POSITIVE_INFINITY;
+      for (rep = _SpeedCalibration.MEASUREMENTS; (--rep) >= 0;) {
+        calls = 0;
+        start = System.nanoTime();
+        do {
+          check += this.__run(kernel);
+          calls++;
+        } while ((time = (System.nanoTime() - start)) < (_SpeedCalibration.MEASURE_TIME * 1000000L));
+        cur = ((time / 1e6d) / calls);
+        if (cur < best) {
+          best = cur;
+        }
+      }
+      v[kernel] = best;
+    }
+
+    // use the checksum so that the kernels cannot be optimized away
+    if (check == Long.MIN_VALUE) {
+      v[0] = Math.nextUp(v[0]);
+    }
+    return v;
+  }
+
+}
@@ -9,6 +9,8 @@ import org.logisticPlanning.tsp.evaluation.data.EPropertyType;
 import org.logisticPlanning.tsp.evaluation.data.Property;
 import org.logisticPlanning.tsp.evaluation.data.Run;
 import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.objective.FirstHittingTimes;
+import org.logisticPlanning.tsp.evaluation.data.properties.objective.RunsetFirstHittingTimesProperty;
 import org.logisticPlanning.utils.document.spec.Document;
 import org.logisticPlanning.utils.document.spec.Header;
 import org.logisticPlanning.utils.math.data.collection.ArrayDataCollectionView;
@@ -197,11 +199,13 @@ public class RunSetECDFProperty extends Property<RunSet, IDataCollection> {
   protected final IDataCollection compute(final RunSet dataset,
       final Document doc) {
     final Accessor axs;
-    final int size;
+    final int size, goalIndex;
     final double goal, scaleDiv;
     final boolean isScaled;
+    final FirstHittingTimes hits;
     double[] reach, ecdf;
     DataPoint p;
+    Run run;
     double min, max, x, last;
     int i, count, runSize, ecdfc;
 
@@ -215,12 +219,15 @@ public class RunSetECDFProperty extends Property<RunSet, IDataCollection> {
     goal = this.m_goal;
 
     size = dataset.size();
+    hits = RunsetFirstHittingTimesProperty.INSTANCE.get(dataset, doc);
+    goalIndex = hits.getGoalIndex(goal);
 
     reach = new double[size];
     min = Double.POSITIVE_INFINITY;
     max = Double.NEGATIVE_INFINITY;
     count = 0;
-    for (final Run run : dataset) {
+    for (i = 0; i < size; i++) {
+      run = dataset.get(i);
       runSize = run.size();
       if (runSize <= 0) {
         continue;
@@ -241,7 +248,8 @@ public class RunSetECDFProperty extends Property<RunSet, IDataCollection> {
         max = x;
       }
 
-      p = run.findRelBestF(goal);
+      p = ((goalIndex >= 0) ? hits.getGoalHit(i, goalIndex) : //
+          hits.findRelBestF(i, goal));
       if (p != null) {
         reach[count++] = axs.fromPoint(p);
       }
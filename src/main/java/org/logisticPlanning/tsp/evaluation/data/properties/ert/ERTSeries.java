@@ -5,6 +5,7 @@ import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
 import org.logisticPlanning.tsp.evaluation.data.Accessor;
 import org.logisticPlanning.tsp.evaluation.data.Run;
 import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.objective.FirstHittingTimes;
 import org.logisticPlanning.utils.collections.lists.ArraySetView;
 import org.logisticPlanning.utils.math.data.collection.IDataCollection;
 import org.logisticPlanning.utils.math.statistics.aggregates.StableSum;
@@ -176,9 +177,32 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
    */
   public static final ERTSeries makeERTSeries(final RunSet rs,
       final long[] thresholds, final Accessor axs) {
+    return ERTSeries.makeERTSeries(rs, thresholds, axs, null);
+  }
+
+  /**
+   * make an ert series based on the first hitting times of the runs
+   *
+   * @param rs
+   *          the run set
+   * @param thresholds
+   *          the thresholds, or {@code null} to use the benchmark log
+   *          thresholds
+   * @param axs
+   *          the accessor
+   * @param hits
+   *          the first hitting times of the runs in {@code rs}, ideally
+   *          indexing all the {@code thresholds}, or {@code null} to
+   *          compute them in one pass over the runs
+   * @return the ert series
+   */
+  public static final ERTSeries makeERTSeries(final RunSet rs,
+      final long[] thresholds, final Accessor axs,
+      final FirstHittingTimes hits) {
     final long[] thresholdsF;
     final long opt;
     final ERTPoint[] temp, res;
+    final FirstHittingTimes use;
     final int total;
     int ti;
 
@@ -192,11 +216,14 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
     thresholdsF = ((thresholds != null) ? thresholds : //
         Benchmark.getLogObjectiveValues(opt));
 
+    use = (((hits != null) && (hits.getRunSet() == rs)) ? hits : //
+        new FirstHittingTimes(rs, thresholdsF, null));
+
     temp = new ERTPoint[thresholdsF.length - 3];
 
     ti = ((axs.canAccessAsLong()) ? //
-    ERTSeries.__makeERTSeriesL(rs, opt, thresholdsF, axs, temp)//
-        : ERTSeries.__makeERTSeriesD(rs, opt, thresholdsF, axs, temp));
+    ERTSeries.__makeERTSeriesL(rs, opt, thresholdsF, axs, temp, use)//
+        : ERTSeries.__makeERTSeriesD(rs, opt, thresholdsF, axs, temp, use));
 
     if (ti == temp.length) {
       return new ERTSeries(temp, total, axs);
@@ -211,6 +238,33 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
     return new ERTSeries(res, total, axs);
   }
 
+  /**
+   * Get the point where a run has reached a threshold, or its last point
+   * if it did not reach the threshold
+   *
+   * @param rs
+   *          the run set
+   * @param hits
+   *          the first hitting times
+   * @param run
+   *          the index of the run
+   * @param thresholdIndex
+   *          the index of the threshold in {@code hits}, or {@code -1} if
+   *          the threshold is not indexed
+   * @param t
+   *          the threshold
+   * @return the point
+   */
+  private static final DataPoint __point(final RunSet rs,
+      final FirstHittingTimes hits, final int run,
+      final int thresholdIndex, final long t) {
+    final DataPoint p;
+
+    p = ((thresholdIndex >= 0) ? hits.getHit(run, thresholdIndex) : //
+        hits.findBestF(run, t));
+    return ((p != null) ? p : rs.get(run).last());
+  }
+
   /**
    * make an ert series by using {@code double} precision floating point
    * numbers
@@ -225,13 +279,16 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
    *          the accessor
    * @param temp
    *          the buffer to write to
+   * @param hits
+   *          the first hitting times
    * @return the number of collected points
    */
   private static final int __makeERTSeriesD(final RunSet rs,
       final long opt, final long[] thresholdsF, final Accessor axs,
-      final ERTPoint[] temp) {
+      final ERTPoint[] temp, final FirstHittingTimes hits) {
     final StableSum rt;
-    int ti;
+    final int total;
+    int ti, run, k;
     DataPoint p;
     int succ, lastSucc;
     double rtV, lastRT;
@@ -240,6 +297,7 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
     lastSucc = succ = -1;
     lastRT = rtV = 0d;
     rt = new StableSum();
+    total = rs.size();
 
     for (final long t : thresholdsF) {
       if ((t <= 0l) || (t >= Long.MAX_VALUE)) {
@@ -251,12 +309,11 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
 
       succ = 0;
       rt.reset();
-      for (final Run r : rs) {
-        p = r.findBestF(t);
-        if (p != null) {
+      k = hits.getThresholdIndex(t);
+      for (run = 0; run < total; run++) {
+        p = ERTSeries.__point(rs, hits, run, k, t);
+        if (p.getBestF() <= t) {
           succ++;
-        } else {
-          p = r.last();
         }
 
         rt.visitDouble(axs.fromPoint(p));
@@ -287,13 +344,16 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
    *          the accessor
    * @param temp
    *          the buffer to write to
+   * @param hits
+   *          the first hitting times
    * @return the number of collected points
    */
   private static final int __makeERTSeriesL(final RunSet rs,
       final long opt, final long[] thresholdsF, final Accessor axs,
-      final ERTPoint[] temp) {
+      final ERTPoint[] temp, final FirstHittingTimes hits) {
     final StableSum rtX;
-    int ti, index;
+    final int total;
+    int ti, index, run, k;
     DataPoint p;
     int succ, lastSucc;
     long t, rt, lastRT, ch;
@@ -304,6 +364,7 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
     lastRT = rt = 0l;
     lastRTX = rtXV = 0d;
     rtX = new StableSum();
+    total = rs.size();
 
     looper: for (index = 0; index < thresholdsF.length; index++) {
       t = thresholdsF[index];
@@ -318,6 +379,7 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
         lastRTX = rtXV;
         lastRT = Math.round(Math.ceil(rtXV));
       }
+      k = hits.getThresholdIndex(t);
 
       computeWithLongPrecision: {
         // first, we try to compute the result by using long precision
@@ -326,12 +388,10 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
         // numbers
         succ = 0;
         rt = 0l;
-        for (final Run r : rs) {
-          p = r.findBestF(t);
-          if (p != null) {
+        for (run = 0; run < total; run++) {
+          p = ERTSeries.__point(rs, hits, run, k, t);
+          if (p.getBestF() <= t) {
             succ++;
-          } else {
-            p = r.last();
           }
 
           ch = rt;
@@ -358,12 +418,10 @@ public final class ERTSeries extends ArraySetView<ERTPoint> implements
       rtX.reset();
       succ = 0;
 
-      for (final Run r : rs) {
-        p = r.findBestF(t);
-        if (p != null) {
+      for (run = 0; run < total; run++) {
+        p = ERTSeries.__point(rs, hits, run, k, t);
+        if (p.getBestF() <= t) {
           succ++;
-        } else {
-          p = r.last();
         }
 
         rtX.visitLong(axs.fromPointLong(p));
@@ -4,6 +4,7 @@ import org.logisticPlanning.tsp.evaluation.data.Accessor;
 import org.logisticPlanning.tsp.evaluation.data.EPropertyType;
 import org.logisticPlanning.tsp.evaluation.data.Property;
 import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.objective.RunsetFirstHittingTimesProperty;
 import org.logisticPlanning.tsp.evaluation.data.properties.objective.RunsetObjectiveThresholdsProperty;
 import org.logisticPlanning.utils.document.spec.Document;
 import org.logisticPlanning.utils.utils.HashUtils;
@@ -150,7 +151,8 @@ public final class ERTSeriesProperty extends Property<RunSet, ERTSeries> {
       final Document doc) {
     return ERTSeries.makeERTSeries(dataset,//
         RunsetObjectiveThresholdsProperty.INSTANCE.get(dataset, doc),//
-        this.m_axs);
+        this.m_axs,//
+        RunsetFirstHittingTimesProperty.INSTANCE.get(dataset, doc));
   }
 
   /** {@inheritDoc} */
@@ -8,6 +8,7 @@ import org.logisticPlanning.tsp.evaluation.data.Accessor;
 import org.logisticPlanning.tsp.evaluation.data.EPropertyType;
 import org.logisticPlanning.tsp.evaluation.data.Property;
 import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.objective.RunsetFirstHittingTimesProperty;
 import org.logisticPlanning.tsp.evaluation.modules.impl.macros.Macros;
 import org.logisticPlanning.utils.document.spec.AbstractTextComplex;
 import org.logisticPlanning.utils.document.spec.AbstractTextPlain;
@@ -387,7 +388,8 @@ public final class LimitDataCollectionProperty extends
       final Document doc) {
     switch (this.m_dim) {
       case (-4): {
-        return new _OptimumLimitDataCollection(dataset);
+        return new _OptimumLimitDataCollection(dataset,
+            RunsetFirstHittingTimesProperty.INSTANCE.get(dataset, doc));
       }
       case (-3): {
         return new _EndOfRunLimitDataCollection(dataset);
@@ -396,7 +398,8 @@ public final class LimitDataCollectionProperty extends
         return new _FirstOfRunLimitDataCollection(dataset);
       }
       case (-1): {
-        return new _ConvergenceLimitDataCollection(dataset);
+        return new _ConvergenceLimitDataCollection(dataset,
+            RunsetFirstHittingTimesProperty.INSTANCE.get(dataset, doc));
       }
       case LogPoint.DE_INDEX: {
         return new _DELimitDataCollection(dataset,
@@ -411,10 +414,12 @@ public final class LimitDataCollectionProperty extends
             Math.round(this.m_value));
       }
       case LogPoint.F_INDEX: {
-        return new _FLimitDataCollection(dataset, Math.round(this.m_value));
+        return new _FLimitDataCollection(dataset, Math.round(this.m_value),
+            RunsetFirstHittingTimesProperty.INSTANCE.get(dataset, doc));
       }
       case DataPoint.RELATIVE_F_INDEX: {
-        return new _RelativeFLimitDataCollection(dataset, this.m_value);
+        return new _RelativeFLimitDataCollection(dataset, this.m_value,
+            RunsetFirstHittingTimesProperty.INSTANCE.get(dataset, doc));
       }
       case DataPoint.NORMALIZED_TIME_INDEX: {
         return new _NormalizedTimeLimitDataCollection(dataset,
@@ -2,6 +2,7 @@ package org.logisticPlanning.tsp.evaluation.data.properties.limit;
 
 import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
 import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.objective.FirstHittingTimes;
 
 /**
  * A collection of data reflecting a state in the state of a run set at a
@@ -12,6 +13,12 @@ final class _FLimitDataCollection extends _LimitDataCollection {
   /** the f */
   private final long m_f;
 
+  /** the first hitting times */
+  private final FirstHittingTimes m_hits;
+
+  /** the index of {@link #m_f} in {@link #m_hits}, or {@code -1} */
+  private final int m_index;
+
   /**
    * the run set
    *
@@ -19,17 +26,23 @@ final class _FLimitDataCollection extends _LimitDataCollection {
    *          the f limit
    * @param rs
    *          the run set
+   * @param hits
+   *          the first hitting times of the runs in {@code rs}
    */
-  _FLimitDataCollection(final RunSet rs, final long f) {
+  _FLimitDataCollection(final RunSet rs, final long f,
+      final FirstHittingTimes hits) {
     super(rs);
     this.m_f = f;
+    this.m_hits = hits;
+    this.m_index = hits.getThresholdIndex(f);
   }
 
   /** {@inheritDoc} */
   @Override
   public final double get(final int point, final int dimension) {
     final DataPoint p;
-    p = this.m_rs.get(point).findBestF(this.m_f);
+    p = ((this.m_index >= 0) ? this.m_hits.getHit(point, this.m_index)
+        : this.m_hits.findBestF(point, this.m_f));
     if (p == null) {
       return Double.POSITIVE_INFINITY;
     }
@@ -1,8 +1,8 @@
 package org.logisticPlanning.tsp.evaluation.data.properties.limit;
 
 import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
-import org.logisticPlanning.tsp.evaluation.data.Run;
 import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.objective.FirstHittingTimes;
 
 /**
  * A collection of data reflecting a state where the algorithms have
@@ -10,40 +10,31 @@ import org.logisticPlanning.tsp.evaluation.data.RunSet;
  */
 final class _OptimumLimitDataCollection extends _LimitDataCollection {
 
+  /** the first hitting times */
+  private final FirstHittingTimes m_hits;
+
   /**
    * the run set
    *
    * @param rs
    *          the run set
+   * @param hits
+   *          the first hitting times of the runs in {@code rs}
    */
-  _OptimumLimitDataCollection(final RunSet rs) {
+  _OptimumLimitDataCollection(final RunSet rs,
+      final FirstHittingTimes hits) {
     super(rs);
+    this.m_hits = hits;
   }
 
   /** {@inheritDoc} */
   @Override
   public final double get(final int point, final int dimension) {
-    final Run r;
-    final long l;
-    int s;
-    DataPoint p1, p2;
-
-    r = this.m_rs.get(point);
-    s = r.size();
-    if (s > 0) {
-      p2 = p1 = r.get(--s);
-      l = p1.getBestF();
-      for (; (--s) >= 0;) {
-        p2 = p1;
-        p1 = r.get(s);
-        if (l < p1.getBestF()) {
-          break;
-        }
-      }
-
-      if (p2.getRelBestF() <= 0d) {
-        return p2.get(dimension);
-      }
+    final DataPoint p;
+
+    p = this.m_hits.getConvergence(point);
+    if ((p != null) && (p.getRelBestF() <= 0d)) {
+      return p.get(dimension);
     }
 
     return Double.POSITIVE_INFINITY;
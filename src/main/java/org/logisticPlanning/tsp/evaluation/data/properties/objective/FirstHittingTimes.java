@@ -0,0 +1,328 @@
+package org.logisticPlanning.tsp.evaluation.data.properties.objective;
+
+import java.util.Arrays;
+
+import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
+import org.logisticPlanning.tsp.evaluation.data.Run;
+import org.logisticPlanning.tsp.evaluation.data.RunSet;
+
+/**
+ * <p>
+ * The first hitting times of all runs of a run set for a fixed set of
+ * absolute objective value thresholds and relative goal objective values.
+ * For each run and each threshold, we store the index of the earliest data
+ * point of the run whose best known objective value is less than or equal
+ * to the threshold.
+ * </p>
+ * <p>
+ * The best known objective values of the data points of a run never
+ * increase. Therefore, the index can be computed for all thresholds of a
+ * run in one single merge pass over the run's data points, instead of one
+ * binary search per run and threshold. Afterwards, the data point at which
+ * a run hit a threshold can be obtained in {@code O(1)}. In the same pass,
+ * we also find the point where each run reached its final best objective
+ * value, i.e., where it converged.
+ * </p>
+ * <p>
+ * Thresholds which are not in the index can still be queried via
+ * {@link #findBestF(int, long)} and {@link #findRelBestF(int, double)},
+ * which then fall back to a binary search inside the run, but follow
+ * exactly the same semantics: the earliest point reaching the threshold is
+ * returned.
+ * </p>
+ */
+public final class FirstHittingTimes {
+
+  /** the run set */
+  private final RunSet m_rs;
+
+  /** the absolute objective value thresholds, in ascending order */
+  private final long[] m_thresholds;
+
+  /** the relative goal objective values, in ascending order */
+  private final double[] m_goals;
+
+  /**
+   * the indexes of the data points where the runs hit the thresholds: the
+   * hit of run {@code r} of threshold {@code t} is stored at
+   * {@code r*m_thresholds.length+t}, {@code -1} denotes that the threshold
+   * was never reached
+   */
+  private final int[] m_hits;
+
+  /**
+   * the indexes of the data points where the runs hit the relative goals,
+   * stored in the same way as {@link #m_hits}
+   */
+  private final int[] m_goalHits;
+
+  /**
+   * the indexes of the data points where the runs reached their final best
+   * objective value
+   */
+  private final int[] m_convergence;
+
+  /**
+   * Create the first hitting times
+   *
+   * @param rs
+   *          the run set
+   * @param thresholds
+   *          the absolute objective value thresholds, or {@code null} if
+   *          none are needed
+   * @param goals
+   *          the relative goal objective values, or {@code null} if none
+   *          are needed
+   */
+  public FirstHittingTimes(final RunSet rs, final long[] thresholds,
+      final double[] goals) {
+    super();
+
+    final int runs;
+    int index;
+
+    this.m_rs = rs;
+
+    if (thresholds != null) {
+      this.m_thresholds = thresholds.clone();
+      Arrays.sort(this.m_thresholds);
+    } else {
+      this.m_thresholds = new long[0];
+    }
+
+    if (goals != null) {
+      this.m_goals = goals.clone();
+      Arrays.sort(this.m_goals);
+    } else {
+      this.m_goals = new double[0];
+    }
+
+    runs = rs.size();
+    this.m_hits = new int[runs * this.m_thresholds.length];
+    this.m_goalHits = new int[runs * this.m_goals.length];
+    this.m_convergence = new int[runs];
+
+    index = 0;
+    for (final Run run : rs) {
+      this.__index(run, index++);
+    }
+  }
+
+  /**
+   * Compute the first hitting times of one run in a single merge pass:
+   * Since the best objective values of the data points do not increase
+   * and we visit the thresholds from the largest to the smallest one, the
+   * point index never needs to go back.
+   *
+   * @param run
+   *          the run
+   * @param runIndex
+   *          the index of the run
+   */
+  private final void __index(final Run run, final int runIndex) {
+    final int size, tl, gl;
+    final long[] thresholds;
+    final double[] goals;
+    final long last;
+    int point, t, base;
+
+    size = run.size();
+    thresholds = this.m_thresholds;
+    goals = this.m_goals;
+
+    tl = thresholds.length;
+    base = (runIndex * tl);
+    point = 0;
+    for (t = tl; (--t) >= 0;) {
+      while ((point < size) && (run.get(point).getBestF() > thresholds[t])) {
+        point++;
+      }
+      this.m_hits[base + t] = ((point < size) ? point : (-1));
+    }
+
+    gl = goals.length;
+    base = (runIndex * gl);
+    point = 0;
+    for (t = gl; (--t) >= 0;) {
+      while ((point < size) && (run.get(point).getRelBestF() > goals[t])) {
+        point++;
+      }
+      this.m_goalHits[base + t] = ((point < size) ? point : (-1));
+    }
+
+    if (size <= 0) {
+      this.m_convergence[runIndex] = (-1);
+      return;
+    }
+    last = run.get(size - 1).getBestF();
+    for (point = (size - 1); point > 0; point--) {
+      if (run.get(point - 1).getBestF() > last) {
+        break;
+      }
+    }
+    this.m_convergence[runIndex] = point;
+  }
+
+  /**
+   * Get the run set
+   *
+   * @return the run set
+   */
+  public final RunSet getRunSet() {
+    return this.m_rs;
+  }
+
+  /**
+   * Get the index of a given absolute objective value threshold
+   *
+   * @param f
+   *          the threshold
+   * @return the index of the threshold, or {@code -1} if it is not part of
+   *         this index
+   */
+  public final int getThresholdIndex(final long f) {
+    final int i;
+    i = Arrays.binarySearch(this.m_thresholds, f);
+    return ((i >= 0) ? i : (-1));
+  }
+
+  /**
+   * Get the index of a given relative goal objective value
+   *
+   * @param goal
+   *          the relative goal objective value
+   * @return the index of the goal, or {@code -1} if it is not part of this
+   *         index
+   */
+  public final int getGoalIndex(final double goal) {
+    final int i;
+    i = Arrays.binarySearch(this.m_goals, goal);
+    return ((i >= 0) ? i : (-1));
+  }
+
+  /**
+   * Get the earliest data point at which a run has reached a given
+   * threshold in {@code O(1)}.
+   *
+   * @param run
+   *          the index of the run
+   * @param thresholdIndex
+   *          the index of the threshold, as returned by
+   *          {@link #getThresholdIndex(long)}
+   * @return the data point, or {@code null} if the run did not reach the
+   *         threshold
+   */
+  public final DataPoint getHit(final int run, final int thresholdIndex) {
+    final int point;
+
+    point = this.m_hits[(run * this.m_thresholds.length) + thresholdIndex];
+    return ((point >= 0) ? this.m_rs.get(run).get(point) : null);
+  }
+
+  /**
+   * Get the earliest data point at which a run has reached a given
+   * relative goal objective value in {@code O(1)}.
+   *
+   * @param run
+   *          the index of the run
+   * @param goalIndex
+   *          the index of the goal, as returned by
+   *          {@link #getGoalIndex(double)}
+   * @return the data point, or {@code null} if the run did not reach the
+   *         goal
+   */
+  public final DataPoint getGoalHit(final int run, final int goalIndex) {
+    final int point;
+
+    point = this.m_goalHits[(run * this.m_goals.length) + goalIndex];
+    return ((point >= 0) ? this.m_rs.get(run).get(point) : null);
+  }
+
+  /**
+   * Get the earliest data point at which a run has reached its final best
+   * objective value
+   *
+   * @param run
+   *          the index of the run
+   * @return the data point, or {@code null} if the run is empty
+   */
+  public final DataPoint getConvergence(final int run) {
+    final int point;
+
+    point = this.m_convergence[run];
+    return ((point >= 0) ? this.m_rs.get(run).get(point) : null);
+  }
+
+  /**
+   * Get the earliest data point at which a run has reached a given
+   * absolute objective value threshold. If the threshold is part of this
+   * index, this takes {@code O(1)}, otherwise a binary search in the run
+   * is performed.
+   *
+   * @param run
+   *          the index of the run
+   * @param f
+   *          the threshold
+   * @return the data point, or {@code null} if the run did not reach the
+   *         threshold
+   */
+  public final DataPoint findBestF(final int run, final long f) {
+    final Run r;
+    final int t;
+    int low, high, mid;
+
+    t = this.getThresholdIndex(f);
+    if (t >= 0) {
+      return this.getHit(run, t);
+    }
+
+    r = this.m_rs.get(run);
+    low = 0;
+    high = r.size();
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (r.get(mid).getBestF() > f) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return ((low < r.size()) ? r.get(low) : null);
+  }
+
+  /**
+   * Get the earliest data point at which a run has reached a given
+   * relative goal objective value. If the goal is part of this index, this
+   * takes {@code O(1)}, otherwise a binary search in the run is performed.
+   *
+   * @param run
+   *          the index of the run
+   * @param goal
+   *          the relative goal objective value
+   * @return the data point, or {@code null} if the run did not reach the
+   *         goal
+   */
+  public final DataPoint findRelBestF(final int run, final double goal) {
+    final Run r;
+    final int t;
+    int low, high, mid;
+
+    t = this.getGoalIndex(goal);
+    if (t >= 0) {
+      return this.getGoalHit(run, t);
+    }
+
+    r = this.m_rs.get(run);
+    low = 0;
+    high = r.size();
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (r.get(mid).getRelBestF() > goal) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return ((low < r.size()) ? r.get(low) : null);
+  }
+}
@@ -0,0 +1,51 @@
+package org.logisticPlanning.tsp.evaluation.data.properties.objective;
+
+import org.logisticPlanning.tsp.evaluation.data.EPropertyType;
+import org.logisticPlanning.tsp.evaluation.data.Property;
+import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.utils.document.spec.Document;
+
+/**
+ * the property for getting the
+ * {@link org.logisticPlanning.tsp.evaluation.data.properties.objective.FirstHittingTimes
+ * first hitting times} of all runs of a run set for the
+ * {@link org.logisticPlanning.tsp.evaluation.data.properties.objective.RunsetObjectiveThresholdsProperty
+ * objective thresholds} of its instance and the commonly used relative
+ * goal objective values
+ */
+public final class RunsetFirstHittingTimesProperty extends
+    Property<RunSet, FirstHittingTimes> {
+
+  /** the globally shared instance */
+  public static final RunsetFirstHittingTimesProperty INSTANCE = new RunsetFirstHittingTimesProperty();
+
+  /** the relative goal objective values which are indexed */
+  private static final double[] RELATIVE_GOALS = { 0d, 0.001d, 0.0025d,
+      0.005d, 0.01d, 0.025d, 0.05d, 0.1d, 0.25d, 0.5d, 1d };
+
+  /** the first hitting times */
+  private RunsetFirstHittingTimesProperty() {
+    super(EPropertyType.TEMPORARILY_STORED);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final FirstHittingTimes compute(final RunSet dataset,
+      final Document doc) {
+    return new FirstHittingTimes(dataset,//
+        RunsetObjectiveThresholdsProperty.INSTANCE.get(dataset, doc),//
+        RunsetFirstHittingTimesProperty.RELATIVE_GOALS);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int hashCode() {
+    return RunsetFirstHittingTimesProperty.class.hashCode();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    return (o instanceof RunsetFirstHittingTimesProperty);
+  }
+}
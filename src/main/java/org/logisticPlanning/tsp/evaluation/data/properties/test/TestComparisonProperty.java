@@ -1,6 +1,11 @@
 package org.logisticPlanning.tsp.evaluation.data.properties.test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
 import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
@@ -14,10 +19,8 @@ import org.logisticPlanning.utils.collections.lists.ArraySetView;
 import org.logisticPlanning.utils.document.spec.AbstractTextPlain;
 import org.logisticPlanning.utils.document.spec.Document;
 import org.logisticPlanning.utils.document.spec.Header;
-import org.logisticPlanning.utils.math.data.collection.IDataCollection;
 import org.logisticPlanning.utils.math.statistics.tests.impl.TwoTailedMannWhitneyUTest;
 import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTest;
-import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTestResult;
 import org.logisticPlanning.utils.utils.HashUtils;
 
 /**
@@ -171,6 +174,8 @@ public class TestComparisonProperty extends
   private final boolean m_smallerIsBetter;
   /** the hash code */
   private final int m_hc;
+  /** the maximum number of threads to use */
+  private volatile int m_maxThreads;
 
   /**
    * create!
@@ -228,6 +233,36 @@ public class TestComparisonProperty extends
                 HashUtils.hashCode(this.m_axs),//
                 HashUtils.hashCode(this.m_smallerIsBetter)),
             HashUtils.hashCode(this.m_instances)));
+    this.m_maxThreads = Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Get the maximum number of threads used to perform the tests over the
+   * instances
+   *
+   * @return the maximum number of threads used to perform the tests over
+   *         the instances
+   */
+  public final int getMaxThreads() {
+    return this.m_maxThreads;
+  }
+
+  /**
+   * Set the maximum number of threads used to perform the tests over the
+   * instances. By default, one thread per available processor is used.
+   * The number of threads does not influence the result.
+   *
+   * @param maxThreads
+   *          the maximum number of threads used to perform the tests over
+   *          the instances
+   */
+  public final void setMaxThreads(final int maxThreads) {
+    if (maxThreads <= 0) {
+      throw new IllegalArgumentException(//
+          "Maximum number of threads must be positive, but is " //$NON-NLS-1$
+              + maxThreads);
+    }
+    this.m_maxThreads = maxThreads;
   }
 
   /**
@@ -317,19 +352,25 @@ public class TestComparisonProperty extends
     return this.m_smallerIsBetter;
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc} The instances are distributed over a thread pool of at
+   * most {@link #getMaxThreads()} threads, where each thread uses its own
+   * copy of the test. The results of the threads
+   * are added up, which yields exactly the same result as performing the
+   * tests sequentially.
+   */
   @Override
   protected final TestComparisonResult compute(
       final ExperimentSet dataset, final Document doc) {
     final ArraySetView<Instance> insts;
-    final int expCount;
-    final IDataCollection[] cols;
+    final int threads;
     final TestComparisonResult cr;
-
-    MultivariateTestResult tr;
+    final ArrayList<_TestComparisonTask> tasks;
+    final ExecutorService pool;
+    Throwable error;
     int i;
 
-    if ((dataset == null) || ((expCount = dataset.size()) <= 0)) {
+    if ((dataset == null) || (dataset.size() <= 0)) {
       return null;
     }
 
@@ -338,19 +379,40 @@ public class TestComparisonProperty extends
       return null;
     }
 
+    threads = Math.min(insts.size(), this.m_maxThreads);
+    if (threads <= 1) {
+      return new _TestComparisonTask(this, dataset, doc, insts, 0, 1)
+          .call();
+    }
+
+    tasks = new ArrayList<>(threads);
+    for (i = 0; i < threads; i++) {
+      tasks.add(new _TestComparisonTask(this, dataset, doc, insts, i,
+          threads));
+    }
+
     cr = new TestComparisonResult(dataset);
-    cols = new IDataCollection[expCount];
-    tr = null;
-    for (final Instance inst : insts) {
-      for (i = expCount; (--i) >= 0;) {
-        cols[i] = this.m_limit.get(dataset.get(i).forInstance(inst), doc);
+    error = null;
+    pool = Executors.newFixedThreadPool(threads);
+    try {
+      for (final Future<TestComparisonResult> fut : pool.invokeAll(tasks)) {
+        try {
+          cr.add(fut.get());
+        } catch (final ExecutionException ee) {
+          if (error == null) {
+            error = ee.getCause();
+          }
+        }
       }
-      tr = this.m_test.test(tr, this.m_axs.ordinal(), cols);
-      cr.add(tr, this.m_smallerIsBetter,//
-          (2d * this.m_errorThreshold) / ((tr.n() * (tr.n() - 1)))); // Bonferroni
-      // correction
+    } catch (final InterruptedException ie) {
+      error = ie;
+    } finally {
+      pool.shutdownNow();
     }
 
+    if (error != null) {
+      throw new RuntimeException(error);
+    }
     return cr;
   }
 
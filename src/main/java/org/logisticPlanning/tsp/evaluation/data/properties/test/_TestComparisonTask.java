@@ -0,0 +1,114 @@
+package org.logisticPlanning.tsp.evaluation.data.properties.test;
+
+import java.util.concurrent.Callable;
+
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.evaluation.data.ExperimentSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.limit.LimitDataCollectionProperty;
+import org.logisticPlanning.utils.collections.lists.ArraySetView;
+import org.logisticPlanning.utils.document.spec.Document;
+import org.logisticPlanning.utils.math.data.collection.IDataCollection;
+import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTest;
+import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTestResult;
+
+/**
+ * A task which performs the tests of a
+ * {@link org.logisticPlanning.tsp.evaluation.data.properties.test.TestComparisonProperty}
+ * for every {@code step}<sup>th</sup> instance, starting at a given
+ * index. Each task uses its own copy of the test and aggregates its
+ * results in its own
+ * {@link org.logisticPlanning.tsp.evaluation.data.properties.test.TestComparisonResult}
+ * , so that several tasks can run in parallel. Since the results only
+ * consist of counters, adding up the results of the tasks yields exactly
+ * the same result as performing all tests sequentially.
+ */
+final class _TestComparisonTask implements Callable<TestComparisonResult> {
+
+  /** the owning property */
+  private final TestComparisonProperty m_owner;
+
+  /** the experiment set */
+  private final ExperimentSet m_dataset;
+
+  /** the document */
+  private final Document m_doc;
+
+  /** the instances */
+  private final ArraySetView<Instance> m_insts;
+
+  /** the index of the first instance to process */
+  private final int m_start;
+
+  /** the step width */
+  private final int m_step;
+
+  /**
+   * create the task
+   *
+   * @param owner
+   *          the owning property
+   * @param dataset
+   *          the experiment set
+   * @param doc
+   *          the document
+   * @param insts
+   *          the instances
+   * @param start
+   *          the index of the first instance to process
+   * @param step
+   *          the step width
+   */
+  _TestComparisonTask(final TestComparisonProperty owner,
+      final ExperimentSet dataset, final Document doc,
+      final ArraySetView<Instance> insts, final int start, final int step) {
+    super();
+    this.m_owner = owner;
+    this.m_dataset = dataset;
+    this.m_doc = doc;
+    this.m_insts = insts;
+    this.m_start = start;
+    this.m_step = step;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final TestComparisonResult call() {
+    final TestComparisonProperty owner;
+    final ExperimentSet dataset;
+    final LimitDataCollectionProperty limit;
+    final MultivariateTest test;
+    final IDataCollection[] cols;
+    final TestComparisonResult cr;
+    final int dim, instCount;
+    final boolean smallerIsBetter;
+    final double errorThreshold;
+    MultivariateTestResult tr;
+    Instance inst;
+    int i, j;
+
+    owner = this.m_owner;
+    dataset = this.m_dataset;
+    limit = owner.getLimitProperty();
+    test = owner.getTest().clone();
+    dim = owner.getComparedDimension().ordinal();
+    smallerIsBetter = owner.isSmallerBetter();
+    errorThreshold = owner.getErrorThreshold();
+
+    cr = new TestComparisonResult(dataset);
+    cols = new IDataCollection[dataset.size()];
+    tr = null;
+    instCount = this.m_insts.size();
+    for (j = this.m_start; j < instCount; j += this.m_step) {
+      inst = this.m_insts.get(j);
+      for (i = cols.length; (--i) >= 0;) {
+        cols[i] = limit.get(dataset.get(i).forInstance(inst), this.m_doc);
+      }
+      tr = test.test(tr, dim, cols);
+      cr.add(tr, smallerIsBetter,//
+          (2d * errorThreshold) / ((tr.n() * (tr.n() - 1)))); // Bonferroni
+      // correction
+    }
+
+    return cr;
+  }
+}
@@ -42,9 +42,20 @@ public class FileDataSource extends DataSource {
   /** the file/folder list: {@value} */
   public static final String PARAM_SOURCE = "source"; //$NON-NLS-1$
 
+  /**
+   * should the normalized runtimes be re-computed from the host-specific
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#RUNTIME_CALIBRATION_FACTOR
+   * runtime calibration factor} stored in the log files instead of being
+   * taken from the log points: {@value}
+   */
+  public static final String PARAM_CALIBRATED_RUNTIME = "calibratedRuntime"; //$NON-NLS-1$
+
   /** the file/folder list */
   private List<File> m_list;
 
+  /** should we use the host-specific runtime calibration? */
+  private boolean m_calibrated;
+
   /** Instantiate the data source */
   public FileDataSource() {
     super("FileDataSource"); //$NON-NLS-1$
@@ -110,6 +121,8 @@ public class FileDataSource extends DataSource {
 
     this.m_list = config.get(FileDataSource.PARAM_SOURCE,
         ListParser.FILE_LIST_PARSER, this.m_list);
+    this.m_calibrated = config.getBoolean(
+        FileDataSource.PARAM_CALIBRATED_RUNTIME, this.m_calibrated);
   }
 
   /** {@inheritDoc} */
@@ -118,6 +131,8 @@ public class FileDataSource extends DataSource {
     super.printConfiguration(ps);
     Configurable.printKey(FileDataSource.PARAM_SOURCE, ps);
     Configurable.printlnObject(this.m_list, ps);
+    Configurable.printKey(FileDataSource.PARAM_CALIBRATED_RUNTIME, ps);
+    ps.println(this.m_calibrated);
   }
 
   /** {@inheritDoc} */
@@ -126,6 +141,8 @@ public class FileDataSource extends DataSource {
     super.printParameters(ps);
     Configurable.printKey(FileDataSource.PARAM_SOURCE, ps);
     ps.println("The list of source files/folders."); //$NON-NLS-1$
+    Configurable.printKey(FileDataSource.PARAM_CALIBRATED_RUNTIME, ps);
+    ps.println("Should the normalized runtimes be computed by dividing the runtimes by the host-specific calibration factor stored in the log files instead of the per-instance normalization factor?"); //$NON-NLS-1$
   }
 
   /**
@@ -147,6 +164,7 @@ public class FileDataSource extends DataSource {
     String name, s;
     Run res;
     int size;
+    double calibration;
 
     v = FileUtils.canonicalize(f);
     if (v == null) {
@@ -179,6 +197,7 @@ public class FileDataSource extends DataSource {
     try {
 
       temp.clear();
+      calibration = Double.NaN;
       try {
 
         try (Reader r = new FileReader(v)) {
@@ -186,6 +205,9 @@ public class FileDataSource extends DataSource {
           try (BufferedReader br = new BufferedReader(r)) {
             int l;
             DataPoint p;
+            boolean sys;
+
+            sys = false;
 
             while ((s = br.readLine()) != null) {
               s = FileDataSource.__prepare(s);
@@ -202,12 +224,44 @@ public class FileDataSource extends DataSource {
                 while ((p = FileDataSource.__load_point(br)) != null) {
                   temp.add(p);
                 }
+                continue;
+              }
+
+              if (this.m_calibrated) {
+                if (ObjectiveFunction.SYSTEM_DATA_SECTION
+                    .equalsIgnoreCase(s)) {
+                  sys = true;
+                  continue;
+                }
+                if (ObjectiveFunction.SECTION_END.equalsIgnoreCase(s)) {
+                  sys = false;
+                  continue;
+                }
+                if (sys
+                    && s.startsWith(ObjectiveFunction.RUNTIME_CALIBRATION_FACTOR)) {
+                  l = s.indexOf(':');
+                  if (l > 0) {
+                    calibration = Double.parseDouble(s.substring(l + 1)
+                        .trim());
+                  }
+                }
               }
             }
           }
         }
 
         size = temp.size();
+        if ((size > 0) && this.m_calibrated) {
+          if ((calibration > 0d)
+              && (calibration < Double.POSITIVE_INFINITY)) {
+            FileDataSource.__calibrate(temp, calibration);
+          } else {
+            if ((log != null) && (log.isLoggable(Level.WARNING))) {
+              log.warning("File '" + v + //$NON-NLS-1$
+                  "' contains no runtime calibration, its normalized runtimes are kept."); //$NON-NLS-1$
+            }
+          }
+        }
         if (size > 0) {
           try {
             res = new Run(name, temp.toArray(new DataPoint[size]));
@@ -238,6 +292,31 @@ public class FileDataSource extends DataSource {
     return res;
   }
 
+  /**
+   * Replace the normalized runtimes of a list of data points with the
+   * runtimes divided by a host-specific calibration factor
+   *
+   * @param points
+   *          the data points
+   * @param calibration
+   *          the calibration factor
+   */
+  private static final void __calibrate(final List<DataPoint> points,
+      final double calibration) {
+    DataPoint p;
+    int i;
+
+    for (i = points.size(); (--i) >= 0;) {
+      p = points.get(i);
+      points.set(i, new DataPoint(p.getConsumedFEs(),
+          p.getConsumedDEs(), p.getConsumedRuntime(), p.getBestF(),
+          p.getRelBestF(),
+          (p.getConsumedRuntime() / calibration), p.logReasonFE(),
+          p.logReasonDE(), p.logReasonObjective(), p.logReasonInitEnd(),
+          p.logReasonEnd()));
+    }
+  }
+
   /**
    * Load a run set from a given folder. This folder is supposed to contain
    * the results of one set of run and one experiment.
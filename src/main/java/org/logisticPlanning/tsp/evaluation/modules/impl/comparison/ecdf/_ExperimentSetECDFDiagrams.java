@@ -327,7 +327,7 @@ final class _ExperimentSetECDFDiagrams extends _ExperimentSetECDFBase {
                     chart.addLines(lines);
                     chart.setAxisTitleX("lg(scaled time measure)"); //$NON-NLS-1$
                     chart.setAxisTitleY(Macros.ECDF.getPlaceholder());
-                    chart.paint(graph);
+                    graph.paint(chart);
                     chart = null;
                   }
                 }
@@ -384,7 +384,7 @@ final class _ExperimentSetECDFDiagrams extends _ExperimentSetECDFBase {
                     chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                     chart.setAxisTitleY(Macros.ECDF.getPlaceholder());
                   }
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -363,7 +363,7 @@ final class _ExperimentSetECDFOverScaleDiagrams extends
                   chart.addLines(lines);
                   chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                   chart.setAxisTitleY(Macros.ECDF.getPlaceholder());
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -418,7 +418,7 @@ final class _ExperimentSetECDFOverScaleDiagrams extends
                   chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                   chart.setAxisTitleY(Macros.ECDF.getPlaceholder());
                 }
-                chart.paint(graph);
+                graph.paint(chart);
                 chart = null;
               }
             }
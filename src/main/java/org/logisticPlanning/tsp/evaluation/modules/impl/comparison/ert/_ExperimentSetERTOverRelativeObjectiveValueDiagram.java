@@ -289,7 +289,7 @@ final class _ExperimentSetERTOverRelativeObjectiveValueDiagram extends
                   chart
                       .setAxisTitleY(_ExperimentSetERTOverRelativeObjectiveValueDiagramBase.Y_AXIS_1
                           + _ExperimentSetERTOverRelativeObjectiveValueDiagramBase.Y_AXIS_2);
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -338,7 +338,7 @@ final class _ExperimentSetERTOverRelativeObjectiveValueDiagram extends
                           + _ExperimentSetERTOverRelativeObjectiveValueDiagramBase.Y_AXIS_2);
                 }
 
-                chart.paint(graph);
+                graph.paint(chart);
                 chart = null;
               }
             }
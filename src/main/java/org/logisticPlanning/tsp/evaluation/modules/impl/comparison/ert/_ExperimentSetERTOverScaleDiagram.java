@@ -450,7 +450,7 @@ final class _ExperimentSetERTOverScaleDiagram extends
                 lc2d.setAxisTitleY(s);
                 lc2d.setLegendType(ELegendType.ONLY_LEGEND);
                 lc2d.addLines(lines);
-                lc2d.paint(graph);
+                graph.paint(lc2d);
               }
             } catch (final URISyntaxException use) {
               throw new IOException(use);
@@ -493,7 +493,7 @@ final class _ExperimentSetERTOverScaleDiagram extends
                 lc2d.setAxisTitleY(s);
               }
               lc2d.addLines(lines);
-              lc2d.paint(graph);
+              graph.paint(lc2d);
             }
           } catch (final URISyntaxException use) {
             throw new IOException(use);
@@ -334,7 +334,7 @@ final class _ExperimentSetScaleERTOverRelativeObjectiveValueDiagram extends
                         .setAxisTitleY(_ExperimentSetScaleERTOverRelativeObjectiveValueDiagram.Y_AXIS_1b
                             + this.m_axs.getAxisString() + ')');
                   }
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -413,7 +413,7 @@ final class _ExperimentSetScaleERTOverRelativeObjectiveValueDiagram extends
                   }
                 }
 
-                chart.paint(graph);
+                graph.paint(chart);
                 chart = null;
               }
             }
@@ -308,7 +308,7 @@ final class _ExperimentSetInstanceProgressDiagrams extends
                   chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -344,7 +344,7 @@ final class _ExperimentSetInstanceProgressDiagrams extends
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
                 }
-                chart.paint(graph);
+                graph.paint(chart);
                 chart = null;
               }
             }
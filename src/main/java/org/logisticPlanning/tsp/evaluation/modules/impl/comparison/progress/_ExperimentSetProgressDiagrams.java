@@ -263,7 +263,7 @@ final class _ExperimentSetProgressDiagrams extends
                   chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -308,7 +308,7 @@ final class _ExperimentSetProgressDiagrams extends
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
                 }
-                chart.paint(graph);
+                graph.paint(chart);
                 chart = null;
               }
             }
@@ -324,7 +324,7 @@ final class _ExperimentSetScaleProgressDiagrams extends
                   chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -380,7 +380,7 @@ final class _ExperimentSetScaleProgressDiagrams extends
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
                 }
-                chart.paint(graph);
+                graph.paint(chart);
                 chart = null;
               }
             }
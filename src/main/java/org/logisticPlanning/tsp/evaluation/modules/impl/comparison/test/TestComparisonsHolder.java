@@ -1,6 +1,7 @@
 package org.logisticPlanning.tsp.evaluation.modules.impl.comparison.test;
 
 import java.io.IOException;
+import java.io.PrintStream;
 import java.util.ArrayList;
 
 import org.logisticPlanning.tsp.evaluation.data.Experiment;
@@ -13,6 +14,7 @@ import org.logisticPlanning.tsp.evaluation.modules.impl.comparison.RankedCompari
 import org.logisticPlanning.tsp.evaluation.modules.spec.Module;
 import org.logisticPlanning.tsp.evaluation.modules.spec.RootModule;
 import org.logisticPlanning.utils.collections.lists.ArrayListView;
+import org.logisticPlanning.utils.config.Configurable;
 import org.logisticPlanning.utils.config.Configuration;
 import org.logisticPlanning.utils.document.spec.Document;
 import org.logisticPlanning.utils.document.spec.ELabelType;
@@ -37,9 +39,21 @@ public final class TestComparisonsHolder extends RankedComparisonModule {
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * the parameter defining the maximum number of threads used to perform
+   * the statistical tests over the instances: {@value}
+   */
+  public static final String PARAM_MAX_THREADS = "testComparisonThreads"; //$NON-NLS-1$
+
   /** do we have contents? */
   private int m_hasContents;
 
+  /**
+   * the maximum number of threads used to perform the tests, passed on to
+   * the properties of the child modules when they are configured
+   */
+  int m_maxThreads;
+
   /**
    * create!
    *
@@ -48,15 +62,39 @@ public final class TestComparisonsHolder extends RankedComparisonModule {
    */
   public TestComparisonsHolder(final Module owner) {
     super("StatisticalComparisons", owner, false); //$NON-NLS-1$
+    this.m_maxThreads = Runtime.getRuntime().availableProcessors();
   }
 
   /** {@inheritDoc} */
   @Override
   public final void configure(final Configuration config) {
+    // the child modules are configured by super.configure and take the
+    // number of threads from here
+    this.m_maxThreads = config.getInt(
+        TestComparisonsHolder.PARAM_MAX_THREADS, 1, 10000,
+        this.m_maxThreads);
     super.configure(config);
     this.m_hasContents = 0;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void printConfiguration(final PrintStream ps) {
+    super.printConfiguration(ps);
+
+    Configurable.printKey(TestComparisonsHolder.PARAM_MAX_THREADS, ps);
+    ps.println(this.m_maxThreads);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(TestComparisonsHolder.PARAM_MAX_THREADS, ps);
+    ps.println("the maximum number of threads for the statistical tests"); //$NON-NLS-1$
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final boolean hasContent(final ExperimentSet data) {
@@ -18,6 +18,7 @@ import org.logisticPlanning.tsp.evaluation.modules.impl.comparison.RankedCompari
 import org.logisticPlanning.tsp.evaluation.modules.impl.descriptions.tests.DescTests;
 import org.logisticPlanning.tsp.evaluation.modules.impl.descriptions.tests.TestDescription;
 import org.logisticPlanning.tsp.evaluation.modules.spec.RootModule;
+import org.logisticPlanning.utils.config.Configuration;
 import org.logisticPlanning.utils.document.spec.Document;
 import org.logisticPlanning.utils.document.spec.ECitationMode;
 import org.logisticPlanning.utils.document.spec.ELabelType;
@@ -106,6 +107,16 @@ public class _TestComparisons extends RankedComparisonModule {
     this.addDependency(this.m_desc);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void configure(final Configuration config) {
+    final TestComparisonsHolder owner;
+
+    super.configure(config);
+    owner = ((TestComparisonsHolder) (this.getOwner()));
+    this.m_property.setMaxThreads(owner.m_maxThreads);
+  }
+
   /** {@inheritDoc} */
   @Override
   protected void initialize(final Header header, final ExperimentSet data)
@@ -258,7 +258,7 @@ public final class DescAUC extends DescriptionModule {
           lc.addLine(new Line2D("B", null, B, null, ELineMode.DIRECT));//$NON-NLS-1$
           lc.addLine(new Line2D("C", null, C, null, ELineMode.DIRECT));//$NON-NLS-1$
           lc.addLine(new Line2D("D", null, D, null, ELineMode.DIRECT));//$NON-NLS-1$
-          lc.paint(graph);
+          graph.paint(lc);
           lc = null;
         }
       } catch (final URISyntaxException use) {
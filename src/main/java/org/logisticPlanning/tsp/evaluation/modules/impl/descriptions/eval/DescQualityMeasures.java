@@ -577,7 +577,7 @@ public final class DescQualityMeasures extends DescriptionModule {
                       }), 2), null, ELineMode.DIRECT));
           lc.addLines(DescQualityMeasures.__makeRandom());
 
-          lc.paint(graph);
+          graph.paint(lc);
         }
 
       } catch (final URISyntaxException use) {
@@ -546,6 +546,17 @@ public class SingleSetups extends SingleModule {
             .equalsIgnoreCase(ObjectiveFunction.RUNTIME_NORMALIZATION_FACTOR)) {
           break checker;
         }
+        if (key
+            .equalsIgnoreCase(ObjectiveFunction.RUNTIME_CALIBRATION_HOST)) {
+          break checker;
+        }
+        if (key
+            .equalsIgnoreCase(ObjectiveFunction.RUNTIME_CALIBRATION_FACTOR)) {
+          break checker;
+        }
+        if (key.startsWith(ObjectiveFunction.RUNTIME_CALIBRATION_PREFIX)) {
+          break checker;
+        }
         if (key.equalsIgnoreCase(ObjectiveFunction.ALGORITHM_CLASS)) {
           break checker;
         }
@@ -356,7 +356,7 @@ final class _ExperimentERTOverScaleDiagram extends
                 lc2d.setAxisTitleY(_ExperimentERTOverScaleDiagram.Y_AXIS);
                 lc2d.setLegendType(ELegendType.ONLY_LEGEND);
                 lc2d.addLines(lines);
-                lc2d.paint(graph);
+                graph.paint(lc2d);
               }
             } catch (final URISyntaxException use) {
               throw new IOException(use);
@@ -395,7 +395,7 @@ final class _ExperimentERTOverScaleDiagram extends
                 lc2d.setAxisTitleY(_ExperimentERTOverScaleDiagram.Y_AXIS);
               }
               lc2d.addLines(lines);
-              lc2d.paint(graph);
+              graph.paint(lc2d);
             }
           } catch (final URISyntaxException use) {
             throw new IOException(use);
@@ -361,7 +361,7 @@ final class _ExperimentInstanceProgressDiagrams extends
                     chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                     chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                         .getPlaceholder());
-                    chart.paint(graph);
+                    graph.paint(chart);
                     chart = null;
                   }
                 }
@@ -400,7 +400,7 @@ final class _ExperimentInstanceProgressDiagrams extends
                     chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                         .getPlaceholder());
                   }
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
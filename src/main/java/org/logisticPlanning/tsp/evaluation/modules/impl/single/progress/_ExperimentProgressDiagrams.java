@@ -317,7 +317,7 @@ final class _ExperimentProgressDiagrams extends _ExperimentProgressBaseB {
                   chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -361,7 +361,7 @@ final class _ExperimentProgressDiagrams extends _ExperimentProgressBaseB {
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
                 }
-                chart.paint(graph);
+                graph.paint(chart);
                 chart = null;
               }
             }
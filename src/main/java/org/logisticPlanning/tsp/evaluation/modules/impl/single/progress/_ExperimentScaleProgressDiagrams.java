@@ -372,7 +372,7 @@ final class _ExperimentScaleProgressDiagrams extends
                   chart.setAxisTitleX("lg(" + axs.getAxisString() + ')'); //$NON-NLS-1$
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
-                  chart.paint(graph);
+                  graph.paint(chart);
                   chart = null;
                 }
               }
@@ -429,7 +429,7 @@ final class _ExperimentScaleProgressDiagrams extends
                   chart.setAxisTitleY(Macros.F_BEST_RELATIVE
                       .getPlaceholder());
                 }
-                chart.paint(graph);
+                graph.paint(chart);
                 chart = null;
               }
             }
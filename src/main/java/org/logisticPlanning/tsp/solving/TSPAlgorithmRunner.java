@@ -1,11 +1,13 @@
 package org.logisticPlanning.tsp.solving;
 
 import java.io.PrintStream;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
 import org.logisticPlanning.tsp.benchmarking.objective.CreatorInfo;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 import org.logisticPlanning.utils.collections.lists.ArrayListView;
 import org.logisticPlanning.utils.config.Configurable;
 import org.logisticPlanning.utils.config.Configuration;
@@ -550,6 +552,18 @@ import org.logisticPlanning.utils.config.LoggerOwner;
  * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_DEST_DIR
  * outputDir} is the output folder you have defined.
  * </p>
+ * <p id="portfolio">
+ * The threads described above always perform different runs. If you
+ * rather want to throw all processors at each single run, you can use the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio.Portfolio
+ * algorithm portfolio} as
+ * <code>{@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#PARAM_ALGO_CLASS algoclass}</code>
+ * together with
+ * <code>{@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#PARAM_MAX_THREADS maxThreads}=1</code>
+ * . It runs several algorithms in parallel on the same instance and lets
+ * them share their best tours asynchronously. The log of the run
+ * accounts for the work of all of them.
+ * </p>
  * <h2>Command Line Parameters of the Benchmarking Environment</h2>
  * <p id="jarCommandLine">
  * The benchmarking environment and running can be parameterized via
@@ -980,14 +994,26 @@ public final class TSPAlgorithmRunner extends LoggerOwner {
     this.m_creator.printParameters(ps);
   }
 
-  /** Benchmark the TSP algorithm algorithm. */
+  /**
+   * Benchmark the TSP algorithm algorithm. Before any worker thread is
+   * started, the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#calibrateSpeed()
+   * speed calibration} is performed, so that it is not disturbed by
+   * concurrent runs, and its result is passed to all objective functions.
+   */
   public void benchmark() {
     final _TSPThread[] threads;
+    final _RunnerMonitor monitor;
     final Logger log;
+    final double[] calibration;
     int i;
 
     threads = new _TSPThread[this.m_maxThreads];
     log = this.getLogger();
+    monitor = new _RunnerMonitor(((this.m_algoInst != null) ? //
+    this.m_algoInst.name()
+        : String.valueOf(this.m_algo)), threads.length);
+    monitor._register(log);
 
     if ((log != null) && (log.isLoggable(Level.INFO))) {
       log.info("Starting up benchmarking procedure with " + //$NON-NLS-1$
@@ -996,13 +1022,19 @@ public final class TSPAlgorithmRunner extends LoggerOwner {
           this.m_init);
     }
 
+    calibration = ObjectiveFunction.calibrateSpeed();
+    if ((log != null) && (log.isLoggable(Level.INFO))) {
+      log.info("Speed calibration finished: " + //$NON-NLS-1$
+          Arrays.toString(calibration));
+    }
+
     try {
       for (i = threads.length; (--i) >= 0;) {
         threads[i] = new _TSPThread(
             //
             ((this.m_algoInst != null) ? (this.m_algoInst.clone()) : null),//
             ((this.m_initInst != null) ? (this.m_initInst.clone()) : null),//
-            this.m_queue, this.m_creator, log);
+            this.m_queue, this.m_creator, calibration, log, monitor, i);
       }
 
       for (i = threads.length; (--i) >= 0;) {
@@ -1026,6 +1058,7 @@ public final class TSPAlgorithmRunner extends LoggerOwner {
         }
       }
     } finally {
+      monitor._unregister(log);
       if ((log != null) && (log.isLoggable(Level.INFO))) {
         log.info("Terminating benchmarking procedure with " + //$NON-NLS-1$
             this.m_maxThreads + " threads for algorithm class " + //$NON-NLS-1$
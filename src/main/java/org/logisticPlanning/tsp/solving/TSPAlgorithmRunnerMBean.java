@@ -0,0 +1,44 @@
+package org.logisticPlanning.tsp.solving;
+
+/**
+ * The management interface through which a running
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner} can be
+ * monitored via JMX, e.g., with {@code jconsole} or {@code jvisualvm}.
+ * While {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#benchmark()}
+ * is executing, an MBean with this interface is registered under the name
+ * {@code org.logisticPlanning.tsp:type=TSPAlgorithmRunner,name=<algorithm>}
+ * at the platform MBean server.
+ */
+public interface TSPAlgorithmRunnerMBean {
+
+  /**
+   * Get the name of the algorithm class that is benchmarked
+   *
+   * @return the name of the algorithm class that is benchmarked
+   */
+  public abstract String getAlgorithm();
+
+  /**
+   * Get the number of worker threads
+   *
+   * @return the number of worker threads
+   */
+  public abstract int getThreads();
+
+  /**
+   * Get the number of runs completed so far
+   *
+   * @return the number of runs completed so far
+   */
+  public abstract long getCompletedRuns();
+
+  /**
+   * Get the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getStatus()
+   * status} of the runs currently performed by the worker threads, one
+   * string per active thread
+   *
+   * @return the status of the currently active runs
+   */
+  public abstract String[] getActiveRuns();
+}
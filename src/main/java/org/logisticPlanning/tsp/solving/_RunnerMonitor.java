@@ -0,0 +1,166 @@
+package org.logisticPlanning.tsp.solving;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+
+/**
+ * The JMX monitor of a
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner}: Each
+ * {@link org.logisticPlanning.tsp.solving._TSPThread worker thread}
+ * publishes the objective function of its current run in its slot, from
+ * where the monitor reads the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getStatus()
+ * status} when asked via JMX.
+ */
+final class _RunnerMonitor implements TSPAlgorithmRunnerMBean {
+
+  /** the domain of the object names: {@value} */
+  private static final String DOMAIN = "org.logisticPlanning.tsp"; //$NON-NLS-1$
+
+  /** the algorithm name */
+  private final String m_algorithm;
+
+  /** the objective functions of the current runs */
+  private final AtomicReferenceArray<ObjectiveFunction> m_runs;
+
+  /** the number of completed runs */
+  private final AtomicLong m_completed;
+
+  /** the registered name, or {@code null} if not registered */
+  private ObjectName m_name;
+
+  /**
+   * create the monitor
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param threads
+   *          the number of threads
+   */
+  _RunnerMonitor(final String algorithm, final int threads) {
+    super();
+    this.m_algorithm = algorithm;
+    this.m_runs = new AtomicReferenceArray<>(threads);
+    this.m_completed = new AtomicLong();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String getAlgorithm() {
+    return this.m_algorithm;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getThreads() {
+    return this.m_runs.length();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getCompletedRuns() {
+    return this.m_completed.get();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String[] getActiveRuns() {
+    final ArrayList<String> list;
+    ObjectiveFunction f;
+    int i;
+
+    list = new ArrayList<>();
+    for (i = 0; i < this.m_runs.length(); i++) {
+      f = this.m_runs.get(i);
+      if (f != null) {
+        list.add(f.getStatus());
+      }
+    }
+    return list.toArray(new String[list.size()]);
+  }
+
+  /**
+   * A thread begins a run
+   *
+   * @param slot
+   *          the slot of the thread
+   * @param f
+   *          the objective function
+   */
+  final void _begin(final int slot, final ObjectiveFunction f) {
+    this.m_runs.set(slot, f);
+  }
+
+  /**
+   * A thread has completed a run
+   *
+   * @param slot
+   *          the slot of the thread
+   */
+  final void _end(final int slot) {
+    this.m_runs.set(slot, null);
+    this.m_completed.incrementAndGet();
+  }
+
+  /**
+   * Register the monitor at the platform MBean server. Errors are logged
+   * but otherwise ignored, as monitoring is optional.
+   *
+   * @param log
+   *          the logger, or {@code null}
+   */
+  final void _register(final Logger log) {
+    final MBeanServer server;
+    ObjectName name;
+
+    try {
+      server = ManagementFactory.getPlatformMBeanServer();
+      name = new ObjectName(_RunnerMonitor.DOMAIN
+          + ":type=TSPAlgorithmRunner,name=" + //$NON-NLS-1$
+          ObjectName.quote(this.m_algorithm));
+      if (server.isRegistered(name)) {
+        name = new ObjectName(name.getCanonicalName() + ",id=" + //$NON-NLS-1$
+            System.identityHashCode(this));
+      }
+      server.registerMBean(new StandardMBean(this,
+          TSPAlgorithmRunnerMBean.class), name);
+      this.m_name = name;
+    } catch (final Throwable t) {
+      if ((log != null) && (log.isLoggable(Level.WARNING))) {
+        log.log(Level.WARNING, "Could not register JMX monitor.", t); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * Unregister the monitor from the platform MBean server
+   *
+   * @param log
+   *          the logger, or {@code null}
+   */
+  final void _unregister(final Logger log) {
+    final ObjectName name;
+
+    name = this.m_name;
+    if (name != null) {
+      this.m_name = null;
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+      } catch (final Throwable t) {
+        if ((log != null) && (log.isLoggable(Level.WARNING))) {
+          log.log(Level.WARNING, "Could not unregister JMX monitor.", t); //$NON-NLS-1$
+        }
+      }
+    }
+  }
+}
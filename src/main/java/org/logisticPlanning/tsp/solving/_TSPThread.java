@@ -39,9 +39,18 @@ final class _TSPThread extends Thread {
   /** the creator information */
   private final CreatorInfo m_creator;
 
+  /** the speed calibration vector */
+  private final double[] m_calibration;
+
   /** the logger */
   private final Logger m_log;
 
+  /** the JMX monitor */
+  private final _RunnerMonitor m_monitor;
+
+  /** the slot of this thread in the monitor */
+  private final int m_slot;
+
   /** the log string for no more jobs */
   private final String m_noMoreJobs;
   /** the log string for caught errors */
@@ -62,17 +71,28 @@ final class _TSPThread extends Thread {
    *          the queue
    * @param creator
    *          the creator info
+   * @param calibration
+   *          the speed calibration vector
    * @param log
    *          the logger
+   * @param monitor
+   *          the JMX monitor
+   * @param slot
+   *          the slot of this thread in the monitor
    */
   _TSPThread(final TSPAlgorithm algo, final TSPAlgorithm init,
-      final _TSPQueue queue, final CreatorInfo creator, final Logger log) {
+      final _TSPQueue queue, final CreatorInfo creator,
+      final double[] calibration, final Logger log,
+      final _RunnerMonitor monitor, final int slot) {
     super();
     this.m_algo = algo;
     this.m_init = init;
     this.m_queue = queue;
     this.m_creator = creator;
+    this.m_calibration = calibration;
     this.m_log = log;
+    this.m_monitor = monitor;
+    this.m_slot = slot;
 
     if ((log != null) && (log.isLoggable(Level.INFO))) {
       log.logp(Level.INFO, _TSPThread.SOURCE_CLASS,
@@ -133,6 +153,7 @@ final class _TSPThread extends Thread {
               bm = nbm;
               f = bm.createObjective();
               f.setCreatorInfo(this.m_creator);
+              f.setSpeedCalibration(this.m_calibration);
             }
 
             // initialization procedure is always executed: get
@@ -140,6 +161,7 @@ final class _TSPThread extends Thread {
             // estimate
             f.beginDeterministicInitialization(init);
           }
+          this.m_monitor._begin(this.m_slot, f);
 
           try {
             try {
@@ -177,7 +199,11 @@ final class _TSPThread extends Thread {
               }
             }
           } finally {
-            f.endRun();
+            try {
+              f.endRun();
+            } finally {
+              this.m_monitor._end(this.m_slot);
+            }
           }
 
           if ((log != null) && log.isLoggable(Level.INFO)) {
@@ -204,10 +230,12 @@ final class _TSPThread extends Thread {
             bm = nbm;
             f = bm.createObjective();
             f.setCreatorInfo(this.m_creator);
+            f.setSpeedCalibration(this.m_calibration);
           }
 
           f.beginRun(algo);
         }
+        this.m_monitor._begin(this.m_slot, f);
 
         try {
           try {
@@ -225,7 +253,11 @@ final class _TSPThread extends Thread {
             }
           }
         } finally {
-          f.endRun();
+          try {
+            f.endRun();
+          } finally {
+            this.m_monitor._end(this.m_slot);
+          }
         }
 
         if ((log != null) && log.isLoggable(Level.INFO)) {
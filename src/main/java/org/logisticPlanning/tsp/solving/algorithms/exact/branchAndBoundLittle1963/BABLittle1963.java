@@ -5,6 +5,7 @@ import java.util.Arrays;
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
 import org.logisticPlanning.tsp.benchmarking.objective.LogPoint;
 import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.benchmarking.objective.RunCounter;
 import org.logisticPlanning.tsp.solving.TSPAlgorithm;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateCanonical;
@@ -329,6 +330,9 @@ public class BABLittle1963 extends TSPAlgorithm {
    */
   private transient int m_poolSize;
 
+  /** the counter of the branched nodes */
+  private transient RunCounter m_branched;
+
   /**
    * create
    *
@@ -378,6 +382,7 @@ public class BABLittle1963 extends TSPAlgorithm {
     this.m_nodeReferencePool = new _Node[2 * this.m_n];
 
     this.m_branchingEdges = new int[2 * this.m_n];
+    this.m_branched = f.getCounter("branchedNodes"); //$NON-NLS-1$
   }
 
   /** {@inheritDoc} */
@@ -403,6 +408,7 @@ public class BABLittle1963 extends TSPAlgorithm {
 
     this.m_branchingEdges = null;
     this.m_nodeReferencePool = null;
+    this.m_branched = null;
     super.endRun(f);
   }
 
@@ -513,6 +519,8 @@ public class BABLittle1963 extends TSPAlgorithm {
   private final _Node __branch(final _Node node) {
     long tourLength;
 
+    this.m_branched.increment();
+
     if (node.m_edges.length < (2 * this.m_n)) {
       System.arraycopy(node.m_edges, 0, this.m_branchingEdges, 0,
           node.m_edges.length);
@@ -7,8 +7,8 @@ import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 import org.logisticPlanning.tsp.solving.Individual;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.algorithms.heuristics.TSPHeuristic;
-import org.logisticPlanning.tsp.solving.utils.edge.PriorityEdge;
-import org.logisticPlanning.tsp.solving.utils.edge.UndirectedPriorityEdgeNeighborList;
+import org.logisticPlanning.tsp.solving.utils.edge.PackedUndirectedPriorityEdgeNeighborList;
+import org.logisticPlanning.tsp.solving.utils.edge.SortedEdgeStream;
 import org.logisticPlanning.tsp.solving.utils.path.EdgePathElement;
 import org.logisticPlanning.tsp.solving.utils.path.UndirectedEdgePath;
 import org.logisticPlanning.utils.config.Configurable;
@@ -170,8 +170,11 @@ public class EdgeGreedyHeuristic extends TSPHeuristic {
    */
   private boolean m_augmentByAddingFirstCandidate;
 
-  /** the edge list */
-  private transient UndirectedPriorityEdgeNeighborList<PriorityEdge> m_edgeList;
+  /** the edge list, used to build {@link #m_stream} */
+  private transient PackedUndirectedPriorityEdgeNeighborList m_edgeList;
+
+  /** the sorted edge stream, built during the first invocation */
+  private transient SortedEdgeStream m_stream;
 
   /** the path */
   private transient UndirectedEdgePath m_path;
@@ -227,11 +230,12 @@ public class EdgeGreedyHeuristic extends TSPHeuristic {
   public final void solve(final ObjectiveFunction f,
       final Individual<int[]> dest) {
     final int n;
-    int neighListLen, i, j, d, bestDist, needed;
+    int i, j, d, bestDist, needed, size, edge;
     int[] res;
     UndirectedEdgePath path;
     EdgePathElement a, b, best;
-    UndirectedPriorityEdgeNeighborList<PriorityEdge> arr;
+    PackedUndirectedPriorityEdgeNeighborList arr;
+    SortedEdgeStream stream;
     long length;
 
     n = f.n();
@@ -251,58 +255,40 @@ public class EdgeGreedyHeuristic extends TSPHeuristic {
     }
     // ok, done initialization
 
-    // The neighbor list length: A node can have at most n-1 neighbors. As
-    // we
-    // count each edge at most once and edge AB = BA, this actually may
-    // waste
-    // some space if the neighbor list length goes closer to n, but this
-    // should
-    // be a rare case. If we set the neighbor list length shorter, this may
-    // lead to strange effects, so we keep it as is, as this should be fine
-    // for
-    // the normal case. The variable this.m_neighborListLength has two
-    // possible
-    // meanings: if it is 0, we will use n-1 as neighbor list length, i.e.,
-    // the
-    // maximum possible length. This will render the algorithm infeasible
-    // for
-    // large n, as, e.g., n=10000 would lead to 10000*10000=100000000
-    // entries
-    // in the neighbor list, each needing at least 20 bytes of memory,
-    // leading
-    // to 1.8 GiB memory requirement for that list alone. The other,
-    // recommended, way to set this.m_neighborListLength is to choose a
-    // small
-    // value, say around 20, which will lead to a moderate size edge list.
-    neighListLen = n - 1;
-    if (this.m_neighborListLength > 0) {
-      neighListLen = Math.max(1,
-          Math.min(neighListLen, this.m_neighborListLength));
-    }
-
-    // allocate the necessary data structures
-    arr = this.m_edgeList;
-    arr.clear();
     path = this.m_path;
     path.clear();
 
-    // We now loop through all possible undirected edges and see if they
-    // will
-    // make it into the neighbor list. The decision criterion here is only
-    // the
-    // edge length dist(i,j), subject to minimization. For each node, only
-    // the
-    // best neighListLen edges are kept. This has complexity O(n^2 *
-    // insertion), where insertion is the complexity of inserting an edge
-    // into
-    // the neighbor list. This complexity is somewhat in O(neighListLen +
-    // log_2
-    // neighListLen), so we can consider it a constant for small
-    // neighListLen.
-    for (i = 1; i < n; i++) {
-      for (j = (i + 1); j <= n; j++) {
-        arr.checkIn(i, j, f.distance(i, j));
+    // The sorted edge stream only depends on the problem instance, so we
+    // build it only once per run and then re-use it in all subsequent
+    // invocations.
+    stream = this.m_stream;
+    arr = this.m_edgeList;
+    if (arr != null) {
+      // We now loop through all possible undirected edges and see if they
+      // will make it into the neighbor list. The decision criterion here
+      // is only the edge length dist(i,j), subject to minimization. For
+      // each node, only the best neighListLen edges are kept. This has
+      // complexity O(n^2 * insertion), where insertion is the complexity
+      // of inserting an edge into the neighbor list. This complexity is
+      // somewhat in O(neighListLen + log_2 neighListLen), so we can
+      // consider it a constant for small neighListLen.
+      for (i = 1; i < n; i++) {
+        for (j = (i + 1); j <= n; j++) {
+          arr.checkIn(i, j, f.distance(i, j));
+        }
       }
+
+      // Store the globally sorted edges in the compact stream. The edge
+      // list may not be complete, since it will contain each edge only
+      // once.
+      size = arr.sort();
+      for (i = 0; i < size; i++) {
+        edge = arr.getSortedEdge(i);
+        stream.add(arr.getA(edge), arr.getB(edge), arr.getPriority(edge));
+      }
+
+      // the edge list is no longer needed
+      this.m_edgeList = null;
     }
 
     // Obtain the list of sorted edges and let us choose the edges that we
@@ -320,19 +306,13 @@ public class EdgeGreedyHeuristic extends TSPHeuristic {
     // compute the length of that path on the fly.
     length = 0l;
     needed = (n - 1);
-    looper: for (final PriorityEdge edge : arr.getEdgeArray()) {
-      if (edge == null) {
-        // ok: the edge list was not complete. This may happen since it
-        // will
-        // contain each edge only once.
-        break looper;
-      }
-
+    size = stream.size();
+    looper: for (i = 0; i < size; i++) {
       // let us see if this edge can be added, or if it would cause a
       // cycle
-      if (path.tryAddToPath(edge)) {
+      if (path.tryAddToPath(stream.a(i), stream.b(i))) {
         // ok, the edge was added - let's update the length
-        length += edge.h;
+        length += stream.value(i);
 
         if ((--needed) <= 0) {// if we have n-2 edges...
           break looper;// ...we can quit!
@@ -444,6 +424,7 @@ public class EdgeGreedyHeuristic extends TSPHeuristic {
     h = ((EdgeGreedyHeuristic) (super.clone()));
     h.m_path = null;
     h.m_edgeList = null;
+    h.m_stream = null;
 
     return h;
   }
@@ -500,8 +481,9 @@ public class EdgeGreedyHeuristic extends TSPHeuristic {
     }
 
     // allocate the necessary data structures
-    this.m_edgeList = new UndirectedPriorityEdgeNeighborList<>(n,
+    this.m_edgeList = new PackedUndirectedPriorityEdgeNeighborList(n,
         neighListLen);
+    this.m_stream = new SortedEdgeStream(n * neighListLen);
 
     // We allocate the data structure for successively building a path
     this.m_path = new UndirectedEdgePath(n);
@@ -511,6 +493,7 @@ public class EdgeGreedyHeuristic extends TSPHeuristic {
   @Override
   public void endRun(final ObjectiveFunction f) {
     this.m_edgeList = null;
+    this.m_stream = null;
     this.m_path = null;
     super.endRun(f);
   }
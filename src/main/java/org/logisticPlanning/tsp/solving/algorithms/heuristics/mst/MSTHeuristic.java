@@ -5,6 +5,7 @@ import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 import org.logisticPlanning.tsp.solving.Individual;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.algorithms.heuristics.TSPHeuristic;
+import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateCanonical;
 
 /**
  * <p>
@@ -142,7 +143,7 @@ public final class MSTHeuristic extends TSPHeuristic {
     final int n;
     _NodeEntry root, best, next, cur, last;
     _NodeEntry[] todo;
-    int[] perm;
+    int[] perm, nodes, dist;
     int i, j, bestI, d, p, getBestF;
     long totalD;
 
@@ -165,15 +166,20 @@ public final class MSTHeuristic extends TSPHeuristic {
 
     i = n - 1;
     todo = new _NodeEntry[i];
+    // the nodes of the entries in todo and the distances to them
+    nodes = new int[i];
+    dist = new int[i];
 
     root = new _NodeEntry(n, -1, null);
 
     // enqueue all nodes into the heap based on their distance to the
     // starting
     // node
+    PermutationCreateCanonical.makeCanonical(nodes);
+    f.distances(root.m_node, nodes, 0, i, dist);
     for (; i > 0;) {
-      next = new _NodeEntry(i, f.distance(root.m_node, i), root);
-      todo[--i] = next;
+      --i;
+      todo[i] = new _NodeEntry(nodes[i], dist[i], root);
     }
 
     // find the minimum spanning tree
@@ -191,10 +197,11 @@ public final class MSTHeuristic extends TSPHeuristic {
       getBestF = Integer.MAX_VALUE;
       bestI = -1;
 
+      f.distances(next.m_node, nodes, 0, (i + 1), dist);
       for (j = i; j >= 0; j--) {
         cur = todo[j];
 
-        d = f.distance(next.m_node, cur.m_node);
+        d = dist[j];
         p = cur.m_priority;
         if (d < p) {
           cur.m_priority = p = d;
@@ -208,6 +215,7 @@ public final class MSTHeuristic extends TSPHeuristic {
       }
 
       todo[bestI] = todo[i];
+      nodes[bestI] = nodes[i];
       next = best;
       next.m_nextChild = next.m_parent.m_child;
       next.m_parent.m_child = next;
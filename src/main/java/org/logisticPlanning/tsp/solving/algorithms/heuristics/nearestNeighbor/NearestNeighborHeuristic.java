@@ -115,6 +115,9 @@ public class NearestNeighborHeuristic extends TSPHeuristicWithStartNode {
   /** the list of nodes */
   private transient int[] m_tempList;
 
+  /** the distances from the current tour end to the nodes in the list */
+  private transient int[] m_tempDist;
+
   /**
    * instantiate
    *
@@ -135,14 +138,15 @@ public class NearestNeighborHeuristic extends TSPHeuristicWithStartNode {
   public final void solve(final ObjectiveFunction f,
       final Individual<int[]> dest, final int depot) {
     final int n;
-    int rem, lastA, bestIdxA, bestA, bestLenA, tempLen, tempNode, i;
-    final int[] temp;
+    int rem, lastA, bestIdxA, bestA, bestLenA, tempLen, i;
+    final int[] temp, dist;
     int[] res;
     long length;
 
     // allocate node list
     n = f.n();
     temp = this.m_tempList;
+    dist = this.m_tempDist;
     PermutationCreateCanonical.makeCanonical(temp, n);
 
     // allocate result array
@@ -168,13 +172,12 @@ public class NearestNeighborHeuristic extends TSPHeuristicWithStartNode {
     for (; rem > 0;) {
 
       // find the best end extensions
+      f.distances(lastA, temp, 0, rem, dist);
       for (i = rem; (--i) >= 0;) {
-        tempNode = temp[i];
-
-        tempLen = f.distance(lastA, tempNode);
+        tempLen = dist[i];
         if (tempLen <= bestLenA) {
           bestLenA = tempLen;
-          bestA = tempNode;
+          bestA = temp[i];
           bestIdxA = i;
         }
       }
@@ -208,6 +211,7 @@ public class NearestNeighborHeuristic extends TSPHeuristicWithStartNode {
 
     h = ((NearestNeighborHeuristic) (super.clone()));
     h.m_tempList = null;
+    h.m_tempDist = null;
 
     return h;
   }
@@ -229,12 +233,14 @@ public class NearestNeighborHeuristic extends TSPHeuristicWithStartNode {
   public void beginRun(final ObjectiveFunction f) {
     super.beginRun(f);
     this.m_tempList = new int[f.n()];
+    this.m_tempDist = new int[f.n()];
   }
 
   /** {@inheritDoc} */
   @Override
   public void endRun(final ObjectiveFunction f) {
     this.m_tempList = null;
+    this.m_tempDist = null;
     super.endRun(f);
   }
 }
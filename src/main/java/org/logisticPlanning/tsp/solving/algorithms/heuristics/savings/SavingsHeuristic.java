@@ -7,6 +7,8 @@ import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 import org.logisticPlanning.tsp.solving.Individual;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.algorithms.heuristics.TSPHeuristicWithStartNode;
+import org.logisticPlanning.tsp.solving.utils.edge.PackedUndirectedPriorityEdgeNeighborList;
+import org.logisticPlanning.tsp.solving.utils.edge.SortedEdgeStream;
 import org.logisticPlanning.tsp.solving.utils.path.EdgePathElement;
 import org.logisticPlanning.tsp.solving.utils.path.UndirectedEdgePath;
 import org.logisticPlanning.utils.config.Configurable;
@@ -234,7 +236,13 @@ public class SavingsHeuristic extends TSPHeuristicWithStartNode {
   private transient int[] m_rootDist;
 
   /** the edge list */
-  private transient SavingsEdgeNeighborhoodList m_edgeList;
+  private transient PackedUndirectedPriorityEdgeNeighborList m_edgeList;
+
+  /** the sorted edge stream belonging to {@link #m_streamDepot} */
+  private transient SortedEdgeStream m_stream;
+
+  /** the depot for which {@link #m_stream} was built, or {@code -1} */
+  private transient int m_streamDepot;
 
   /** the path */
   private transient UndirectedEdgePath m_path;
@@ -299,12 +307,12 @@ public class SavingsHeuristic extends TSPHeuristicWithStartNode {
   public final void solve(final ObjectiveFunction f,
       final Individual<int[]> dest, final int depot) {
     final int n;
-    int neighListLen, i, j, iO, jO, rdi, d, bestDist, heur, bestHeur, startH, needed;
+    int i, j, iO, jO, rdi, d, bestDist, heur, bestHeur, startH, needed, size, edge;
     int[] res, rootDist;
     UndirectedEdgePath path;
     EdgePathElement a, b, best;
-    SavingsEdgeNeighborhoodList arr;
-    SavingsEdge temp;
+    PackedUndirectedPriorityEdgeNeighborList arr;
+    SortedEdgeStream stream;
     long length;
 
     n = f.n();
@@ -324,95 +332,69 @@ public class SavingsHeuristic extends TSPHeuristicWithStartNode {
     }
     // ok, done initialization of destination data structures
 
-    // The neighbor list length: A node cannot have the depot as neighbor
-    // nor
-    // itself, so it may have at most n-2 neighbors. As we count each edge
-    // at
-    // most once and edge AB = BA, this actually may waste some space if
-    // the
-    // neighbor list length goes closer to n, but this should be a rare
-    // case.
-    // If we set the neighbor list length shorter, this may lead to strange
-    // effects, so we keep it as is, as this should be fine for the normal
-    // case. The variable this.m_neighborListLength has two possible
-    // meanings: if it is 0, we will use n-2 as neighbor list length, i.e.,
-    // the
-    // maximum possible length. This will render the algorithm infeasible
-    // for
-    // large n, as, e.g., n=10000 would lead to 10000*10000=100000000
-    // entries
-    // in the neighbor list, each needing at least 20 bytes of memory,
-    // leading
-    // to 1.8 GiB memory requirement for that list alone. The other,
-    // recommended, way to set this.m_neighborListLength is to choose a
-    // small value, say around 20, which will lead to a moderate size edge
-    // list.
-    neighListLen = n - 2;
-    if (this.m_neighborListLength > 0) {
-      neighListLen = Math.max(1,
-          Math.min(neighListLen, this.m_neighborListLength));
-    }
-
-    // Here we allocate all necessary data structures. As this object will
-    // keep
-    // data structure instances in memory for re-use, we have to check if
-    // the
-    // structures we have fit to the problem (and, if not, allocate new
-    // ones).
-    i = (n - 1);
     rootDist = this.m_rootDist;
     path = this.m_path;
     path.clear();
 
-    arr = this.m_edgeList;
-    arr.clear();
-
-    // Now we cache the distances to the root node "depot".
-    // Normally, we will not do this in the logisticPlanning.org TSP
-    // benchmarking environment, as we want to count each distance
-    // evaluation.
-    // However, since we have to cache (3*neighListLen*(n-1)) distances
-    // anyway
-    // (due to the neighbor lists), we can also cache the (n-1) root
-    // distances
-    // as well - as it does not change the runtime behavior much.
-
-    for (i = 1; i < depot; i++) {
-      rootDist[i - 1] = f.distance(depot, i);
-    }
-    for (i++; i <= n; i++) {
-      rootDist[i - 2] = f.distance(depot, i);
-    }
-
-    // We now loop through all possible undirected edges (i,j) and see if
-    // they
-    // will make it into the neighbor list. The decision criterion here is:
-    // dist(i,j) - dist(i, 1) - dist(j, 1), subject to minimization. For
-    // each
-    // node, only the best neighListLen edges are kept. This has complexity
-    // O(n^2 * insertion), where insertion is the complexity of inserting
-    // an
-    // edge into the neighbor list. This complexity is somewhat in
-    // O(neighListLen + log_2 neighListLen), so we can consider it a
-    // constant
-    // for small neighListLen.
-    for (i = 1; i < n; i++) {
-      if (i == depot) {
-        continue;
+    // The sorted edge stream depends on the depot, so we only need to
+    // build it if the depot differs from the one used in the previous
+    // invocation. Otherwise, the stream and the root distances computed
+    // back then can be re-used.
+    stream = this.m_stream;
+    if (this.m_streamDepot != depot) {
+      arr = this.m_edgeList;
+      arr.clear();
+      stream.clear();
+
+      // Now we cache the distances to the root node "depot". Normally, we
+      // will not do this in the logisticPlanning.org TSP benchmarking
+      // environment, as we want to count each distance evaluation.
+      // However, since we have to cache (3*neighListLen*(n-1)) distances
+      // anyway (due to the neighbor lists), we can also cache the (n-1)
+      // root distances as well - as it does not change the runtime
+      // behavior much.
+
+      for (i = 1; i < depot; i++) {
+        rootDist[i - 1] = f.distance(depot, i);
+      }
+      for (i++; i <= n; i++) {
+        rootDist[i - 2] = f.distance(depot, i);
       }
-      iO = ((i > depot) ? (i - 1) : i);
-      rdi = rootDist[iO - 1];
-      for (j = (i + 1); j <= n; j++) {
-        if (j == depot) {
+
+      // We now loop through all possible undirected edges (i,j) and see
+      // if they will make it into the neighbor list. The decision
+      // criterion here is: dist(i,j) - dist(i, 1) - dist(j, 1), subject
+      // to minimization. For each node, only the best neighListLen edges
+      // are kept. This has complexity O(n^2 * insertion), where insertion
+      // is the complexity of inserting an edge into the neighbor list.
+      // This complexity is somewhat in O(neighListLen + log_2
+      // neighListLen), so we can consider it a constant for small
+      // neighListLen.
+      for (i = 1; i < n; i++) {
+        if (i == depot) {
           continue;
         }
-        d = f.distance(i, j);
-        jO = ((j > depot) ? (j - 1) : j);
-        temp = arr.checkIn(iO, jO, d - rdi - rootDist[jO - 1]);
-        if (temp != null) {
-          temp.distance = d;
+        iO = ((i > depot) ? (i - 1) : i);
+        rdi = rootDist[iO - 1];
+        for (j = (i + 1); j <= n; j++) {
+          if (j == depot) {
+            continue;
+          }
+          d = f.distance(i, j);
+          jO = ((j > depot) ? (j - 1) : j);
+          arr.checkIn(iO, jO, d - rdi - rootDist[jO - 1], d);
         }
       }
+
+      // Store the globally sorted edges in the compact stream. The edge
+      // list may not be complete, since it will contain each edge only
+      // once.
+      size = arr.sort();
+      for (i = 0; i < size; i++) {
+        edge = arr.getSortedEdge(i);
+        stream.add(arr.getA(edge), arr.getB(edge), arr.getValue(edge));
+      }
+      this.m_streamDepot = depot;
     }
 
     // Obtain the list of sorted edges and let us choose the edges that we
@@ -430,19 +412,13 @@ public class SavingsHeuristic extends TSPHeuristicWithStartNode {
     // compute the length of that path on the fly.
     length = 0l;
     needed = (n - 2);
-    looper: for (final SavingsEdge edge : arr.getEdgeArray()) {
-      if (edge == null) {
-        // ok: the edge list was not complete. This may happen since it
-        // will
-        // contain each edge only once.
-        break looper;
-      }
-
+    size = stream.size();
+    looper: for (i = 0; i < size; i++) {
       // let us see if this edge can be added, or if it would cause a
       // cycle
-      if (path.tryAddToPath(edge)) {
+      if (path.tryAddToPath(stream.a(i), stream.b(i))) {
         // ok, the edge was added - let's update the length
-        length += edge.distance;
+        length += stream.value(i);
 
         if ((--needed) <= 0) {// if we have n-2 edges...
           break looper;// ...we can quit!
@@ -563,6 +539,8 @@ public class SavingsHeuristic extends TSPHeuristicWithStartNode {
 
     h = ((SavingsHeuristic) (super.clone()));
     h.m_edgeList = null;
+    h.m_stream = null;
+    h.m_streamDepot = (-1);
     h.m_path = null;
     h.m_rootDist = null;
 
@@ -631,10 +609,12 @@ public class SavingsHeuristic extends TSPHeuristicWithStartNode {
     this.m_rootDist = new int[i];
     this.m_path = new UndirectedEdgePath(i);
 
-    // The SavingsEdgeNeighborhoodList is an internal class that keeps
-    // track
-    // of the edges. It manages updating the edge list.
-    this.m_edgeList = new SavingsEdgeNeighborhoodList(n, neighListLen);
+    // The PackedUndirectedPriorityEdgeNeighborList keeps track of the
+    // edges in primitive arrays. It manages updating the edge list.
+    this.m_edgeList = new PackedUndirectedPriorityEdgeNeighborList(n,
+        neighListLen);
+    this.m_stream = new SortedEdgeStream(n * neighListLen);
+    this.m_streamDepot = (-1);
 
   }
 
@@ -644,6 +624,7 @@ public class SavingsHeuristic extends TSPHeuristicWithStartNode {
     this.m_rootDist = null;
     this.m_path = null;
     this.m_edgeList = null;
+    this.m_stream = null;
     super.endRun(f);
   }
 }
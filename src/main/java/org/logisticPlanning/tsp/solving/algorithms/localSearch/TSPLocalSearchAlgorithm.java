@@ -414,7 +414,12 @@ public abstract class TSPLocalSearchAlgorithm<P> extends TSPAlgorithm {
 
   /**
    * Load an individual record with the best solution discovered by the
-   * objective function.
+   * objective function. This is a restart point of the local search: If
+   * the objective function has joined an
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard
+   * incumbent board} with a better solution, this solution is
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#pullIncumbent()
+   * pulled} and loaded instead.
    *
    * @param dest
    *          the destination individual record
@@ -432,6 +437,7 @@ public abstract class TSPLocalSearchAlgorithm<P> extends TSPAlgorithm {
       d = ((int[]) (dest.solution));
     }
 
+    f.pullIncumbent();
     f.getCopyOfBest(d);
     dest.tourLength = f.getCurrentLogPoint().getBestF();
     dest.f = Individual.FITNESS_NOT_SET;
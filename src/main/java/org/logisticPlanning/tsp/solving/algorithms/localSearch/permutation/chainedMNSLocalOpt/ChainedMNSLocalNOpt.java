@@ -7,8 +7,9 @@ import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 import org.logisticPlanning.tsp.solving.Individual;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchAlgorithm;
-import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.ExhaustivelyEnumeratingLocal7Optimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer;
 import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.LocalOptimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator;
 import org.logisticPlanning.utils.config.Configurable;
 import org.logisticPlanning.utils.config.Configuration;
 import org.logisticPlanning.utils.math.random.Randomizer;
@@ -21,6 +22,13 @@ import org.logisticPlanning.utils.math.random.Randomizer;
  * escape from the local optimum. Different from basic MNS, it uses a local
  * n-opt operator to complement its search.
  * </p>
+ * <p>
+ * If parameter {@link #PARAM_GENERATE_N_OPT} is set, the configured local
+ * optimizer only determines the sub-sequence length and is replaced with
+ * an exhaustive optimizer
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator
+ * generated at runtime} at the beginning of each run.
+ * </p>
  */
 public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   /** the serial version uid */
@@ -42,6 +50,8 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   public static final String PARAM_N_OPT = "nOpt"; //$NON-NLS-1$
   /** the random overlap parameter */
   public static final String PARAM_RANDOM_OVERLAP = "randomOverlap"; //$NON-NLS-1$
+  /** the parameter for generating the local optimizer at runtime */
+  public static final String PARAM_GENERATE_N_OPT = "generateNOpt"; //$NON-NLS-1$
 
   /**
    * the maximum number of moves to allocate
@@ -67,14 +77,8 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   /** the objective function to use */
   private transient ObjectiveFunction m_f;
 
-  /** the queue of moves */
-  private transient _Move m_queue;
-
-  /** old swap moves that can be re-used */
-  private transient _Move m_old;
-
-  /** the number of allocated moves */
-  private transient int m_moveAllocations;
+  /** the pool holding the queue of moves */
+  private transient _MovePool m_pool;
 
   /** should we use overlaps? */
   private boolean m_randomOverlap;
@@ -82,6 +86,12 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   /** the operation to be used */
   private LocalOptimizer m_opt;
 
+  /** should the local optimizer be generated at runtime? */
+  private boolean m_generate;
+
+  /** the operation used during the current run */
+  private transient LocalOptimizer m_runOpt;
+
   /** the order in which the nodes are processed */
   private transient int[] m_currentAllowed;
   /** the order in which the nodes are processed */
@@ -94,7 +104,7 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     super("Multiple-Neighborhood Search with Local N-Opt");//$NON-NLS-1$
     this.m_cmp = ChainedMNSLocalNOpt.DEFAULT_MOVE_COMPARATOR;
     this.m_maxMoveAllocations = ChainedMNSLocalNOpt.DEFAULT_MAX_ALLOCATIONS;
-    this.m_opt = new ExhaustivelyEnumeratingLocal7Optimizer();
+    this.m_opt = new DynamicProgrammingLocalOptimizer();
     this.m_randomOverlap = true;
   }
 
@@ -136,15 +146,12 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
       final ObjectiveFunction f) {
     final int n;
     final int[] dist;
-    final EMoveComparator cmp;
+    final _MovePool pool;
     boolean lastWasIncomplete;
-    int changed_range_i, changed_range_j;
-    _Move move, predMove, cur, pred, best, predBest, next;
+    int changed_range_i, changed_range_j, move;
 
     n = f.n();
-
-    // clear the queue
-    this.disposeQueue();
+    pool = this.m_pool;
 
     // compute the distances and initialize the internal distance list
     srcdst.tourLength = ChainedMNSLocalNOpt.distanceAndLengthInit(f, n,
@@ -154,163 +161,76 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     changed_range_i = 0;
     changed_range_j = n;
     dist = this.m_distances;
-    cmp = this.m_cmp;
 
     // fill the move queue, remember if this hit the allocation limit
     lastWasIncomplete = this.fillMoveQueue(0, n, srcdst.solution,
         this.m_distances);
 
     outer: for (;;) {
-      move = this.m_queue;// move=best and first move in queue
-      if (move == null) {// ok, queue is empty
+      move = pool.poll();// move=best move in queue
+      if (move < 0) {// ok, queue is empty
         break outer;// quit
       }
-      // fillMoveQueue ensures that the first move in the queue is best
-      // move.
-      predMove = null;// so there is no move before
-      // predMove is always the last move before move or null if move is
-      // the
-      // first move in the queue
 
       // [changed_range_i,changed_range_j] hold the range that includes
-      // all
-      // changes that we made so far
+      // all changes that we made so far
       // This is useful when filling the queue after consuming all moves
-      // since
-      // new moves that do not intersect with
-      // [changed_range_i,changed_range_j]
-      // do not need to be checked:
+      // since new moves that do not intersect with
+      // [changed_range_i,changed_range_j] do not need to be checked:
       // They were checked in at least one prior local search / fill queue
-      // run
-      // and were not improving. As nothing outside
+      // run and were not improving. As nothing outside
       // [changed_range_i,changed_range_j] has changed, these moves'
-      // deltas
-      // are
-      // still the same (and therefore still >0).
+      // deltas are still the same (and therefore still >0).
       changed_range_i = Integer.MAX_VALUE;
       changed_range_j = Integer.MIN_VALUE;
 
       // In the inner loop, we process the queue: We always take the best
-      // move
-      // out of the queue and perform it. Performing a move may lead to
-      // the
-      // invalidation of other moves, which are purged from the queue.
-      // Then
-      // the
-      // next best move is taken from the queue and executed. If the queue
-      // is
-      // empty, this loop ends and the outer loop is executed again to
-      // fill
-      // the
-      // queue.
-      inner: do {
-
-        // delete the move from the queue
-        if (predMove == null) {
-          this.m_queue = move.m_next;
-        } else {
-          predMove.m_next = move.m_next;
-        }
-
+      // move out of the queue and perform it. Performing a move may lead to
+      // the invalidation of other moves, which are purged from the queue.
+      // Then the next best move is taken from the queue and executed. If
+      // the queue is empty, this loop ends and the outer loop is executed
+      // again to fill the queue.
+      do {
         // apply the move: change the solution and distance list
-        move.apply(n, srcdst.solution, dist);
-        srcdst.tourLength += move.m_delta; // modify the total tour
-        // length
-        // accordingly
+        pool.apply(move, n, srcdst.solution, dist);
+        srcdst.tourLength += pool.m_delta[move]; // modify the total tour
+        // length accordingly
         // we now have a new and better candidate solution: register
         f.registerFE(srcdst.solution, srcdst.tourLength);
 
-        move.m_next = this.m_old; // dispose the move: hang it into the
-        this.m_old = move;// queue for re-use
         if (f.shouldTerminate()) {// ok, we should terminate right now
           break outer;
         }
 
-        // make [changed_range_i,changed_range_j] include the area
-        // touched
-        // by
-        // the performed move: only this range is interesting when
-        // filling
-        // the
-        // queue again at the next "outer" iteration
-        changed_range_i = Math.min(changed_range_i, move.m_i);
-        changed_range_j = Math.max(changed_range_j, move.m_j);
-
-        cur = this.m_queue; // cur = beginning of queue
-        if (cur == null) {
-          break inner;// queue is empty: we need to fill the move list
-          // again
-        }
-
-        // The following loop has two purposes:
-        // 1. we need to delete all moves that intersect with "move" in
-        // such a
-        // way that their delta would have changed / they have been
-        // invalidated
-        // by "move"
-        // 2. find the next best move to apply (and its successor)
-        best = predBest = pred = null;
-        while (cur != null) {
-          // pred is the last non-deleted move before cur
-          // best is the best move that was not deleted
-          // predBest is the last non-deleted move before best
-          next = cur.m_next; // iterate through the move queue
-
-          // check if we need to delete the move
-          if (cur.checkDeleteMove(move, n)) {
-            // ok, the move has been invalidated and must be deleted
-            // so we remove it from the queue
-            if (pred == null) {
-              this.m_queue = next;
-            } else {
-              pred.m_next = next;
-            }
-            // pred remains the same, as it was the last non-deleted
-            // move
-
-            // dispose of cur: hang it into the re-use queue
-            cur.m_next = this.m_old;
-            this.m_old = cur;
-          } else {
-            // good, the move can be kept
-
-            if ((best == null) || (cmp.compare(cur, best) < 0)) {
-              // oh, the move is the best move found so far!
-              best = cur;
-              predBest = pred;
-            }
-
-            // the move was not deleted, so it becomes the last
-            // non-deleted
-            // move
-            pred = cur;
-          }
+        // make [changed_range_i,changed_range_j] include the area touched
+        // by the performed move: only this range is interesting when
+        // filling the queue again at the next "outer" iteration
+        changed_range_i = Math.min(changed_range_i, pool.m_i[move]);
+        changed_range_j = Math.max(changed_range_j, pool.m_j[move]);
 
-          cur = next;// cur becomes cur.m_next
-        }
+        // delete all moves that intersect with "move" in such a way that
+        // their delta would have changed / they have been invalidated by
+        // "move" and amend the others
+        pool.invalidate(move, n);
 
-        move = best; // the next move is the best move found in the
-        // queue
-        predMove = predBest; // and predMove the last non-deleted move
-        // before
-      } while (move != null);
+        move = pool.poll(); // the next move is the best move left
+      } while (move >= 0);
 
       // ok, we have emptied the move queue. Now it is time to fill in
       // again.
 
       // lastWasIncomplete tells us whether all possible moves were
-      // checked.
-      // If it is false, we only need to check
+      // checked. If it is false, we only need to check
       // [changed_range_i,changed_range_j]. Otherwise, we need to check
       // [0,n]
-      lastWasIncomplete = this.fillMoveQueue(//
+        lastWasIncomplete = this.fillMoveQueue(//
           (lastWasIncomplete ? 0 : changed_range_i),//
           (lastWasIncomplete ? n : changed_range_j), //
           srcdst.solution,//
           dist);
-    }
+      }
 
-    this.disposeQueue(); // dispose whatever move is still in the queue
+    pool.clear(); // dispose whatever move is still in the queue
   }
 
   /**
@@ -335,7 +255,7 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     rand = f.getRandom();
     nextAllowed = this.m_nextAllowed;
     nextAllowedBits = this.m_nextAllowedBits;
-    opt = this.m_opt;
+    opt = this.m_runOpt;
 
     n = f.n();
     len = opt.getSubPathLength();
@@ -443,6 +363,29 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     this.m_randomOverlap = overlap;
   }
 
+  /**
+   * Should the local optimizer be generated at runtime?
+   *
+   * @return {@code true} if an exhaustive optimizer for the sub-sequence
+   *         length of the configured optimizer is generated at the
+   *         beginning of each run, {@code false} otherwise
+   */
+  public final boolean isGeneratingLocalOptimizer() {
+    return this.m_generate;
+  }
+
+  /**
+   * Set whether the local optimizer should be generated at runtime
+   *
+   * @param generate
+   *          {@code true} if an exhaustive optimizer for the sub-sequence
+   *          length of the configured optimizer should be generated at
+   *          the beginning of each run, {@code false} otherwise
+   */
+  public final void setGeneratingLocalOptimizer(final boolean generate) {
+    this.m_generate = generate;
+  }
+
   /**
    * set the {@link EMoveComparator move comparator}
    *
@@ -517,80 +460,6 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     return total;
   }
 
-  /**
-   * Return a new move record. This method first tries to recycle old moves
-   * and will allocate a new move if the old queue is empty. However, if
-   * the maximum number of move allocations has been reached, {@code null}
-   * will be returned.
-   *
-   * @return the new move, or {@code null} if the maximum number of move
-   *         allocations has been exhausted
-   */
-  private final _Move allocate() {
-    final _Move m;
-    final int i;
-
-    m = this.m_old;
-    if (m != null) {
-      this.m_old = m.m_next;
-      return m;
-    }
-
-    i = this.m_moveAllocations;
-    if (i < this.m_maxMoveAllocations) {
-      this.m_moveAllocations = (i + 1);
-      return new _Move();
-    }
-
-    return null;
-  }
-
-  /** dispose all moves in the move queue */
-  private final void disposeQueue() {
-    _Move cur, next;
-
-    cur = this.m_queue; // cur = beginning of queue
-
-    if (cur == null) {// queue is empty, we can leave directly
-      return;
-    }
-
-    // moves are left in queue: dispose them
-    dispose: for (;;) {// find the last move in queue
-      next = cur.m_next;
-      if (next == null) {
-        break dispose;
-      }
-      cur = next;
-    }
-
-    // cur now is the last move in the move queue m_queue is the first
-    cur.m_next = this.m_old; //
-    this.m_old = this.m_queue;// put m_queue at beginning
-    this.m_queue = null; // ensure that the queue is really empty
-  }
-
-  /**
-   * enqueue a move
-   *
-   * @param move
-   *          the move to enqueue
-   */
-  private final void enqueue(final _Move move) {
-    final _Move q;
-
-    q = this.m_queue;
-    if ((q == null) || ((this.m_cmp.compare(move, q) < 0))) {
-      // move = new best: put at head of queue
-      move.m_next = q;
-      this.m_queue = move;
-    } else {// move is not best: put at 2nd place, regardless how good it
-      // is
-      move.m_next = q.m_next;
-      q.m_next = move;
-    }
-  }
-
   /**
    * <p>
    * Fill the queue of search moves that can improve the current solution.
@@ -618,7 +487,8 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
    * considered before and thus do not need to tested again.
    * </p>
    * <p>
-   * This function will place the best move found at the head of the queue.
+   * The queue must be empty when this function is called, i.e., all moves
+   * have been applied or deleted.
    * </p>
    * <p>
    * This function returns {@code true} if not all possible moves could be
@@ -649,13 +519,18 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     final int begin, end;
     int i, j, jm1, im1, delta;
     int sol_im1, sol_i, sol_ip1, sol_jm1, sol_j, sol_jp1;
-    int D_im1_i, D_i_ip1, D_jm1_j, D_j_jp1, D_im1_j, D_i_jp1, D_im1_ip1, D_i_j, D_jm1_jp1, D_ip1_j, D_i_jm1;
-    _Move move;
+    int D_im1_i, D_i_ip1, D_jm1_j, D_j_jp1, D_im1_j, D_i_jp1, D_im1_ip1, D_j_i, D_jm1_jp1, D_j_ip1, D_jm1_i;
+    final _MovePool pool;
+    final boolean symmetric;
+    int move;
 
     f = this.m_f;
     n = f.n();
     nm1 = (n - 1);
-    nopt = this.m_opt.getSubPathLength();
+    symmetric = f.symmetric();
+    pool = this.m_pool;
+    pool.clear();
+    nopt = this.m_runOpt.getSubPathLength();
 
     // Any move intersecting with the range [begin,end] is interesting.
     // The -1/+1 stem from the fact that when changing range [2,3], also
@@ -689,6 +564,7 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
       // optimizer.
       i = (j - nopt);
       if (i < 0) {
+        pool.endFill();
         return false;
       }
 
@@ -723,18 +599,19 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
           continue inner; // no operation works at full-range
         }
 
-        // check the reversal move
+        // check the reversal move: on asymmetric instances, a reversal
+        // changes all the edges in [i,j], so we do not consider it there
         delta = ((D_im1_j - D_im1_i) + (D_i_jp1 - D_j_jp1));
 
-        if (delta < 0) { // ok, the move is promising: enqueue
-          move = this.allocate(); // allocate the move
-          if (move == null) {
+        if (symmetric && (delta < 0)) { // ok, the move is promising
+          move = pool.allocate(); // allocate the move
+          if (move < 0) {
+            pool.endFill();
             return true;// we hit the allocation limit, force exit
           }
 
-          move.init_reverse(i, j, delta, D_im1_j, D_i_jp1);// init the
-          // move
-          this.enqueue(move);
+          pool.init_reverse(move, i, j, delta, D_im1_j, D_i_jp1);
+          pool.enqueue(move);
         }
 
         if (j == (i + 1)) {
@@ -747,37 +624,41 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
 
         // check the rotate left move
         D_im1_ip1 = f.distance(sol_im1, sol_ip1);
-        D_i_j = f.distance(sol_i, sol_j);
+        D_j_i = f.distance(sol_j, sol_i);
 
         delta = ((D_im1_ip1 - D_im1_i) + //
-            (D_i_j - D_i_ip1) + //
+            (D_j_i - D_i_ip1) + //
         (D_i_jp1 - D_j_jp1));
 
         if (delta < 0) {// move is promising:enqueue
-          move = this.allocate(); // allocate the move
-          if (move == null) {
+          move = pool.allocate(); // allocate the move
+          if (move < 0) {
+            pool.endFill();
             return true;// we hit the allocation limit, force exit
           }
 
-          move.init_rotate_left(i, j, delta, D_im1_ip1, D_i_j, D_i_jp1);// init
-          this.enqueue(move);
+          pool.init_rotate_left(move, i, j, delta, D_im1_ip1, D_j_i,
+              D_i_jp1);
+          pool.enqueue(move);
         }
 
         // check the rotate right move
         D_jm1_jp1 = f.distance(sol_jm1, sol_jp1);
 
         delta = ((D_im1_j - D_im1_i) + //
-            (D_i_j - D_j_jp1) + //
+            (D_j_i - D_j_jp1) + //
         (D_jm1_jp1 - D_jm1_j));
 
         if (delta < 0) {// move is promising:enqueue
-          move = this.allocate(); // allocate the move
-          if (move == null) {
+          move = pool.allocate(); // allocate the move
+          if (move < 0) {
+            pool.endFill();
             return true;// we hit the allocation limit, force exit
           }
 
-          move.init_rotate_right(i, j, delta, D_jm1_jp1, D_i_j, D_im1_j);// init
-          this.enqueue(move);
+          pool.init_rotate_right(move, i, j, delta, D_jm1_jp1, D_j_i,
+              D_im1_j);
+          pool.enqueue(move);
         }
 
         if (j == ((i + 2) % n)) {
@@ -786,26 +667,29 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
         }
 
         // check the swap move
-        D_i_jm1 = f.distance(sol_i, sol_jm1);
-        D_ip1_j = f.distance(sol_ip1, sol_j);
+        D_jm1_i = f.distance(sol_jm1, sol_i);
+        D_j_ip1 = f.distance(sol_j, sol_ip1);
 
         delta = ((D_im1_j - D_im1_i) + //
-            (D_ip1_j - D_i_ip1) + //
-            (D_i_jm1 - D_jm1_j) + //
+            (D_j_ip1 - D_i_ip1) + //
+            (D_jm1_i - D_jm1_j) + //
         (D_i_jp1 - D_j_jp1));
 
         if (delta < 0) {// move is promising:enqueue
-          move = this.allocate(); // allocate the move
-          if (move == null) {
+          move = pool.allocate(); // allocate the move
+          if (move < 0) {
+            pool.endFill();
             return true;// we hit the allocation limit, force exit
           }
 
-          move.init_swap(i, j, delta, D_im1_j, D_ip1_j, D_i_jm1, D_i_jp1);// init
-          this.enqueue(move);
+          pool.init_swap(move, i, j, delta, D_im1_j, D_j_ip1, D_jm1_i,
+              D_i_jp1);
+          pool.enqueue(move);
         }
       }
     }
 
+    pool.endFill();
     return false;
   }
 
@@ -825,13 +709,11 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   private final void __clear() {
     this.m_distances = null;
     this.m_f = null;
-    this.m_old = null;
-    this.m_queue = null;
-    this.m_moveAllocations = 0;
+    this.m_pool = null;
     this.m_currentAllowed = null;
     this.m_nextAllowed = null;
     this.m_nextAllowedBits = null;
-
+    this.m_runOpt = null;
   }
 
   /** {@inheritDoc} */
@@ -850,6 +732,9 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
 
     Configurable.printKey(ChainedMNSLocalNOpt.PARAM_RANDOM_OVERLAP, ps);
     ps.println(this.m_randomOverlap);
+
+    Configurable.printKey(ChainedMNSLocalNOpt.PARAM_GENERATE_N_OPT, ps);
+    ps.println(this.m_generate);
   }
 
   /** {@inheritDoc} */
@@ -870,6 +755,9 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
 
     Configurable.printKey(ChainedMNSLocalNOpt.PARAM_RANDOM_OVERLAP, ps);
     ps.println("Test randomly overlapping or only minimally overlapping patches?");//$NON-NLS-1$
+
+    Configurable.printKey(ChainedMNSLocalNOpt.PARAM_GENERATE_N_OPT, ps);
+    ps.println("Generate an exhaustive local n-optimizer of the same length at runtime?");//$NON-NLS-1$
   }
 
   /** {@inheritDoc} */
@@ -886,9 +774,11 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
 
     this.setLocalOptimizer(config.getInstance(
         ChainedMNSLocalNOpt.PARAM_N_OPT, LocalOptimizer.class,
-        ExhaustivelyEnumeratingLocal7Optimizer.class, this.m_opt));
+        DynamicProgrammingLocalOptimizer.class, this.m_opt));
     this.setRandomOverlap(config.getBoolean(
         ChainedMNSLocalNOpt.PARAM_RANDOM_OVERLAP, this.m_randomOverlap));
+    this.setGeneratingLocalOptimizer(config.getBoolean(
+        ChainedMNSLocalNOpt.PARAM_GENERATE_N_OPT, this.m_generate));
   }
 
   /** {@inheritDoc} */
@@ -897,6 +787,10 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     final int n;
 
     super.beginRun(f);
+    this.m_runOpt = (this.m_generate ? RuntimeCodeGenerator
+        .createOptimizer(this.m_opt.getSubPathLength(), f.symmetric())
+        : this.m_opt);
+    this.m_runOpt.beginRun(f);
 
     this.m_f = f;
     n = f.n();
@@ -904,13 +798,18 @@ public class ChainedMNSLocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     // this.m_currentAllowed = new int[n];
     this.m_nextAllowed = new int[n];
     this.m_nextAllowedBits = new boolean[n];
+    this.m_pool = new _MovePool(n, this.m_maxMoveAllocations, this.m_cmp);
   }
 
   /** {@inheritDoc} */
   @Override
   public void endRun(final ObjectiveFunction f) {
     try {
-      this.__clear();
+      try {
+        this.m_runOpt.endRun(f);
+      } finally {
+        this.__clear();
+      }
     } finally {
       super.endRun(f);
     }
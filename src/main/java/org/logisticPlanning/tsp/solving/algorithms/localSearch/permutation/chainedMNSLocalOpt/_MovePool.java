@@ -0,0 +1,1165 @@
+package org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.chainedMNSLocalOpt;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * The internal move pool holds all information necessary for describing
+ * and carrying out search moves. Instead of one object per move, the
+ * moves are stored column-wise in arrays of {@code int}s and are addressed
+ * by their index. Since the move queue is always empty when it is filled,
+ * the pool simply hands out the indices {@code 0}, {@code 1},
+ * {@code 2}, &hellip; and is cleared before the next filling phase. No
+ * objects need to be created or collected during the search.
+ * </p>
+ * <p>
+ * The enqueued moves are organized in an index-based binary heap ordered
+ * by the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.chainedMNSLocalOpt.EMoveComparator
+ * move comparator}, with ties broken such that the moves are applied in
+ * exactly the same order as with the linked move queue used before.
+ * Additionally, each move is listed under its two indices, so that after
+ * applying a move, only the moves that may collide with it need to be
+ * checked instead of the whole queue.
+ * </p>
+ */
+final class _MovePool {
+
+  /** the reverse move type */
+  private static final int TYPE_REVERSE = 0;
+  /** the rotate move type */
+  private static final int TYPE_ROT_LEFT = 1;
+  /** the rotate right type */
+  private static final int TYPE_ROT_RIGHT = 2;
+
+  /** the swap move type */
+  private static final int TYPE_SWAP = 3;
+
+  /** the initial number of move records: {@value} */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /** the empty array */
+  private static final int[] EMPTY = new int[0];
+
+  /** the move comparator */
+  private final EMoveComparator m_cmp;
+
+  /** the maximum number of moves */
+  private final int m_maxMoves;
+
+  /** the number of moves allocated since the pool was last cleared */
+  private int m_size;
+
+  /** the type of each move */
+  private int[] m_type;
+
+  /** the first index of each move */
+  int[] m_i;
+
+  /** the second index of each move */
+  int[] m_j;
+
+  /** the delta of each move */
+  int[] m_delta;
+
+  /** the first additional distance of each move */
+  private int[] m_a;
+
+  /** the second additional distance of each move */
+  private int[] m_b;
+
+  /** the third additional distance of each move */
+  private int[] m_c;
+
+  /** the fourth additional distance of each move */
+  private int[] m_d;
+
+  /**
+   * the rank of each move: among moves which are equally good according
+   * to the move comparator, the move with the higher rank is applied
+   * first
+   */
+  private int[] m_rank;
+
+  /** the best move enqueued since the pool was last cleared */
+  private int m_head;
+
+  /** the heap of enqueued moves */
+  private int[] m_heap;
+
+  /** the position of each move in the heap */
+  private int[] m_heapPos;
+
+  /** the number of moves in the heap */
+  private int m_heapSize;
+
+  /** the first move in the list of moves with a given first index */
+  private final int[] m_firstI;
+
+  /** the next move with the same first index */
+  private int[] m_nextI;
+
+  /** the previous move with the same first index */
+  private int[] m_prevI;
+
+  /** the first move in the list of moves with a given second index */
+  private final int[] m_firstJ;
+
+  /** the next move with the same second index */
+  private int[] m_nextJ;
+
+  /** the previous move with the same second index */
+  private int[] m_prevJ;
+
+  /** the invalidation stamp at which each move was checked last */
+  private int[] m_checked;
+
+  /** the current invalidation stamp */
+  private int m_stamp;
+
+  /**
+   * create the move pool
+   *
+   * @param n
+   *          the number of nodes
+   * @param maxMoves
+   *          the maximum number of moves
+   * @param cmp
+   *          the move comparator
+   */
+  _MovePool(final int n, final int maxMoves, final EMoveComparator cmp) {
+    super();
+
+    this.m_cmp = cmp;
+    this.m_maxMoves = maxMoves;
+    this.m_firstI = new int[n];
+    this.m_firstJ = new int[n];
+
+    this.m_type = this.m_i = this.m_j = this.m_delta = _MovePool.EMPTY;
+    this.m_a = this.m_b = this.m_c = this.m_d = _MovePool.EMPTY;
+    this.m_rank = this.m_heap = this.m_heapPos = _MovePool.EMPTY;
+    this.m_nextI = this.m_prevI = this.m_nextJ = this.m_prevJ = _MovePool.EMPTY;
+    this.m_checked = _MovePool.EMPTY;
+
+    this.clear();
+  }
+
+  /** increase the number of move records */
+  private final void __grow() {
+    final int cap;
+
+    cap = ((int) (Math.min(this.m_maxMoves, Math.max(
+        _MovePool.INITIAL_CAPACITY, (((long) (this.m_type.length)) << 1L)))));
+
+    this.m_type = Arrays.copyOf(this.m_type, cap);
+    this.m_i = Arrays.copyOf(this.m_i, cap);
+    this.m_j = Arrays.copyOf(this.m_j, cap);
+    this.m_delta = Arrays.copyOf(this.m_delta, cap);
+    this.m_a = Arrays.copyOf(this.m_a, cap);
+    this.m_b = Arrays.copyOf(this.m_b, cap);
+    this.m_c = Arrays.copyOf(this.m_c, cap);
+    this.m_d = Arrays.copyOf(this.m_d, cap);
+    this.m_rank = Arrays.copyOf(this.m_rank, cap);
+    this.m_heap = Arrays.copyOf(this.m_heap, cap);
+    this.m_heapPos = Arrays.copyOf(this.m_heapPos, cap);
+    this.m_nextI = Arrays.copyOf(this.m_nextI, cap);
+    this.m_prevI = Arrays.copyOf(this.m_prevI, cap);
+    this.m_nextJ = Arrays.copyOf(this.m_nextJ, cap);
+    this.m_prevJ = Arrays.copyOf(this.m_prevJ, cap);
+    this.m_checked = Arrays.copyOf(this.m_checked, cap);
+  }
+
+  /** dispose all moves: the queue becomes empty */
+  final void clear() {
+    this.m_size = 0;
+    this.m_heapSize = 0;
+    this.m_head = (-1);
+    this.m_stamp = 0;
+    Arrays.fill(this.m_firstI, (-1));
+    Arrays.fill(this.m_firstJ, (-1));
+  }
+
+  /**
+   * Return a new move record. Moves are only allocated while filling the
+   * queue, i.e., between {@link #clear()} and {@link #endFill()}. If the
+   * maximum number of moves has been reached, {@code -1} is returned.
+   *
+   * @return the new move, or {@code -1} if the maximum number of moves
+   *         has been exhausted
+   */
+  final int allocate() {
+    final int move;
+
+    move = this.m_size;
+    if (move >= this.m_maxMoves) {
+      return (-1);
+    }
+    if (move >= this.m_type.length) {
+      this.__grow();
+    }
+    this.m_size = (move + 1);
+    this.m_checked[move] = 0;
+    return move;
+  }
+
+  /**
+   * Initialize a move as a &quot;rotate left&quot; move. You can find a
+   * similar move described in
+   * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Left}
+   * .
+   *
+   * @param move
+   *          the move
+   * @param i
+   *          the i
+   * @param j
+   *          the j
+   * @param delta
+   *          the delta
+   * @param a
+   *          the distance between the current elements at index
+   *          {@code i-1} and {@code i+1}
+   * @param b
+   *          the distance from the current element at index {@code j} to
+   *          the current element at index {@code i}
+   * @param c
+   *          the distance between the current elements at index {@code i}
+   *          and {@code j+1}
+   */
+  final void init_rotate_left(final int move, final int i, final int j,
+      final int delta, final int a, final int b, final int c) {
+    this.m_type[move] = _MovePool.TYPE_ROT_LEFT;
+    this.m_i[move] = i;
+    this.m_j[move] = j;
+    this.m_delta[move] = delta;
+    this.m_a[move] = a;
+    this.m_b[move] = b;
+    this.m_c[move] = c;
+  }
+
+  /**
+   * Initialize a move as a &quot;rotate right&quot; move. You can find a
+   * similar move described in
+   * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Right}
+   * .
+   *
+   * @param move
+   *          the move
+   * @param i
+   *          the i
+   * @param j
+   *          the j
+   * @param delta
+   *          the delta
+   * @param a
+   *          the distance between the current elements at index
+   *          {@code i-1} and {@code i+1}
+   * @param b
+   *          the distance from the current element at index {@code j} to
+   *          the current element at index {@code i}
+   * @param c
+   *          the distance between the current elements at index {@code i}
+   *          and {@code j+1}
+   */
+  final void init_rotate_right(final int move, final int i, final int j,
+      final int delta, final int a, final int b, final int c) {
+    this.m_type[move] = _MovePool.TYPE_ROT_RIGHT;
+    this.m_i[move] = i;
+    this.m_j[move] = j;
+    this.m_delta[move] = delta;
+    this.m_a[move] = a;
+    this.m_b[move] = b;
+    this.m_c[move] = c;
+  }
+
+  /**
+   * Initialize a move as a &quot;swap&quot; move. You can find a similar
+   * move described in
+   * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Swap}
+   *
+   * @param move
+   *          the move
+   * @param i
+   *          the i
+   * @param j
+   *          the j
+   * @param delta
+   *          the delta
+   * @param D_im1_j
+   *          the distance between the current elements at index
+   *          {@code i-1} and {@code j}
+   * @param D_j_ip1
+   *          the distance from the current element at index {@code j} to
+   *          the current element at index {@code i+1}
+   * @param D_jm1_i
+   *          the distance from the current element at index {@code j-1}
+   *          to the current element at index {@code i}
+   * @param D_i_jp1
+   *          the distance between the current elements at index {@code i}
+   *          and {@code j+1}
+   */
+  final void init_swap(final int move, final int i, final int j,
+      final int delta, final int D_im1_j, final int D_j_ip1,
+      final int D_jm1_i, final int D_i_jp1) {
+    this.m_type[move] = _MovePool.TYPE_SWAP;
+    this.m_i[move] = i;
+    this.m_j[move] = j;
+    this.m_delta[move] = delta;
+    this.m_a[move] = D_jm1_i;
+    this.m_b[move] = D_i_jp1;
+    this.m_c[move] = D_im1_j;
+    this.m_d[move] = D_j_ip1;
+  }
+
+  /**
+   * Initialize a move as a &quot;reverse&quot; move. You can find a
+   * similar move described in
+   * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse}
+   *
+   * @param move
+   *          the move
+   * @param i
+   *          the i
+   * @param j
+   *          the j
+   * @param delta
+   *          the delta
+   * @param D_im1_j
+   *          the distance between the current elements at index
+   *          {@code i-1} and {@code j}
+   * @param D_i_jp1
+   *          the distance between the current elements at index {@code i}
+   *          and {@code j+1}
+   */
+  final void init_reverse(final int move, final int i, final int j,
+      final int delta, final int D_im1_j, final int D_i_jp1) {
+    this.m_type[move] = _MovePool.TYPE_REVERSE;
+    this.m_i[move] = i;
+    this.m_j[move] = j;
+    this.m_delta[move] = delta;
+    this.m_b[move] = D_im1_j;
+    this.m_a[move] = D_i_jp1;
+  }
+
+  /**
+   * Compare two moves with the move comparator
+   *
+   * @param a
+   *          the first move
+   * @param b
+   *          the second move
+   * @return the comparison result
+   */
+  private final int __compare(final int a, final int b) {
+    return this.m_cmp.compare(this.m_type[a], this.m_delta[a],
+        this.m_type[b], this.m_delta[b]);
+  }
+
+  /**
+   * <p>
+   * Enqueue an initialized move.
+   * </p>
+   * <p>
+   * The ranks reproduce the order of the former linked move queue: A move
+   * which is better than the current best move was put at the head of
+   * that queue, all other moves at its second position. Hence, the queue
+   * started with its best move, followed by the other moves in the
+   * reverse order in which they were put at the second position. A
+   * displaced best move got to the second position when its successor
+   * was enqueued. The best move receives the highest rank in
+   * {@link #endFill()}.
+   * </p>
+   *
+   * @param move
+   *          the move to enqueue
+   */
+  final void enqueue(final int move) {
+    final int head;
+
+    head = this.m_head;
+    if ((head < 0) || (this.__compare(move, head) < 0)) {
+      if (head >= 0) {
+        this.m_rank[head] = move;
+      }
+      this.m_head = move;
+    } else {
+      this.m_rank[move] = move;
+    }
+
+    this.__linkI(move);
+    this.__linkJ(move);
+  }
+
+  /** finish filling the queue and build the heap of moves */
+  final void endFill() {
+    final int[] heap, heapPos;
+    final int size;
+    int i;
+
+    size = this.m_size;
+    if (this.m_head >= 0) {
+      this.m_rank[this.m_head] = size;
+    }
+
+    heap = this.m_heap;
+    heapPos = this.m_heapPos;
+    for (i = size; (--i) >= 0;) {
+      heap[i] = i;
+      heapPos[i] = i;
+    }
+    this.m_heapSize = size;
+    for (i = (size >>> 1); (--i) >= 0;) {
+      this.__siftDown(i);
+    }
+  }
+
+  /**
+   * Remove the next move to apply from the queue
+   *
+   * @return the next move, or {@code -1} if the queue is empty
+   */
+  final int poll() {
+    final int move;
+
+    if (this.m_heapSize <= 0) {
+      return (-1);
+    }
+    move = this.m_heap[0];
+    this.__remove(move, this.m_i[move], this.m_j[move]);
+    return move;
+  }
+
+  /**
+   * Should move {@code a} be applied before move {@code b}?
+   *
+   * @param a
+   *          the first move
+   * @param b
+   *          the second move
+   * @return {@code true} if {@code a} comes first, {@code false}
+   *         otherwise
+   */
+  private final boolean __before(final int a, final int b) {
+    final int res;
+
+    res = this.__compare(a, b);
+    return ((res < 0) || ((res == 0) && (this.m_rank[a] > this.m_rank[b])));
+  }
+
+  /**
+   * move a heap element up
+   *
+   * @param start
+   *          the heap position of the element
+   */
+  private final void __siftUp(final int start) {
+    final int[] heap, heapPos;
+    final int move;
+    int pos, parent, p;
+
+    heap = this.m_heap;
+    heapPos = this.m_heapPos;
+    pos = start;
+    move = heap[pos];
+    while (pos > 0) {
+      parent = ((pos - 1) >>> 1);
+      p = heap[parent];
+      if (!(this.__before(move, p))) {
+        break;
+      }
+      heap[pos] = p;
+      heapPos[p] = pos;
+      pos = parent;
+    }
+    heap[pos] = move;
+    heapPos[move] = pos;
+  }
+
+  /**
+   * move a heap element down
+   *
+   * @param start
+   *          the heap position of the element
+   */
+  private final void __siftDown(final int start) {
+    final int[] heap, heapPos;
+    final int move, size;
+    int pos, child, c, r;
+
+    heap = this.m_heap;
+    heapPos = this.m_heapPos;
+    size = this.m_heapSize;
+    pos = start;
+    move = heap[pos];
+    for (;;) {
+      child = ((pos << 1) + 1);
+      if (child >= size) {
+        break;
+      }
+      c = heap[child];
+      if ((child + 1) < size) {
+        r = heap[child + 1];
+        if (this.__before(r, c)) {
+          child++;
+          c = r;
+        }
+      }
+      if (!(this.__before(c, move))) {
+        break;
+      }
+      heap[pos] = c;
+      heapPos[c] = pos;
+      pos = child;
+    }
+    heap[pos] = move;
+    heapPos[move] = pos;
+  }
+
+  /**
+   * Remove a move from the heap and the index lists
+   *
+   * @param move
+   *          the move
+   * @param i
+   *          the first index under which the move is listed
+   * @param j
+   *          the second index under which the move is listed
+   */
+  private final void __remove(final int move, final int i, final int j) {
+    final int pos, last;
+
+    pos = this.m_heapPos[move];
+    last = this.m_heap[--this.m_heapSize];
+    if (last != move) {
+      this.m_heap[pos] = last;
+      this.m_heapPos[last] = pos;
+      this.__siftDown(pos);
+      this.__siftUp(this.m_heapPos[last]);
+    }
+
+    this.__unlinkI(move, i);
+    this.__unlinkJ(move, j);
+  }
+
+  /**
+   * add a move to the list of its first index
+   *
+   * @param move
+   *          the move
+   */
+  private final void __linkI(final int move) {
+    final int i, first;
+
+    i = this.m_i[move];
+    first = this.m_firstI[i];
+    this.m_nextI[move] = first;
+    this.m_prevI[move] = (-1);
+    if (first >= 0) {
+      this.m_prevI[first] = move;
+    }
+    this.m_firstI[i] = move;
+  }
+
+  /**
+   * remove a move from the list of a first index
+   *
+   * @param move
+   *          the move
+   * @param i
+   *          the index
+   */
+  private final void __unlinkI(final int move, final int i) {
+    final int prev, next;
+
+    prev = this.m_prevI[move];
+    next = this.m_nextI[move];
+    if (prev >= 0) {
+      this.m_nextI[prev] = next;
+    } else {
+      this.m_firstI[i] = next;
+    }
+    if (next >= 0) {
+      this.m_prevI[next] = prev;
+    }
+  }
+
+  /**
+   * add a move to the list of its second index
+   *
+   * @param move
+   *          the move
+   */
+  private final void __linkJ(final int move) {
+    final int j, first;
+
+    j = this.m_j[move];
+    first = this.m_firstJ[j];
+    this.m_nextJ[move] = first;
+    this.m_prevJ[move] = (-1);
+    if (first >= 0) {
+      this.m_prevJ[first] = move;
+    }
+    this.m_firstJ[j] = move;
+  }
+
+  /**
+   * remove a move from the list of a second index
+   *
+   * @param move
+   *          the move
+   * @param j
+   *          the index
+   */
+  private final void __unlinkJ(final int move, final int j) {
+    final int prev, next;
+
+    prev = this.m_prevJ[move];
+    next = this.m_nextJ[move];
+    if (prev >= 0) {
+      this.m_nextJ[prev] = next;
+    } else {
+      this.m_firstJ[j] = next;
+    }
+    if (next >= 0) {
+      this.m_prevJ[next] = prev;
+    }
+  }
+
+  /**
+   * <p>
+   * This method has one &quot;external&quot; and one &quot;internal&quot;
+   * purpose. For the outside, it applies a move and updates the candidate
+   * solution and distance list.
+   * </p>
+   * <p>
+   * Internally, it changes the meaning of the additional values of the
+   * move. Until before this method, they hold additional distance
+   * information that we use to update the distance list. Now we change
+   * them to hold the indices that would cause collisions with this move.
+   * </p>
+   * <p>
+   * After this method was called, the queue of moves must be updated by
+   * calling {@link #invalidate(int, int)}.
+   * </p>
+   *
+   * @param move
+   *          the move, which must have been removed from the queue via
+   *          {@link #poll()}
+   * @param n
+   *          the number of nodes in the tsp instance
+   * @param sol
+   *          the solution array
+   * @param dist
+   *          the distance array
+   */
+  final void apply(final int move, final int n, final int[] sol,
+      final int[] dist) {
+    final int i, j, im1;
+    int t, m, ii, jj;
+
+    // perform the move
+
+    i = this.m_i[move];
+    j = this.m_j[move];
+    im1 = (((i + n) - 1) % n);
+
+    // Depending on the type of our move, we have different things to do
+    switch (this.m_type[move]) {
+
+      case TYPE_REVERSE: {
+        // In a reverse move, we turn around the tour segment in between
+        // (and including) indices i and j.
+        for (ii = i, jj = j; ii < jj; ii++, jj--) {
+          t = sol[ii];
+          sol[ii] = sol[jj];
+          sol[jj] = t;
+        }
+
+        for (ii = i, jj = (j - 1); ii < jj; ii++, jj--) {
+          t = dist[ii];
+          dist[ii] = dist[jj];
+          dist[jj] = t;
+        }
+
+        dist[im1] = this.m_b[move];
+        dist[j] = this.m_a[move];
+
+        break;
+      }
+
+      case TYPE_ROT_LEFT: {
+        // In a rotate left move, we rotate the segment in between (and
+        // including) i and j one step to the left. The element at index i
+        // would be shifted outside of the range, but since we do a
+        // _rotate_ it re-appears on index j. The element at index j has
+        // moved to j-1.
+        t = sol[i];
+        m = (j - i);
+        System.arraycopy(sol, i + 1, sol, i, m);
+        sol[j] = t;
+
+        System.arraycopy(dist, i + 1, dist, i, m - 1);
+
+        dist[im1] = this.m_a[move];
+        dist[j - 1] = this.m_b[move];
+        dist[j] = this.m_c[move];
+
+        this.m_c[move] = (i + 1); // The rotate left move has one more
+        // forbidden coordinate: i+1
+        break;
+      }
+
+      case TYPE_ROT_RIGHT: {
+        // In a rotate right move, we rotate the segment in between (and
+        // including) i and j one step to the right. The element at index j
+        // would be shifted outside of the range, but since we do a
+        // _rotate_ it re-appears on index i. The element at index i has
+        // moved to i+1.
+        t = sol[j];
+        m = (j - i);
+        System.arraycopy(sol, i, sol, i + 1, m);
+        sol[i] = t;
+
+        System.arraycopy(dist, i, dist, i + 1, m - 1);
+
+        dist[im1] = this.m_c[move];
+        dist[i] = this.m_b[move];
+        dist[j] = this.m_a[move];
+
+        this.m_c[move] = (j - 1);// The rotate left move has one more
+        // forbidden coordinate: j-1
+        break;
+      }
+
+      default: {// TYPE_SWAP
+        // In a swap move, we swap the elements at indices i and j.
+
+        t = sol[i];
+        sol[i] = sol[j];
+        sol[j] = t;
+
+        dist[im1] = this.m_c[move];
+        dist[i] = this.m_d[move];
+
+        t = (j - 1);
+        dist[t] = this.m_a[move];
+        dist[j] = this.m_b[move];
+
+        this.m_c[move] = t; // the swap move does not allow touching the
+        this.m_d[move] = (i + 1); // coordinates j-1 and i+1
+      }
+    }
+
+    this.m_a[move] = im1; // any move forbids touching the coordinates i-1
+    this.m_b[move] = ((j + 1) % n); // and j+1
+  }
+
+  /**
+   * <p>
+   * Update the queue after {@code move} was
+   * {@link #apply(int, int, int[], int[]) applied}: Delete all moves that
+   * collide with {@code move} and amend the indices of the moves which
+   * can still be carried out.
+   * </p>
+   * <p>
+   * The forbidden coordinates of {@code move} and the range it changed
+   * lie within its indices {@code i-1} to {@code j+1}. A queued move can
+   * only be affected if one of its two indices is at most one step away
+   * from this area. Instead of walking through the whole queue, we
+   * therefore only visit the moves listed under the indices {@code i-2}
+   * to {@code j+2}. A swap move only changes the nodes at its two
+   * indices, but its {@code i} may be larger than its {@code j} after it
+   * was amended by a reversal. For swap moves, we thus only visit the
+   * moves listed under the indices {@code i-2} to {@code i+2} and
+   * {@code j-2} to {@code j+2}.
+   * </p>
+   *
+   * @param move
+   *          the move that was applied
+   * @param n
+   *          the number of nodes
+   */
+  final void invalidate(final int move, final int n) {
+    final int i, j, stamp;
+
+    i = this.m_i[move];
+    j = this.m_j[move];
+    stamp = (++this.m_stamp);
+
+    if (this.m_type[move] == _MovePool.TYPE_SWAP) {
+      this.__invalidate(i, 5, move, n, stamp);
+      this.__invalidate(j, 5, move, n, stamp);
+    } else {
+      this.__invalidate(i, ((j - i) + 5), move, n, stamp);
+    }
+  }
+
+  /**
+   * Check all moves listed under the indices {@code from-2} to
+   * {@code from+count-3} (cyclically) against {@code move}.
+   *
+   * @param from
+   *          the index two steps after the first index to visit
+   * @param count
+   *          the number of indices to visit
+   * @param move
+   *          the move that was applied
+   * @param n
+   *          the number of nodes
+   * @param stamp
+   *          the current invalidation stamp
+   */
+  private final void __invalidate(final int from, final int count,
+      final int move, final int n, final int stamp) {
+    final int[] firstI, nextI, firstJ, nextJ, checked;
+    int k, c, x, next;
+
+    firstI = this.m_firstI;
+    nextI = this.m_nextI;
+    firstJ = this.m_firstJ;
+    nextJ = this.m_nextJ;
+    checked = this.m_checked;
+
+    k = (((from + n) - 2) % n);
+    for (c = Math.min(n, count); (--c) >= 0;) {
+      for (x = firstI[k]; x >= 0; x = next) {
+        next = nextI[x];
+        if (checked[x] != stamp) {
+          checked[x] = stamp;
+          this.__check(x, move, n);
+        }
+      }
+      for (x = firstJ[k]; x >= 0; x = next) {
+        next = nextJ[x];
+        if (checked[x] != stamp) {
+          checked[x] = stamp;
+          this.__check(x, move, n);
+        }
+      }
+      if ((++k) >= n) {
+        k = 0;
+      }
+    }
+  }
+
+  /**
+   * Check whether an enqueued move must be deleted since {@code move} was
+   * performed and delete it, or update the index lists and the heap if
+   * it was amended.
+   *
+   * @param x
+   *          the enqueued move
+   * @param move
+   *          the move that was applied
+   * @param n
+   *          the number of nodes
+   */
+  private final void __check(final int x, final int move, final int n) {
+    final int i, j, type;
+
+    i = this.m_i[x];
+    j = this.m_j[x];
+    type = this.m_type[x];
+
+    if (this.__checkDeleteMove(x, move, n)) {
+      this.__remove(x, i, j);
+      return;
+    }
+
+    if (this.m_i[x] != i) {
+      this.__unlinkI(x, i);
+      this.__linkI(x);
+    }
+    if (this.m_j[x] != j) {
+      this.__unlinkJ(x, j);
+      this.__linkJ(x);
+    }
+    if (this.m_type[x] != type) {
+      this.__siftUp(this.m_heapPos[x]);
+      this.__siftDown(this.m_heapPos[x]);
+    }
+  }
+
+  /**
+   * <p>
+   * Check whether a given move {@code x} should be deleted if {@code move}
+   * was performed, or whether it can still be used. In the latter case,
+   * this function will also perform any necessary amendments.
+   * </p>
+   * <p>
+   * Any move that collides with a performed move, i.e., whose proposed
+   * tour change has become impossible since [@code move} was performed,
+   * will return {@code true} here, which indicates that it should be
+   * deleted. Moves that do not intersect or may otherwise be adapted to
+   * still be valid will instead return {@code false}, which indicates that
+   * they should remain in the move queue and can still be used.
+   * </p>
+   * <p>
+   * Notice that this method requires that
+   * {@link #apply(int, int, int[], int[])} was called first for
+   * {@code move}, as it accesses the values of {@code move} holding
+   * collision information.
+   * </p>
+   *
+   * @param x
+   *          the move to check
+   * @param move
+   *          the move that was performed
+   * @param n
+   *          the number of nodes
+   * @return {@code true} if the move must be deleted
+   */
+  private final boolean __checkDeleteMove(final int x, final int move,
+      final int n) {
+    final int i, j, im1, jp1, type, moveType, moveI, moveJ;
+    int t;
+
+    // First, we check if there are any collisions.
+    // Each move leads to changes of the distances between a few, certain
+    // nodes. Thus, each move defines a set of nodes for which at least one
+    // of the two distances related to them change. If the two sets of such
+    // nodes for two moves overlap, a collision occurs. If this move has a
+    // collision with another move, it cannot be performed. So here we
+    // check this.
+
+    i = this.m_i[x];
+    if (this.__checkCollision(i, move)) {
+      // Our i coordinate must not hit any forbidden coordinate of the
+      // performed move, since the element at this coordinate would
+      // definitely change if we do our move.
+      return true;
+    }
+
+    im1 = (((i - 1) + n) % n);
+    if (this.__checkCollision(im1, move)) {
+      // Since our move will always change the element at its i
+      // coordinate, the distance between this node and the (definitely
+      // unchanged) node before will change, too
+      return true;
+    }
+
+    j = this.m_j[x];
+    if (this.__checkCollision(j, move)) {
+      // Our j coordinate must not hit any forbidden coordinate of the
+      // performed move, since the element at this coordinate would
+      // definitely change if we do our move.
+      return true;
+    }
+
+    jp1 = ((j + 1) % n);
+    if (this.__checkCollision(jp1, move)) {
+      // Since our move will always change the element at its j
+      // coordinate, the distance between this node and the (definitely
+      // unchanged) node thereafter will change, too
+      return true;
+    }
+
+    type = this.m_type[x];
+
+    if ((type == _MovePool.TYPE_ROT_LEFT) || (type == _MovePool.TYPE_SWAP)) {
+      // For left rotation or a swap move, also block coordinate i+1
+      if (this.__checkCollision((i + 1), move)) {
+        return true;
+      }
+    }
+
+    if ((type == _MovePool.TYPE_ROT_RIGHT)
+        || (type == _MovePool.TYPE_SWAP)) {
+      // For right rotation or a swap move, also block coordinate k-1
+      if (this.__checkCollision((j - 1), move)) {
+        return true;
+      }
+    }
+
+    // OK, there was no collision. Now we need to check whether we can
+    // transform the current move if it can be transformed such that it can
+    // still be carried out.
+
+    moveType = this.m_type[move];
+    if (moveType == _MovePool.TYPE_SWAP) {
+      // If the move was a swap move and there was no collision, then
+      // everything is OK and we still can carry it out.
+      return false;
+    }
+
+    moveI = this.m_i[move];
+    moveJ = this.m_j[move];
+
+    if ((i >= moveI) && (i <= moveJ)) {
+      // Our i coordinate lies within the window of the performed move.
+
+      // Depending on the type of the performed move, we need to take
+      // different actions.
+      switch (moveType) {
+
+        case TYPE_REVERSE: {
+          // The performed move was a reversal
+          if (type == _MovePool.TYPE_SWAP) {
+            // If we are a swap move and our i coordinate lies in the
+            // range of the performed reversal, we need to reverse it as
+            // well and swap its two corresponding distance changes
+            t = this.m_c[x];
+            this.m_c[x] = this.m_d[x];
+            this.m_d[x] = t;
+
+            this.m_i[x] = (moveJ - (i - moveI));// reverse coordinate
+            break;
+          }
+
+          // Our move is not swap, so it is either reverse, rol, or rot
+          if (j >= moveJ) {
+            // This means that only fully contained intersecting moves
+            // are allowed, i.e., if our i coordinate is in the move
+            // range, our j coordinate must be so too. Otherwise, we
+            // cannot perform our move as the nodes next to its i-end
+            // have changed.
+            return true;
+          }
+
+          // Our move is fully contained in the performed reversal, so we
+          // reverse its coordinates: Notice reversed i is larger than
+          // reversed j and vice versa, so the two switch places.
+          this.m_j[x] = (moveJ - (i - moveI));
+          this.m_i[x] = (moveJ - (j - moveI));
+
+          // Perform actions depending on the type of our move
+          switch (type) {
+            case TYPE_REVERSE: {
+              // For reverse moves, the distances at the ends change
+              t = this.m_a[x];
+              this.m_a[x] = this.m_b[x];
+              this.m_b[x] = t;
+              return false;// We are done here, the move can be preserved.
+            }
+            case TYPE_ROT_LEFT: {
+              // rol moves become ror moves
+              this.m_type[x] = _MovePool.TYPE_ROT_RIGHT;
+              return false;// We are done here, the move can be preserved.
+            }
+            default /* case TYPE_ROT_RIGHT */: {
+              // and ror moves become rol moves
+              this.m_type[x] = _MovePool.TYPE_ROT_LEFT;
+              return false; // We are done here, the move can be
+              // preserved.
+            }
+          }
+        }
+
+        case TYPE_ROT_LEFT: {
+          // Our i coordinate intersects with the i coordinate of the
+          // performed rotate left move, but does not produce a collision.
+          // We therefore simply shift it one step to the left too,
+          // regardless what move we are planning to do.
+          this.m_i[x] = im1;
+          break;
+        }
+        default /* case TYPE_ROT_RIGHT */: {
+          // Our i coordinate intersects with the i coordinate of the
+          // performed rotate right move, but does not produce a
+          // collision. We therefore simply shift it one step to the right
+          // too, regardless what move we are planning to do.
+          this.m_i[x] = (i + 1);
+          break;
+        }
+      }
+    }
+    // We are finished checking our move's i coordinate versus the range of
+    // the performed move. We now need to check our move's j coordinate.
+
+    if ((j >= moveI) && (j <= moveJ)) {
+      // Our move's j coordinate intersects with the move's range, but
+      // does not produce a collision.
+      switch (moveType) {
+
+        case TYPE_REVERSE: {
+          // The performed move was a reversal.
+
+          if (type == _MovePool.TYPE_SWAP) {
+            // If our move is a swap move, we have to reverse its j
+            // coordinate and swap the associated distances.
+            t = this.m_a[x];
+            this.m_a[x] = this.m_b[x];
+            this.m_b[x] = t;
+            this.m_j[x] = (moveJ - (j - moveI));
+            break;
+          }
+
+          // We have an overlap of either reverse, rol, ror with a
+          // performed reverse -- this is not allowed. When checking our i
+          // coordinate, we already have signaled "delete" (true) for any
+          // non-swap move intersecting with the performed reversal "from
+          // the left" AND signaled false / performed the necessary
+          // changes for any fully included non-swap move. Thus, coming
+          // here means that our move intersects with the performed
+          // reversal "from the right", i.e., its j coordinate is in the
+          // reversed range but its i coordinate is not. This is not
+          // allowed, as the nodes neighboring the j coordinate have
+          // changed. Thus we signal "delete".
+          return true;
+        }
+
+        case TYPE_ROT_LEFT: {
+          // If the performed move was a rotate-left, we, too, shift the j
+          // coordinate one step to the left
+          this.m_j[x] = (j - 1);
+          break;
+        }
+
+        default/* case TYPE_ROT_RIGHT */: {
+          // If the performed move was a rotate-right, we, too, shift the
+          // j coordinate one step to the right.
+          this.m_j[x] = jp1;
+          break;
+        }
+      }
+    }
+
+    // If we come here, the j coordinate did not intersect with the
+    // performed move or any necessary amendments of the i and j
+    // coordinates have been performed successful. We can signal "keep"
+    // (false) - if the move is not redundant. However, we are lucky:
+    // Because of the forbidden nodes of each move, the two indices cannot
+    // come too close to each other by augmenting a move. Thus, a move that
+    // was not redundant cannot become redundant.
+
+    return false;
+  }
+
+  /**
+   * Check for a collision: this method checks whether a given value
+   * {@code v} occurs in the forbidden values stored for {@code move}
+   * (according to {@link #apply(int, int, int[], int[])}). It will return
+   * {@code true} if such a collision was found and {@code false}
+   * otherwise.
+   *
+   * @param v
+   *          the value
+   * @param move
+   *          the move
+   * @return {@code true} on collision
+   */
+  @SuppressWarnings({ "fallthrough", "incomplete-switch" })
+  private final boolean __checkCollision(final int v, final int move) {
+    switch (this.m_type[move]) {
+      case TYPE_SWAP: {
+        // swap moves use all four variables
+        if (v == this.m_d[move]) {
+          return true;
+        }
+        // fall through to rotate
+      }
+      case TYPE_ROT_LEFT:
+      case TYPE_ROT_RIGHT: {
+        // rotate moves three variables
+        if (v == this.m_c[move]) {
+          return true;
+        }
+        // fall through
+      }
+    }
+
+    // all moves use at least four variables
+    return ((v == this.m_i[move]) || (v == this.m_j[move])
+        || (v == this.m_a[move]) || (v == this.m_b[move]));
+  }
+}
@@ -12,6 +12,7 @@ import org.logisticPlanning.tsp.solving.operators.permutation.creation.Permutati
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperators;
 import org.logisticPlanning.utils.config.Configurable;
+import org.logisticPlanning.utils.config.Configuration;
 import org.logisticPlanning.utils.math.random.Randomizer;
 
 /**
@@ -122,7 +123,7 @@ public class UpdatingPermutationHillClimber extends TSPAlgorithm {
   public final static void main(final String[] args) {
     TSPAlgorithmRunner.benchmark(
         //
-        Instance.SYMMETRIC_INSTANCES,
+        Instance.ALL_INSTANCES,
         UpdatingPermutationHillClimber.class,//
         args);
   }
@@ -152,7 +153,8 @@ public class UpdatingPermutationHillClimber extends TSPAlgorithm {
       value = f.evaluate(sol);
     }
 
-    ops = this.m_ops;
+    ops = PermutationUpdateOperators.selectOperators(this.m_ops,
+        f.symmetric());
 
     regFEs = ops.length;
     n = f.n();
@@ -204,6 +206,16 @@ public class UpdatingPermutationHillClimber extends TSPAlgorithm {
     return res;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void configure(final Configuration config) {
+    super.configure(config);
+
+    this.m_ops = PermutationUpdateOperators.getOperators(config,
+        UpdatingPermutationHillClimber.PARAM_UPDATING_OPERATORS,
+        this.m_ops);
+  }
+
   /** {@inheritDoc} */
   @Override
   public void printConfiguration(final PrintStream ps) {
@@ -214,6 +226,17 @@ public class UpdatingPermutationHillClimber extends TSPAlgorithm {
     Configurable.printlnObject(this.m_ops, ps);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(
+        UpdatingPermutationHillClimber.PARAM_UPDATING_OPERATORS, ps);
+    ps.println(//
+        "the permutation update operators to use, e.g., swap, inversion, or orOpt2r"); //$NON-NLS-1$
+  }
+
   /** {@inheritDoc} */
   @Override
   public void beginRun(final ObjectiveFunction f) {
@@ -7,8 +7,9 @@ import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 import org.logisticPlanning.tsp.solving.Individual;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchAlgorithm;
-import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.ExhaustivelyEnumeratingLocal7Optimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer;
 import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.LocalOptimizer;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator;
 import org.logisticPlanning.utils.config.Configurable;
 import org.logisticPlanning.utils.config.Configuration;
 import org.logisticPlanning.utils.math.random.Randomizer;
@@ -25,6 +26,14 @@ import org.logisticPlanning.utils.math.random.Randomizer;
  * node. In order to potentially speed up the search, we may also try an
  * additional patch with a random overlap. This is repeated until no
  * improvement can be found anymore.
+ * <p>
+ * If parameter {@link #PARAM_GENERATE_N_OPT} is set, the configured
+ * optimizer only determines the sub-sequence length. At the beginning of
+ * each run, it is then replaced with an exhaustively enumerating optimizer
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator
+ * generated at runtime} for this length and the kind of distances of the
+ * problem instance.
+ * </p>
  */
 public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   /** the serial version uid */
@@ -34,6 +43,8 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   public static final String PARAM_N_OPT = "nOpt"; //$NON-NLS-1$
   /** the random overlap parameter */
   public static final String PARAM_RANDOM_OVERLAP = "randomOverlap"; //$NON-NLS-1$
+  /** the parameter for generating the local optimizer at runtime */
+  public static final String PARAM_GENERATE_N_OPT = "generateNOpt"; //$NON-NLS-1$
 
   /** should we use overlaps? */
   private boolean m_randomOverlap;
@@ -41,6 +52,12 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   /** the operation to be used */
   private LocalOptimizer m_opt;
 
+  /** should the local optimizer be generated at runtime? */
+  private boolean m_generate;
+
+  /** the operation used during the current run */
+  private transient LocalOptimizer m_runOpt;
+
   /** the order in which the nodes are processed */
   private transient int[] m_currentAllowed;
   /** the order in which the nodes are processed */
@@ -51,7 +68,7 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   /** instantiate */
   public LocalNOpt() {
     super("Local N-Opt");//$NON-NLS-1$
-    this.m_opt = new ExhaustivelyEnumeratingLocal7Optimizer();
+    this.m_opt = new DynamicProgrammingLocalOptimizer();
     this.m_randomOverlap = true;
   }
 
@@ -83,7 +100,7 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     rand = f.getRandom();
     nextAllowed = this.m_nextAllowed;
     nextAllowedBits = this.m_nextAllowedBits;
-    opt = this.m_opt;
+    opt = this.m_runOpt;
 
     n = f.n();
     len = opt.getSubPathLength();
@@ -191,6 +208,31 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     this.m_randomOverlap = overlap;
   }
 
+  /**
+   * Should the local optimizer be generated at runtime?
+   *
+   * @return {@code true} if an exhaustively enumerating optimizer for the
+   *         sub-sequence length of the configured optimizer is generated
+   *         at the beginning of each run, {@code false} if the configured
+   *         optimizer is used
+   */
+  public final boolean isGeneratingLocalOptimizer() {
+    return this.m_generate;
+  }
+
+  /**
+   * Set whether the local optimizer should be generated at runtime
+   *
+   * @param generate
+   *          {@code true} if an exhaustively enumerating optimizer for the
+   *          sub-sequence length of the configured optimizer should be
+   *          generated at the beginning of each run, {@code false} if the
+   *          configured optimizer should be used
+   */
+  public final void setGeneratingLocalOptimizer(final boolean generate) {
+    this.m_generate = generate;
+  }
+
   /** {@inheritDoc} */
   @Override
   public void printConfiguration(final PrintStream ps) {
@@ -201,6 +243,9 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
 
     Configurable.printKey(LocalNOpt.PARAM_RANDOM_OVERLAP, ps);
     ps.println(this.m_randomOverlap);
+
+    Configurable.printKey(LocalNOpt.PARAM_GENERATE_N_OPT, ps);
+    ps.println(this.m_generate);
   }
 
   /** {@inheritDoc} */
@@ -213,6 +258,9 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
 
     Configurable.printKey(LocalNOpt.PARAM_RANDOM_OVERLAP, ps);
     ps.println("Test randomly overlapping or only minimally overlapping patches?");//$NON-NLS-1$
+
+    Configurable.printKey(LocalNOpt.PARAM_GENERATE_N_OPT, ps);
+    ps.println("Generate an exhaustive local n-optimizer of the same length at runtime?");//$NON-NLS-1$
   }
 
   /** {@inheritDoc} */
@@ -222,9 +270,11 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
 
     this.setLocalOptimizer(config.getInstance(LocalNOpt.PARAM_N_OPT,
         LocalOptimizer.class,
-        ExhaustivelyEnumeratingLocal7Optimizer.class, this.m_opt));
+        DynamicProgrammingLocalOptimizer.class, this.m_opt));
     this.setRandomOverlap(config.getBoolean(
         LocalNOpt.PARAM_RANDOM_OVERLAP, this.m_randomOverlap));
+    this.setGeneratingLocalOptimizer(config.getBoolean(
+        LocalNOpt.PARAM_GENERATE_N_OPT, this.m_generate));
   }
 
   /** {@inheritDoc} */
@@ -233,7 +283,10 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     final int n;
 
     super.beginRun(f);
-    this.m_opt.beginRun(f);
+    this.m_runOpt = (this.m_generate ? RuntimeCodeGenerator
+        .createOptimizer(this.m_opt.getSubPathLength(), f.symmetric())
+        : this.m_opt);
+    this.m_runOpt.beginRun(f);
     n = f.n();
 
     this.m_currentAllowed = new int[n];
@@ -244,7 +297,8 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
   /** {@inheritDoc} */
   @Override
   public void endRun(final ObjectiveFunction f) {
-    this.m_opt.endRun(f);
+    this.m_runOpt.endRun(f);
+    this.m_runOpt = null;
     this.m_currentAllowed = null;
     this.m_nextAllowed = null;
     this.m_nextAllowedBits = null;
@@ -261,6 +315,7 @@ public class LocalNOpt extends TSPLocalSearchAlgorithm<int[]> {
     this.m_nextAllowed = null;
     this.m_nextAllowedBits = null;
     clo.m_opt = clo.m_opt.clone();
+    clo.m_runOpt = null;
     return clo;
   }
 }
@@ -1,7 +1,5 @@
 package org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch;
 
-import java.util.Comparator;
-
 /**
  * <p>
  * This comparator defines how moves are compared and sorted in a
@@ -119,14 +117,15 @@ import java.util.Comparator;
  * href="http://www.diku.dk/~sropke/Papers/lns.pdf">1</a>]</div></div></li>
  * </ol>
  */
-public enum EMoveComparator implements Comparator<_Move> {
+public enum EMoveComparator {
 
   /** bring the best move first */
   BEST_MOVE_FIRST {
     /** {@inheritDoc} */
     @Override
-    public final int compare(final _Move a, final _Move b) {
-      return Integer.compare(a.m_delta, b.m_delta);
+    final int compare(final int typeA, final int deltaA,
+        final int typeB, final int deltaB) {
+      return Integer.compare(deltaA, deltaB);
     }
   },
 
@@ -142,15 +141,34 @@ public enum EMoveComparator implements Comparator<_Move> {
   TYPE_FIRST_THEN_BEST_MOVE {
     /** {@inheritDoc} */
     @Override
-    public final int compare(final _Move a, final _Move b) {
-      if (a.m_type < b.m_type) {
+    final int compare(final int typeA, final int deltaA,
+        final int typeB, final int deltaB) {
+      if (typeA < typeB) {
         return (-1);
       }
-      if (a.m_type > b.m_type) {
+      if (typeA > typeB) {
         return (1);
       }
-      return Integer.compare(a.m_delta, b.m_delta);
+      return Integer.compare(deltaA, deltaB);
     }
-  },
+  };
+
+  /**
+   * Compare two moves
+   *
+   * @param typeA
+   *          the type of the first move
+   * @param deltaA
+   *          the delta of the first move
+   * @param typeB
+   *          the type of the second move
+   * @param deltaB
+   *          the delta of the second move
+   * @return a negative value if the first move should be applied before
+   *         the second one, a positive value if the second move should
+   *         come first, and {@code 0} if both moves are equally good
+   */
+  abstract int compare(final int typeA, final int deltaA,
+      final int typeB, final int deltaB);
 
 }
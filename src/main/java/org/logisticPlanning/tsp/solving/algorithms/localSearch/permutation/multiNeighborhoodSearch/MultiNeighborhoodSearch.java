@@ -4,6 +4,8 @@ import java.io.PrintStream;
 
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
 import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.benchmarking.objective.RunCounter;
+import org.logisticPlanning.tsp.benchmarking.objective.RunTimer;
 import org.logisticPlanning.tsp.solving.Individual;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchAlgorithm;
@@ -38,19 +40,19 @@ import org.logisticPlanning.utils.config.Configuration;
  * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch.MultiNeighborhoodSearch
  * MultiNeighborhoodSearch} is defined by four key values: A move modifies
  * a sub-sequence of a tour which ranges from (and including) an index
- * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._Move#m_i
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._MovePool#m_i
  * i} to (and including) an index
- * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._Move#m_j
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._MovePool#m_j
  * j}.
  * </p>
  * <p>
  * Applying the move will change the total tour length by
- * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._Move#m_delta
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._MovePool#m_delta
  * delta} length units. In other words
- * <code>{@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#evaluate(int[]) f(x')} = {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#evaluate(int[]) f(x)} + {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._Move#m_delta delta}</code>
+ * <code>{@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#evaluate(int[]) f(x')} = {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#evaluate(int[]) f(x)} + {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._MovePool#m_delta delta}</code>
  * , if {@code x} is the original candidate solution and {@code x'} is
  * obtained by applying the move to {@code x}. Notice that
- * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._Move#m_delta
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._MovePool#m_delta
  * delta} is always negative for any move that the
  * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch.MultiNeighborhoodSearch
  * MultiNeighborhoodSearch} will find and apply, because otherwise the tour
@@ -58,9 +60,9 @@ import org.logisticPlanning.utils.config.Configuration;
  * </p>
  * <p>
  * Finally, the type of move to be applied is characterized by the
- * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._Move#m_type
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._MovePool#m_type
  * type}-variable of the
- * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._Move
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch._MovePool
  * move record}. The following move types are supported:
  * </p>
  * <ol>
@@ -171,6 +173,16 @@ import org.logisticPlanning.utils.config.Configuration;
  * style="font-weight:bold">4</a>], although this will only apply for the
  * way the move queue is processed and must not be mistaken with a true
  * VNS.
+ * </p>
+ * <p>
+ * Rotations and swaps keep the direction of all edges they do not
+ * change, so their deltas are computed in constant time from directed
+ * distances on both symmetric and asymmetric instances. A reversal,
+ * however, changes the direction of all edges inside the reversed
+ * sub-sequence. On
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#symmetric()
+ * asymmetric} instances, reversal moves are therefore not considered.
+ * </p>
  * <h2>References</h2>
  * <ol>
  * <li><div><span id="cite_HM2001VNSPAA" /><a
@@ -599,14 +611,14 @@ public class MultiNeighborhoodSearch extends
   /** the objective function to use */
   private transient ObjectiveFunction m_f;
 
-  /** the queue of moves */
-  private transient _Move m_queue;
+  /** the pool holding the queue of moves */
+  private transient _MovePool m_pool;
 
-  /** old swap moves that can be re-used */
-  private transient _Move m_old;
+  /** the counter of the applied moves */
+  private transient RunCounter m_applied;
 
-  /** the number of allocated moves */
-  private transient int m_moveAllocations;
+  /** the timer measuring the time spent filling the move queue */
+  private transient RunTimer m_filling;
 
   /** instantiate */
   public MultiNeighborhoodSearch() {
@@ -621,15 +633,12 @@ public class MultiNeighborhoodSearch extends
       final ObjectiveFunction f) {
     final int n;
     final int[] dist;
-    final EMoveComparator cmp;
+    final _MovePool pool;
     boolean lastWasIncomplete;
-    int changed_range_i, changed_range_j;
-    _Move move, predMove, cur, pred, best, predBest, next;
+    int changed_range_i, changed_range_j, move;
 
     n = f.n();
-
-    // clear the queue
-    this.disposeQueue();
+    pool = this.m_pool;
 
     // compute the distances and initialize the internal distance list
     srcdst.tourLength = MultiNeighborhoodSearch.distanceAndLengthInit(f,
@@ -639,163 +648,81 @@ public class MultiNeighborhoodSearch extends
     changed_range_i = 0;
     changed_range_j = n;
     dist = this.m_distances;
-    cmp = this.m_cmp;
 
     // fill the move queue, remember if this hit the allocation limit
+    this.m_filling.start();
     lastWasIncomplete = this.fillMoveQueue(0, n, srcdst.solution,
         this.m_distances);
+    this.m_filling.stop();
 
     outer: for (;;) {
-      move = this.m_queue;// move=best and first move in queue
-      if (move == null) {// ok, queue is empty
+      move = pool.poll();// move=best move in queue
+      if (move < 0) {// ok, queue is empty
         break outer;// quit
       }
-      // fillMoveQueue ensures that the first move in the queue is best
-      // move.
-      predMove = null;// so there is no move before
-      // predMove is always the last move before move or null if move is
-      // the
-      // first move in the queue
 
       // [changed_range_i,changed_range_j] hold the range that includes
-      // all
-      // changes that we made so far
+      // all changes that we made so far
       // This is useful when filling the queue after consuming all moves
-      // since
-      // new moves that do not intersect with
-      // [changed_range_i,changed_range_j]
-      // do not need to be checked:
+      // since new moves that do not intersect with
+      // [changed_range_i,changed_range_j] do not need to be checked:
       // They were checked in at least one prior local search / fill queue
-      // run
-      // and were not improving. As nothing outside
+      // run and were not improving. As nothing outside
       // [changed_range_i,changed_range_j] has changed, these moves'
-      // deltas
-      // are
-      // still the same (and therefore still >0).
+      // deltas are still the same (and therefore still >0).
       changed_range_i = Integer.MAX_VALUE;
       changed_range_j = Integer.MIN_VALUE;
 
       // In the inner loop, we process the queue: We always take the best
-      // move
-      // out of the queue and perform it. Performing a move may lead to
-      // the
-      // invalidation of other moves, which are purged from the queue.
-      // Then
-      // the
-      // next best move is taken from the queue and executed. If the queue
-      // is
-      // empty, this loop ends and the outer loop is executed again to
-      // fill
-      // the
-      // queue.
-      inner: do {
-
-        // delete the move from the queue
-        if (predMove == null) {
-          this.m_queue = move.m_next;
-        } else {
-          predMove.m_next = move.m_next;
-        }
-
+      // move out of the queue and perform it. Performing a move may lead to
+      // the invalidation of other moves, which are purged from the queue.
+      // Then the next best move is taken from the queue and executed. If
+      // the queue is empty, this loop ends and the outer loop is executed
+      // again to fill the queue.
+      do {
         // apply the move: change the solution and distance list
-        move.apply(n, srcdst.solution, dist);
-        srcdst.tourLength += move.m_delta; // modify the total tour
-        // length
-        // accordingly
+        pool.apply(move, n, srcdst.solution, dist);
+        srcdst.tourLength += pool.m_delta[move]; // modify the total tour
+        // length accordingly
         // we now have a new and better candidate solution: register
         f.registerFE(srcdst.solution, srcdst.tourLength);
+        this.m_applied.increment();
 
-        move.m_next = this.m_old; // dispose the move: hang it into the
-        this.m_old = move;// queue for re-use
         if (f.shouldTerminate()) {// ok, we should terminate right now
           break outer;
         }
 
-        // make [changed_range_i,changed_range_j] include the area
-        // touched
-        // by
-        // the performed move: only this range is interesting when
-        // filling
-        // the
-        // queue again at the next "outer" iteration
-        changed_range_i = Math.min(changed_range_i, move.m_i);
-        changed_range_j = Math.max(changed_range_j, move.m_j);
-
-        cur = this.m_queue; // cur = beginning of queue
-        if (cur == null) {
-          break inner;// queue is empty: we need to fill the move list
-          // again
-        }
-
-        // The following loop has two purposes:
-        // 1. we need to delete all moves that intersect with "move" in
-        // such a
-        // way that their delta would have changed / they have been
-        // invalidated
-        // by "move"
-        // 2. find the next best move to apply (and its successor)
-        best = predBest = pred = null;
-        while (cur != null) {
-          // pred is the last non-deleted move before cur
-          // best is the best move that was not deleted
-          // predBest is the last non-deleted move before best
-          next = cur.m_next; // iterate through the move queue
-
-          // check if we need to delete the move
-          if (cur.checkDeleteMove(move, n)) {
-            // ok, the move has been invalidated and must be deleted
-            // so we remove it from the queue
-            if (pred == null) {
-              this.m_queue = next;
-            } else {
-              pred.m_next = next;
-            }
-            // pred remains the same, as it was the last non-deleted
-            // move
-
-            // dispose of cur: hang it into the re-use queue
-            cur.m_next = this.m_old;
-            this.m_old = cur;
-          } else {
-            // good, the move can be kept
-
-            if ((best == null) || (cmp.compare(cur, best) < 0)) {
-              // oh, the move is the best move found so far!
-              best = cur;
-              predBest = pred;
-            }
-
-            // the move was not deleted, so it becomes the last
-            // non-deleted
-            // move
-            pred = cur;
-          }
+        // make [changed_range_i,changed_range_j] include the area touched
+        // by the performed move: only this range is interesting when
+        // filling the queue again at the next "outer" iteration
+        changed_range_i = Math.min(changed_range_i, pool.m_i[move]);
+        changed_range_j = Math.max(changed_range_j, pool.m_j[move]);
 
-          cur = next;// cur becomes cur.m_next
-        }
+        // delete all moves that intersect with "move" in such a way that
+        // their delta would have changed / they have been invalidated by
+        // "move" and amend the others
+        pool.invalidate(move, n);
 
-        move = best; // the next move is the best move found in the
-        // queue
-        predMove = predBest; // and predMove the last non-deleted move
-        // before
-      } while (move != null);
+        move = pool.poll(); // the next move is the best move left
+      } while (move >= 0);
 
       // ok, we have emptied the move queue. Now it is time to fill in
       // again.
 
       // lastWasIncomplete tells us whether all possible moves were
-      // checked.
-      // If it is false, we only need to check
+      // checked. If it is false, we only need to check
       // [changed_range_i,changed_range_j]. Otherwise, we need to check
       // [0,n]
+      this.m_filling.start();
       lastWasIncomplete = this.fillMoveQueue(//
           (lastWasIncomplete ? 0 : changed_range_i),//
           (lastWasIncomplete ? n : changed_range_j), //
           srcdst.solution,//
           dist);
+      this.m_filling.stop();
     }
 
-    this.disposeQueue(); // dispose whatever move is still in the queue
+    pool.clear(); // dispose whatever move is still in the queue
   }
 
   /**
@@ -872,80 +799,6 @@ public class MultiNeighborhoodSearch extends
     return total;
   }
 
-  /**
-   * Return a new move record. This method first tries to recycle old moves
-   * and will allocate a new move if the old queue is empty. However, if
-   * the maximum number of move allocations has been reached, {@code null}
-   * will be returned.
-   *
-   * @return the new move, or {@code null} if the maximum number of move
-   *         allocations has been exhausted
-   */
-  private final _Move allocate() {
-    final _Move m;
-    final int i;
-
-    m = this.m_old;
-    if (m != null) {
-      this.m_old = m.m_next;
-      return m;
-    }
-
-    i = this.m_moveAllocations;
-    if (i < this.m_maxMoveAllocations) {
-      this.m_moveAllocations = (i + 1);
-      return new _Move();
-    }
-
-    return null;
-  }
-
-  /** dispose all moves in the move queue */
-  private final void disposeQueue() {
-    _Move cur, next;
-
-    cur = this.m_queue; // cur = beginning of queue
-
-    if (cur == null) {// queue is empty, we can leave directly
-      return;
-    }
-
-    // moves are left in queue: dispose them
-    dispose: for (;;) {// find the last move in queue
-      next = cur.m_next;
-      if (next == null) {
-        break dispose;
-      }
-      cur = next;
-    }
-
-    // cur now is the last move in the move queue m_queue is the first
-    cur.m_next = this.m_old; //
-    this.m_old = this.m_queue;// put m_queue at beginning
-    this.m_queue = null; // ensure that the queue is really empty
-  }
-
-  /**
-   * enqueue a move
-   *
-   * @param move
-   *          the move to enqueue
-   */
-  private final void enqueue(final _Move move) {
-    final _Move q;
-
-    q = this.m_queue;
-    if ((q == null) || ((this.m_cmp.compare(move, q) < 0))) {
-      // move = new best: put at head of queue
-      move.m_next = q;
-      this.m_queue = move;
-    } else {// move is not best: put at 2nd place, regardless how good it
-      // is
-      move.m_next = q.m_next;
-      q.m_next = move;
-    }
-  }
-
   /**
    * <p>
    * Fill the queue of search moves that can improve the current solution.
@@ -973,7 +826,8 @@ public class MultiNeighborhoodSearch extends
    * considered before and thus do not need to tested again.
    * </p>
    * <p>
-   * This function will place the best move found at the head of the queue.
+   * The queue must be empty when this function is called, i.e., all moves
+   * have been applied or deleted.
    * </p>
    * <p>
    * This function returns {@code true} if not all possible moves could be
@@ -1004,12 +858,17 @@ public class MultiNeighborhoodSearch extends
     final int begin, end;
     int i, j, jm1, im1, delta;
     int sol_im1, sol_i, sol_ip1, sol_jm1, sol_j, sol_jp1;
-    int D_im1_i, D_i_ip1, D_jm1_j, D_j_jp1, D_im1_j, D_i_jp1, D_im1_ip1, D_i_j, D_jm1_jp1, D_ip1_j, D_i_jm1;
-    _Move move;
+    int D_im1_i, D_i_ip1, D_jm1_j, D_j_jp1, D_im1_j, D_i_jp1, D_im1_ip1, D_j_i, D_jm1_jp1, D_j_ip1, D_jm1_i;
+    final _MovePool pool;
+    final boolean symmetric;
+    int move;
 
     f = this.m_f;
     n = f.n();
     nm1 = (n - 1);
+    symmetric = f.symmetric();
+    pool = this.m_pool;
+    pool.clear();
 
     // Any move intersecting with the range [begin,end] is interesting.
     // The -1/+1 stem from the fact that when changing range [2,3], also
@@ -1067,18 +926,19 @@ public class MultiNeighborhoodSearch extends
           continue inner; // no operation works at full-range
         }
 
-        // check the reversal move
+        // check the reversal move: on asymmetric instances, a reversal
+        // changes all the edges in [i,j], so we do not consider it there
         delta = ((D_im1_j - D_im1_i) + (D_i_jp1 - D_j_jp1));
 
-        if (delta < 0) { // ok, the move is promising: enqueue
-          move = this.allocate(); // allocate the move
-          if (move == null) {
+        if (symmetric && (delta < 0)) { // ok, the move is promising
+          move = pool.allocate(); // allocate the move
+          if (move < 0) {
+            pool.endFill();
             return true;// we hit the allocation limit, force exit
           }
 
-          move.init_reverse(i, j, delta, D_im1_j, D_i_jp1);// init the
-          // move
-          this.enqueue(move);
+          pool.init_reverse(move, i, j, delta, D_im1_j, D_i_jp1);
+          pool.enqueue(move);
         }
 
         if (j == (i + 1)) {
@@ -1091,37 +951,41 @@ public class MultiNeighborhoodSearch extends
 
         // check the rotate left move
         D_im1_ip1 = f.distance(sol_im1, sol_ip1);
-        D_i_j = f.distance(sol_i, sol_j);
+        D_j_i = f.distance(sol_j, sol_i);
 
         delta = ((D_im1_ip1 - D_im1_i) + //
-            (D_i_j - D_i_ip1) + //
+            (D_j_i - D_i_ip1) + //
         (D_i_jp1 - D_j_jp1));
 
         if (delta < 0) {// move is promising:enqueue
-          move = this.allocate(); // allocate the move
-          if (move == null) {
+          move = pool.allocate(); // allocate the move
+          if (move < 0) {
+            pool.endFill();
             return true;// we hit the allocation limit, force exit
           }
 
-          move.init_rotate_left(i, j, delta, D_im1_ip1, D_i_j, D_i_jp1);// init
-          this.enqueue(move);
+          pool.init_rotate_left(move, i, j, delta, D_im1_ip1, D_j_i,
+              D_i_jp1);
+          pool.enqueue(move);
         }
 
         // check the rotate right move
         D_jm1_jp1 = f.distance(sol_jm1, sol_jp1);
 
         delta = ((D_im1_j - D_im1_i) + //
-            (D_i_j - D_j_jp1) + //
+            (D_j_i - D_j_jp1) + //
         (D_jm1_jp1 - D_jm1_j));
 
         if (delta < 0) {// move is promising:enqueue
-          move = this.allocate(); // allocate the move
-          if (move == null) {
+          move = pool.allocate(); // allocate the move
+          if (move < 0) {
+            pool.endFill();
             return true;// we hit the allocation limit, force exit
           }
 
-          move.init_rotate_right(i, j, delta, D_jm1_jp1, D_i_j, D_im1_j);// init
-          this.enqueue(move);
+          pool.init_rotate_right(move, i, j, delta, D_jm1_jp1, D_j_i,
+              D_im1_j);
+          pool.enqueue(move);
         }
 
         if (j == ((i + 2) % n)) {
@@ -1130,26 +994,29 @@ public class MultiNeighborhoodSearch extends
         }
 
         // check the swap move
-        D_i_jm1 = f.distance(sol_i, sol_jm1);
-        D_ip1_j = f.distance(sol_ip1, sol_j);
+        D_jm1_i = f.distance(sol_jm1, sol_i);
+        D_j_ip1 = f.distance(sol_j, sol_ip1);
 
         delta = ((D_im1_j - D_im1_i) + //
-            (D_ip1_j - D_i_ip1) + //
-            (D_i_jm1 - D_jm1_j) + //
+            (D_j_ip1 - D_i_ip1) + //
+            (D_jm1_i - D_jm1_j) + //
         (D_i_jp1 - D_j_jp1));
 
         if (delta < 0) {// move is promising:enqueue
-          move = this.allocate(); // allocate the move
-          if (move == null) {
+          move = pool.allocate(); // allocate the move
+          if (move < 0) {
+            pool.endFill();
             return true;// we hit the allocation limit, force exit
           }
 
-          move.init_swap(i, j, delta, D_im1_j, D_ip1_j, D_i_jm1, D_i_jp1);// init
-          this.enqueue(move);
+          pool.init_swap(move, i, j, delta, D_im1_j, D_j_ip1, D_jm1_i,
+              D_i_jp1);
+          pool.enqueue(move);
         }
       }
     }
 
+    pool.endFill();
     return false;
   }
 
@@ -1169,10 +1036,9 @@ public class MultiNeighborhoodSearch extends
   private final void __clear() {
     this.m_distances = null;
     this.m_f = null;
-    this.m_old = null;
-    this.m_queue = null;
-    this.m_moveAllocations = 0;
-
+    this.m_pool = null;
+    this.m_applied = null;
+    this.m_filling = null;
   }
 
   /** {@inheritDoc} */
@@ -1227,6 +1093,9 @@ public class MultiNeighborhoodSearch extends
     this.m_f = f;
     n = f.n();
     this.m_distances = new int[n];
+    this.m_pool = new _MovePool(n, this.m_maxMoveAllocations, this.m_cmp);
+    this.m_applied = f.getCounter("appliedMoves"); //$NON-NLS-1$
+    this.m_filling = f.getTimer("moveQueueFilling"); //$NON-NLS-1$
   }
 
   /** {@inheritDoc} */
@@ -1247,7 +1116,7 @@ public class MultiNeighborhoodSearch extends
    */
   public final static void main(final String[] args) {
     TSPAlgorithmRunner.benchmark(//
-        Instance.SYMMETRIC_INSTANCES, MultiNeighborhoodSearch.class,//
+        Instance.ALL_INSTANCES, MultiNeighborhoodSearch.class,//
         args);
   }
 }
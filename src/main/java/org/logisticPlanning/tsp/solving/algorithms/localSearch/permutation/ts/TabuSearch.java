@@ -50,6 +50,9 @@ public class TabuSearch extends TSPAlgorithm {
   /** the update operations */
   private PermutationUpdateOperator[] m_ops;
 
+  /** the update operations selected for the current instance */
+  private transient PermutationUpdateOperator[] m_useOps;
+
   /** the length of tabu list: {@value} */
   public static final String PARAM_TABULIST_LENGTH = "tabuListLength"; //$NON-NLS-1$
 
@@ -96,7 +99,7 @@ public class TabuSearch extends TSPAlgorithm {
    */
   public final static void main(final String[] args) {
     TSPAlgorithmRunner.benchmark(//
-        Instance.SYMMETRIC_INSTANCES, TabuSearch.class,//
+        Instance.ALL_INSTANCES, TabuSearch.class,//
         args);
   }
 
@@ -139,7 +142,7 @@ public class TabuSearch extends TSPAlgorithm {
     this.tabuList.add(pathOfSol);
     // TODO: </added>
 
-    ops = this.m_ops.clone();// initialize ops
+    ops = this.m_useOps.clone();// initialize ops
     regFEs = ops.length;
     n = f.n();
 
@@ -155,7 +158,7 @@ public class TabuSearch extends TSPAlgorithm {
       // TODO: we do not need to clear the list, as it will be overridden
       // anyway
       listLength = 0;
-      for (final PermutationUpdateOperator o : this.m_ops) {
+      for (final PermutationUpdateOperator o : this.m_useOps) {
         d = o.delta(pathOfSol.m_data, f, a, b);
         // build and rank the neighborhood and PermutationUpdateOperator
         j = Arrays.binarySearch(sort, 0, listLength, d);
@@ -225,6 +228,7 @@ public class TabuSearch extends TSPAlgorithm {
       ops[i] = ops[i].clone();
     }
     res.tabuList = null;// TODO: added
+    res.m_useOps = null;
 
     return res;
   }
@@ -234,6 +238,8 @@ public class TabuSearch extends TSPAlgorithm {
   public void configure(final Configuration config) {
     super.configure(config);
 
+    this.m_ops = PermutationUpdateOperators.getOperators(config,
+        TabuSearch.PARAM_UPDATING_OPERATORS, this.m_ops);
     this.tabuListLength = config.getInt(TabuSearch.PARAM_TABULIST_LENGTH,
         0, 1000, this.tabuListLength);
   }
@@ -247,13 +253,25 @@ public class TabuSearch extends TSPAlgorithm {
     Configurable.printlnObject(this.m_ops, ps);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(TabuSearch.PARAM_UPDATING_OPERATORS, ps);
+    ps.println(//
+        "the permutation update operators to use, e.g., swap, inversion, or orOpt2r"); //$NON-NLS-1$
+  }
+
   /** {@inheritDoc} */
   @Override
   public void beginRun(final ObjectiveFunction f) {
     super.beginRun(f);
     TSPModule.invokeBeginRun(f, this.m_ops);
     this.tabuList = new LinkedHashSet<>(this.tabuListLength);// TODO: added
-    this.m_sort = new int[this.m_ops.length];
+    this.m_useOps = PermutationUpdateOperators.selectOperators(
+        this.m_ops, f.symmetric());
+    this.m_sort = new int[this.m_useOps.length];
   }
 
   /** {@inheritDoc} */
@@ -261,6 +279,7 @@ public class TabuSearch extends TSPAlgorithm {
   public void endRun(final ObjectiveFunction f) {
     this.tabuList = null;// TODO: added
     this.m_sort = null;
+    this.m_useOps = null;
     try {
       TSPModule.invokeEndRun(f, this.m_ops);
     } finally {
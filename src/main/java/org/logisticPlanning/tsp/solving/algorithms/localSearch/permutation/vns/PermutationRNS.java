@@ -9,6 +9,7 @@ import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.TSPModule;
 import org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchAlgorithm;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperators;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Left;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Right;
@@ -39,9 +40,11 @@ import org.logisticPlanning.utils.math.random.Randomizer;
  * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Left
  * rotate left}, and
  * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse
- * reverse}. Each of these operations takes two integer values
- * {@code (i, j)} as parameter. The neighborhoods have proximately the same
- * sizes ({@code n²}) and are disjoint
+ * reverse} by default. Other operators, e.g., the Or-opt segment
+ * insertions, can be chosen via the parameters {@link #PARAM_NEIGHBORHOODS}
+ * or {@link #PARAM_UPDATING_OPERATORS}. Each of these operations takes two
+ * integer values {@code (i, j)} as parameter. The neighborhoods have
+ * proximately the same sizes ({@code n²}) and are disjoint
  * </p>
  * <p>
  * The algorithm randomly chooses one neighborhood (search operator) and
@@ -143,6 +146,12 @@ public class PermutationRNS extends TSPLocalSearchAlgorithm<int[]> {
   /** the neighborhoods: {@value} */
   public static final String PARAM_NEIGHBORHOODS = "rnsNeighborhoods"; //$NON-NLS-1$
 
+  /**
+   * the updating operators, used as neighborhoods unless
+   * {@link #PARAM_NEIGHBORHOODS} is set: {@value}
+   */
+  public static final String PARAM_UPDATING_OPERATORS = "updatingOperators"; //$NON-NLS-1$
+
   /**
    * the policy regarding whether we should use the first improvement or
    * best improvement: {@value}
@@ -172,6 +181,9 @@ public class PermutationRNS extends TSPLocalSearchAlgorithm<int[]> {
    */
   private EImprovementSelectionPolicy m_improvementSelectionPolicy;
 
+  /** the operations selected for the current instance */
+  private transient PermutationUpdateOperator[] m_runOps;
+
   /** the operations to be used */
   private transient PermutationUpdateOperator[] m_useOps;
 
@@ -191,7 +203,7 @@ public class PermutationRNS extends TSPLocalSearchAlgorithm<int[]> {
    */
   public final static void main(final String[] args) {
     TSPAlgorithmRunner.benchmark(//
-        Instance.SYMMETRIC_INSTANCES, PermutationRNS.class,//
+        Instance.ALL_INSTANCES, PermutationRNS.class,//
         args);
   }
 
@@ -219,8 +231,8 @@ public class PermutationRNS extends TSPLocalSearchAlgorithm<int[]> {
     findImprovement: for (;;) {
       // We always randomly pick neighborhoods, so let's first reset the
       // neighborhood counter.
-      opsCount = this.m_ops.length;
-      System.arraycopy(this.m_ops, 0, ops, 0, opsCount);
+      opsCount = this.m_runOps.length;
+      System.arraycopy(this.m_runOps, 0, ops, 0, opsCount);
 
       // Now randomly pick the neighborhoods!
       while (opsCount > 0) {
@@ -304,6 +316,13 @@ public class PermutationRNS extends TSPLocalSearchAlgorithm<int[]> {
     ps.println(//
     "the minimum number of nodes shuffled when trying to escape a local optimum"); //$NON-NLS-1$
 
+    Configurable.printKey(PermutationRNS.PARAM_NEIGHBORHOODS, ps);
+    ps.println(//
+        "the permutation update operators to use as neighborhoods, e.g., swap, inversion, or orOpt2r"); //$NON-NLS-1$
+    Configurable.printKey(PermutationRNS.PARAM_UPDATING_OPERATORS, ps);
+    ps.println(//
+        "the neighborhoods, if rnsNeighborhoods is not set"); //$NON-NLS-1$
+
     for (final Configurable c : this.m_ops) {
       c.printParameters(ps);
     }
@@ -320,6 +339,10 @@ public class PermutationRNS extends TSPLocalSearchAlgorithm<int[]> {
         EImprovementSelectionPolicy.class,
         this.m_improvementSelectionPolicy);
 
+    this.m_ops = PermutationUpdateOperators.getOperators(config,
+        PermutationRNS.PARAM_UPDATING_OPERATORS, this.m_ops);
+    this.m_ops = PermutationUpdateOperators.getOperators(config,
+        PermutationRNS.PARAM_NEIGHBORHOODS, this.m_ops);
     for (final Configurable c : this.m_ops) {
       c.configure(config);
     }
@@ -344,13 +367,16 @@ public class PermutationRNS extends TSPLocalSearchAlgorithm<int[]> {
   public void beginRun(final ObjectiveFunction f) {
     super.beginRun(f);
     TSPModule.invokeBeginRun(f, this.m_ops);
-    this.m_useOps = new PermutationUpdateOperator[this.m_ops.length];
+    this.m_runOps = PermutationUpdateOperators.selectOperators(
+        this.m_ops, f.symmetric());
+    this.m_useOps = new PermutationUpdateOperator[this.m_runOps.length];
   }
 
   /** {@inheritDoc} */
   @Override
   public void endRun(final ObjectiveFunction f) {
     this.m_useOps = null;
+    this.m_runOps = null;
     try {
       TSPModule.invokeEndRun(f, this.m_ops);
     } finally {
@@ -367,6 +393,7 @@ public class PermutationRNS extends TSPLocalSearchAlgorithm<int[]> {
 
     clo = ((PermutationRNS) (super.clone()));
     clo.m_useOps = null;
+    clo.m_runOps = null;
     clo.m_ops = ops = clo.m_ops.clone();
     for (i = ops.length; (--i) >= 0;) {
       ops[i] = ops[i].clone();
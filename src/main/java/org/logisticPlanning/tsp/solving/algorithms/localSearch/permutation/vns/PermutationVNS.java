@@ -9,6 +9,7 @@ import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.TSPModule;
 import org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchAlgorithm;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperators;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Left;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Right;
@@ -38,9 +39,11 @@ import org.logisticPlanning.utils.math.random.Randomizer;
  * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Left
  * rotate left}, and
  * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse
- * reverse}. Each of these operations takes two integer values
- * {@code (i, j)} as parameter. The neighborhoods have proximately the same
- * sizes ({@code n²}) and are disjoint for most parameter tuples. This
+ * reverse} by default. Other operators, e.g., the Or-opt segment
+ * insertions, can be chosen via the parameters {@link #PARAM_NEIGHBORHOODS}
+ * or {@link #PARAM_UPDATING_OPERATORS}. Each of these operations takes two
+ * integer values {@code (i, j)} as parameter. The neighborhoods have
+ * proximately the same sizes ({@code n²}) and are disjoint for most parameter tuples. This
  * means that it is not entirely clear which neighborhood we should start
  * with.
  * </p>
@@ -169,6 +172,12 @@ public class PermutationVNS extends TSPLocalSearchAlgorithm<int[]> {
   /** the neighborhoods: {@value} */
   public static final String PARAM_NEIGHBORHOODS = "vnsNeighborhoods"; //$NON-NLS-1$
 
+  /**
+   * the updating operators, used as neighborhoods unless
+   * {@link #PARAM_NEIGHBORHOODS} is set: {@value}
+   */
+  public static final String PARAM_UPDATING_OPERATORS = "updatingOperators"; //$NON-NLS-1$
+
   /**
    * the policy regarding whether we should use the first improvement or
    * best improvement: {@value}
@@ -217,7 +226,7 @@ public class PermutationVNS extends TSPLocalSearchAlgorithm<int[]> {
    */
   public final static void main(final String[] args) {
     TSPAlgorithmRunner.benchmark(//
-        Instance.SYMMETRIC_INSTANCES, PermutationVNS.class,//
+        Instance.ALL_INSTANCES, PermutationVNS.class,//
         args);
   }
 
@@ -339,6 +348,13 @@ public class PermutationVNS extends TSPLocalSearchAlgorithm<int[]> {
     ps.println(//
     "the minimum number of nodes shuffled when trying to escape a local optimum"); //$NON-NLS-1$
 
+    Configurable.printKey(PermutationVNS.PARAM_NEIGHBORHOODS, ps);
+    ps.println(//
+        "the permutation update operators to use as neighborhoods, e.g., swap, inversion, or orOpt2r"); //$NON-NLS-1$
+    Configurable.printKey(PermutationVNS.PARAM_UPDATING_OPERATORS, ps);
+    ps.println(//
+        "the neighborhoods, if vnsNeighborhoods is not set"); //$NON-NLS-1$
+
     for (final Configurable c : this.m_ops) {
       c.printParameters(ps);
     }
@@ -355,6 +371,10 @@ public class PermutationVNS extends TSPLocalSearchAlgorithm<int[]> {
         EImprovementSelectionPolicy.class,
         this.m_improvementSelectionPolicy);
 
+    this.m_ops = PermutationUpdateOperators.getOperators(config,
+        PermutationVNS.PARAM_UPDATING_OPERATORS, this.m_ops);
+    this.m_ops = PermutationUpdateOperators.getOperators(config,
+        PermutationVNS.PARAM_NEIGHBORHOODS, this.m_ops);
     for (final Configurable c : this.m_ops) {
       c.configure(config);
     }
@@ -379,7 +399,8 @@ public class PermutationVNS extends TSPLocalSearchAlgorithm<int[]> {
   public void beginRun(final ObjectiveFunction f) {
     super.beginRun(f);
     TSPModule.invokeBeginRun(f, this.m_ops);
-    this.m_useOps = this.m_ops.clone();
+    this.m_useOps = PermutationUpdateOperators.selectOperators(
+        this.m_ops, f.symmetric()).clone();
   }
 
   /** {@inheritDoc} */
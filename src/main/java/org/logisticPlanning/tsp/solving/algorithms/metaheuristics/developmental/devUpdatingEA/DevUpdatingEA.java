@@ -23,6 +23,7 @@ import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.basic.VariableTy
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.ctrl.IfThenElse;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.trig.Sin;
 import org.logisticPlanning.utils.config.Configurable;
+import org.logisticPlanning.utils.config.Configuration;
 import org.logisticPlanning.utils.math.functions.UnaryFunction;
 import org.logisticPlanning.utils.math.functions.arithmetic.Identity;
 
@@ -309,7 +310,7 @@ public class DevUpdatingEA extends EA {
   static final int VAR_COUNT = 3;
 
   /** the update operators @serial serializable field */
-  final PermutationUpdateOperator[] m_ops;
+  PermutationUpdateOperator[] m_ops;
 
   /** the index iterator @serial serializable field */
   IndexIterator m_it;
@@ -398,6 +399,15 @@ public class DevUpdatingEA extends EA {
     return cfg;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void configure(final Configuration config) {
+    super.configure(config);
+
+    this.m_ops = PermutationUpdateOperators.getOperators(config,
+        DevUpdatingEA.PARAM_UPDATING_OPERATORS, this.m_ops);
+  }
+
   /** {@inheritDoc} */
   @Override
   public void printConfiguration(final PrintStream ps) {
@@ -414,4 +424,14 @@ public class DevUpdatingEA extends EA {
 
     this.m_functions.printConfiguration(ps);
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(DevUpdatingEA.PARAM_UPDATING_OPERATORS, ps);
+    ps.println(//
+        "the permutation update operators to use, e.g., swap, inversion, or orOpt2r"); //$NON-NLS-1$
+  }
 }
@@ -9,6 +9,8 @@ import org.logisticPlanning.tsp.solving.gpm.GPM;
 import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateCanonical;
 import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram;
 import org.logisticPlanning.utils.math.random.Randomizer;
 
 /**
@@ -37,6 +39,18 @@ import org.logisticPlanning.utils.math.random.Randomizer;
  * step-by-step, an existing solution will be modified and changed and,
  * hopefully, some good solutions are found on the way.
  * </p>
+ * <p>
+ * Since the function is evaluated once for each operator in each of the
+ * many steps of a single mapping, the function tree is
+ * {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler
+ * compiled} into a flat
+ * {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram
+ * program} before the mapping starts. The program computes exactly the
+ * same values as the tree. Compiling costs about as much as one
+ * interpretation of the tree, so only the program of the tree used last
+ * is kept. Trees with fewer than {@link #MIN_COMPILE_WEIGHT} nodes are
+ * interpreted directly.
+ * </p>
  * <h2>References</h2>
  * <ol>
  * <li><div><span id="cite_OWDC2013SADAFTSP" /><a
@@ -77,6 +91,12 @@ public final class DevUpdatingGPM extends GPM<Function> {
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * the minimum number of nodes a function tree must have to be compiled
+   * instead of interpreted: {@value}
+   */
+  public static final int MIN_COMPILE_WEIGHT = 4;
+
   /** the algorithm @serial serializable field */
   DevUpdatingEA m_cfg;
 
@@ -106,6 +126,15 @@ public final class DevUpdatingGPM extends GPM<Function> {
   /** the base quality */
   private transient long m_baseQuality;
 
+  /** the function compiler */
+  private transient FunctionCompiler m_compiler;
+
+  /** the function tree compiled last */
+  private transient Function m_lastFunction;
+
+  /** the program of the function tree compiled last */
+  private transient FunctionProgram m_lastProgram;
+
   /**
    * the developmentally updating gpm
    *
@@ -127,6 +156,34 @@ public final class DevUpdatingGPM extends GPM<Function> {
     this.m_deltas = null;
     this.m_base = null;
     this.m_cur = null;
+    this.m_compiler = new FunctionCompiler();
+    this.m_lastFunction = null;
+    this.m_lastProgram = null;
+  }
+
+  /**
+   * Get the program computing a given function
+   *
+   * @param function
+   *          the function
+   * @return the program, or {@code null} if the function is so small
+   *         that it should rather be interpreted
+   */
+  private final FunctionProgram __program(final Function function) {
+    final FunctionProgram prog;
+
+    if (function.getWeight() < DevUpdatingGPM.MIN_COMPILE_WEIGHT) {
+      return null;
+    }
+    if (function == this.m_lastFunction) {
+      return this.m_lastProgram;
+    }
+
+    prog = this.m_compiler.compileProgram(function);
+
+    this.m_lastFunction = function;
+    this.m_lastProgram = prog;
+    return prog;
   }
 
   /** {@inheritDoc} */
@@ -179,6 +236,7 @@ public final class DevUpdatingGPM extends GPM<Function> {
     final IndexIterator it;
     final PermutationUpdateOperator[] ops;
     final Function g;
+    final FunctionProgram prog;
     final Randomizer r;
 
     int bestDeltaIdx, bestDelta, appliedOp, bestCompIdx;
@@ -212,6 +270,7 @@ public final class DevUpdatingGPM extends GPM<Function> {
     ops = this.m_ops;// the permutation updating operators
 
     g = p.solution; // the genotype to be mapped
+    prog = this.__program(g); // and its compiled form, if any
 
     done = 0l; // no move done so far
 
@@ -291,7 +350,7 @@ public final class DevUpdatingGPM extends GPM<Function> {
         // usage
 
         // compute output of genotype/function
-        comp = g.compute(ctx);
+        comp = ((prog != null) ? prog.compute(ctx) : g.compute(ctx));
 
         if (comp <= bestComp) {// remember best (smallest) result
           bestCompIdx = i;
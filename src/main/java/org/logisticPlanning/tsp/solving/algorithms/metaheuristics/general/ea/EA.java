@@ -2107,6 +2107,12 @@ public class EA extends TSPAlgorithm {
   /** the fitness assignment process: {@value} , see {@link #m_fap} */
   public static final String PARAM_FITNESS_ASSIGNMENT_PROCESS = "fitnessAssignmentProcess"; //$NON-NLS-1$
 
+  /**
+   * the number of threads used to refine the offspring: {@value} , see
+   * {@link #m_refinementThreads}
+   */
+  public static final String PARAM_REFINEMENT_THREADS = "refinementThreads"; //$NON-NLS-1$
+
   /** the number of performed generations: {@value} */
   public static final String INFO_COMPLETED_GENERATIONS = "eaCompletedGenerations"; //$NON-NLS-1$
 
@@ -2122,6 +2128,12 @@ public class EA extends TSPAlgorithm {
   /** the default crossover rate: {@value} , see {@link #m_cr} */
   public static final double DEFAULT_CR = (1d / 3d);
 
+  /**
+   * the default number of refinement threads: {@value} , see
+   * {@link #m_refinementThreads}
+   */
+  public static final int DEFAULT_REFINEMENT_THREADS = 1;
+
   /**
    * the &#956; parameter, i.e., the number of selected parents
    *
@@ -2262,6 +2274,39 @@ public class EA extends TSPAlgorithm {
    */
   private FitnessAssignmentProcess m_fap;
 
+  /**
+   * The number of threads used to apply the
+   * {@link org.logisticPlanning.tsp.solving.operators.UnaryOperator unary
+   * operator} to the offspring of a generation. If this number is larger
+   * than {@code 1}, all applications of the unary operator of one
+   * generation (including the one following the binary operator if it is
+   * a
+   * {@link org.logisticPlanning.tsp.solving.operators.BinaryOperatorFollowedByUnary
+   * binary operator followed by the unary operator}, as in memetic
+   * algorithms) are performed in parallel on clones of the unary operator
+   * and their results are registered in a deterministic order afterwards.
+   * If the EA provides a
+   * {@link #getCompletionRefinement(ObjectiveFunction) completion
+   * refinement}, that operator is applied in parallel to the completed
+   * individuals instead. With {@code 1} thread, all offspring are created
+   * and refined sequentially.
+   *
+   * @serial a positive integer number
+   * @see #getRefinementThreads()
+   * @see #setRefinementThreads(int)
+   */
+  private int m_refinementThreads;
+
+  /** the parallel refinement stage, if {@link #m_refinementThreads}>1 */
+  private transient _RefinementStage m_stage;
+
+  /**
+   * does the refinement stage apply the
+   * {@link #getCompletionRefinement(ObjectiveFunction) completion
+   * refinement} instead of the unary operator?
+   */
+  private transient boolean m_stageCompletes;
+
   /**
    * an internal counter counting the number of performed generations, see
    * {@link #INFO_COMPLETED_GENERATIONS}
@@ -2287,6 +2332,7 @@ public class EA extends TSPAlgorithm {
     this.m_nullary = NullaryOperator.DUMMY;
     this.m_cr = EA.DEFAULT_CR;
     this.m_fap = FitnessIsObjectiveValue.INSTANCE;
+    this.m_refinementThreads = EA.DEFAULT_REFINEMENT_THREADS;
 
     this.m_completedGenerations = (-1);
   }
@@ -2360,6 +2406,30 @@ public class EA extends TSPAlgorithm {
     this.m_cr = ((cr > 0) ? cr : EA.DEFAULT_CR);
   }
 
+  /**
+   * get the number of refinement threads
+   *
+   * @return the number of refinement threads
+   * @see #m_refinementThreads
+   * @see #setRefinementThreads(int)
+   */
+  public final int getRefinementThreads() {
+    return this.m_refinementThreads;
+  }
+
+  /**
+   * set the number of refinement threads
+   *
+   * @param threads
+   *          the number of refinement threads
+   * @see #m_refinementThreads
+   * @see #getRefinementThreads()
+   */
+  public final void setRefinementThreads(final int threads) {
+    this.m_refinementThreads = ((threads > 0) ? threads
+        : EA.DEFAULT_REFINEMENT_THREADS);
+  }
+
   /**
    * get the steady state
    *
@@ -2576,6 +2646,9 @@ public class EA extends TSPAlgorithm {
 
     this.m_fap = config.getInstance(EA.PARAM_FITNESS_ASSIGNMENT_PROCESS,
         FitnessAssignmentProcess.class, null, this.m_fap);
+
+    this.m_refinementThreads = config.getInt(EA.PARAM_REFINEMENT_THREADS,
+        1, 1024, this.m_refinementThreads);
   }
 
   /** {@inheritDoc} */
@@ -2620,6 +2693,9 @@ public class EA extends TSPAlgorithm {
     Configurable.printKey(EA.PARAM_GPM, ps);
     Configurable.printlnObject(this.m_gpm, ps);
 
+    Configurable.printKey(EA.PARAM_REFINEMENT_THREADS, ps);
+    ps.println(this.m_refinementThreads);
+
     if (this.m_completedGenerations >= 0) {
       Configurable.printKey(EA.INFO_COMPLETED_GENERATIONS, ps);
       ps.println(this.m_completedGenerations);
@@ -2667,6 +2743,9 @@ public class EA extends TSPAlgorithm {
     Configurable.printKey(EA.PARAM_GPM, ps);
     ps.println("the class of the genotype-phenotype mapping (gpm)."); //$NON-NLS-1$
     this.m_gpm.printParameters(ps);
+
+    Configurable.printKey(EA.PARAM_REFINEMENT_THREADS, ps);
+    ps.println("the number of threads applying the unary operator to the offspring in parallel."); //$NON-NLS-1$
   }
 
   /**
@@ -2689,6 +2768,27 @@ public class EA extends TSPAlgorithm {
     }
   }
 
+  /**
+   * Get the unary operator which refines each individual after it was
+   * {@link #complete(Individual, ObjectiveFunction, GPM) completed}, e.g.,
+   * the local search of a memetic algorithm. If this method returns an
+   * operator and there are more than one
+   * {@link #getRefinementThreads() refinement threads}, the completed
+   * individuals of each generation are refined by clones of this operator
+   * in parallel, and
+   * {@link #complete(Individual, ObjectiveFunction, GPM) complete} itself
+   * should not refine them. The offspring are then created sequentially.
+   *
+   * @param f
+   *          the objective function
+   * @return the refinement operator, or {@code null} if the individuals
+   *         are not refined after completion (the default)
+   */
+  protected UnaryOperator<Object> getCompletionRefinement(
+      final ObjectiveFunction f) {
+    return null;
+  }
+
   /**
    * create the first generation
    *
@@ -2721,12 +2821,15 @@ public class EA extends TSPAlgorithm {
     int i;
     final UnaryOperator<Object> op1;
     final BinaryOperator<Object> op2;
-    Individual<Object> ind;
+    Individual<Object> ind, temp;
     final GPM<Object> gpm;
     final SelectionAlgorithm sr;
     final FitnessAssignmentProcess fap;
     final Randomizer r;
     final double cr;
+    final _RefinementStage stage;
+    final BinaryOperator<Object> op2b;
+    final boolean completes;
 
     ss = this.doParentsSurvive();
     lambda = this.getLambda();
@@ -2742,6 +2845,9 @@ public class EA extends TSPAlgorithm {
     cr = this.getCrossoverRate();
     fap = this.getFitnessAssignmentProcess();
     r = f.getRandom();
+    stage = this.m_stage;
+    completes = this.m_stageCompletes;
+    op2b = ((stage != null) ? this.__getBinaryBeforeUnary() : null);
 
     // Produce the first generation of individuals. These individuals will
     // usually be random, may have also been produced with a heuristic
@@ -2770,6 +2876,20 @@ public class EA extends TSPAlgorithm {
         }
       }
 
+      if (completes) {
+        // The completed individuals are refined in parallel, each
+        // replaced by a new individual holding its refined version.
+        for (i = lambda; (--i) >= 0;) {
+          ind = pop[i];
+          pop[i] = temp = new Individual<>();
+          stage.add(temp, ind, r.nextSeed());
+        }
+        if (!(stage.refine())) {
+          // if the computational budget is spent, we return
+          return;
+        }
+      }
+
       // ok, all individuals have been processed by the gpm
       gpm.afterGeneration(f);
 
@@ -2799,6 +2919,37 @@ public class EA extends TSPAlgorithm {
         System.arraycopy(mate, 0, pop, lambda, mu);
       }
 
+      if ((stage != null) && (!completes)) {
+        // The unary operator, which is the local search in a memetic
+        // algorithm, is applied to all offspring in parallel. We first
+        // perform all other steps sequentially to fill the refinement
+        // stage and then let the stage do the refinement and register the
+        // results in a deterministic order.
+        for (i = lambda; (--i) >= 0;) {
+          pop[i] = ind = new Individual<>();
+          if (r.nextDouble() < cr) {
+            if (op2b != null) {
+              temp = stage.nextSource();
+              op2b.recombine(temp, f, mate[i % mu], mate[r.nextInt(mu)]);
+              stage.add(ind, temp, r.nextSeed());
+            } else {
+              op2.recombine(ind, f, mate[i % mu], mate[r.nextInt(mu)]);
+            }
+          } else {
+            stage.add(ind, mate[i % mu], r.nextSeed());
+          }
+          if (f.shouldTerminate()) {
+            // if the computational budget is spent, we return
+            return;
+          }
+        }
+        if (!(stage.refine())) {
+          // if the computational budget is spent, we return
+          return;
+        }
+        continue;
+      }
+
       // now we can fill the population with lambda new offspring
       for (i = lambda; (--i) >= 0;) {
         pop[i] = ind = new Individual<>();
@@ -2833,6 +2984,8 @@ public class EA extends TSPAlgorithm {
     cfg.m_nullary = ((NullaryOperator<Object>) (cfg.m_nullary.clone()));
     cfg.m_gpm = ((GPM<Object>) (cfg.m_gpm.clone()));
     cfg.m_selection = ((SelectionAlgorithm) (cfg.m_selection.clone()));
+    cfg.m_stage = null;
+    cfg.m_stageCompletes = false;
     cfg.m_completedGenerations = (-1);
 
     return cfg;
@@ -2842,6 +2995,8 @@ public class EA extends TSPAlgorithm {
   @SuppressWarnings("rawtypes")
   @Override
   public void beginRun(final ObjectiveFunction f) {
+    final UnaryOperator<Object> op;
+
     super.beginRun(f);
     this.m_completedGenerations = 0;
     this.m_nullary.beginRun(f);
@@ -2854,12 +3009,57 @@ public class EA extends TSPAlgorithm {
     this.m_gpm.beginRun(f);
     this.m_fap.beginRun(f);
     this.m_selection.beginRun(f);
+    if (this.m_refinementThreads > 1) {
+      op = this.getCompletionRefinement(f);
+      this.m_stageCompletes = (op != null);
+      this.m_stage = new _RefinementStage(f, ((op != null) ? op
+          : this.m_unary), this.m_refinementThreads, this.m_lambda);
+    }
   }
 
-  /** {@inheritDoc} */
+  /**
+   * Get the binary part of the binary operator if the binary operator is
+   * a binary operator followed by the unary operator of this EA.
+   *
+   * @return the binary part of the binary operator, or {@code null} if the
+   *         binary operator is not followed by the unary operator
+   */
   @SuppressWarnings("rawtypes")
+  private final BinaryOperator<Object> __getBinaryBeforeUnary() {
+    if ((this.m_binary instanceof BinaryOperatorFollowedByUnary)
+        && ((((BinaryOperatorFollowedByUnary) (this.m_binary))
+            .getUnaryOperator()) == this.m_unary)) {
+      return ((BinaryOperatorFollowedByUnary<Object>) (this.m_binary))
+          .getBinaryOperator();
+    }
+    return null;
+  }
+
+  /** {@inheritDoc} */
   @Override
   public void endRun(final ObjectiveFunction f) {
+    final _RefinementStage stage;
+
+    stage = this.m_stage;
+    this.m_stage = null;
+    this.m_stageCompletes = false;
+    try {
+      if (stage != null) {
+        stage.close();
+      }
+    } finally {
+      this.__endRun(f);
+    }
+  }
+
+  /**
+   * end the run of the components
+   *
+   * @param f
+   *          the objective function
+   */
+  @SuppressWarnings("rawtypes")
+  private final void __endRun(final ObjectiveFunction f) {
     try {
       this.m_selection.endRun(f);
     } finally {
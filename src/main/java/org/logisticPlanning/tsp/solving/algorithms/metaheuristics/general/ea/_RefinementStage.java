@@ -0,0 +1,429 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.logisticPlanning.tsp.benchmarking.objective.LogPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.operators.UnaryOperator;
+
+/**
+ * <p>
+ * The parallel refinement stage of an {@link EA}. In memetic algorithms,
+ * each offspring is refined by a local search, i.e., by a
+ * {@link org.logisticPlanning.tsp.solving.operators.UnaryOperator unary
+ * operator} which consumes most of the runtime. Within one generation,
+ * these refinements are independent from each other. This stage collects
+ * them and performs them in parallel on a fixed number of threads, each
+ * owning a {@link UnaryOperator#clone() clone} of the unary operator and
+ * a {@link ObjectiveFunction#createWorker() worker} objective function.
+ * </p>
+ * <p>
+ * Each refinement job receives its own random seed drawn from the random
+ * number generator of the run when the job is added. Job {@code j} is
+ * always processed by thread {@code j % threads}, and after all jobs have
+ * finished, their consumed FEs, DEs, and best solutions are registered
+ * with the run's objective function in the order in which the jobs were
+ * added. The results therefore only depend on the random seed of the run
+ * and never on the number of threads or the thread scheduling. If the
+ * objective function signals termination while the results are merged,
+ * the results of all later jobs are discarded, as they would never have
+ * been computed in a sequential run.
+ * </p>
+ * <p>
+ * The FEs and DEs remaining in the budget of the run are split evenly
+ * among the jobs of a batch, and each job {@link
+ * ObjectiveFunction#beginWork(long, long, long) terminates} once its share
+ * is used up. When merging, the FEs and DEs of a job are clamped to its
+ * share and an improvement it found only after exceeding its share is
+ * not registered. The merged work of a batch therefore never exceeds the
+ * budget of the run.
+ * </p>
+ */
+final class _RefinementStage {
+
+  /** the objective function of the run */
+  private final ObjectiveFunction m_f;
+
+  /** the worker objective functions */
+  private final ObjectiveFunction[] m_workers;
+
+  /** the unary operators, one clone per worker */
+  private final UnaryOperator<Object>[] m_ops;
+
+  /** the thread pool */
+  private final ExecutorService m_pool;
+
+  /** the tasks, one per thread */
+  private final ArrayList<_Task> m_tasks;
+
+  /** the jobs */
+  private _Job[] m_jobs;
+
+  /** the number of jobs */
+  private int m_count;
+
+  /** the FEs consumed before the current batch of jobs */
+  long m_fe0;
+
+  /** the DEs consumed before the current batch of jobs */
+  long m_de0;
+
+  /** the best tour length before the current batch of jobs */
+  long m_f0;
+
+  /**
+   * create the refinement stage
+   *
+   * @param f
+   *          the objective function of the run
+   * @param op
+   *          the unary operator to be cloned for each thread
+   * @param threads
+   *          the number of threads
+   * @param jobs
+   *          the expected number of jobs per generation
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  _RefinementStage(final ObjectiveFunction f, final UnaryOperator<?> op,
+      final int threads, final int jobs) {
+    super();
+
+    int i;
+
+    this.m_f = f;
+    this.m_workers = new ObjectiveFunction[threads];
+    this.m_ops = new UnaryOperator[threads];
+    this.m_tasks = new ArrayList<>(threads);
+
+    for (i = 0; i < threads; i++) {
+      this.m_workers[i] = f.createWorker();
+      this.m_ops[i] = ((UnaryOperator<Object>) (op.clone()));
+      this.m_ops[i].beginRun(this.m_workers[i]);
+      this.m_tasks.add(new _Task(i));
+    }
+
+    this.m_jobs = new _Job[Math.max(1, jobs)];
+    this.m_pool = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Get the individual into which the source of the next job can be
+   * stored, e.g., by a binary operator
+   *
+   * @return the individual
+   */
+  final Individual<Object> nextSource() {
+    final _Job job;
+
+    job = this.__next();
+    if (job.m_temp == null) {
+      job.m_temp = new Individual<>();
+    } else {
+      job.m_temp.clearEvaluation();
+    }
+    return job.m_temp;
+  }
+
+  /**
+   * Add a job: refine {@code src} and store the result in {@code dest}.
+   * If {@code src} is the individual returned by the last call to
+   * {@link #nextSource()}, it belongs to the new job.
+   *
+   * @param dest
+   *          the destination individual
+   * @param src
+   *          the source individual, which will not be modified
+   * @param seed
+   *          the random seed for the job
+   */
+  final void add(final Individual<Object> dest,
+      final Individual<Object> src, final long seed) {
+    final _Job job;
+
+    job = this.__next();
+    job.m_dest = dest;
+    job.m_src = src;
+    job.m_seed = seed;
+    this.m_count++;
+  }
+
+  /**
+   * get the next free job record
+   *
+   * @return the next free job record
+   */
+  private final _Job __next() {
+    final int count;
+    _Job[] jobs;
+    _Job job;
+
+    count = this.m_count;
+    jobs = this.m_jobs;
+    if (count >= jobs.length) {
+      jobs = new _Job[count << 1];
+      System.arraycopy(this.m_jobs, 0, jobs, 0, count);
+      this.m_jobs = jobs;
+    }
+    job = jobs[count];
+    if (job == null) {
+      jobs[count] = job = new _Job();
+    }
+    return job;
+  }
+
+  /**
+   * Perform all jobs added since the last call in parallel and register
+   * their results with the objective function, in the order in which they
+   * were added.
+   *
+   * @return {@code true} if all results were registered, {@code false} if
+   *         the objective function signaled termination
+   */
+  final boolean refine() {
+    final ObjectiveFunction f;
+    final LogPoint cur;
+    final int count;
+    final _Job[] jobs;
+    Throwable error;
+    _Job job;
+    int i;
+
+    count = this.m_count;
+    if (count <= 0) {
+      return true;
+    }
+
+    f = this.m_f;
+    cur = f.getCurrentLogPoint();
+    this.m_fe0 = cur.getConsumedFEs();
+    this.m_de0 = cur.getConsumedDEs();
+    this.m_f0 = cur.getBestF();
+
+    jobs = this.m_jobs;
+    for (i = 0; i < count; i++) {
+      job = jobs[i];
+      job.m_maxFEs = _RefinementStage.__limit(f.getMaxFEs(), this.m_fe0,
+          i, count);
+      job.m_maxDEs = _RefinementStage.__limit(f.getMaxDEs(), this.m_de0,
+          i, count);
+    }
+
+    error = null;
+    try {
+      for (final Future<Object> fut : this.m_pool.invokeAll(this.m_tasks)) {
+        try {
+          fut.get();
+        } catch (final ExecutionException ee) {
+          if (error == null) {
+            error = ee.getCause();
+          }
+        }
+      }
+    } catch (final InterruptedException ie) {
+      error = ie;
+    }
+
+    this.m_count = 0;
+
+    if (error != null) {
+      for (i = count; (--i) >= 0;) {
+        jobs[i]._clear();
+      }
+      throw new RuntimeException(error);
+    }
+
+    for (i = 0; i < count; i++) {
+      job = jobs[i];
+      f.registerDEs(Math.min(job.m_des, (job.m_maxDEs - this.m_de0)));
+      if (job.m_improved) {
+        f.registerFEs(Math.min(job.m_fes, (job.m_maxFEs - this.m_fe0)),
+            job.m_best, job.m_bestF);
+      } else {
+        f.registerFEs(Math.min(job.m_fes, (job.m_maxFEs - this.m_fe0)),
+            null, Long.MAX_VALUE);
+      }
+      if (f.shouldTerminate()) {
+        for (; i < count; i++) {
+          jobs[i]._clear();
+        }
+        return false;
+      }
+      job._clear();
+    }
+
+    return true;
+  }
+
+  /**
+   * Compute the share of a job in the remaining budget: The remaining
+   * FEs or DEs are split evenly among the jobs, the first jobs receiving
+   * one more if they cannot be split evenly.
+   *
+   * @param max
+   *          the maximum FEs or DEs of the run
+   * @param used
+   *          the FEs or DEs consumed before the batch
+   * @param index
+   *          the index of the job
+   * @param count
+   *          the number of jobs
+   * @return the total FEs or DEs after which the job terminates
+   */
+  private static final long __limit(final long max, final long used,
+      final int index, final int count) {
+    final long remaining;
+
+    if (max >= Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    remaining = Math.max(0l, (max - used));
+    return (used + (remaining / count) + //
+        ((index < (remaining % count)) ? 1l : 0l));
+  }
+
+  /** shut down the stage */
+  final void close() {
+    Throwable error;
+    int i;
+
+    error = null;
+    try {
+      this.m_pool.shutdownNow();
+    } finally {
+      for (i = this.m_ops.length; (--i) >= 0;) {
+        try {
+          this.m_ops[i].endRun(this.m_workers[i]);
+        } catch (final Throwable t) {
+          error = t;
+        }
+      }
+      this.m_jobs = null;
+      this.m_count = 0;
+    }
+
+    if (error != null) {
+      throw new RuntimeException(error);
+    }
+  }
+
+  /** a refinement job */
+  private static final class _Job {
+
+    /** the destination individual */
+    Individual<Object> m_dest;
+
+    /** the source individual */
+    Individual<Object> m_src;
+
+    /** the temporary individual, possibly used as source */
+    Individual<Object> m_temp;
+
+    /** the random seed */
+    long m_seed;
+
+    /** the consumed FEs */
+    long m_fes;
+
+    /** the consumed DEs */
+    long m_des;
+
+    /** the total FEs after which the job terminates */
+    long m_maxFEs;
+
+    /** the total DEs after which the job terminates */
+    long m_maxDEs;
+
+    /** the best tour length found by the worker */
+    long m_bestF;
+
+    /** did the worker find a new best solution? */
+    boolean m_improved;
+
+    /** the best solution, if {@link #m_improved} */
+    int[] m_best;
+
+    /** create */
+    _Job() {
+      super();
+    }
+
+    /** clear the references to the individuals */
+    final void _clear() {
+      this.m_dest = null;
+      this.m_src = null;
+      this.m_improved = false;
+    }
+  }
+
+  /** the task of one thread */
+  private final class _Task implements Callable<Object> {
+
+    /** the index of the thread */
+    private final int m_index;
+
+    /**
+     * create
+     *
+     * @param index
+     *          the index of the thread
+     */
+    _Task(final int index) {
+      super();
+      this.m_index = index;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Object call() {
+      final _RefinementStage owner;
+      final ObjectiveFunction wf;
+      final UnaryOperator<Object> op;
+      final int count, step;
+      final _Job[] jobs;
+      LogPoint cur, last;
+      _Job job;
+      int i;
+
+      owner = _RefinementStage.this;
+      wf = owner.m_workers[this.m_index];
+      op = owner.m_ops[this.m_index];
+      jobs = owner.m_jobs;
+      count = owner.m_count;
+      step = owner.m_workers.length;
+
+      for (i = this.m_index; i < count; i += step) {
+        job = jobs[i];
+
+        wf.beginWork(job.m_seed, job.m_maxFEs, job.m_maxDEs);
+        try {
+          op.mutate(job.m_dest, wf, job.m_src);
+        } finally {
+          wf.endWork();
+        }
+
+        cur = wf.getCurrentLogPoint();
+        job.m_fes = (cur.getConsumedFEs() - owner.m_fe0);
+        job.m_des = (cur.getConsumedDEs() - owner.m_de0);
+        job.m_bestF = cur.getBestF();
+        last = wf.getLastImprovementLogPoint();
+        job.m_improved = ((job.m_bestF < owner.m_f0) && //
+            (last.getConsumedFEs() <= job.m_maxFEs) && //
+            (last.getConsumedDEs() <= job.m_maxDEs));
+        if (job.m_improved) {
+          if (job.m_best == null) {
+            job.m_best = new int[wf.n()];
+          }
+          wf.getCopyOfBest(job.m_best);
+        }
+      }
+
+      return null;
+    }
+  }
+}
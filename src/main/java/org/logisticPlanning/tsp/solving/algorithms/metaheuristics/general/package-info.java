@@ -34,6 +34,14 @@
  * according to Darwin's Evolution theory&nbsp;[<a href="#cite_D1859EV"
  * style="font-weight:bold">6</a>, <a href="#cite_D1859EV2"
  * style="font-weight:bold">7</a>].</li>
+ * <li>The
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio.Portfolio
+ * algorithm portfolio} runs several arbitrary TSP algorithms in parallel
+ * threads on the same instance. The algorithms publish their best tours
+ * on a shared
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard
+ * incumbent board} and may adopt the best tour found so far at their
+ * restart points.</li>
  * </ol>
  * <h2>References</h2>
  * <ol>
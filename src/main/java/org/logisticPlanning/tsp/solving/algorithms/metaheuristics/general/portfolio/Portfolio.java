@@ -0,0 +1,468 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard;
+import org.logisticPlanning.tsp.benchmarking.objective.LogPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.TSPAlgorithm;
+import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch.MultiNeighborhoodSearch;
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.satelliteList.LKW.LK_ID;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.ea.PermutationEA;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO;
+import org.logisticPlanning.utils.config.ClassParser;
+import org.logisticPlanning.utils.config.Configurable;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.config.ListParser;
+
+/**
+ * <p>
+ * An algorithm portfolio runs several
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithm TSP algorithms}
+ * concurrently on the same problem instance, each in its own thread and
+ * with its own
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#createWorker()
+ * worker} objective function. It is intended for throwing all processors
+ * of a machine at a single instance, e.g., via the
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner
+ * TSPAlgorithmRunner} with
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#PARAM_MAX_THREADS
+ * maxThreads}{@code =1}. By default, the portfolio consists of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.satelliteList.LKW.LK_ID
+ * Lin-Kernighan heuristic}, the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch.MultiNeighborhoodSearch
+ * multi-neighborhood search}, the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO
+ * population-based ACO}, and the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.ea.PermutationEA
+ * permutation-based EA}.
+ * </p>
+ * <p>
+ * All workers join the same lock-free
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard
+ * incumbent board}, to which they publish each improved tour. If
+ * {@link #PARAM_PULL_INCUMBENT pulling} is enabled, the members adopt the
+ * best tour on the board at their restart points, e.g., when a
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchAlgorithm
+ * local search} reloads its best solution or when the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO
+ * PACO} creates its initial population. Sharing is asynchronous: No
+ * member ever waits for another one.
+ * </p>
+ * <p>
+ * Meanwhile, the thread executing the portfolio collects the consumed FEs
+ * and DEs of all members as well as the best tour from the board and
+ * registers them with the objective function of the run. This happens
+ * whenever a new best tour appears on the board and otherwise every
+ * {@link #PARAM_SYNC_INTERVAL syncInterval} milliseconds. The log of the
+ * run thus accounts for the total work of all members, and its time stamps
+ * state when a tour was found in terms of wall-clock time. The members
+ * share the FEs and DEs which remain in the budget of the run via the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard#setBudget(long, long)
+ * board}, so each of them stops as soon as the budget is used up, and the
+ * work registered with the run never exceeds it. Once the objective
+ * function of the run signals termination, e.g., because the runtime is
+ * exhausted, all members are terminated as well.
+ * Different from the other algorithms, the results of a portfolio are
+ * therefore not reproducible from the random seed of the run.
+ * </p>
+ */
+public class Portfolio extends TSPAlgorithm {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * the parameter for the member algorithm classes, separated by
+   * {@link org.logisticPlanning.utils.config.ListParser#LIST_ITEM_SEPARATOR}
+   * : {@value}
+   */
+  public static final String PARAM_MEMBERS = "portfolioMembers"; //$NON-NLS-1$
+
+  /**
+   * the parameter defining whether the members may pull the incumbent
+   * from the board: {@value}
+   */
+  public static final String PARAM_PULL_INCUMBENT = "portfolioPullIncumbent"; //$NON-NLS-1$
+
+  /**
+   * the parameter for the maximum number of milliseconds between two
+   * synchronizations with the objective function of the run: {@value}
+   */
+  public static final String PARAM_SYNC_INTERVAL = "portfolioSyncInterval"; //$NON-NLS-1$
+
+  /** the default for pulling the incumbent: {@value} */
+  public static final boolean DEFAULT_PULL_INCUMBENT = true;
+
+  /** the default synchronization interval: {@value} */
+  public static final int DEFAULT_SYNC_INTERVAL = 100;
+
+  /** the member algorithms */
+  private TSPAlgorithm[] m_members;
+
+  /** may the members pull the incumbent from the board? */
+  private boolean m_pull;
+
+  /** the synchronization interval in milliseconds */
+  private int m_syncInterval;
+
+  /** create the portfolio */
+  public Portfolio() {
+    super("Algorithm Portfolio");//$NON-NLS-1$
+
+    this.m_members = new TSPAlgorithm[] { new LK_ID(),
+        new MultiNeighborhoodSearch(), new PACO(), new PermutationEA() };
+    this.m_pull = Portfolio.DEFAULT_PULL_INCUMBENT;
+    this.m_syncInterval = Portfolio.DEFAULT_SYNC_INTERVAL;
+  }
+
+  /**
+   * Get a copy of the array of member algorithms
+   *
+   * @return a copy of the array of member algorithms
+   */
+  public final TSPAlgorithm[] getMembers() {
+    return this.m_members.clone();
+  }
+
+  /**
+   * Set the member algorithms
+   *
+   * @param members
+   *          the member algorithms
+   */
+  public final void setMembers(final TSPAlgorithm... members) {
+    if ((members == null) || (members.length <= 0)) {
+      throw new IllegalArgumentException(//
+          "A portfolio needs at least one member algorithm."); //$NON-NLS-1$
+    }
+    this.m_members = members.clone();
+  }
+
+  /**
+   * May the members pull the incumbent from the board?
+   *
+   * @return {@code true} if the members may pull the incumbent from the
+   *         board, {@code false} if they only publish to it
+   */
+  public final boolean isPullingIncumbent() {
+    return this.m_pull;
+  }
+
+  /**
+   * Set whether the members may pull the incumbent from the board
+   *
+   * @param pull
+   *          {@code true} if the members may pull the incumbent from the
+   *          board, {@code false} if they only publish to it
+   */
+  public final void setPullingIncumbent(final boolean pull) {
+    this.m_pull = pull;
+  }
+
+  /**
+   * Get the synchronization interval
+   *
+   * @return the maximum number of milliseconds between two
+   *         synchronizations with the objective function of the run
+   */
+  public final int getSyncInterval() {
+    return this.m_syncInterval;
+  }
+
+  /**
+   * Set the synchronization interval
+   *
+   * @param interval
+   *          the maximum number of milliseconds between two
+   *          synchronizations with the objective function of the run
+   */
+  public final void setSyncInterval(final int interval) {
+    this.m_syncInterval = ((interval > 0) ? interval
+        : Portfolio.DEFAULT_SYNC_INTERVAL);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void solve(final ObjectiveFunction f) {
+    final TSPAlgorithm[] members;
+    final ObjectiveFunction[] workers;
+    final IncumbentBoard board;
+    final ExecutorService pool;
+    final Future<?>[] futures;
+    final int[] best;
+    LogPoint cur;
+    long fes, des, curFEs, curDEs;
+    boolean done, terminated;
+    Throwable error;
+    int i, started;
+
+    members = this.m_members;
+    workers = new ObjectiveFunction[members.length];
+    board = new IncumbentBoard(members.length);
+    for (i = 0; i < workers.length; i++) {
+      workers[i] = f.createWorker();
+      workers[i].joinBoard(board, i, this.m_pull);
+    }
+
+    best = new int[f.n()];
+    futures = new Future<?>[members.length];
+    pool = Executors.newFixedThreadPool(members.length);
+    error = null;
+    started = 0;
+    fes = des = 0l;
+    try {
+      for (; started < workers.length; started++) {
+        workers[started].beginWork(f.getRandom().nextSeed());
+      }
+
+      // the workers start from the state of the run and share the rest of
+      // its budget
+      fes = board.getConsumedFEs();
+      des = board.getConsumedDEs();
+      cur = f.getCurrentLogPoint();
+      board.setBudget((f.getMaxFEs() - cur.getConsumedFEs()),
+          (f.getMaxDEs() - cur.getConsumedDEs()));
+
+      for (i = 0; i < members.length; i++) {
+        futures[i] = pool.submit(new _Member(members[i], workers[i]));
+      }
+
+      terminated = false;
+      for (;;) {
+        done = true;
+        for (final Future<?> fut : futures) {
+          if (!(fut.isDone())) {
+            done = false;
+            break;
+          }
+        }
+
+        if (done) {
+          break;
+        }
+
+        // register the progress of the members with the run
+        curDEs = board.getConsumedDEs();
+        curFEs = board.getConsumedFEs();
+        fes = Math.max(curFEs, (fes + Portfolio.__register(f, board,
+            best, (curFEs - fes), (curDEs - des))));
+        des = Math.max(curDEs, des);
+
+        if ((!terminated) && f.shouldTerminate()) {
+          for (final ObjectiveFunction w : workers) {
+            w.terminate();
+          }
+          terminated = true;
+        }
+
+        board.await(this.m_syncInterval);
+      }
+
+      for (final Future<?> fut : futures) {
+        try {
+          fut.get();
+        } catch (final ExecutionException ee) {
+          if (error == null) {
+            error = ee.getCause();
+          }
+        }
+      }
+    } catch (final InterruptedException ie) {
+      error = ie;
+    } finally {
+      pool.shutdownNow();
+      for (i = started; (--i) >= 0;) {
+        workers[i].endWork();
+        workers[i].joinBoard(null, 0, false);
+      }
+    }
+
+    if (error != null) {
+      throw new RuntimeException(error);
+    }
+
+    // register the remaining work and the final best tour
+    Portfolio.__register(f, board, best,
+        (board.getConsumedFEs() - fes), (board.getConsumedDEs() - des));
+  }
+
+  /**
+   * Register the FEs and DEs consumed by the members since the last
+   * registration as well as the best tour on the board with the objective
+   * function of the run. The FEs and DEs are clamped to the budget of the
+   * run: A member may overshoot it by the work it performed before
+   * noticing that the budget is used up, which must not appear in the log.
+   *
+   * @param f
+   *          the objective function of the run
+   * @param board
+   *          the incumbent board
+   * @param best
+   *          the temporary array to receive the best tour
+   * @param fes
+   *          the FEs consumed since the last registration
+   * @param des
+   *          the DEs consumed since the last registration
+   * @return the number of FEs registered
+   */
+  private static final long __register(final ObjectiveFunction f,
+      final IncumbentBoard board, final int[] best, final long fes,
+      final long des) {
+    final LogPoint cur;
+    final long bestF, maxFEs, maxDEs, regFEs;
+
+    cur = f.getCurrentLogPoint();
+    maxDEs = Math.min(des, (f.getMaxDEs() - cur.getConsumedDEs()));
+    if (maxDEs > 0l) {
+      f.registerDEs(maxDEs);
+    }
+
+    maxFEs = Math.min(fes, (f.getMaxFEs() - cur.getConsumedFEs()));
+    bestF = board.getCopyOfBest(best, cur.getBestF());
+    if (bestF < Long.MAX_VALUE) {
+      // an improvement is registered with at least one FE, unless the
+      // budget is already used up
+      regFEs = ((maxFEs > 0l) ? maxFEs//
+          : ((f.getMaxFEs() > cur.getConsumedFEs()) ? 1l : 0l));
+      f.registerFEs(regFEs, best, bestF);
+      return regFEs;
+    }
+    if (maxFEs > 0l) {
+      f.registerFEs(maxFEs, null, Long.MAX_VALUE);
+      return maxFEs;
+    }
+    return 0l;
+  }
+
+  /**
+   * Apply the algorithm portfolio to all symmetric TSPLib instances.
+   *
+   * @param args
+   *          the command line arguments
+   */
+  public static void main(final String[] args) {
+    TSPAlgorithmRunner.benchmark(Instance.SYMMETRIC_INSTANCES,
+        Portfolio.class,//
+        args);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Portfolio clone() {
+    final Portfolio res;
+    int i;
+
+    res = ((Portfolio) (super.clone()));
+    res.m_members = res.m_members.clone();
+    for (i = res.m_members.length; (--i) >= 0;) {
+      res.m_members[i] = res.m_members[i].clone();
+    }
+    return res;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void configure(final Configuration config) {
+    final List<Class<TSPAlgorithm>> classes;
+    final TSPAlgorithm[] members;
+    int i;
+
+    super.configure(config);
+
+    classes = config.get(Portfolio.PARAM_MEMBERS, new ListParser<>(
+        new ClassParser<>(TSPAlgorithm.class)), null);
+    if ((classes != null) && (classes.size() > 0)) {
+      members = new TSPAlgorithm[classes.size()];
+      for (i = members.length; (--i) >= 0;) {
+        try {
+          members[i] = classes.get(i).newInstance();
+        } catch (final Throwable t) {
+          throw new IllegalArgumentException(Portfolio.PARAM_MEMBERS, t);
+        }
+      }
+      this.m_members = members;
+    }
+
+    for (final TSPAlgorithm member : this.m_members) {
+      member.configure(config);
+    }
+
+    this.m_pull = config.getBoolean(Portfolio.PARAM_PULL_INCUMBENT,
+        this.m_pull);
+
+    this.m_syncInterval = config.getInt(Portfolio.PARAM_SYNC_INTERVAL, 1,
+        Integer.MAX_VALUE, this.m_syncInterval);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printConfiguration(final PrintStream ps) {
+    super.printConfiguration(ps);
+
+    Configurable.printKey(Portfolio.PARAM_MEMBERS, ps);
+    Configurable.printlnObject(this.m_members, ps);
+
+    Configurable.printKey(Portfolio.PARAM_PULL_INCUMBENT, ps);
+    ps.println(this.m_pull);
+
+    Configurable.printKey(Portfolio.PARAM_SYNC_INTERVAL, ps);
+    ps.println(this.m_syncInterval);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(Portfolio.PARAM_MEMBERS, ps);
+    ps.println("the classes of the member algorithms to run concurrently"); //$NON-NLS-1$
+    for (final TSPAlgorithm member : this.m_members) {
+      member.printParameters(ps);
+    }
+
+    Configurable.printKey(Portfolio.PARAM_PULL_INCUMBENT, ps);
+    ps.println("may the members adopt the best tour found by the others at their restart points?"); //$NON-NLS-1$
+
+    Configurable.printKey(Portfolio.PARAM_SYNC_INTERVAL, ps);
+    ps.println("the maximum number of milliseconds between two updates of the log of the run"); //$NON-NLS-1$
+  }
+
+  /** the task executing one member algorithm */
+  private static final class _Member implements Callable<Object> {
+
+    /** the member algorithm */
+    private final TSPAlgorithm m_algo;
+
+    /** the worker objective function */
+    private final ObjectiveFunction m_f;
+
+    /**
+     * create
+     *
+     * @param algo
+     *          the member algorithm
+     * @param f
+     *          the worker objective function
+     */
+    _Member(final TSPAlgorithm algo, final ObjectiveFunction f) {
+      super();
+      this.m_algo = algo;
+      this.m_f = f;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Object call() {
+      this.m_algo.call(this.m_f);
+      return null;
+    }
+  }
+}
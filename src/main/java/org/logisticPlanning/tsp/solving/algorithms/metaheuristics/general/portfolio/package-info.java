@@ -0,0 +1,9 @@
+/**
+ * An
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio.Portfolio
+ * algorithm portfolio} which runs several TSP algorithms concurrently on
+ * the same instance, letting them share their best tours via a lock-free
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard
+ * incumbent board}.
+ */
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio;
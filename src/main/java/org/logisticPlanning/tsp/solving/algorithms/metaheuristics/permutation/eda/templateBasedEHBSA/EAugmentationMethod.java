@@ -17,7 +17,9 @@ public enum EAugmentationMethod {
    * value. This is the default method in the template-based EHBSA. Its
    * advantage is that it makes full use of all gathered histogram
    * information. Its disadvantage is that it will require a full
-   * {@code n*(n-1)} matrix (asymmetric case) for the histogram.
+   * {@code n*(n-1)} matrix (asymmetric case) for the histogram, unless the
+   * population is small compared to {@code n}: then, a sparse histogram
+   * storing only the edges occurring in the population is used.
    */
   AUGMENT_BY_HISTOGRAM() {
 
@@ -25,17 +27,41 @@ public enum EAugmentationMethod {
     @Override
     final EdgeNumber allocate(final int n, final boolean symmetric,
         final long minValue, final long maxValue,
-        final boolean requiresFloats, final CandidateSet candidates,
-        final EdgeNumber old) {
+        final boolean requiresFloats, final int maxEdgesPerNode,
+        final CandidateSet candidates, final EdgeNumber old) {
       return EdgeNumber.allocate(n, symmetric, minValue, maxValue,
-          requiresFloats, old);
+          requiresFloats, maxEdgesPerNode, old);
     }
 
     /** {@inheritDoc} */
     @Override
     final int augment(final int sourceNode, final NodeManager manager,
-        final EdgeNumber model, final ObjectiveFunction f) {
-      int i, maxHistogram, destinationNode, curTest, curHistogram;
+        final EdgeNumber model, final int[] temp, final ObjectiveFunction f) {
+      int i, maxHistogram, destinationNode, curTest, curHistogram, index;
+
+      if (model.isSparse()) {
+        // Only the stored edges can have non-zero histogram values. Among
+        // them, take the available one with the highest value and, on
+        // ties, with the highest index. If there is none, all available
+        // nodes have value 0 and the scan below would pick the last one.
+        destinationNode = manager.getByIndex(manager.size() - 1);
+        maxHistogram = 0;
+        index = (-1);
+        for (i = model.getNonZeroEdges(sourceNode, temp); (--i) >= 0;) {
+          curTest = temp[i];
+          if (manager.isIDAvailable(curTest)) {
+            curHistogram = model.getInt(sourceNode, curTest);
+            if ((curHistogram > maxHistogram) || //
+                ((curHistogram == maxHistogram) && (curHistogram > 0) && //
+                (manager.getIndexByID(curTest) > index))) {
+              maxHistogram = curHistogram;
+              destinationNode = curTest;
+              index = manager.getIndexByID(curTest);
+            }
+          }
+        }
+        return destinationNode;
+      }
 
       destinationNode = maxHistogram = Integer.MIN_VALUE;
       for (i = manager.size(); (--i) >= 0;) {
@@ -65,8 +91,8 @@ public enum EAugmentationMethod {
     @Override
     final EdgeNumber allocate(final int n, final boolean symmetric,
         final long minValue, final long maxValue,
-        final boolean requiresFloats, final CandidateSet candidates,
-        final EdgeNumber old) {
+        final boolean requiresFloats, final int maxEdgesPerNode,
+        final CandidateSet candidates, final EdgeNumber old) {
       return CandidateEdgeNumber.allocate(n, symmetric, minValue,
           maxValue, requiresFloats, candidates, old);
     }
@@ -74,7 +100,7 @@ public enum EAugmentationMethod {
     /** {@inheritDoc} */
     @Override
     final int augment(final int sourceNode, final NodeManager manager,
-        final EdgeNumber model, final ObjectiveFunction f) {
+        final EdgeNumber model, final int[] temp, final ObjectiveFunction f) {
       int i, minDist, destinationNode, curTest, curDist;
 
       destinationNode = Integer.MIN_VALUE;
@@ -105,8 +131,8 @@ public enum EAugmentationMethod {
     @Override
     final EdgeNumber allocate(final int n, final boolean symmetric,
         final long minValue, final long maxValue,
-        final boolean requiresFloats, final CandidateSet candidates,
-        final EdgeNumber old) {
+        final boolean requiresFloats, final int maxEdgesPerNode,
+        final CandidateSet candidates, final EdgeNumber old) {
       return CandidateEdgeNumber.allocate(n, symmetric, minValue,
           maxValue, requiresFloats, candidates, old);
     }
@@ -114,7 +140,7 @@ public enum EAugmentationMethod {
     /** {@inheritDoc} */
     @Override
     final int augment(final int sourceNode, final NodeManager manager,
-        final EdgeNumber model, final ObjectiveFunction f) {
+        final EdgeNumber model, final int[] temp, final ObjectiveFunction f) {
       return manager.getByIndex(f.getRandom().nextInt(manager.size()));
     }
   }
@@ -140,6 +166,9 @@ public enum EAugmentationMethod {
    *          integer (long)
    * @param requiresFloats
    *          do we need to support floating point numbers?
+   * @param maxEdgesPerNode
+   *          the maximum number of edges incident to a node which have a
+   *          non-zero value at the same time
    * @param candidates
    *          the candidate set
    * @param old
@@ -151,8 +180,8 @@ public enum EAugmentationMethod {
    */
   abstract EdgeNumber allocate(final int n, final boolean symmetric,
       final long minValue, final long maxValue,
-      final boolean requiresFloats, final CandidateSet candidates,
-      final EdgeNumber old);
+      final boolean requiresFloats, final int maxEdgesPerNode,
+      final CandidateSet candidates, final EdgeNumber old);
 
   /**
    * Find the next node to visit. This method is called when all nodes in
@@ -165,10 +194,12 @@ public enum EAugmentationMethod {
    *          the node manager holding the nodes still available
    * @param model
    *          the edge histogram model
+   * @param temp
+   *          a temporary array with room for {@code n} nodes
    * @param f
    *          the objective function
    * @return the id of the next node to visit
    */
   abstract int augment(final int sourceNode, final NodeManager manager,
-      final EdgeNumber model, final ObjectiveFunction f);
+      final EdgeNumber model, final int[] temp, final ObjectiveFunction f);
 }
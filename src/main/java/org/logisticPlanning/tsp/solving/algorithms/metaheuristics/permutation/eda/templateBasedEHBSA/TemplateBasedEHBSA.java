@@ -935,8 +935,10 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
     final int[] candidates;
     final double bias;
     final StableSum sum;
+    final boolean sparse;
 
     int destIdx, i, sourceNode, destinationNode, candidateNode, candidateCount;
+    int others;
 
     n = f.n();
     r = f.getRandom();
@@ -987,6 +989,10 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
     model = this.m_edgeHistogramModel;
     sum = this.m_sum;
     destinationNode = (-1);
+    // If all nodes are candidates and the model is sparse, we only visit
+    // the stored edges of the source node and treat all other available
+    // nodes as one block with the total weight of their biases.
+    sparse = (model.isSparse() && (candidateSet.m() >= (n - 1)));
 
     for (; destIdx < n; destIdx++) {
 
@@ -1009,20 +1015,45 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
       // to distinguish between having a reduced candidate set and being
       // able
       // to use all nodes here.
-      for (i = candidateSet.m(); i > 0; i--) {
-        // For the given node sourceNode, check all candidate nodes
-
-        candidateNode = candidateSet.getCandidate(sourceNode, i);
-        if (manager.isIDAvailable(candidateNode)) {
-          // ok, the candidate may potentially be used
-          candidates[candidateCount] = candidateNode;
-
-          sum.visitDouble(bias);// add the bias and histogram value to
-          // sum
-          sum.visitDouble(model.getDouble(sourceNode, candidateNode));
-          weights[candidateCount] = sum.getResult(); // store sum
+      if (sparse) {
+        // compact the stored edges to the available ones in place
+        others = model.getNonZeroEdges(sourceNode, candidates);
+        for (i = 0; i < others; i++) {
+          candidateNode = candidates[i];
+          if (manager.isIDAvailable(candidateNode)) {
+            candidates[candidateCount] = candidateNode;
+            sum.visitDouble(bias);
+            sum.visitDouble(model.getDouble(sourceNode, candidateNode));
+            weights[candidateCount] = sum.getResult();
+            candidateCount++;
+          }
+        }
+
+        // all other available nodes have histogram value 0: node id 0
+        // stands for picking one of them
+        others = (manager.size() - candidateCount);
+        if ((others > 0) && (bias > 0d)) {
+          candidates[candidateCount] = 0;
+          sum.visitDouble(bias * others);
+          weights[candidateCount] = sum.getResult();
           candidateCount++;
         }
+      } else {
+        for (i = candidateSet.m(); i > 0; i--) {
+          // For the given node sourceNode, check all candidate nodes
+
+          candidateNode = candidateSet.getCandidate(sourceNode, i);
+          if (manager.isIDAvailable(candidateNode)) {
+            // ok, the candidate may potentially be used
+            candidates[candidateCount] = candidateNode;
+
+            sum.visitDouble(bias);// add the bias and histogram value to
+            // sum
+            sum.visitDouble(model.getDouble(sourceNode, candidateNode));
+            weights[candidateCount] = sum.getResult(); // store sum
+            candidateCount++;
+          }
+        }
       }
 
       // The arrays "candidates" and "weights" now contain
@@ -1049,6 +1080,13 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
         } else {// this is unlikely: found the exact element
           destinationNode = candidates[destinationNode];
         }
+
+        if (destinationNode == 0) {
+          // pick one of the available nodes without stored edge uniformly
+          do {
+            destinationNode = manager.getByIndex(r.nextInt(manager.size()));
+          } while (model.getDouble(sourceNode, destinationNode) != 0d);
+        }
       } else {
         // Augmentation: All the nodes in the candidate set are
         // already taken! In this case, we take the available node with
@@ -1060,7 +1098,7 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
         // (then
         // candidateSet is a proxy to all available nodes)
         destinationNode = this.m_augmentationMethod.augment(sourceNode,
-            manager, model, f);
+            manager, model, candidates, f);
       }
 
       // store the sampled node and make it the source of next edge
@@ -1102,6 +1140,24 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
     return L;
   }
 
+  /**
+   * Get the maximum number of edges of a node that can have a non-zero
+   * value in the edge histogram model built from {@code ps} tours.
+   *
+   * @param n
+   *          the number of nodes
+   * @param ps
+   *          the population size
+   * @param symmetric
+   *          is the problem symmetric?
+   * @return the maximum number of stored edges per node
+   */
+  public static final int maxHistogramEdgesPerNode(final int n,
+      final int ps, final boolean symmetric) {
+    return ((int) (Math.min((n - 1L), //
+        (symmetric ? (((long) ps) << 1) : ps))));
+  }
+
   /**
    * Perform the template-based EHBSA
    *
@@ -1163,8 +1219,13 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
     // nodes to save memory - this is necessary for large-scale problems,
     // but
     // slows down computation.
+    // Each solution contributes one edge leaving each node and, in the
+    // symmetric case, also one entering it, so at most min(n-1, 2*ps)
+    // (or min(n-1, ps)) edges of a node can have a non-zero histogram
+    // value. This allows for a sparse model if ps is small compared to n.
     this.m_edgeHistogramModel = this.m_augmentationMethod.allocate(n, sym,
-        0, ps, false, this.m_candidateSet, null);
+        0, ps, false, TemplateBasedEHBSA.maxHistogramEdgesPerNode(n, ps,
+            sym), this.m_candidateSet, null);
 
     // Compute the bias used to ensure that all edges always have a
     // non-zero
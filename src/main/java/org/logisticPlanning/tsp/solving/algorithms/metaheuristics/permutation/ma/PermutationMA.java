@@ -30,7 +30,9 @@ import org.logisticPlanning.utils.math.functions.power.Sqrt;
  * This MA performs a hill climber-based local search (for a number of
  * steps related to the number of cities in a TSP) for each new solution
  * created by crossover. The EA part only uses selection and crossover, the
- * local search only uses mutation.
+ * local search only uses mutation. With more than one
+ * {@link #getRefinementThreads() refinement thread}, the local searches of
+ * one generation are performed in parallel.
  * </p>
  * <h2>References</h2>
  * <ol>
@@ -271,7 +273,9 @@ public class PermutationMA extends EA {
     op1 = this.getUnaryOperator();
     temp = this.m_temp;
     super.complete(ind, f, gpm);
-    if (f.shouldTerminate()) {
+    if (f.shouldTerminate() || (this.getRefinementThreads() > 1)) {
+      // with several threads, the local search is performed in parallel
+      // by the operator returned by getCompletionRefinement
       return;
     }
 
@@ -289,6 +293,14 @@ public class PermutationMA extends EA {
     }
   }
 
+  /** {@inheritDoc} */
+  @Override
+  protected final UnaryOperator<Object> getCompletionRefinement(
+      final ObjectiveFunction f) {
+    return new _LocalSearchRefinement(this.getUnaryOperator(),
+        this.m_maxSteps);
+  }
+
   /** {@inheritDoc} */
   @Override
   public void beginRun(final ObjectiveFunction f) {
@@ -0,0 +1,103 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.ma;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.operators.UnaryOperator;
+import org.logisticPlanning.utils.math.functions.UnaryFunction;
+
+/**
+ * The hill climber-based local search of the {@link PermutationMA} as a
+ * unary operator, which allows the memetic algorithm to refine the
+ * individuals of one generation in parallel. Starting from the parent, it
+ * applies the wrapped unary operator a number of times depending on the
+ * number of cities and always keeps the better solution.
+ */
+final class _LocalSearchRefinement extends UnaryOperator<Object> {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the function computing the number of steps from the number of cities */
+  private final UnaryFunction m_maxSteps;
+
+  /** the wrapped unary operator */
+  private UnaryOperator<Object> m_op;
+
+  /** the temporary individual */
+  private transient Individual<Object> m_temp;
+
+  /** the number of steps to do */
+  private transient int m_steps;
+
+  /**
+   * create
+   *
+   * @param op
+   *          the unary operator applied in each step
+   * @param maxSteps
+   *          the function computing the number of steps from the number
+   *          of cities
+   */
+  _LocalSearchRefinement(final UnaryOperator<Object> op,
+      final UnaryFunction maxSteps) {
+    super("localSearch_" + op.name()); //$NON-NLS-1$
+    this.m_op = op;
+    this.m_maxSteps = maxSteps;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void mutate(final Individual<Object> dest,
+      final ObjectiveFunction f, final Individual<Object> parent) {
+    final Individual<Object> temp;
+    final UnaryOperator<Object> op;
+    int i;
+
+    op = this.m_op;
+    temp = this.m_temp;
+    dest.assign(parent);
+
+    for (i = this.m_steps; (--i) >= 0;) {
+      temp.clear();
+      op.mutate(temp, f, dest);
+      if (f.shouldTerminate()) {
+        return;
+      }
+
+      if (temp.tourLength < dest.tourLength) {
+        dest.assign(temp);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @SuppressWarnings("unchecked")
+  public final _LocalSearchRefinement clone() {
+    final _LocalSearchRefinement res;
+
+    res = ((_LocalSearchRefinement) (super.clone()));
+    res.m_op = ((UnaryOperator<Object>) (res.m_op.clone()));
+    res.m_temp = null;
+    return res;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void beginRun(final ObjectiveFunction f) {
+    super.beginRun(f);
+    this.m_op.beginRun(f);
+    this.m_temp = new Individual<>();
+    this.m_steps = ((int) (Math.ceil(this.m_maxSteps.compute(f.n())) + 0.5d));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void endRun(final ObjectiveFunction f) {
+    this.m_temp = null;
+    try {
+      this.m_op.endRun(f);
+    } finally {
+      super.endRun(f);
+    }
+  }
+}
@@ -649,13 +649,20 @@ public class PACO extends TSPAlgorithm {
         bestDist = bestNode = (-1);
         pheroSum = 0d;
 
+        // Compute the distances from the last node to all nodes which
+        // are not yet assigned in one batch.
+        for (j = 0; j < nodesLeft; j++) {
+          dists[j] = nodes.getByIndex(j);
+        }
+        f.distances(lastNode, dists, 0, nodesLeft, dists);
+
         // Then: for each node which is not yet assigned...
         for (j = 0; j < nodesLeft; j++) {
           // Get that node.
           curNode = nodes.getByIndex(j);
 
           // Get the distance from the last node.
-          dist = f.distance(lastNode, curNode);
+          dist = dists[j];
 
           // Compute the pheromone/heuristic value.
           phero = (Math.pow(matrix.get(lastNode, curNode), alpha) * //
@@ -680,7 +687,6 @@ public class PACO extends TSPAlgorithm {
             // runtime.
             pheroSum += phero;
             table[j] = pheroSum;
-            dists[j] = dist;
           }
         }
 
@@ -833,8 +839,12 @@ public class PACO extends TSPAlgorithm {
   /**
    * This method can be overridden to create the initial population of ACO.
    * This may be useful if an heuristic initialization procedure is
-   * performed. The default implementation in class {@link PACO} does
-   * nothing.
+   * performed. The default implementation in class {@link PACO} only
+   * seeds the population with the incumbent of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.IncumbentBoard
+   * incumbent board}, if the objective function can
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#pullIncumbent()
+   * pull} a better solution from one.
    *
    * @param pop
    *          the population to fill
@@ -843,7 +853,16 @@ public class PACO extends TSPAlgorithm {
    */
   protected void createInitialPopulation(final Individual<int[]>[] pop,
       final ObjectiveFunction f) {
-    //
+    final Individual<int[]> ind;
+
+    if ((pop.length > 0) && f.pullIncumbent()) {
+      ind = pop[0];
+      if (ind.solution == null) {
+        ind.solution = new int[f.n()];
+      }
+      f.getCopyOfBest(ind.solution);
+      ind.tourLength = f.getCurrentLogPoint().getBestF();
+    }
   }
 
   /**
@@ -0,0 +1,370 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.localOpt;
+
+import java.io.PrintStream;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.config.Configurable;
+import org.logisticPlanning.utils.config.Configuration;
+
+/**
+ * <p>
+ * An implementation of the class
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.LocalOptimizer}
+ * which finds the optimal order of a sub-sequence of {@code k} nodes with
+ * the dynamic programming approach by Held and Karp instead of enumerating
+ * all {@code k!} permutations.
+ * </p>
+ * <p>
+ * The two nodes surrounding the sub-sequence remain fixed. For each set
+ * {@code S} of sub-sequence nodes (represented as bit mask) and each node
+ * {@code j} in {@code S}, we compute the length of the shortest path
+ * which starts at the node before the sub-sequence, visits all nodes in
+ * {@code S}, and ends in {@code j}. This takes {@code O(k^2*2^k)} steps
+ * and {@code O(k*2^k)} memory, which is allocated once at the beginning of
+ * a run. The optimizer therefore can handle sub-sequences that are
+ * much longer than those of the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.ExhaustivelyEnumeratingLocal6Optimizer
+ * generated exhaustive optimizers}.
+ * </p>
+ * <p>
+ * The {@code (k+2)*(k+1)} distances relevant for the sub-sequence are
+ * evaluated once per application. For symmetric instances, only half of
+ * them are evaluated.
+ * </p>
+ * <p>
+ * The sub-path length can be set via parameter
+ * {@link #PARAM_SUB_PATH_LENGTH}. Its default, {@code 7}, is the same as
+ * the sub-path length the local search algorithms using local optimizers
+ * had before this optimizer was introduced.
+ * </p>
+ */
+public final class DynamicProgrammingLocalOptimizer extends LocalOptimizer {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the parameter for the sub-path length: {@value} */
+  public static final String PARAM_SUB_PATH_LENGTH = "dpSubPathLength"; //$NON-NLS-1$
+
+  /** the default sub-path length: {@value} */
+  public static final int DEFAULT_SUB_PATH_LENGTH = 7;
+
+  /** the maximum supported sub-path length: {@value} */
+  public static final int MAX_SUB_PATH_LENGTH = 16;
+
+  /** the sub-path length */
+  private int m_length;
+
+  /** the name, computed lazily from the sub-path length */
+  private transient String m_name;
+
+  /** the nodes of the sub-sequence */
+  private transient int[] m_nodes;
+
+  /** the distances from the node before the sub-sequence */
+  private transient long[] m_fromStart;
+
+  /** the distances to the node after the sub-sequence */
+  private transient long[] m_toEnd;
+
+  /**
+   * the distances between the nodes of the sub-sequence: {@code dist(i,j)}
+   * is stored at index {@code i*k+j}
+   */
+  private transient long[] m_dist;
+
+  /**
+   * the dynamic programming table: the length of the shortest path over
+   * the set {@code S} ending in {@code j} is stored at index {@code S*k+j}
+   */
+  private transient long[] m_table;
+
+  /**
+   * Create the dynamic programming local optimizer
+   *
+   * @param length
+   *          the length of the sub-path to optimize, between {@code 2} and
+   *          {@link #MAX_SUB_PATH_LENGTH}
+   */
+  public DynamicProgrammingLocalOptimizer(final int length) {
+    super(length);
+    this.setSubPathLength(length);
+  }
+
+  /**
+   * Create the dynamic programming local optimizer for the
+   * {@link #DEFAULT_SUB_PATH_LENGTH default sub-path length}
+   */
+  public DynamicProgrammingLocalOptimizer() {
+    this(DynamicProgrammingLocalOptimizer.DEFAULT_SUB_PATH_LENGTH);
+  }
+
+  /** allocate the tables */
+  private final void __allocate() {
+    final int k;
+
+    k = this.m_length;
+    this.m_nodes = new int[k];
+    this.m_fromStart = new long[k];
+    this.m_toEnd = new long[k];
+    this.m_dist = new long[k * k];
+    this.m_table = new long[(1 << k) * k];
+  }
+
+  /**
+   * Make the sub-sequence of length {@link #getSubPathLength()} inside
+   * {@code path}, starting right after index {@code beforeStart}, optimal.
+   * If the path is too short, a shorter sub-sequence is used.
+   *
+   * @param path
+   *          the candidate solution in path representation
+   * @param beforeStart
+   *          the starting index
+   * @param dist
+   *          the distance computer
+   * @return the amount the length of the path has changed (negative if an
+   *         improvement was found), or {@code 0L} if the path was not
+   *         modified
+   */
+  @Override
+  public final long apply(final int[] path, final int beforeStart,
+      final ObjectiveFunction dist) {
+    final int length, k, full, start, end;
+    final boolean symmetric;
+    final int[] nodes;
+    final long[] fromStart, toEnd, dm, table;
+    long original, best, cur;
+    int i, j, mask, prev, bit, last, index;
+
+    length = path.length;
+    k = Math.min(this.m_length, (length - 1));
+    if (k < 2) {
+      return 0L;
+    }
+
+    if (this.m_table == null) {
+      this.__allocate();
+    }
+    nodes = this.m_nodes;
+    fromStart = this.m_fromStart;
+    toEnd = this.m_toEnd;
+    dm = this.m_dist;
+    table = this.m_table;
+    symmetric = dist.symmetric();
+
+    // cache the nodes of the sub-sequence and its surrounding nodes
+    index = beforeStart;
+    start = path[index];
+    for (i = 0; i < k; i++) {
+      if ((++index) >= length) {
+        index = 0;
+      }
+      nodes[i] = path[index];
+    }
+    if ((++index) >= length) {
+      index = 0;
+    }
+    end = path[index];
+
+    // cache all relevant distances
+    for (i = 0; i < k; i++) {
+      fromStart[i] = dist.distance(start, nodes[i]);
+      toEnd[i] = dist.distance(nodes[i], end);
+      dm[(i * k) + i] = 0L;
+      for (j = (i + 1); j < k; j++) {
+        dm[(i * k) + j] = cur = dist.distance(nodes[i], nodes[j]);
+        dm[(j * k) + i] = (symmetric ? cur : //
+            dist.distance(nodes[j], nodes[i]));
+      }
+    }
+
+    // the length of the original sub-path
+    original = (fromStart[0] + toEnd[k - 1]);
+    for (i = 1; i < k; i++) {
+      original += dm[((i - 1) * k) + i];
+    }
+
+    // Held-Karp: for each set of visited nodes and each end node, compute
+    // the shortest path from the start over these nodes. The sets are
+    // visited in increasing numerical order, so all subsets of a set are
+    // processed before the set itself.
+    full = ((1 << k) - 1);
+    for (mask = 1; mask <= full; mask++) {
+      for (j = 0; j < k; j++) {
+        bit = (1 << j);
+        if ((mask & bit) == 0) {
+          continue;
+        }
+
+        prev = (mask ^ bit);
+        if (prev == 0) {
+          best = fromStart[j];
+        } else {
+          best = Long.MAX_VALUE;
+          for (i = 0; i < k; i++) {
+            if ((prev & (1 << i)) != 0) {
+              cur = (table[(prev * k) + i] + dm[(i * k) + j]);
+              if (cur < best) {
+                best = cur;
+              }
+            }
+          }
+        }
+        table[(mask * k) + j] = best;
+      }
+    }
+
+    // find the best end node of the sub-sequence
+    best = original;
+    last = (-1);
+    for (j = 0; j < k; j++) {
+      cur = (table[(full * k) + j] + toEnd[j]);
+      if (cur < best) {
+        best = cur;
+        last = j;
+      }
+    }
+
+    if (last < 0) {
+      return 0L;
+    }
+
+    // trace back the optimal sub-sequence and write it into the path
+    index = (beforeStart + k);
+    if (index >= length) {
+      index -= length;
+    }
+    mask = full;
+    j = last;
+    for (;;) {
+      path[index] = nodes[j];
+      if ((--index) < 0) {
+        index = (length - 1);
+      }
+
+      cur = table[(mask * k) + j];
+      mask ^= (1 << j);
+      if (mask == 0) {
+        break;
+      }
+      for (i = 0; i < k; i++) {
+        if (((mask & (1 << i)) != 0) && //
+            ((table[(mask * k) + i] + dm[(i * k) + j]) == cur)) {
+          break;
+        }
+      }
+      j = i;
+    }
+
+    return (best - original);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void beginRun(final ObjectiveFunction f) {
+    super.beginRun(f);
+    this.__allocate();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void endRun(final ObjectiveFunction f) {
+    this.m_nodes = null;
+    this.m_fromStart = null;
+    this.m_toEnd = null;
+    this.m_dist = null;
+    this.m_table = null;
+    super.endRun(f);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final DynamicProgrammingLocalOptimizer clone() {
+    final DynamicProgrammingLocalOptimizer res;
+
+    res = ((DynamicProgrammingLocalOptimizer) (super.clone()));
+    res.m_nodes = null;
+    res.m_fromStart = null;
+    res.m_toEnd = null;
+    res.m_dist = null;
+    res.m_table = null;
+    return res;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getSubPathLength() {
+    return this.m_length;
+  }
+
+  /**
+   * Set the length of the sub-path to optimize
+   *
+   * @param length
+   *          the length of the sub-path to optimize, between {@code 2} and
+   *          {@link #MAX_SUB_PATH_LENGTH}
+   */
+  public final void setSubPathLength(final int length) {
+    if ((length < 2)
+        || (length > DynamicProgrammingLocalOptimizer.MAX_SUB_PATH_LENGTH)) {
+      throw new IllegalArgumentException(//
+          "Sub-path length must be between 2 and " + //$NON-NLS-1$
+              DynamicProgrammingLocalOptimizer.MAX_SUB_PATH_LENGTH
+              + ", but is " + length); //$NON-NLS-1$
+    }
+    if (length != this.m_length) {
+      this.m_length = length;
+      this.m_name = null;
+      this.m_table = null;
+    }
+  }
+
+  /**
+   * Get the name of this optimizer, which reflects the current
+   * {@link #getSubPathLength() sub-path length}, e.g., after it has been
+   * changed via {@link #PARAM_SUB_PATH_LENGTH}.
+   *
+   * @return the name of this optimizer
+   */
+  @Override
+  public final String name() {
+    String name;
+
+    name = this.m_name;
+    if (name == null) {
+      this.m_name = name = ("localOpt" + this.m_length); //$NON-NLS-1$
+    }
+    return name;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printConfiguration(final PrintStream ps) {
+    super.printConfiguration(ps);
+
+    Configurable.printKey(
+        DynamicProgrammingLocalOptimizer.PARAM_SUB_PATH_LENGTH, ps);
+    ps.println(this.m_length);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(
+        DynamicProgrammingLocalOptimizer.PARAM_SUB_PATH_LENGTH, ps);
+    ps.println("the number of nodes whose order is optimized by dynamic programming"); //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void configure(final Configuration config) {
+    super.configure(config);
+
+    this.setSubPathLength(config.getInt(
+        DynamicProgrammingLocalOptimizer.PARAM_SUB_PATH_LENGTH, 2,
+        DynamicProgrammingLocalOptimizer.MAX_SUB_PATH_LENGTH,
+        this.m_length));
+  }
+}
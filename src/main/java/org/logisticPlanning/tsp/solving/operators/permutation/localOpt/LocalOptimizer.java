@@ -12,12 +12,16 @@ public abstract class LocalOptimizer extends TSPModule {
   private static final long serialVersionUID = 1L;
 
   /**
-   * The local optimization operator
+   * The local optimization operator. This constructor is {@code protected}
+   * so that optimizers which are
+   * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator
+   * generated at runtime} and loaded by a different class loader can
+   * access it.
    *
    * @param length
    *          the length the operator can process
    */
-  LocalOptimizer(final int length) {
+  protected LocalOptimizer(final int length) {
     super("localOpt" + length); //$NON-NLS-1$
   }
 
@@ -0,0 +1,315 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.localOpt;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+
+/**
+ * <p>
+ * The runtime counterpart of the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.CodeGenerator}
+ * : Instead of writing the source code of exhaustively enumerating local
+ * optimizers to files which then need to be checked in, this class
+ * generates the code for a given sub-path length and kind of distances on
+ * demand, compiles it in memory with the
+ * {@link javax.tools.ToolProvider#getSystemJavaCompiler() system Java
+ * compiler}, and loads it with a dedicated class loader. Each generated
+ * class is cached, so the code for a given configuration is generated and
+ * compiled at most once.
+ * </p>
+ * <p>
+ * The generated code is compact: Instead of unrolling the enumeration of
+ * all permutations, it consists of one loop per position of the sub-path
+ * with constant bounds, see
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt._CompactSourceGenerator}
+ * . Separate classes are generated for symmetric and asymmetric distances.
+ * The generated optimizers always access distances via
+ * {@link ObjectiveFunction#distance(int, int)}, since every distance
+ * evaluation must be counted, so there is no specialization for the
+ * different ways in which distances are stored.
+ * </p>
+ * <p>
+ * For sub-path lengths outside of {@link #MIN_GENERATED_LENGTH} and
+ * {@link #MAX_GENERATED_LENGTH}, or if no Java compiler is available
+ * (e.g., when running in a plain JRE), a
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer}
+ * is returned instead. The reasons why code could not be generated are
+ * logged to the logger named after this class.
+ * </p>
+ */
+public final class RuntimeCodeGenerator {
+
+  /**
+   * the maximum sub-path length for which code is generated: {@value} ;
+   * for longer sub-paths, enumerating all {@code k!} permutations becomes
+   * slower than dynamic programming
+   */
+  public static final int MAX_GENERATED_LENGTH = 7;
+
+  /** the minimum sub-path length for which code is generated: {@value} */
+  public static final int MIN_GENERATED_LENGTH = 3;
+
+  /** the simple class name prefix */
+  private static final String CLASS_NAME_PREFIX = "RuntimeGeneratedLocal"; //$NON-NLS-1$
+
+  /** the simple class name infix for symmetric distances */
+  private static final String CLASS_NAME_SYMMETRIC = "Symmetric"; //$NON-NLS-1$
+
+  /** the simple class name infix for asymmetric distances */
+  private static final String CLASS_NAME_ASYMMETRIC = "Asymmetric"; //$NON-NLS-1$
+
+  /** the simple class name suffix */
+  private static final String CLASS_NAME_SUFFIX = "Optimizer"; //$NON-NLS-1$
+
+  /** the logger */
+  private static final Logger LOGGER = Logger
+      .getLogger(RuntimeCodeGenerator.class.getName());
+
+  /**
+   * the generated classes, indexed by {@code 2*length} plus {@code 1} for
+   * symmetric distances; a {@code null} value means that the generation
+   * has failed
+   */
+  private static final HashMap<Integer, Class<? extends LocalOptimizer>> CLASSES = new HashMap<>();
+
+  /** forbidden */
+  private RuntimeCodeGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Create a local optimizer for the given sub-path length. If possible,
+   * an instance of a generated exhaustively enumerating optimizer is
+   * returned, otherwise a
+   * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer}
+   * .
+   *
+   * @param length
+   *          the sub-path length
+   * @param symmetric
+   *          will the optimizer be applied to a symmetric problem?
+   * @return the local optimizer
+   */
+  public static final LocalOptimizer createOptimizer(final int length,
+      final boolean symmetric) {
+    final Class<? extends LocalOptimizer> clazz;
+
+    if ((length >= RuntimeCodeGenerator.MIN_GENERATED_LENGTH)
+        && (length <= RuntimeCodeGenerator.MAX_GENERATED_LENGTH)) {
+      clazz = RuntimeCodeGenerator.getOptimizerClass(length, symmetric);
+      if (clazz != null) {
+        try {
+          return clazz.newInstance();
+        } catch (final InstantiationException | IllegalAccessException ex) {
+          RuntimeCodeGenerator.LOGGER.log(Level.WARNING,
+              "Cannot instantiate generated local optimizer " + //$NON-NLS-1$
+                  clazz.getName() + ", using dynamic programming.", //$NON-NLS-1$
+              ex);
+        }
+      }
+    }
+
+    return new DynamicProgrammingLocalOptimizer(length);
+  }
+
+  /**
+   * Get the generated exhaustively enumerating optimizer class for the
+   * given sub-path length and kind of distances. The class is generated
+   * and compiled when this method is called for the first time with the
+   * given configuration.
+   *
+   * @param length
+   *          the sub-path length, between {@link #MIN_GENERATED_LENGTH}
+   *          and {@link #MAX_GENERATED_LENGTH}
+   * @param symmetric
+   *          should the class be specialized for symmetric distances?
+   * @return the class, or {@code null} if it could not be generated
+   */
+  public static final Class<? extends LocalOptimizer> getOptimizerClass(
+      final int length, final boolean symmetric) {
+    final Integer key;
+    Class<? extends LocalOptimizer> clazz;
+
+    if ((length < RuntimeCodeGenerator.MIN_GENERATED_LENGTH)
+        || (length > RuntimeCodeGenerator.MAX_GENERATED_LENGTH)) {
+      throw new IllegalArgumentException(//
+          "Code can only be generated for sub-path lengths between " + //$NON-NLS-1$
+              RuntimeCodeGenerator.MIN_GENERATED_LENGTH + " and " + //$NON-NLS-1$
+              RuntimeCodeGenerator.MAX_GENERATED_LENGTH + ", but " + //$NON-NLS-1$
+              length + " was specified."); //$NON-NLS-1$
+    }
+
+    key = Integer.valueOf((length << 1) | (symmetric ? 1 : 0));
+    synchronized (RuntimeCodeGenerator.CLASSES) {
+      if (RuntimeCodeGenerator.CLASSES.containsKey(key)) {
+        return RuntimeCodeGenerator.CLASSES.get(key);
+      }
+
+      try {
+        clazz = RuntimeCodeGenerator.__compile(length, symmetric);
+      } catch (final IOException | ClassNotFoundException
+          | ClassCastException | IllegalArgumentException
+          | IllegalStateException ex) {
+        RuntimeCodeGenerator.LOGGER.log(Level.WARNING,
+            "Cannot generate local optimizer for sub-path length " + //$NON-NLS-1$
+                length + ", using dynamic programming.", ex); //$NON-NLS-1$
+        clazz = null;
+      }
+      RuntimeCodeGenerator.CLASSES.put(key, clazz);
+      return clazz;
+    }
+  }
+
+  /**
+   * Generate and compile the code for a given sub-path length
+   *
+   * @param length
+   *          the sub-path length
+   * @param symmetric
+   *          should the code be specialized for symmetric distances?
+   * @return the class, or {@code null} if it could not be compiled
+   * @throws IOException
+   *           if the in-memory file manager cannot be closed
+   * @throws ClassNotFoundException
+   *           if the compiled class cannot be loaded
+   */
+  private static final Class<? extends LocalOptimizer> __compile(
+      final int length, final boolean symmetric) throws IOException,
+      ClassNotFoundException {
+    final JavaCompiler compiler;
+    final String packageName, simpleName, className;
+    final StringWriter out;
+    final DiagnosticCollector<JavaFileObject> diagnostics;
+    final _GeneratedClassLoader loader;
+    final Boolean result;
+    final StringBuilder sb;
+
+    compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      if (RuntimeCodeGenerator.LOGGER.isLoggable(Level.WARNING)) {
+        RuntimeCodeGenerator.LOGGER.warning(//
+            "No Java compiler available, local optimizers cannot be generated."); //$NON-NLS-1$
+      }
+      return null;
+    }
+
+    packageName = LocalOptimizer.class.getPackage().getName();
+    simpleName = (RuntimeCodeGenerator.CLASS_NAME_PREFIX + length + //
+        (symmetric ? RuntimeCodeGenerator.CLASS_NAME_SYMMETRIC
+            : RuntimeCodeGenerator.CLASS_NAME_ASYMMETRIC) + //
+    RuntimeCodeGenerator.CLASS_NAME_SUFFIX);
+    className = (packageName + '.' + simpleName);
+
+    out = new StringWriter();
+    diagnostics = new DiagnosticCollector<>();
+    loader = new _GeneratedClassLoader(
+        LocalOptimizer.class.getClassLoader());
+    try (final JavaFileManager fm = new _InMemoryFileManager(
+        compiler.getStandardFileManager(diagnostics, null, null), loader)) {
+      result = compiler.getTask(
+          out,
+          fm,
+          diagnostics,
+          Arrays.asList("-classpath", //$NON-NLS-1$
+              RuntimeCodeGenerator.__classPath(), "-nowarn", //$NON-NLS-1$
+              "-g:none"), //$NON-NLS-1$
+          null,
+          Collections.singletonList(new _SourceFile(className,
+              _CompactSourceGenerator._generate(length, symmetric,
+                  packageName, simpleName)))).call();
+    }
+
+    if ((result == null) || (!(result.booleanValue()))) {
+      if (RuntimeCodeGenerator.LOGGER.isLoggable(Level.WARNING)) {
+        sb = new StringBuilder();
+        sb.append("Compiling "); //$NON-NLS-1$
+        sb.append(className);
+        sb.append(" failed:"); //$NON-NLS-1$
+        for (final Diagnostic<? extends JavaFileObject> d : diagnostics
+            .getDiagnostics()) {
+          sb.append(System.lineSeparator());
+          sb.append(d.toString());
+        }
+        if (out.getBuffer().length() > 0) {
+          sb.append(System.lineSeparator());
+          sb.append(out.toString());
+        }
+        RuntimeCodeGenerator.LOGGER.warning(sb.toString());
+      }
+      return null;
+    }
+    return loader.loadClass(className).asSubclass(LocalOptimizer.class);
+  }
+
+  /**
+   * Get the class path for compiling the generated code: the system class
+   * path plus the location from which the local optimizer and the
+   * objective function classes were loaded.
+   *
+   * @return the class path
+   */
+  private static final String __classPath() {
+    final StringBuilder sb;
+    String path;
+
+    sb = new StringBuilder();
+    path = System.getProperty("java.class.path"); //$NON-NLS-1$
+    if (path != null) {
+      sb.append(path);
+    }
+    for (final Class<?> clazz : new Class<?>[] { LocalOptimizer.class,
+        ObjectiveFunction.class }) {
+      path = RuntimeCodeGenerator.__location(clazz);
+      if (path != null) {
+        if (sb.length() > 0) {
+          sb.append(File.pathSeparatorChar);
+        }
+        sb.append(path);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Get the location from which a class was loaded
+   *
+   * @param clazz
+   *          the class
+   * @return the location, or {@code null} if it is unknown
+   */
+  private static final String __location(final Class<?> clazz) {
+    final CodeSource source;
+    final URL url;
+
+    try {
+      source = clazz.getProtectionDomain().getCodeSource();
+      if (source != null) {
+        url = source.getLocation();
+        if (url != null) {
+          return new File(url.toURI()).getPath();
+        }
+      }
+    } catch (final SecurityException | URISyntaxException
+        | IllegalArgumentException ex) {
+      // ignore, the location is unknown
+    }
+    return null;
+  }
+}
@@ -0,0 +1,45 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.localOpt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * An in-memory class file produced by the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator}
+ * .
+ */
+final class _ClassFile extends SimpleJavaFileObject {
+
+  /** the byte code */
+  private final ByteArrayOutputStream m_bytes;
+
+  /**
+   * create
+   *
+   * @param className
+   *          the fully-qualified class name
+   */
+  _ClassFile(final String className) {
+    super(URI.create("bytes:///" + //$NON-NLS-1$
+        className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+    this.m_bytes = new ByteArrayOutputStream();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final OutputStream openOutputStream() {
+    return this.m_bytes;
+  }
+
+  /**
+   * Get the byte code
+   *
+   * @return the byte code
+   */
+  final byte[] getBytes() {
+    return this.m_bytes.toByteArray();
+  }
+}
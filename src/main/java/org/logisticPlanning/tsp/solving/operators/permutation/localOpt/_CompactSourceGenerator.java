@@ -0,0 +1,306 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.localOpt;
+
+/**
+ * <p>
+ * The source code generator used by the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator}
+ * . Different from the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.CodeGenerator},
+ * which unrolls the enumeration of all permutations into straight-line
+ * code and thus produces classes of several ten thousand lines, this
+ * generator emits one nested loop per position of the sub-path. The size
+ * of the generated code therefore grows only linearly with the sub-path
+ * length {@code k}, and the {@code apply} method remains small enough to
+ * be compiled and inlined by the JIT.
+ * </p>
+ * <p>
+ * The generated code is specialized for the sub-path length, which makes
+ * all loop bounds and array strides constants, and for the kind of
+ * distances: For symmetric distances, only half of the
+ * {@code (k+2)*(k+1)} distances between the nodes of the sub-path and its
+ * two fixed neighbors are evaluated, for asymmetric distances, all of them
+ * are evaluated. The permutations are enumerated depth-first while the
+ * length of the current prefix is maintained incrementally. Since
+ * distances are never negative, every prefix which is not shorter than the
+ * best complete sub-path found so far is pruned.
+ * </p>
+ */
+final class _CompactSourceGenerator {
+
+  /** the line separator used in the generated code */
+  private static final char NEWLINE = '\n';
+
+  /** forbidden */
+  private _CompactSourceGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Append an indented line
+   *
+   * @param sb
+   *          the destination
+   * @param indent
+   *          the indentation depth
+   * @param line
+   *          the line
+   */
+  private static final void __line(final StringBuilder sb,
+      final int indent, final String line) {
+    int i;
+
+    for (i = indent; (--i) >= 0;) {
+      sb.append("  "); //$NON-NLS-1$
+    }
+    sb.append(line);
+    sb.append(_CompactSourceGenerator.NEWLINE);
+  }
+
+  /**
+   * Append a comma-separated list of numbered variables
+   *
+   * @param sb
+   *          the destination
+   * @param prefix
+   *          the variable name prefix
+   * @param from
+   *          the first number
+   * @param to
+   *          the last number (inclusive)
+   * @param separator
+   *          the separator
+   * @return the destination
+   */
+  private static final StringBuilder __vars(final StringBuilder sb,
+      final String prefix, final int from, final int to,
+      final String separator) {
+    int i;
+
+    for (i = from; i <= to; i++) {
+      if (i > from) {
+        sb.append(separator);
+      }
+      sb.append(prefix);
+      sb.append(i);
+    }
+    return sb;
+  }
+
+  /**
+   * Generate the source code of a local optimizer
+   *
+   * @param k
+   *          the sub-path length, at least {@code 2}
+   * @param symmetric
+   *          should the code be specialized for symmetric distances?
+   * @param packageName
+   *          the package name
+   * @param simpleName
+   *          the simple class name
+   * @return the source code
+   */
+  static final String _generate(final int k, final boolean symmetric,
+      final String packageName, final String simpleName) {
+    final StringBuilder sb, t;
+    final int w;
+    int depth, i;
+
+    w = (k + 2);
+    sb = new StringBuilder(4096);
+    t = new StringBuilder();
+
+    _CompactSourceGenerator.__line(sb, 0, "package " + packageName + ';'); //$NON-NLS-1$
+    sb.append(_CompactSourceGenerator.NEWLINE);
+    _CompactSourceGenerator.__line(sb, 0,
+        "import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;"); //$NON-NLS-1$
+    sb.append(_CompactSourceGenerator.NEWLINE);
+    _CompactSourceGenerator.__line(sb, 0, "/**"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 0,
+        " * An exhaustively enumerating local optimizer for sub-paths of length " //$NON-NLS-1$
+            + k + " and " + //$NON-NLS-1$
+            (symmetric ? "symmetric" : "asymmetric") + //$NON-NLS-1$//$NON-NLS-2$
+            " distances, generated at runtime."); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 0, " */"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 0, "public final class " + //$NON-NLS-1$
+        simpleName + " extends LocalOptimizer {"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "/** the serial version uid */"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1,
+        "private static final long serialVersionUID = 1L;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1,
+        "/** the node before the sub-path, its nodes, and the node after it */"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "private transient int[] m_nodes;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1,
+        "/** the distances: dist(i,j) is stored at index i*" + w + "+j */"); //$NON-NLS-1$//$NON-NLS-2$
+    _CompactSourceGenerator.__line(sb, 1, "private transient long[] m_dist;"); //$NON-NLS-1$
+
+    // constructor
+    _CompactSourceGenerator.__line(sb, 1, "/** create */"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "public " + simpleName + "() {"); //$NON-NLS-1$//$NON-NLS-2$
+    _CompactSourceGenerator.__line(sb, 2, "super(" + k + ");"); //$NON-NLS-1$//$NON-NLS-2$
+    _CompactSourceGenerator.__line(sb, 1, "}"); //$NON-NLS-1$
+
+    // sub-path length
+    _CompactSourceGenerator.__line(sb, 1, "/** {@inheritDoc} */"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "@Override"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1,
+        "public final int getSubPathLength() {"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "return " + k + ';'); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "}"); //$NON-NLS-1$
+
+    // clone: the working arrays must not be shared
+    _CompactSourceGenerator.__line(sb, 1, "/** {@inheritDoc} */"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "@Override"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "public final " + simpleName //$NON-NLS-1$
+        + " clone() {"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "final " + simpleName + " res;"); //$NON-NLS-1$//$NON-NLS-2$
+    _CompactSourceGenerator.__line(sb, 2, "res = ((" + simpleName //$NON-NLS-1$
+        + ") (super.clone()));"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "res.m_nodes = null;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "res.m_dist = null;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "return res;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "}"); //$NON-NLS-1$
+
+    // the optimizer
+    _CompactSourceGenerator.__line(sb, 1, "/** {@inheritDoc} */"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "@Override"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1,
+        "public final long apply(final int[] path, final int beforeStart, final ObjectiveFunction dist) {"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "final int length;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "int[] n;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "long[] d;"); //$NON-NLS-1$
+    t.setLength(0);
+    t.append("long original, best, "); //$NON-NLS-1$
+    _CompactSourceGenerator.__vars(t, "p", 1, k, ", ").append(';'); //$NON-NLS-1$//$NON-NLS-2$
+    _CompactSourceGenerator.__line(sb, 2, t.toString());
+    t.setLength(0);
+    t.append("int i, j, "); //$NON-NLS-1$
+    _CompactSourceGenerator.__vars(t, "m", 1, (k - 1), ", ").append(", "); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+    _CompactSourceGenerator.__vars(t, "c", 1, k, ", ").append(", "); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+    _CompactSourceGenerator.__vars(t, "b", 1, k, ", ").append(';'); //$NON-NLS-1$//$NON-NLS-2$
+    _CompactSourceGenerator.__line(sb, 2, t.toString());
+
+    _CompactSourceGenerator.__line(sb, 2, "length = path.length;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "if (length <= " + k //$NON-NLS-1$
+        + ") { return 0L; }"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "n = this.m_nodes;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "if (n == null) {"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 3, "this.m_nodes = n = new int[" //$NON-NLS-1$
+        + w + "];"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 3, "this.m_dist = new long[" //$NON-NLS-1$
+        + (w * w) + "];"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "}"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "d = this.m_dist;"); //$NON-NLS-1$
+
+    // cache the nodes
+    _CompactSourceGenerator.__line(sb, 2, "i = beforeStart;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "for (j = 0; j < " + w //$NON-NLS-1$
+        + "; j++) {"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 3, "n[j] = path[i];"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 3, "if ((++i) >= length) { i = 0; }"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "}"); //$NON-NLS-1$
+
+    // cache the distances, the one from the node before the sub-path to
+    // the node after it is never needed
+    _CompactSourceGenerator.__line(sb, 2, "for (i = 0; i <= " + k //$NON-NLS-1$
+        + "; i++) {"); //$NON-NLS-1$
+    if (symmetric) {
+      _CompactSourceGenerator.__line(sb, 3, "for (j = (i + 1); j < " + w //$NON-NLS-1$
+          + "; j++) {"); //$NON-NLS-1$
+      _CompactSourceGenerator.__line(sb, 4, "if ((i > 0) || (j < " //$NON-NLS-1$
+          + (w - 1) + ")) {"); //$NON-NLS-1$
+      _CompactSourceGenerator.__line(sb, 5, "d[(i * " + w + ") + j] = d[(j * " //$NON-NLS-1$//$NON-NLS-2$
+          + w + ") + i] = dist.distance(n[i], n[j]);"); //$NON-NLS-1$
+    } else {
+      _CompactSourceGenerator.__line(sb, 3, "for (j = 1; j < " + w //$NON-NLS-1$
+          + "; j++) {"); //$NON-NLS-1$
+      _CompactSourceGenerator.__line(sb, 4, "if ((i != j) && ((i > 0) || (j < " //$NON-NLS-1$
+          + (w - 1) + "))) {"); //$NON-NLS-1$
+      _CompactSourceGenerator.__line(sb, 5, "d[(i * " + w //$NON-NLS-1$
+          + ") + j] = dist.distance(n[i], n[j]);"); //$NON-NLS-1$
+    }
+    _CompactSourceGenerator.__line(sb, 4, "}"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 3, "}"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "}"); //$NON-NLS-1$
+
+    // the length of the original sub-path
+    _CompactSourceGenerator.__line(sb, 2, "original = 0L;"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "for (i = 0; i <= " + k //$NON-NLS-1$
+        + "; i++) {"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 3, "original += d[(i * " + w //$NON-NLS-1$
+        + ") + i + 1];"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "}"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "best = original;"); //$NON-NLS-1$
+    t.setLength(0);
+    _CompactSourceGenerator.__vars(t, "b", 1, k, " = ").append(" = 0;"); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+    _CompactSourceGenerator.__line(sb, 2, t.toString());
+
+    // the nested loops, one per position of the sub-path
+    for (depth = 1; depth <= k; depth++) {
+      _CompactSourceGenerator.__line(sb, depth + 1, "for (c" + depth //$NON-NLS-1$
+          + " = 1; c" + depth + " <= " + k + "; c" + depth + "++) {"); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$
+      if (depth > 1) {
+        _CompactSourceGenerator.__line(sb, depth + 2, "if ((m" + (depth - 1) //$NON-NLS-1$
+            + " & (1 << c" + depth + ")) != 0) { continue; }"); //$NON-NLS-1$//$NON-NLS-2$
+      }
+      t.setLength(0);
+      t.append('p').append(depth).append(" = "); //$NON-NLS-1$
+      if (depth <= 1) {
+        t.append("d[c1]"); //$NON-NLS-1$
+      } else {
+        t.append("(p").append(depth - 1).append(" + d[(c") //$NON-NLS-1$//$NON-NLS-2$
+            .append(depth - 1).append(" * ").append(w).append(") + c") //$NON-NLS-1$//$NON-NLS-2$
+            .append(depth).append(']');
+        if (depth >= k) {
+          t.append(" + d[(c").append(depth).append(" * ").append(w) //$NON-NLS-1$//$NON-NLS-2$
+              .append(") + ").append(w - 1).append(']'); //$NON-NLS-1$
+        }
+        t.append(')');
+      }
+      t.append(';');
+      _CompactSourceGenerator.__line(sb, depth + 2, t.toString());
+
+      if (depth < k) {
+        _CompactSourceGenerator.__line(sb, depth + 2, "if (p" + depth //$NON-NLS-1$
+            + " >= best) { continue; }"); //$NON-NLS-1$
+        if (depth <= 1) {
+          _CompactSourceGenerator.__line(sb, depth + 2, "m1 = (1 << c1);"); //$NON-NLS-1$
+        } else {
+          _CompactSourceGenerator.__line(sb, depth + 2, "m" + depth + " = (m" //$NON-NLS-1$//$NON-NLS-2$
+              + (depth - 1) + " | (1 << c" + depth + "));"); //$NON-NLS-1$//$NON-NLS-2$
+        }
+      } else {
+        _CompactSourceGenerator.__line(sb, depth + 2, "if (p" + depth //$NON-NLS-1$
+            + " < best) {"); //$NON-NLS-1$
+        _CompactSourceGenerator.__line(sb, depth + 3, "best = p" + depth //$NON-NLS-1$
+            + ';');
+        t.setLength(0);
+        for (i = 1; i <= k; i++) {
+          if (i > 1) {
+            t.append(' ');
+          }
+          t.append('b').append(i).append(" = c").append(i).append(';'); //$NON-NLS-1$
+        }
+        _CompactSourceGenerator.__line(sb, depth + 3, t.toString());
+        _CompactSourceGenerator.__line(sb, depth + 2, "}"); //$NON-NLS-1$
+      }
+    }
+    for (depth = k; depth >= 1; depth--) {
+      _CompactSourceGenerator.__line(sb, depth + 1, "}"); //$NON-NLS-1$
+    }
+
+    // write back the best sub-path
+    _CompactSourceGenerator.__line(sb, 2,
+        "if (best >= original) { return 0L; }"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 2, "i = beforeStart;"); //$NON-NLS-1$
+    for (depth = 1; depth <= k; depth++) {
+      _CompactSourceGenerator.__line(sb, 2, "if ((++i) >= length) { i = 0; }"); //$NON-NLS-1$
+      _CompactSourceGenerator.__line(sb, 2, "path[i] = n[b" + depth //$NON-NLS-1$
+          + "];"); //$NON-NLS-1$
+    }
+    _CompactSourceGenerator.__line(sb, 2, "return (best - original);"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 1, "}"); //$NON-NLS-1$
+    _CompactSourceGenerator.__line(sb, 0, "}"); //$NON-NLS-1$
+
+    return sb.toString();
+  }
+}
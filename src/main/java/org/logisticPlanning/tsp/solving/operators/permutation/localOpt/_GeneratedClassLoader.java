@@ -0,0 +1,57 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.localOpt;
+
+import java.util.HashMap;
+
+/**
+ * The class loader for local optimizers generated by the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator}
+ * . It defines classes from the class files the compiler has emitted into
+ * an {@link _InMemoryFileManager}.
+ */
+final class _GeneratedClassLoader extends ClassLoader {
+
+  /** the compiled classes which have not yet been defined */
+  private final HashMap<String, _ClassFile> m_classes;
+
+  /**
+   * create
+   *
+   * @param parent
+   *          the parent class loader
+   */
+  _GeneratedClassLoader(final ClassLoader parent) {
+    super(parent);
+    this.m_classes = new HashMap<>();
+  }
+
+  /**
+   * Store a class file emitted by the compiler
+   *
+   * @param className
+   *          the fully-qualified class name
+   * @param file
+   *          the class file
+   */
+  final void _put(final String className, final _ClassFile file) {
+    synchronized (this.m_classes) {
+      this.m_classes.put(className, file);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final Class<?> findClass(final String name)
+      throws ClassNotFoundException {
+    final _ClassFile file;
+    final byte[] bytes;
+
+    synchronized (this.m_classes) {
+      file = this.m_classes.remove(name);
+    }
+    if (file == null) {
+      return super.findClass(name);
+    }
+    bytes = file.getBytes();
+    return this.defineClass(name, bytes, 0, bytes.length);
+  }
+}
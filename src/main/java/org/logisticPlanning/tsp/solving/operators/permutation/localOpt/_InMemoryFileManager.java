@@ -0,0 +1,51 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.localOpt;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+
+/**
+ * A file manager used by the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator}
+ * which hands all class files emitted by the compiler to a
+ * {@link _GeneratedClassLoader} instead of writing them to disk.
+ */
+final class _InMemoryFileManager extends
+    ForwardingJavaFileManager<JavaFileManager> {
+
+  /** the class loader */
+  private final _GeneratedClassLoader m_loader;
+
+  /**
+   * create
+   *
+   * @param fileManager
+   *          the file manager to forward all other requests to
+   * @param loader
+   *          the class loader receiving the class files
+   */
+  _InMemoryFileManager(final JavaFileManager fileManager,
+      final _GeneratedClassLoader loader) {
+    super(fileManager);
+    this.m_loader = loader;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final JavaFileObject getJavaFileForOutput(final Location location,
+      final String className, final Kind kind, final FileObject sibling) {
+    final _ClassFile file;
+
+    file = new _ClassFile(className);
+    this.m_loader._put(className, file);
+    return file;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ClassLoader getClassLoader(final Location location) {
+    return this.m_loader;
+  }
+}
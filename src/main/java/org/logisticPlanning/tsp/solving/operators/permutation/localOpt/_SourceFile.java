@@ -0,0 +1,38 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.localOpt;
+
+import java.net.URI;
+
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * An in-memory Java source file to be compiled by the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.localOpt.RuntimeCodeGenerator}
+ * .
+ */
+final class _SourceFile extends SimpleJavaFileObject {
+
+  /** the source code */
+  private final String m_code;
+
+  /**
+   * create
+   *
+   * @param className
+   *          the fully-qualified class name
+   * @param code
+   *          the source code
+   */
+  _SourceFile(final String className, final String code) {
+    super(URI.create("string:///" + //$NON-NLS-1$
+        className.replace('.', '/') + Kind.SOURCE.extension),
+        Kind.SOURCE);
+    this.m_code = code;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final CharSequence getCharContent(
+      final boolean ignoreEncodingErrors) {
+    return this.m_code;
+  }
+}
@@ -0,0 +1,650 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.recombination;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.operators.BinaryOperator;
+import org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet;
+import org.logisticPlanning.utils.config.Configurable;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * <p>
+ * The edge assembly crossover (EAX)&nbsp;[<a href="#cite_NK1997EAC"
+ * style="font-weight:bold">1</a>, <a href="#cite_NK2013APGAUEAX"
+ * style="font-weight:bold">2</a>] in its single-AB-cycle form. The
+ * edges of the two parents {@code A} (the first parent) and {@code B}
+ * (the second parent) which are not common to both are decomposed into
+ * AB-cycles, i.e., cycles whose edges alternately belong to {@code A}
+ * and {@code B}. One AB-cycle is chosen at random and applied to
+ * {@code A}: its {@code A}-edges are removed and its {@code B}-edges are
+ * added. This yields a set of sub-tours, which are then merged greedily:
+ * The smallest sub-tour is connected to another one by the cheapest
+ * 2-opt-like exchange of one edge of each sub-tour, where only the
+ * {@link #PARAM_CANDIDATES nearest neighbors} of the nodes in the
+ * sub-tour are considered as partners.
+ * </p>
+ * <p>
+ * The offspring is represented as adjacency list during the whole
+ * process. For symmetric instances, its length is obtained from the
+ * length of {@code A} by adding up the changes caused by the AB-cycle and
+ * the sub-tour merges, so the offspring is never evaluated completely.
+ * For asymmetric instances, the edges are treated as undirected during
+ * the crossover and the offspring is evaluated completely. If the parents
+ * have no AB-cycle, the offspring is a copy of {@code A} and no function
+ * evaluation is registered. All buffers are allocated once in
+ * {@link #beginRun(ObjectiveFunction)}.
+ * </p>
+ * <h2>References</h2>
+ * <ol>
+ * <li><div><span id="cite_NK1997EAC" />Yuichi Nagata and&nbsp;Shigenobu
+ * Kobayashi: <span style="font-weight:bold">&ldquo;Edge Assembly
+ * Crossover: A High-Power Genetic Algorithm for the Traveling Salesman
+ * Problem,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Proceedings of the
+ * Seventh International Conference on Genetic Algorithms (ICGA'97)</span>,
+ * July&nbsp;19&ndash;23, 1997, East Lansing, MI, USA: Michigan State
+ * University, pages 450&ndash;457, Thomas B&#228;ck, editor, San
+ * Francisco, CA, USA: Morgan Kaufmann Publishers Inc..</div></li>
+ * <li><div><span id="cite_NK2013APGAUEAX" />Yuichi Nagata
+ * and&nbsp;Shigenobu Kobayashi: <span style="font-weight:bold">&ldquo;A
+ * Powerful Genetic Algorithm Using Edge Assembly Crossover for the
+ * Traveling Salesman Problem,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">INFORMS Journal on
+ * Computing</span> 25(2):346&ndash;363, 2013; published by Linthicum, MD,
+ * USA: Institute for Operations Research and the Management Sciences
+ * (INFORMS). doi:&nbsp;<a href="http://dx.doi.org/10.1287/ijoc.1120.0506"
+ * >10.1287/ijoc.1120.0506</a></div></li>
+ * </ol>
+ */
+public final class PermutationEdgeAssemblyCrossover extends
+    BinaryOperator<int[]> {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * the default number of nearest neighbors considered when merging
+   * sub-tours: {@value}
+   *
+   * @see #PARAM_CANDIDATES
+   */
+  public static final int DEFAULT_CANDIDATES = 10;
+
+  /**
+   * the parameter for the number of nearest neighbors considered when
+   * merging sub-tours: {@value}
+   *
+   * @see #DEFAULT_CANDIDATES
+   */
+  public static final String PARAM_CANDIDATES = "eaxCandidates"; //$NON-NLS-1$
+
+  /**
+   * the number of nearest neighbors considered when merging sub-tours
+   *
+   * @serial a positive integer
+   */
+  private int m_candidates;
+
+  /** the candidate set */
+  private transient CandidateSet m_candidateSet;
+
+  /** the neighbors of each node in the offspring, {@code 2} per node */
+  private transient int[] m_link;
+
+  /**
+   * the {@code A}-edges not common with {@code B}, {@code 2} slots per
+   * node, {@code 0} marks an empty slot
+   */
+  private transient int[] m_restA;
+
+  /**
+   * the {@code B}-edges not common with {@code A}, {@code 2} slots per
+   * node, {@code 0} marks an empty slot
+   */
+  private transient int[] m_restB;
+
+  /** the nodes of the alternating path currently traced */
+  private transient int[] m_path;
+
+  /** the positions of each node in the path, {@code 2} slots per node */
+  private transient int[] m_pathPos;
+
+  /** the nodes of all AB-cycles, stored one after the other */
+  private transient int[] m_cycles;
+
+  /** the start indexes of the AB-cycles in {@link #m_cycles} */
+  private transient int[] m_cycleStart;
+
+  /** the sub-tour of each node */
+  private transient int[] m_subTour;
+
+  /** a node of each sub-tour */
+  private transient int[] m_subTourNode;
+
+  /** the size of each sub-tour */
+  private transient int[] m_subTourSize;
+
+  /** instantiate the edge assembly crossover */
+  public PermutationEdgeAssemblyCrossover() {
+    super("PermutationEdgeAssemblyCrossover"); //$NON-NLS-1$
+    this.m_candidates = PermutationEdgeAssemblyCrossover.DEFAULT_CANDIDATES;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public PermutationEdgeAssemblyCrossover clone() {
+    PermutationEdgeAssemblyCrossover r;
+
+    r = ((PermutationEdgeAssemblyCrossover) (super.clone()));
+    r.m_candidateSet = null;
+    r.m_link = null;
+    r.m_restA = null;
+    r.m_restB = null;
+    r.m_path = null;
+    r.m_pathPos = null;
+    r.m_cycles = null;
+    r.m_cycleStart = null;
+    r.m_subTour = null;
+    r.m_subTourNode = null;
+    r.m_subTourSize = null;
+    return r;
+  }
+
+  /**
+   * Replace a neighbor in the adjacency slots of a node
+   *
+   * @param slots
+   *          the slots
+   * @param node
+   *          the node
+   * @param from
+   *          the neighbor to replace
+   * @param to
+   *          the new neighbor
+   */
+  private static final void __replace(final int[] slots, final int node,
+      final int from, final int to) {
+    final int i;
+
+    i = ((node - 1) << 1);
+    if (slots[i] == from) {
+      slots[i] = to;
+    } else {
+      slots[i + 1] = to;
+    }
+  }
+
+  /**
+   * Take an edge from the slots of the current node: if there are two
+   * edges, one is chosen randomly. The edge is removed from the slots of
+   * both of its nodes.
+   *
+   * @param slots
+   *          the slots
+   * @param node
+   *          the current node
+   * @param r
+   *          the randomizer
+   * @return the other node of the edge
+   */
+  private static final int __take(final int[] slots, final int node,
+      final Randomizer r) {
+    final int i;
+    int next;
+
+    i = ((node - 1) << 1);
+    if ((slots[i] != 0) && ((slots[i + 1] == 0) || r.nextBoolean())) {
+      next = slots[i];
+      slots[i] = 0;
+    } else {
+      next = slots[i + 1];
+      slots[i + 1] = 0;
+    }
+    PermutationEdgeAssemblyCrossover.__replace(slots, next, node, 0);
+    return next;
+  }
+
+  /**
+   * Remove a position from the path positions of a node
+   *
+   * @param pathPos
+   *          the path positions
+   * @param node
+   *          the node
+   * @param pos
+   *          the position
+   */
+  private static final void __unmark(final int[] pathPos, final int node,
+      final int pos) {
+    final int i;
+
+    i = ((node - 1) << 1);
+    if (pathPos[i] == pos) {
+      pathPos[i] = (-1);
+    } else {
+      pathPos[i + 1] = (-1);
+    }
+  }
+
+  /**
+   * Decompose the non-common edges into AB-cycles
+   *
+   * @param a
+   *          the parent {@code A}
+   * @param r
+   *          the randomizer
+   * @return the number of AB-cycles
+   */
+  private final int __cycles(final int[] a, final Randomizer r) {
+    final int[] restA, restB, path, pathPos, cycles, cycleStart;
+    final int n, offset;
+    int count, used, i, s, len, cur, next, j, p, k;
+
+    restA = this.m_restA;
+    restB = this.m_restB;
+    path = this.m_path;
+    pathPos = this.m_pathPos;
+    cycles = this.m_cycles;
+    cycleStart = this.m_cycleStart;
+    n = a.length;
+
+    count = used = 0;
+    offset = r.nextInt(n);
+    for (i = 0; i < n; i++) {
+      s = a[(i + offset) % n];
+      while ((restA[(s - 1) << 1] != 0) || //
+          (restA[((s - 1) << 1) + 1] != 0)) {
+        // trace an alternating path starting with an A-edge at s:
+        // the edge from path[len] to path[len+1] is an A-edge if len is
+        // even and a B-edge otherwise
+        path[0] = s;
+        pathPos[(s - 1) << 1] = 0;
+        len = 0;
+
+        do {
+          cur = path[len];
+          next = PermutationEdgeAssemblyCrossover.__take(
+              (((len & 1) == 0) ? restA : restB), cur, r);
+          path[++len] = next;
+
+          // check whether we closed an alternating cycle, i.e., reached
+          // a node visited an even number of steps ago
+          j = (next - 1) << 1;
+          p = (-1);
+          if ((pathPos[j] >= 0) && (((len - pathPos[j]) & 1) == 0)) {
+            p = pathPos[j];
+          }
+          if ((pathPos[j + 1] >= 0) && (((len - pathPos[j + 1]) & 1) == 0)
+              && (pathPos[j + 1] > p)) {
+            p = pathPos[j + 1];
+          }
+
+          if (p < 0) {
+            if (pathPos[j] < 0) {
+              pathPos[j] = len;
+            } else {
+              pathPos[j + 1] = len;
+            }
+            continue;
+          }
+
+          // store the cycle path[p..len-1] such that its first edge is an
+          // A-edge
+          cycleStart[count++] = used;
+          if ((p & 1) == 0) {
+            for (k = p; k < len; k++) {
+              cycles[used++] = path[k];
+            }
+          } else {
+            for (k = (p + 1); k < len; k++) {
+              cycles[used++] = path[k];
+            }
+            cycles[used++] = path[p];
+          }
+
+          for (k = (p + 1); k < len; k++) {
+            PermutationEdgeAssemblyCrossover.__unmark(pathPos, path[k], k);
+          }
+          len = p;
+        } while (len > 0);
+
+        PermutationEdgeAssemblyCrossover.__unmark(pathPos, s, 0);
+      }
+    }
+
+    cycleStart[count] = used;
+    return count;
+  }
+
+  /**
+   * Label the sub-tours of the offspring
+   *
+   * @param a
+   *          the parent {@code A}
+   * @return the number of sub-tours
+   */
+  private final int __subTours(final int[] a) {
+    final int[] link, sub, subNode, subSize;
+    int count, size, prev, cur, next;
+
+    link = this.m_link;
+    sub = this.m_subTour;
+    subNode = this.m_subTourNode;
+    subSize = this.m_subTourSize;
+
+    for (final int s : a) {
+      sub[s - 1] = (-1);
+    }
+
+    count = 0;
+    for (final int s : a) {
+      if (sub[s - 1] >= 0) {
+        continue;
+      }
+      size = 0;
+      prev = 0;
+      cur = s;
+      do {
+        sub[cur - 1] = count;
+        size++;
+        next = link[(cur - 1) << 1];
+        if (next == prev) {
+          next = link[((cur - 1) << 1) + 1];
+        }
+        prev = cur;
+        cur = next;
+      } while (cur != s);
+      subNode[count] = s;
+      subSize[count] = size;
+      count++;
+    }
+
+    return count;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void recombine(final Individual<int[]> dest,
+      final ObjectiveFunction f, final Individual<int[]> parent1,
+      final Individual<int[]> parent2) {
+    final int[] a, b, link, restA, restB, cycles, cycleStart;
+    final Randomizer r;
+    final int n;
+    int[] res, sub, subSize, subNode;
+    CandidateSet cands;
+    int i, u, v, pa, sa, pb, sb, cycle, start, end, x, subs, left, small;
+    int target, prev, next, bu, bu2, bv, bv2, id, u2, v2, k, m;
+    long delta, best, cost, alt, removed;
+    boolean cross, bestCross;
+
+    n = f.n();
+    a = parent1.solution;
+    b = parent2.solution;
+    r = f.getRandom();
+
+    dest.clearEvaluation();
+    res = dest.solution;
+    if ((res == null) || (res.length != n)) {
+      dest.solution = res = new int[n];
+    }
+    dest.producer = this;
+
+    link = this.m_link;
+    restA = this.m_restA;
+    restB = this.m_restB;
+
+    // the adjacency of the parents and their non-common edges
+    for (i = n; (--i) >= 0;) {
+      u = a[i];
+      link[(u - 1) << 1] = a[(i + n - 1) % n];
+      link[((u - 1) << 1) + 1] = a[(i + 1) % n];
+      u = b[i];
+      restB[(u - 1) << 1] = b[(i + n - 1) % n];
+      restB[((u - 1) << 1) + 1] = b[(i + 1) % n];
+    }
+    for (x = (n << 1); (x -= 2) >= 0;) {
+      pa = link[x];
+      sa = link[x + 1];
+      pb = restB[x];
+      sb = restB[x + 1];
+      restA[x] = (((pa == pb) || (pa == sb)) ? 0 : pa);
+      restA[x + 1] = (((sa == pb) || (sa == sb)) ? 0 : sa);
+      restB[x] = (((pb == pa) || (pb == sa)) ? 0 : pb);
+      restB[x + 1] = (((sb == pa) || (sb == sa)) ? 0 : sb);
+    }
+
+    delta = 0L;
+    cycles = this.m_cycles;
+    cycleStart = this.m_cycleStart;
+    cycle = ((n > 3) ? this.__cycles(a, r) : 0);
+
+    if (cycle <= 0) {
+      cycle = (-1);
+    } else {
+      // apply one randomly chosen AB-cycle to A
+      cycle = r.nextInt(cycle);
+      start = cycleStart[cycle];
+      end = cycleStart[cycle + 1];
+      for (i = start; i < end; i += 2) {
+        u = cycles[i];
+        v = cycles[i + 1];
+        PermutationEdgeAssemblyCrossover.__replace(link, u, v, 0);
+        PermutationEdgeAssemblyCrossover.__replace(link, v, u, 0);
+        delta -= f.distance(u, v);
+      }
+      for (i = (start + 1); i < end; i += 2) {
+        u = cycles[i];
+        v = cycles[((i + 1) < end) ? (i + 1) : start];
+        PermutationEdgeAssemblyCrossover.__replace(link, u, 0, v);
+        PermutationEdgeAssemblyCrossover.__replace(link, v, 0, u);
+        delta += f.distance(u, v);
+      }
+
+      // merge the sub-tours
+      sub = this.m_subTour;
+      subNode = this.m_subTourNode;
+      subSize = this.m_subTourSize;
+      cands = this.m_candidateSet;
+      m = cands.m();
+      subs = this.__subTours(a);
+
+      for (left = subs; left > 1; left--) {
+        small = (-1);
+        for (i = subs; (--i) >= 0;) {
+          if ((subSize[i] > 0)
+              && ((small < 0) || (subSize[i] < subSize[small]))) {
+            small = i;
+          }
+        }
+
+        best = Long.MAX_VALUE;
+        bu = bu2 = bv = bv2 = 0;
+        bestCross = false;
+        prev = 0;
+        u = subNode[small];
+        do {
+          next = link[(u - 1) << 1];
+          if (next == prev) {
+            next = link[((u - 1) << 1) + 1];
+          }
+          u2 = next;
+          removed = f.distance(u, u2);
+          for (id = 1; id <= m; id++) {
+            v = cands.getCandidate(u, id);
+            if (sub[v - 1] == small) {
+              continue;
+            }
+            for (k = 0; k < 2; k++) {
+              v2 = link[((v - 1) << 1) + k];
+              cost = (((long) (f.distance(u, v))) + f.distance(u2, v2));
+              alt = (((long) (f.distance(u, v2))) + f.distance(u2, v));
+              cross = (alt < cost);
+              if (cross) {
+                cost = alt;
+              }
+              cost -= (removed + f.distance(v, v2));
+              if (cost < best) {
+                best = cost;
+                bu = u;
+                bu2 = u2;
+                bv = v;
+                bv2 = v2;
+                bestCross = cross;
+              }
+            }
+          }
+          prev = u;
+          u = u2;
+        } while (u != subNode[small]);
+
+        if (bu == 0) {
+          // no candidate outside of the sub-tour: use any node
+          bu = subNode[small];
+          bu2 = link[(bu - 1) << 1];
+          for (final int z : a) {
+            if (sub[z - 1] != small) {
+              bv = z;
+              break;
+            }
+          }
+          bv2 = link[(bv - 1) << 1];
+          best = ((((long) (f.distance(bu, bv))) + f.distance(bu2, bv2)) - //
+          (((long) (f.distance(bu, bu2))) + f.distance(bv, bv2)));
+          bestCross = false;
+        }
+
+        // the small sub-tour now belongs to the other one
+        target = sub[bv - 1];
+        prev = 0;
+        u = bu;
+        do {
+          sub[u - 1] = target;
+          next = link[(u - 1) << 1];
+          if (next == prev) {
+            next = link[((u - 1) << 1) + 1];
+          }
+          prev = u;
+          u = next;
+        } while (u != bu);
+        subSize[target] += subSize[small];
+        subSize[small] = 0;
+
+        // exchange the edges (bu, bu2) and (bv, bv2)
+        if (bestCross) {
+          x = bv;
+          bv = bv2;
+          bv2 = x;
+        }
+        PermutationEdgeAssemblyCrossover.__replace(link, bu, bu2, bv);
+        PermutationEdgeAssemblyCrossover.__replace(link, bv, bv2, bu);
+        PermutationEdgeAssemblyCrossover.__replace(link, bu2, bu, bv2);
+        PermutationEdgeAssemblyCrossover.__replace(link, bv2, bv, bu2);
+        delta += best;
+      }
+    }
+
+    // translate the adjacency list to a permutation, preferring the
+    // successor slot so that the unchanged parts keep the direction of A
+    prev = 0;
+    u = a[0];
+    for (i = 0; i < n; i++) {
+      res[i] = u;
+      next = link[((u - 1) << 1) + 1];
+      if (next == prev) {
+        next = link[(u - 1) << 1];
+      }
+      prev = u;
+      u = next;
+    }
+
+    if (parent1.tourLength >= Individual.TOUR_LENGTH_NOT_SET) {
+      dest.tourLength = f.evaluate(res);
+    } else {
+      if (cycle < 0) {
+        // the offspring is a copy of A
+        dest.tourLength = parent1.tourLength;
+      } else {
+        if (f.symmetric()) {
+          dest.tourLength = (parent1.tourLength + delta);
+          f.registerFE(res, dest.tourLength);
+        } else {
+          dest.tourLength = f.evaluate(res);
+        }
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void beginRun(final ObjectiveFunction f) {
+    final int n;
+
+    super.beginRun(f);
+
+    n = f.n();
+    this.m_candidateSet = CandidateSet.allocate(f, this.m_candidates,
+        this.m_candidateSet);
+    this.m_link = new int[n << 1];
+    this.m_restA = new int[n << 1];
+    this.m_restB = new int[n << 1];
+    this.m_path = new int[(n << 1) + 1];
+    this.m_pathPos = new int[n << 1];
+    Arrays.fill(this.m_pathPos, (-1));
+    this.m_cycles = new int[n << 1];
+    this.m_cycleStart = new int[n + 1];
+    this.m_subTour = new int[n];
+    this.m_subTourNode = new int[n];
+    this.m_subTourSize = new int[n];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void endRun(final ObjectiveFunction f) {
+    this.m_candidateSet = null;
+    this.m_link = null;
+    this.m_restA = null;
+    this.m_restB = null;
+    this.m_path = null;
+    this.m_pathPos = null;
+    this.m_cycles = null;
+    this.m_cycleStart = null;
+    this.m_subTour = null;
+    this.m_subTourNode = null;
+    this.m_subTourSize = null;
+    super.endRun(f);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void configure(final Configuration config) {
+    super.configure(config);
+
+    this.m_candidates = config.getInt(
+        PermutationEdgeAssemblyCrossover.PARAM_CANDIDATES, 1,
+        Integer.MAX_VALUE, this.m_candidates);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printConfiguration(final PrintStream ps) {
+    super.printConfiguration(ps);
+
+    Configurable.printKey(PermutationEdgeAssemblyCrossover.PARAM_CANDIDATES,
+        ps);
+    ps.println(this.m_candidates);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(PermutationEdgeAssemblyCrossover.PARAM_CANDIDATES,
+        ps);
+    ps.println(//
+    "the number of nearest neighbors considered when merging sub-tours"); //$NON-NLS-1$
+  }
+}
@@ -0,0 +1,354 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.recombination;
+
+import java.util.Arrays;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.operators.BinaryOperator;
+
+/**
+ * <p>
+ * The generalized partition crossover (GPX)&nbsp;[<a
+ * href="#cite_WHH2009TBOPCFTTSP" style="font-weight:bold">1</a>, <a
+ * href="#cite_WHH2010AGPCFTTSP" style="font-weight:bold">2</a>] is a
+ * respectful and transmitting crossover operator which works in linear
+ * time. It considers the union graph of the two parent tours and removes
+ * the edges the parents have in common. The remaining graph falls apart
+ * into connected components. If a component is connected to the rest of
+ * the graph by exactly two common edges, both parents enter and leave it
+ * via the same two nodes and hence contain a Hamiltonian path through
+ * the component between these two nodes. Such a component is a feasible
+ * partition and the offspring can inherit the shorter of the two paths
+ * independently of all other partitions.
+ * </p>
+ * <p>
+ * Our implementation starts with the better parent and replaces its path
+ * through each feasible partition with the path of the other parent if
+ * the other parent's path is shorter. All other partitions are inherited
+ * from the better parent. The offspring is therefore never longer than
+ * the better parent. Its length is computed from the length of the better
+ * parent and the lengths of the non-common edges in the partitions only,
+ * so at most {@code 2*n} distance evaluations are needed and no complete
+ * evaluation of the offspring takes place. If the offspring is a copy of
+ * the better parent, no new solution has been created and no function
+ * evaluation is registered. All buffers are allocated once in
+ * {@link #beginRun(ObjectiveFunction)}.
+ * </p>
+ * <p>
+ * For asymmetric instances, edges are only considered as common if both
+ * parents traverse them in the same direction. Then, both parents also
+ * pass through a feasible partition in the same direction.
+ * </p>
+ * <h2>References</h2>
+ * <ol>
+ * <li><div><span id="cite_WHH2009TBOPCFTTSP" /><a
+ * href="http://www.cs.colostate.edu/~whitley/">L. Darrell Whitley</a>,
+ * Doug Hains, and&nbsp;Adele E. Howe: <span
+ * style="font-weight:bold">&ldquo;Tunneling Between Optima: Partition
+ * Crossover for the Traveling Salesman Problem,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Proceedings of the 11th
+ * Annual Conference on Genetic and Evolutionary Computation
+ * (GECCO'09)</span>, July&nbsp;8&ndash;12, 2009, Montr&#233;al, QC,
+ * Canada, pages 915&ndash;922, New York, NY, USA: ACM Press.
+ * doi:&nbsp;<a href="http://dx.doi.org/10.1145/1569901.1570026"
+ * >10.1145/1569901.1570026</a></div></li>
+ * <li><div><span id="cite_WHH2010AGPCFTTSP" /><a
+ * href="http://www.cs.colostate.edu/~whitley/">L. Darrell Whitley</a>,
+ * Doug Hains, and&nbsp;Adele E. Howe: <span
+ * style="font-weight:bold">&ldquo;A Hybrid Genetic Algorithm for the
+ * Traveling Salesman Problem Using Generalized Partition
+ * Crossover,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Proceedings of the 11th
+ * International Conference on Parallel Problem Solving From Nature, Part
+ * I (PPSN XI)</span>, September&nbsp;11&ndash;15, 2010, Krak&#243;w,
+ * Poland, pages 566&ndash;575, Lecture Notes in Computer Science (LNCS),
+ * volume 6238, Berlin, Germany: Springer-Verlag GmbH. doi:&nbsp;<a
+ * href="http://dx.doi.org/10.1007/978-3-642-15844-5_57"
+ * >10.1007/978-3-642-15844-5_57</a></div></li>
+ * </ol>
+ */
+public final class PermutationPartitionCrossover extends
+    BinaryOperator<int[]> {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the position of each node in the first parent */
+  private transient int[] m_pos1;
+
+  /** the position of each node in the second parent */
+  private transient int[] m_pos2;
+
+  /** the component of each node */
+  private transient int[] m_component;
+
+  /** the node stack used for finding the components */
+  private transient int[] m_stack;
+
+  /** the number of nodes in each component */
+  private transient int[] m_size;
+
+  /** the number of common edges leaving each component */
+  private transient int[] m_boundary;
+
+  /** the length of the first parent's path through each component */
+  private transient long[] m_length1;
+
+  /** the length of the second parent's path through each component */
+  private transient long[] m_length2;
+
+  /** instantiate the partition crossover */
+  public PermutationPartitionCrossover() {
+    super("PermutationPartitionCrossover"); //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public PermutationPartitionCrossover clone() {
+    PermutationPartitionCrossover r;
+
+    r = ((PermutationPartitionCrossover) (super.clone()));
+    r.m_pos1 = null;
+    r.m_pos2 = null;
+    r.m_component = null;
+    r.m_stack = null;
+    r.m_size = null;
+    r.m_boundary = null;
+    r.m_length1 = null;
+    r.m_length2 = null;
+    return r;
+  }
+
+  /**
+   * Is the edge {@code (u, v)} of the first parent also an edge of the
+   * second parent?
+   *
+   * @param u
+   *          the first node
+   * @param v
+   *          the node following {@code u} in the first parent
+   * @param p2
+   *          the second parent
+   * @param pos2
+   *          the positions in the second parent
+   * @param symmetric
+   *          is the instance symmetric?
+   * @return {@code true} if the edge is common, {@code false} otherwise
+   */
+  private static final boolean __isCommon(final int u, final int v,
+      final int[] p2, final int[] pos2, final boolean symmetric) {
+    final int n, i;
+
+    n = p2.length;
+    i = pos2[u - 1];
+    if (p2[(i + 1) % n] == v) {
+      return true;
+    }
+    return (symmetric && (p2[(i + n - 1) % n] == v));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void recombine(final Individual<int[]> dest,
+      final ObjectiveFunction f, final Individual<int[]> parent1,
+      final Individual<int[]> parent2) {
+    final int[] p1, p2, pos1, pos2, comp, stack, size, boundary;
+    final long[] length1, length2;
+    final Individual<int[]> better, worse;
+    final boolean symmetric;
+    final int n;
+    int[] res;
+    int i, j, k, u, v, w, prev, c, count, top, start, dir;
+    long delta;
+    boolean swapped;
+
+    n = f.n();
+    symmetric = f.symmetric();
+
+    if (parent2.tourLength < parent1.tourLength) {
+      better = parent2;
+      worse = parent1;
+    } else {
+      better = parent1;
+      worse = parent2;
+    }
+    p1 = better.solution;
+    p2 = worse.solution;
+
+    pos1 = this.m_pos1;
+    pos2 = this.m_pos2;
+    for (i = n; (--i) >= 0;) {
+      pos1[p1[i] - 1] = i;
+      pos2[p2[i] - 1] = i;
+    }
+
+    // find the connected components of the union graph without the
+    // common edges
+    comp = this.m_component;
+    stack = this.m_stack;
+    size = this.m_size;
+    Arrays.fill(comp, 0, n, (-1));
+    count = 0;
+    for (i = n; (--i) >= 0;) {
+      if (comp[i] >= 0) {
+        continue;
+      }
+      comp[i] = count;
+      stack[0] = (i + 1);
+      top = 1;
+      size[count] = 0;
+      while (top > 0) {
+        u = stack[--top];
+        size[count]++;
+
+        j = pos1[u - 1];
+        v = p1[(j + 1) % n]; // successor in parent 1
+        if ((comp[v - 1] < 0) && //
+            (!(PermutationPartitionCrossover.__isCommon(u, v, p2, pos2,
+                symmetric)))) {
+          comp[v - 1] = count;
+          stack[top++] = v;
+        }
+        v = p1[(j + n - 1) % n]; // predecessor in parent 1
+        if ((comp[v - 1] < 0) && //
+            (!(PermutationPartitionCrossover.__isCommon(v, u, p2, pos2,
+                symmetric)))) {
+          comp[v - 1] = count;
+          stack[top++] = v;
+        }
+
+        j = pos2[u - 1];
+        v = p2[(j + 1) % n]; // successor in parent 2
+        if ((comp[v - 1] < 0) && //
+            (!(PermutationPartitionCrossover.__isCommon(u, v, p1, pos1,
+                symmetric)))) {
+          comp[v - 1] = count;
+          stack[top++] = v;
+        }
+        v = p2[(j + n - 1) % n]; // predecessor in parent 2
+        if ((comp[v - 1] < 0) && //
+            (!(PermutationPartitionCrossover.__isCommon(v, u, p1, pos1,
+                symmetric)))) {
+          comp[v - 1] = count;
+          stack[top++] = v;
+        }
+      }
+      count++;
+    }
+
+    // compute the lengths of the paths through the components and count
+    // the common edges between components
+    boundary = this.m_boundary;
+    length1 = this.m_length1;
+    length2 = this.m_length2;
+    Arrays.fill(boundary, 0, count, 0);
+    Arrays.fill(length1, 0, count, 0L);
+    Arrays.fill(length2, 0, count, 0L);
+    start = (-1);
+    u = p1[n - 1];
+    w = p2[n - 1];
+    for (i = 0; i < n; i++) {
+      v = p1[i];
+      if (PermutationPartitionCrossover.__isCommon(u, v, p2, pos2,
+          symmetric)) {
+        if (comp[u - 1] != comp[v - 1]) {
+          boundary[comp[u - 1]]++;
+          boundary[comp[v - 1]]++;
+          start = i;
+        }
+      } else {
+        length1[comp[u - 1]] += f.distance(u, v);
+      }
+      u = v;
+
+      v = p2[i];
+      if (!(PermutationPartitionCrossover.__isCommon(w, v, p1, pos1,
+          symmetric))) {
+        length2[comp[w - 1]] += f.distance(w, v);
+      }
+      w = v;
+    }
+
+    dest.clearEvaluation();
+    res = dest.solution;
+    if ((res == null) || (res.length != n)) {
+      dest.solution = res = new int[n];
+    }
+    dest.producer = this;
+
+    // build the offspring: follow the better parent, starting at a node
+    // right after a common edge between two components, and replace its
+    // path through a feasible partition with the shorter path of the
+    // other parent
+    delta = 0L;
+    swapped = false;
+    if (start < 0) {
+      System.arraycopy(p1, 0, res, 0, n);
+    } else {
+      k = 0;
+      i = 0;
+      while (i < n) {
+        u = p1[(start + i) % n];
+        c = comp[u - 1];
+        if ((boundary[c] == 2) && (size[c] > 1)
+            && (length2[c] < length1[c])) {
+          // u is where both parents enter the partition: walk along the
+          // second parent inside the partition
+          prev = p1[(start + i + n - 1) % n];
+          j = pos2[u - 1];
+          dir = ((p2[(j + n - 1) % n] == prev) ? 1 : (n - 1));
+          for (top = size[c]; (--top) >= 0;) {
+            res[k++] = p2[j];
+            j = ((j + dir) % n);
+          }
+          delta += (length2[c] - length1[c]);
+          swapped = true;
+          i += size[c];
+        } else {
+          res[k++] = u;
+          i++;
+        }
+      }
+    }
+
+    if (better.tourLength >= Individual.TOUR_LENGTH_NOT_SET) {
+      dest.tourLength = f.evaluate(res);
+    } else {
+      dest.tourLength = (better.tourLength + delta);
+      if (swapped) {
+        f.registerFE(res, dest.tourLength);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void beginRun(final ObjectiveFunction f) {
+    final int n;
+
+    super.beginRun(f);
+
+    n = f.n();
+    this.m_pos1 = new int[n];
+    this.m_pos2 = new int[n];
+    this.m_component = new int[n];
+    this.m_stack = new int[n];
+    this.m_size = new int[n];
+    this.m_boundary = new int[n];
+    this.m_length1 = new long[n];
+    this.m_length2 = new long[n];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void endRun(final ObjectiveFunction f) {
+    this.m_pos1 = null;
+    this.m_pos2 = null;
+    this.m_component = null;
+    this.m_stack = null;
+    this.m_size = null;
+    this.m_boundary = null;
+    this.m_length1 = null;
+    this.m_length2 = null;
+    super.endRun(f);
+  }
+}
@@ -26,6 +26,9 @@
  * style="font-weight:bold">4</a>, <a href="#cite_LKMUB1999GAFTTSPARORAO"
  * style="font-weight:bold">2</a>],</li>
  * <li>
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.recombination.PermutationEdgeAssemblyCrossover
+ * Edge Assembly Crossover} (EAX),</li>
+ * <li>
  * {@link org.logisticPlanning.tsp.solving.operators.permutation.recombination.PermutationHeuristicCrossover
  * Heuristic Crossover}&nbsp;[<a href="#cite_G1987IPSKIGA"
  * style="font-weight:bold">8</a>, <a href="#cite_LKMUB1999GAFTTSPARORAO"
@@ -51,6 +54,9 @@
  * style="font-weight:bold">11</a>, <a href="#cite_LKMUB1999GAFTTSPARORAO"
  * style="font-weight:bold">2</a>],</li>
  * <li>
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.recombination.PermutationPartitionCrossover
+ * Generalized Partition Crossover} (GPX),</li>
+ * <li>
  * {@link org.logisticPlanning.tsp.solving.operators.permutation.recombination.PermutationPositionBasedCrossover
  * Position-based Crossover} (POX)&nbsp;[<a href="#cite_S1991SOUGA"
  * style="font-weight:bold">12</a>, <a href="#cite_LKMUB1999GAFTTSPARORAO"
@@ -44,4 +44,9 @@ public final class ComplementUpdateOperator extends
     this.m_u.revertUpdate(perm, b, a);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final boolean requiresSymmetry() {
+    return this.m_u.requiresSymmetry();
+  }
 }
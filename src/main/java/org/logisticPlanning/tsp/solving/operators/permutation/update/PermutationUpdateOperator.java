@@ -86,6 +86,26 @@ public class PermutationUpdateOperator extends UnaryOperator<int[]> {
     this.update(perm, a, b);
   }
 
+  /**
+   * Does {@link #delta(int[], DistanceComputer, int, int)} assume that
+   * the distances are symmetric? An operator which reverses a part of the
+   * permutation changes the direction of all edges inside that part. On
+   * asymmetric instances, its delta would thus depend on all of these
+   * edges and could no longer be computed in constant time from the
+   * changed edges at its ends only. Such operators must not be used on
+   * asymmetric instances, whereas operators which never reverse any part
+   * of the permutation can be used on all instances.
+   *
+   * @return {@code true} if the operator may only be used on symmetric
+   *         instances, {@code false} if it can also be applied to
+   *         asymmetric instances
+   * @see PermutationUpdateOperators#selectOperators(PermutationUpdateOperator[],
+   *      boolean)
+   */
+  public boolean requiresSymmetry() {
+    return false;
+  }
+
   /** {@inheritDoc} */
   @Override
   public final void mutate(final Individual<int[]> dest,
@@ -1,5 +1,10 @@
 package org.logisticPlanning.tsp.solving.operators.permutation.update;
 
+import java.util.Arrays;
+import java.util.List;
+
+import org.logisticPlanning.utils.config.Configuration;
+
 /**
  * the permutation update operators
  */
@@ -21,4 +26,139 @@ public final class PermutationUpdateOperators {
       PermutationUpdate_Rotate_Left.INSTANCE,
       PermutationUpdate_Rotate_Left.COMPLEMENT, };
 
+  /**
+   * the Or-opt segment insertion operators, which can be used instead of
+   * or in addition to the other operators
+   */
+  public static final PermutationUpdateOperator[] SEGMENT_INSERTION_OPERATORS = new PermutationUpdateOperator[] {//
+  PermutationUpdate_SegmentInsertion.OR_OPT_1,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_2,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_2_REVERSED,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_3,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_3_REVERSED, };
+
+  /**
+   * all permutation update operators, including the complement and the
+   * Or-opt segment insertion operators
+   */
+  public static final PermutationUpdateOperator[] ALL_OPERATORS = new PermutationUpdateOperator[] {//
+      PermutationUpdate_Swap.INSTANCE,//
+      PermutationUpdate_Reverse.INSTANCE,//
+      PermutationUpdate_Reverse.COMPLEMENT,//
+      PermutationUpdate_Rotate_Right.INSTANCE,//
+      PermutationUpdate_Rotate_Right.COMPLEMENT,//
+      PermutationUpdate_Rotate_Left.INSTANCE,
+      PermutationUpdate_Rotate_Left.COMPLEMENT,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_1,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_2,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_2_REVERSED,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_3,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_3_REVERSED, };
+
+  /**
+   * the operators which never reverse a part of the permutation and hence
+   * compute their deltas in constant time on asymmetric instances, too
+   */
+  public static final PermutationUpdateOperator[] ASYMMETRIC_OPERATORS = new PermutationUpdateOperator[] {//
+  PermutationUpdate_Swap.INSTANCE,//
+      PermutationUpdate_Rotate_Right.INSTANCE,//
+      PermutationUpdate_Rotate_Left.INSTANCE,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_1,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_2,//
+      PermutationUpdate_SegmentInsertion.OR_OPT_3, };
+
+  /**
+   * Get a set of update operators from a configuration. The parameter
+   * {@code key} is a list of the {@link PermutationUpdateOperator#name()
+   * names} of operators from {@link #ALL_OPERATORS}, e.g.,
+   * {@code swap}, {@code inversion}, {@code complementary_inversion}, or
+   * {@code orOpt2r}, separated by
+   * {@link org.logisticPlanning.utils.config.ListParser#LIST_ITEM_SEPARATOR}
+   * .
+   *
+   * @param config
+   *          the configuration
+   * @param key
+   *          the parameter key
+   * @param def
+   *          the operators to return if the parameter is not set
+   * @return the operators
+   * @throws IllegalArgumentException
+   *           if an operator name is unknown
+   */
+  public static final PermutationUpdateOperator[] getOperators(
+      final Configuration config, final String key,
+      final PermutationUpdateOperator[] def) {
+    final List<String> names;
+    final PermutationUpdateOperator[] res;
+    int count;
+
+    names = config.getStrings(key, null);
+    if ((names == null) || (names.isEmpty())) {
+      return def;
+    }
+
+    res = new PermutationUpdateOperator[names.size()];
+    count = 0;
+    outer: for (final String name : names) {
+      for (final PermutationUpdateOperator op : PermutationUpdateOperators.ALL_OPERATORS) {
+        if (op.name().equals(name.trim())) {
+          res[count++] = op;
+          continue outer;
+        }
+      }
+      throw new IllegalArgumentException(//
+          "Unknown permutation update operator '" + name + '\''); //$NON-NLS-1$
+    }
+
+    return res;
+  }
+
+  /**
+   * Select the operators to use on a given instance. On symmetric
+   * instances, {@code ops} is returned as is. On asymmetric instances, all
+   * operators which
+   * {@link PermutationUpdateOperator#requiresSymmetry() require symmetric
+   * distances} are removed from {@code ops}. If any operator was removed,
+   * the missing {@link #ASYMMETRIC_OPERATORS asymmetric operators} are
+   * added instead, so that the neighborhood does not shrink.
+   *
+   * @param ops
+   *          the configured operators
+   * @param symmetric
+   *          is the instance symmetric?
+   * @return the operators to use: either {@code ops} or a new array
+   */
+  public static final PermutationUpdateOperator[] selectOperators(
+      final PermutationUpdateOperator[] ops, final boolean symmetric) {
+    final PermutationUpdateOperator[] res;
+    int count, i;
+
+    if (symmetric) {
+      return ops;
+    }
+
+    res = new PermutationUpdateOperator[ops.length
+        + PermutationUpdateOperators.ASYMMETRIC_OPERATORS.length];
+    count = 0;
+    for (final PermutationUpdateOperator op : ops) {
+      if (!(op.requiresSymmetry())) {
+        res[count++] = op;
+      }
+    }
+    if (count >= ops.length) {
+      return ops;
+    }
+
+    outer: for (final PermutationUpdateOperator op : PermutationUpdateOperators.ASYMMETRIC_OPERATORS) {
+      for (i = count; (--i) >= 0;) {
+        if (res[i] == op) {
+          continue outer;
+        }
+      }
+      res[count++] = op;
+    }
+
+    return Arrays.copyOf(res, count);
+  }
 }
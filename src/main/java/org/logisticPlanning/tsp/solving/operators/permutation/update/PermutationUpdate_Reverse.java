@@ -380,4 +380,13 @@ public final class PermutationUpdate_Reverse extends
       perm[y] = t;
     }
   }
+
+  /**
+   * {@inheritDoc} The reversal changes the direction of all edges in the
+   * reversed sub-sequence.
+   */
+  @Override
+  public final boolean requiresSymmetry() {
+    return true;
+  }
 }
@@ -0,0 +1,250 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.update;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+
+/**
+ * <p>
+ * This operator removes a segment of a fixed, small number of consecutive
+ * nodes from the tour and re-inserts it at another position, either in
+ * its original or in reversed order. The segment starts at index
+ * {@code a} and is inserted after the node at index {@code b}. With
+ * segments of up to three nodes, this is the well-known Or-opt
+ * neighborhood&nbsp;[<a href="#cite_O1976TSAPACPO"
+ * style="font-weight:bold">1</a>]. Re-inserting the segment in reversed
+ * order corresponds to a 3-opt move which does not reverse any other part
+ * of the tour.
+ * </p>
+ * <p>
+ * Both variants remove the three edges entering the segment, leaving the
+ * segment, and following the insertion point, and add three new edges.
+ * The change in tour length can therefore be computed from these six
+ * edges in constant time. Like
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse}
+ * , the reversed variant assumes symmetric distances. Moving the segment
+ * means rotating the part of the permutation between the segment and the
+ * insertion point. Since the permutation is cyclic, we may either shift
+ * the nodes between the segment and the insertion point or the nodes on
+ * the other side of the tour, and we always shift the shorter of the two
+ * arcs. The rotation itself is done in place with three reversals, so
+ * that no buffer is needed.
+ * </p>
+ * <h2>References</h2>
+ * <ol>
+ * <li><div><span id="cite_O1976TSAPACPO" />Ilhan Or: <span
+ * style="font-style:italic;font-family:cursive;">&ldquo;Traveling
+ * Salesman-Type Combinatorial Problems and their Relation to the Logistics
+ * of Regional Blood Banking,&rdquo;</span> PhD thesis, 1976, Evanston, IL,
+ * USA: Northwestern University, Department of Industrial Engineering and
+ * Management Sciences</div></li>
+ * </ol>
+ */
+public final class PermutationUpdate_SegmentInsertion extends
+    PermutationUpdateOperator {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the globally shared instance moving a single node */
+  public static final PermutationUpdate_SegmentInsertion OR_OPT_1 = new PermutationUpdate_SegmentInsertion(
+      1, false);
+
+  /** the globally shared instance moving two nodes */
+  public static final PermutationUpdate_SegmentInsertion OR_OPT_2 = new PermutationUpdate_SegmentInsertion(
+      2, false);
+
+  /** the globally shared instance moving three nodes */
+  public static final PermutationUpdate_SegmentInsertion OR_OPT_3 = new PermutationUpdate_SegmentInsertion(
+      3, false);
+
+  /** the globally shared instance moving and reversing two nodes */
+  public static final PermutationUpdate_SegmentInsertion OR_OPT_2_REVERSED = new PermutationUpdate_SegmentInsertion(
+      2, true);
+
+  /** the globally shared instance moving and reversing three nodes */
+  public static final PermutationUpdate_SegmentInsertion OR_OPT_3_REVERSED = new PermutationUpdate_SegmentInsertion(
+      3, true);
+
+  /** the number of nodes in the segment */
+  private final int m_length;
+
+  /** is the segment inserted in reversed order? */
+  private final boolean m_reversed;
+
+  /**
+   * instantiate
+   *
+   * @param length
+   *          the number of nodes in the segment
+   * @param reversed
+   *          is the segment inserted in reversed order?
+   */
+  private PermutationUpdate_SegmentInsertion(final int length,
+      final boolean reversed) {
+    super("orOpt" + length + (reversed ? "r" : "")); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+    this.m_length = length;
+    this.m_reversed = reversed;
+  }
+
+  /**
+   * Get the number of nodes in the segment
+   *
+   * @return the number of nodes in the segment
+   */
+  public final int getSegmentLength() {
+    return this.m_length;
+  }
+
+  /**
+   * Is the segment inserted in reversed order?
+   *
+   * @return {@code true} if the segment is inserted in reversed order,
+   *         {@code false} otherwise
+   */
+  public final boolean isReversed() {
+    return this.m_reversed;
+  }
+
+  /**
+   * Reverse a cyclic sub-sequence of a permutation in-place
+   *
+   * @param perm
+   *          the permutation
+   * @param start
+   *          the index of the first node of the sub-sequence
+   * @param count
+   *          the number of nodes in the sub-sequence
+   */
+  private static final void __reverse(final int[] perm, final int start,
+      final int count) {
+    final int l;
+    int i, j, k, t;
+
+    l = perm.length;
+    i = start;
+    j = ((start + count - 1) % l);
+    for (k = (count >>> 1); k > 0; k--) {
+      t = perm[i];
+      perm[i] = perm[j];
+      perm[j] = t;
+      if ((++i) >= l) {
+        i = 0;
+      }
+      if ((--j) < 0) {
+        j = (l - 1);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int delta(final int[] perm, final DistanceComputer f,
+      final int a, final int b) {
+    final int l, e, d;
+    final int P, S, E, Q, B, C, PS, EQ, BC, PQ, BX, YC;
+
+    l = perm.length;
+    e = ((a + this.m_length - 1) % l);
+    d = (((b - e) + l) % l);
+
+    // b must neither be inside the segment nor directly before it
+    if ((d <= 0) || (d >= (l - this.m_length))) {
+      return PermutationUpdateOperator.NO_EFFECT;
+    }
+
+    P = perm[(a + l - 1) % l];
+    S = perm[a];
+    E = perm[e];
+    Q = perm[(e + 1) % l];
+    B = perm[b];
+    C = perm[(b + 1) % l];
+
+    PS = f.distance(P, S);
+    EQ = f.distance(E, Q);
+    BC = f.distance(B, C);
+
+    PQ = f.distance(P, Q);
+    if (this.m_reversed) {
+      BX = f.distance(B, E);
+      YC = f.distance(S, C);
+    } else {
+      BX = f.distance(B, S);
+      YC = f.distance(E, C);
+    }
+
+    return (PQ + BX + YC) - (PS + EQ + BC);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void update(final int[] perm, final int a, final int b) {
+    final int l, len, d, o, c;
+
+    l = perm.length;
+    len = this.m_length;
+    d = (((b - a - len + 1) + l + l) % l);
+    o = (l - len - d);
+    if ((d <= 0) || (o <= 0)) {
+      return;
+    }
+
+    if (d <= o) {
+      // [segment][d nodes up to b] becomes [d nodes up to b][segment]
+      if (!(this.m_reversed)) {
+        PermutationUpdate_SegmentInsertion.__reverse(perm, a, len);
+      }
+      PermutationUpdate_SegmentInsertion.__reverse(perm, ((a + len) % l),
+          d);
+      PermutationUpdate_SegmentInsertion.__reverse(perm, a, (len + d));
+    } else {
+      // [o nodes after b][segment] becomes [segment][o nodes after b]
+      c = ((b + 1) % l);
+      PermutationUpdate_SegmentInsertion.__reverse(perm, c, o);
+      if (!(this.m_reversed)) {
+        PermutationUpdate_SegmentInsertion.__reverse(perm, a, len);
+      }
+      PermutationUpdate_SegmentInsertion.__reverse(perm, c, (o + len));
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void revertUpdate(final int[] perm, final int a,
+      final int b) {
+    final int l, len, d, o, c;
+
+    l = perm.length;
+    len = this.m_length;
+    d = (((b - a - len + 1) + l + l) % l);
+    o = (l - len - d);
+    if ((d <= 0) || (o <= 0)) {
+      return;
+    }
+
+    if (d <= o) {
+      // [d nodes up to b][segment] becomes [segment][d nodes up to b]
+      PermutationUpdate_SegmentInsertion.__reverse(perm, a, d);
+      if (!(this.m_reversed)) {
+        PermutationUpdate_SegmentInsertion.__reverse(perm,
+            ((a + d) % l), len);
+      }
+      PermutationUpdate_SegmentInsertion.__reverse(perm, a, (d + len));
+    } else {
+      // [segment][o nodes after b] becomes [o nodes after b][segment]
+      c = ((b + 1) % l);
+      if (!(this.m_reversed)) {
+        PermutationUpdate_SegmentInsertion.__reverse(perm, c, len);
+      }
+      PermutationUpdate_SegmentInsertion.__reverse(perm,
+          ((c + len) % l), o);
+      PermutationUpdate_SegmentInsertion.__reverse(perm, c, (len + o));
+    }
+  }
+
+  /**
+   * {@inheritDoc} Only the reversed variant changes the direction of the
+   * edges inside the segment.
+   */
+  @Override
+  public final boolean requiresSymmetry() {
+    return this.m_reversed;
+  }
+}
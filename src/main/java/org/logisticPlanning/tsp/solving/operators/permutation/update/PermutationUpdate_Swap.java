@@ -167,12 +167,14 @@ public final class PermutationUpdate_Swap extends
     BD = f.distance(D, B);
     BF = f.distance(B, F);
 
+    // if the two nodes are neighbors, the edge between them is kept but
+    // reversed, which only makes a difference for asymmetric distances
     if (B == D) {
-      return (BF + AE) - (AB + EF);
+      return ((BF + AE) - (AB + EF)) + (f.distance(E, B) - DE);
     }
 
     if (E == A) {
-      return (BD + CE) - (DE + BC);
+      return ((BD + CE) - (DE + BC)) + (f.distance(B, E) - AB);
     }
 
     return (AE + CE + BD + BF) - (AB + BC + DE + EF);
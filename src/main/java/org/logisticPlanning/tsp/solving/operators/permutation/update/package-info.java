@@ -29,8 +29,21 @@
  * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse
  * Reverse} takes a sub-sequence in a permutation and reverses the sequence
  * of the nodes in it.</li>
+ * <li>
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_SegmentInsertion
+ * Segment insertion} moves a segment of one to three nodes to another
+ * position in the permutation, optionally reversing it (Or-opt).</li>
  * </ol>
  * <p>
+ * Reversing a sub-sequence changes the direction of all edges inside of
+ * it. The deltas of the reversal and the reversed segment insertion can
+ * thus only be computed in constant time if the distances are symmetric.
+ * For asymmetric instances,
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperators#selectOperators(org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator[], boolean)
+ * selectOperators} replaces them with operators that never reverse any
+ * part of the permutation.
+ * </p>
+ * <p>
  * More complex unary search operations, in particular such that perform
  * local searches, are given in package
  * {@link org.logisticPlanning.tsp.solving.operators.permutation.mutation}.
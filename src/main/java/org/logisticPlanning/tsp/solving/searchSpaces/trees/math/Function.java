@@ -74,4 +74,19 @@ public class Function extends Node<Function> {
   public double compute(final double[] data) {
     return 0d;
   }
+
+  /**
+   * Emit the program code computing the same result as
+   * {@link #compute(double[])} to a compiler. By default, the program
+   * simply calls {@link #compute(double[])}, i.e., interprets this node.
+   * Sub-classes override this method to emit the code of their children
+   * via {@link FunctionCompiler#compile(Function)} followed by their own
+   * instructions.
+   *
+   * @param compiler
+   *          the compiler
+   */
+  public void compile(final FunctionCompiler compiler) {
+    compiler.emitCall(this);
+  }
 }
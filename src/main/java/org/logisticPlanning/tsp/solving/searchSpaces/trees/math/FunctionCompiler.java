@@ -0,0 +1,232 @@
+package org.logisticPlanning.tsp.solving.searchSpaces.trees.math;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A compiler which flattens a
+ * {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function
+ * function tree} into a
+ * {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram
+ * stack program}. The compiler visits the tree in post-order: each node
+ * {@link Function#compile(FunctionCompiler) emits} the code of its
+ * children via {@link #compile(Function)} and then its own instructions.
+ * Nodes which do not know how to compile themselves are
+ * {@link #emitCall(Function) called} by the program, i.e., they are
+ * interpreted.
+ * </p>
+ * <p>
+ * A compiler instance can be re-used for compiling several trees, but is
+ * not thread-safe.
+ * </p>
+ */
+public final class FunctionCompiler {
+
+  /** the code */
+  private int[] m_code;
+
+  /** the code length */
+  private int m_codeLength;
+
+  /** the constants */
+  private double[] m_constants;
+
+  /** the number of constants */
+  private int m_constantCount;
+
+  /** the interpreted functions */
+  private Function[] m_calls;
+
+  /** the number of interpreted functions */
+  private int m_callCount;
+
+  /** the current stack depth */
+  private int m_depth;
+
+  /** the maximum stack depth */
+  private int m_maxDepth;
+
+  /** create the function compiler */
+  public FunctionCompiler() {
+    super();
+    this.m_code = new int[64];
+    this.m_constants = new double[8];
+    this.m_calls = new Function[4];
+  }
+
+  /**
+   * Compile a function tree into a program
+   *
+   * @param function
+   *          the root of the function tree
+   * @return the program
+   */
+  public final FunctionProgram compileProgram(final Function function) {
+    this.m_codeLength = 0;
+    this.m_constantCount = 0;
+    this.m_callCount = 0;
+    this.m_depth = 0;
+    this.m_maxDepth = 0;
+
+    this.compile(function);
+
+    return new FunctionProgram(//
+        Arrays.copyOf(this.m_code, this.m_codeLength),//
+        Arrays.copyOf(this.m_constants, this.m_constantCount),//
+        Arrays.copyOf(this.m_calls, this.m_callCount),//
+        Math.max(1, this.m_maxDepth));
+  }
+
+  /**
+   * Emit the code of a sub-tree, which leaves exactly one value on the
+   * stack.
+   *
+   * @param function
+   *          the sub-tree
+   */
+  public final void compile(final Function function) {
+    function.compile(this);
+  }
+
+  /**
+   * Append a value to the code
+   *
+   * @param value
+   *          the value
+   */
+  private final void __append(final int value) {
+    if (this.m_codeLength >= this.m_code.length) {
+      this.m_code = Arrays.copyOf(this.m_code, (this.m_codeLength << 1));
+    }
+    this.m_code[this.m_codeLength++] = value;
+  }
+
+  /**
+   * Change the stack depth
+   *
+   * @param delta
+   *          the change
+   */
+  private final void __depth(final int delta) {
+    this.m_depth += delta;
+    if (this.m_depth > this.m_maxDepth) {
+      this.m_maxDepth = this.m_depth;
+    }
+  }
+
+  /**
+   * Emit a unary operation, such as
+   * {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram#SIN}
+   * , which replaces the top of the stack.
+   *
+   * @param opcode
+   *          the opcode
+   */
+  public final void emitUnary(final int opcode) {
+    this.__append(opcode);
+  }
+
+  /**
+   * Emit a binary operation, such as
+   * {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram#ADD}
+   * , which replaces the two topmost stack values by one value.
+   *
+   * @param opcode
+   *          the opcode
+   */
+  public final void emitBinary(final int opcode) {
+    this.__append(opcode);
+    this.__depth(-1);
+  }
+
+  /**
+   * Emit an instruction pushing a constant
+   *
+   * @param value
+   *          the constant value
+   */
+  public final void emitConstant(final double value) {
+    if (this.m_constantCount >= this.m_constants.length) {
+      this.m_constants = Arrays.copyOf(this.m_constants,
+          (this.m_constantCount << 1));
+    }
+    this.m_constants[this.m_constantCount] = value;
+    this.__append(FunctionProgram.CONST);
+    this.__append(this.m_constantCount++);
+    this.__depth(1);
+  }
+
+  /**
+   * Emit an instruction pushing the value of a variable
+   *
+   * @param index
+   *          the variable index
+   */
+  public final void emitLoad(final int index) {
+    this.__append(FunctionProgram.LOAD);
+    this.__append(index);
+    this.__depth(1);
+  }
+
+  /**
+   * Emit an instruction storing the top of the stack in a variable
+   * without removing it from the stack
+   *
+   * @param index
+   *          the variable index
+   */
+  public final void emitStore(final int index) {
+    this.__append(FunctionProgram.STORE);
+    this.__append(index);
+  }
+
+  /**
+   * Emit an instruction pushing the result of interpreting a function
+   *
+   * @param function
+   *          the function
+   */
+  public final void emitCall(final Function function) {
+    if (this.m_callCount >= this.m_calls.length) {
+      this.m_calls = Arrays.copyOf(this.m_calls, (this.m_callCount << 1));
+    }
+    this.m_calls[this.m_callCount] = function;
+    this.__append(FunctionProgram.CALL);
+    this.__append(this.m_callCount++);
+    this.__depth(1);
+  }
+
+  /**
+   * Emit the code for {@code (condition > 0) ? then : otherwise}, where
+   * only the selected branch is executed.
+   *
+   * @param condition
+   *          the condition
+   * @param then
+   *          the expression to evaluate if the condition is greater than
+   *          zero
+   * @param otherwise
+   *          the expression to evaluate otherwise
+   */
+  public final void emitConditional(final Function condition,
+      final Function then, final Function otherwise) {
+    final int jumpToOtherwise, jumpToEnd;
+
+    this.compile(condition);
+    this.__append(FunctionProgram.JUMP_IF_NOT_POSITIVE);
+    jumpToOtherwise = this.m_codeLength;
+    this.__append(-1);
+    this.__depth(-1);
+
+    this.compile(then);
+    this.__append(FunctionProgram.JUMP);
+    jumpToEnd = this.m_codeLength;
+    this.__append(-1);
+    // the other branch starts with the stack depth before "then"
+    this.m_depth--;
+
+    this.m_code[jumpToOtherwise] = this.m_codeLength;
+    this.compile(otherwise);
+    this.m_code[jumpToEnd] = this.m_codeLength;
+  }
+}
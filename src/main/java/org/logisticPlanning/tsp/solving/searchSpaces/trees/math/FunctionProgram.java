@@ -0,0 +1,293 @@
+package org.logisticPlanning.tsp.solving.searchSpaces.trees.math;
+
+/**
+ * <p>
+ * A {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function
+ * function tree} flattened by a
+ * {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler}
+ * into a linear program for a small stack machine operating on a
+ * {@code double[]}. Executing the program with {@link #compute(double[])}
+ * gives exactly the same result (and the same side effects on the data
+ * array) as {@link Function#compute(double[])}, but avoids the recursive
+ * virtual calls of the tree interpretation, which matters if the same
+ * tree is evaluated millions of times.
+ * </p>
+ * <p>
+ * The code consists of opcodes, some of which are followed by a single
+ * operand. Since the evaluation stack is allocated once and re-used, a
+ * program instance must not be used by multiple threads at the same time.
+ * </p>
+ */
+public final class FunctionProgram {
+
+  /** push a constant, operand: the constant index */
+  public static final int CONST = 0;
+  /** push a variable value, operand: the variable index */
+  public static final int LOAD = (FunctionProgram.CONST + 1);
+  /**
+   * store the top of the stack into a variable without removing it,
+   * operand: the variable index
+   */
+  public static final int STORE = (FunctionProgram.LOAD + 1);
+  /** {@code a+b} */
+  public static final int ADD = (FunctionProgram.STORE + 1);
+  /** {@code a-b} */
+  public static final int SUB = (FunctionProgram.ADD + 1);
+  /** {@code a*b} */
+  public static final int MUL = (FunctionProgram.SUB + 1);
+  /** {@code a/b}, or {@code a} if {@code b==0} */
+  public static final int DIV = (FunctionProgram.MUL + 1);
+  /** {@code a%b} */
+  public static final int REM = (FunctionProgram.DIV + 1);
+  /** {@code Math.max(a, b)} */
+  public static final int MAX = (FunctionProgram.REM + 1);
+  /** {@code Math.pow(a, b)} */
+  public static final int POW = (FunctionProgram.MAX + 1);
+  /** {@code Math.atan2(a, b)} */
+  public static final int ATAN2 = (FunctionProgram.POW + 1);
+  /** {@code Math.abs(a)} */
+  public static final int ABS = (FunctionProgram.ATAN2 + 1);
+  /** {@code Math.ceil(a)} */
+  public static final int CEIL = (FunctionProgram.ABS + 1);
+  /** {@code Math.floor(a)} */
+  public static final int FLOOR = (FunctionProgram.CEIL + 1);
+  /** {@code a-Math.floor(a)} */
+  public static final int FRAC = (FunctionProgram.FLOOR + 1);
+  /** {@code Math.rint(a)} */
+  public static final int RINT = (FunctionProgram.FRAC + 1);
+  /** {@code Math.exp(a)} */
+  public static final int EXP = (FunctionProgram.RINT + 1);
+  /** {@code Math.log(a)} */
+  public static final int LOG = (FunctionProgram.EXP + 1);
+  /** {@code Math.sqrt(a)} */
+  public static final int SQRT = (FunctionProgram.LOG + 1);
+  /** {@code Math.sin(a)} */
+  public static final int SIN = (FunctionProgram.SQRT + 1);
+  /** {@code Math.cos(a)} */
+  public static final int COS = (FunctionProgram.SIN + 1);
+  /** {@code Math.tan(a)} */
+  public static final int TAN = (FunctionProgram.COS + 1);
+  /** {@code Math.asin(a)} */
+  public static final int ASIN = (FunctionProgram.TAN + 1);
+  /** {@code Math.atan(a)} */
+  public static final int ATAN = (FunctionProgram.ASIN + 1);
+  /**
+   * pop a value and jump if it is not greater than zero, operand: the
+   * jump target
+   */
+  public static final int JUMP_IF_NOT_POSITIVE = (FunctionProgram.ATAN + 1);
+  /** jump unconditionally, operand: the jump target */
+  public static final int JUMP = (FunctionProgram.JUMP_IF_NOT_POSITIVE + 1);
+  /**
+   * push the result of interpreting a function which cannot be compiled,
+   * operand: the function index
+   */
+  public static final int CALL = (FunctionProgram.JUMP + 1);
+
+  /** the code */
+  private final int[] m_code;
+
+  /** the constants */
+  private final double[] m_constants;
+
+  /** the functions which are interpreted */
+  private final Function[] m_calls;
+
+  /** the evaluation stack */
+  private final double[] m_stack;
+
+  /**
+   * create the function program
+   *
+   * @param code
+   *          the code
+   * @param constants
+   *          the constants
+   * @param calls
+   *          the functions which are interpreted
+   * @param maxStack
+   *          the maximum stack depth
+   */
+  FunctionProgram(final int[] code, final double[] constants,
+      final Function[] calls, final int maxStack) {
+    super();
+    this.m_code = code;
+    this.m_constants = constants;
+    this.m_calls = calls;
+    this.m_stack = new double[maxStack];
+  }
+
+  /**
+   * compute the function result
+   *
+   * @param data
+   *          the data array
+   * @return the return value
+   */
+  public final double compute(final double[] data) {
+    final int[] code;
+    final double[] stack, constants;
+    final int end;
+    int pc, sp;
+    double b;
+
+    code = this.m_code;
+    constants = this.m_constants;
+    stack = this.m_stack;
+    end = code.length;
+    pc = 0;
+    sp = (-1);
+
+    while (pc < end) {
+      switch (code[pc++]) {
+        case CONST: {
+          stack[++sp] = constants[code[pc++]];
+          break;
+        }
+        case LOAD: {
+          stack[++sp] = data[code[pc++]];
+          break;
+        }
+        case STORE: {
+          data[code[pc++]] = stack[sp];
+          break;
+        }
+        case ADD: {
+          b = stack[sp--];
+          stack[sp] += b;
+          break;
+        }
+        case SUB: {
+          b = stack[sp--];
+          stack[sp] -= b;
+          break;
+        }
+        case MUL: {
+          b = stack[sp--];
+          stack[sp] *= b;
+          break;
+        }
+        case DIV: {
+          b = stack[sp--];
+          if (b != 0d) {
+            stack[sp] /= b;
+          }
+          break;
+        }
+        case REM: {
+          b = stack[sp--];
+          stack[sp] %= b;
+          break;
+        }
+        case MAX: {
+          b = stack[sp--];
+          stack[sp] = Math.max(stack[sp], b);
+          break;
+        }
+        case POW: {
+          b = stack[sp--];
+          stack[sp] = Math.pow(stack[sp], b);
+          break;
+        }
+        case ATAN2: {
+          b = stack[sp--];
+          stack[sp] = Math.atan2(stack[sp], b);
+          break;
+        }
+        case ABS: {
+          stack[sp] = Math.abs(stack[sp]);
+          break;
+        }
+        case CEIL: {
+          stack[sp] = Math.ceil(stack[sp]);
+          break;
+        }
+        case FLOOR: {
+          stack[sp] = Math.floor(stack[sp]);
+          break;
+        }
+        case FRAC: {
+          b = stack[sp];
+          stack[sp] = (b - Math.floor(b));
+          break;
+        }
+        case RINT: {
+          stack[sp] = Math.rint(stack[sp]);
+          break;
+        }
+        case EXP: {
+          stack[sp] = Math.exp(stack[sp]);
+          break;
+        }
+        case LOG: {
+          stack[sp] = Math.log(stack[sp]);
+          break;
+        }
+        case SQRT: {
+          stack[sp] = Math.sqrt(stack[sp]);
+          break;
+        }
+        case SIN: {
+          stack[sp] = Math.sin(stack[sp]);
+          break;
+        }
+        case COS: {
+          stack[sp] = Math.cos(stack[sp]);
+          break;
+        }
+        case TAN: {
+          stack[sp] = Math.tan(stack[sp]);
+          break;
+        }
+        case ASIN: {
+          stack[sp] = Math.asin(stack[sp]);
+          break;
+        }
+        case ATAN: {
+          stack[sp] = Math.atan(stack[sp]);
+          break;
+        }
+        case JUMP_IF_NOT_POSITIVE: {
+          if (stack[sp--] > 0d) {
+            pc++;
+          } else {
+            pc = code[pc];
+          }
+          break;
+        }
+        case JUMP: {
+          pc = code[pc];
+          break;
+        }
+        case CALL: {
+          stack[++sp] = this.m_calls[code[pc++]].compute(data);
+          break;
+        }
+        default: {
+          throw new IllegalStateException(//
+              "Illegal opcode " + code[pc - 1]); //$NON-NLS-1$
+        }
+      }
+    }
+
+    return stack[sp];
+  }
+
+  /**
+   * Get the length of the code
+   *
+   * @return the length of the code
+   */
+  public final int getCodeLength() {
+    return this.m_code.length;
+  }
+
+  /**
+   * Get the maximum depth of the evaluation stack
+   *
+   * @return the maximum depth of the evaluation stack
+   */
+  public final int getMaxStackDepth() {
+    return this.m_stack.length;
+  }
+}
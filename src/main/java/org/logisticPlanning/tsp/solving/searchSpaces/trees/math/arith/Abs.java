@@ -3,6 +3,8 @@ package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.Node;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.NodeType;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram;
 
 /**
  * Compute the absolute value of a given number
@@ -38,4 +40,11 @@ public final class Abs extends Function {
   public final double compute(final double[] data) {
     return Math.abs(this.get(0).compute(data));
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.compile(this.get(0));
+    compiler.emitUnary(FunctionProgram.ABS);
+  }
 }
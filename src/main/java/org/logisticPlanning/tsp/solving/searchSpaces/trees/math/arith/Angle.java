@@ -3,6 +3,8 @@ package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.Node;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.NodeType;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram;
 
 /**
  * Subtract two numbers
@@ -42,4 +44,12 @@ public final class Angle extends Function {
     return Math
         .atan2(this.get(0).compute(data), this.get(1).compute(data));
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.compile(this.get(0));
+    compiler.compile(this.get(1));
+    compiler.emitBinary(FunctionProgram.ATAN2);
+  }
 }
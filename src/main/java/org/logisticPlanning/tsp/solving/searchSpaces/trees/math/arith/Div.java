@@ -3,6 +3,8 @@ package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.Node;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.NodeType;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram;
 
 /**
  * Divide two numbers
@@ -45,4 +47,12 @@ public final class Div extends Function {
     }
     return (a / b);
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.compile(this.get(0));
+    compiler.compile(this.get(1));
+    compiler.emitBinary(FunctionProgram.DIV);
+  }
 }
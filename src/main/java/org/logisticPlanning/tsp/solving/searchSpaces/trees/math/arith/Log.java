@@ -3,6 +3,8 @@ package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.Node;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.NodeType;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram;
 
 /**
  * Compute the logarithm of a given number
@@ -38,4 +40,14 @@ public final class Log extends Function {
     return Math.log(Math.max(Double.MAX_VALUE,
         Math.abs(this.get(0).compute(data))));
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.compile(this.get(0));
+    compiler.emitUnary(FunctionProgram.ABS);
+    compiler.emitConstant(Double.MAX_VALUE);
+    compiler.emitBinary(FunctionProgram.MAX);
+    compiler.emitUnary(FunctionProgram.LOG);
+  }
 }
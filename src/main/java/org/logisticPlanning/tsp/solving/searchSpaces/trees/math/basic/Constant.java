@@ -1,6 +1,7 @@
 package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.basic;
 
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
 
 /**
  * A constant always returns a specific value
@@ -38,4 +39,10 @@ public final class Constant extends Function {
   public final void fillInText(final StringBuilder sb) {
     sb.append(this.m_value);
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.emitConstant(this.m_value);
+  }
 }
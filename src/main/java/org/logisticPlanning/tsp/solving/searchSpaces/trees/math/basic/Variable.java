@@ -1,6 +1,7 @@
 package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.basic;
 
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
 
 /**
  * A variable returns the value at a specific index of the data
@@ -41,4 +42,10 @@ public final class Variable extends Function {
     sb.append(this.m_index);
     sb.append(']');
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.emitLoad(this.m_index);
+  }
 }
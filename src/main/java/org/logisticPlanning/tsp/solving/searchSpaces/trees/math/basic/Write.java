@@ -2,6 +2,7 @@ package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.basic;
 
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.Node;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
 
 /**
  * A memory write operation
@@ -69,4 +70,11 @@ public final class Write extends Function {
 
     return ((w.m_index == this.m_index) && (w.get(0).equals(this.get(0))));
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.compile(this.get(0));
+    compiler.emitStore(this.m_index);
+  }
 }
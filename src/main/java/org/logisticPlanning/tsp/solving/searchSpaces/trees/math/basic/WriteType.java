@@ -28,7 +28,7 @@ public final class WriteType extends NodeType<Write, Function> {
    *          the variable count
    */
   public WriteType(final int varc, final NodeTypeSet<Function>[] ch) {
-    super("write_" + varc, null); //$NON-NLS-1$
+    super("write_" + varc, ch); //$NON-NLS-1$
     this.m_varC = Math.max(0, varc);
   }
 
@@ -3,6 +3,7 @@ package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.ctrl;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.Node;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.NodeType;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
 
 /**
  * If-Then-Else
@@ -45,4 +46,10 @@ public final class IfThenElse extends Function {
     sb.append(" else ");//$NON-NLS-1$
     this.printSubExpression(2, sb, '\0');
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.emitConditional(this.get(0), this.get(1), this.get(2));
+  }
 }
@@ -3,6 +3,8 @@ package org.logisticPlanning.tsp.solving.searchSpaces.trees.math.trig;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.Node;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.NodeType;
 import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram;
 
 /**
  * Compute the arcus sinus of a number
@@ -37,4 +39,14 @@ public final class ASin extends Function {
     sb.append("asin"); //$NON-NLS-1$
     this.printSubExpression(0, sb, ' ');
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void compile(final FunctionCompiler compiler) {
+    compiler.compile(this.get(0));
+    compiler.emitConstant(1d);
+    compiler.emitBinary(FunctionProgram.REM);
+    compiler.emitUnary(FunctionProgram.ABS);
+    compiler.emitUnary(FunctionProgram.ASIN);
+  }
 }
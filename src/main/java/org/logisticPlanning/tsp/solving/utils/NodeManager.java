@@ -150,6 +150,17 @@ public final class NodeManager {
     return (this.m_positions[n - 1] >= 0);
   }
 
+  /**
+   * Get the index of a node, i.e., the inverse of {@link #getByIndex(int)}
+   *
+   * @param id
+   *          the node's id
+   * @return the index of the node, or {@code -1} if it has been deleted
+   */
+  public final int getIndexByID(final int id) {
+    return this.m_positions[id - 1];
+  }
+
   /**
    * Choose a node randomly and delete and return it.
    *
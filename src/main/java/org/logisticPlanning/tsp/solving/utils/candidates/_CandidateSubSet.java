@@ -42,6 +42,7 @@ final class _CandidateSubSet extends CandidateSet {
   final void init(final ObjectiveFunction f, final int n, final int m) {
     final int matrixSize, listLen;
     int[] data;
+    final int[] to, dist, nearNodes, nearDists;
     final _Candidate[] list;
     _Candidate c;
     int sourceNode, destNode, listIndex, i;
@@ -62,28 +63,45 @@ final class _CandidateSubSet extends CandidateSet {
       list[i] = new _Candidate();
     }
 
+    // the nodes other than sourceNode and the distances to them: going
+    // from one source node to the next only replaces one node in to
+    to = new int[listLen];
+    dist = new int[listLen];
+    for (i = listLen; i > 0; i--) {
+      to[i - 1] = (i + 1);
+    }
+
+    // the m nearest nodes and their distances, nearest first, which are
+    // handed to the distance cache (if any)
+    nearNodes = new int[m];
+    nearDists = new int[m];
+
     // fill the candidate list: structure candidate-distance
     // candidate-distance
     i = 0;
     for (sourceNode = 1; sourceNode <= n; sourceNode++) {
 
       // load the distances from node sourceNode
-      listIndex = listLen;
-      for (destNode = n; destNode > 0; destNode--) {
-        if (destNode != sourceNode) {
-          c = list[--listIndex];
-          c.m_node = destNode;
-          c.m_dist = f.distance(sourceNode, destNode);
-        }
+      if (sourceNode > 1) {
+        to[sourceNode - 2] = (sourceNode - 1);
+      }
+      f.distances(sourceNode, to, 0, listLen, dist);
+      for (listIndex = listLen; (--listIndex) >= 0;) {
+        c = list[listIndex];
+        c.m_node = to[listIndex];
+        c.m_dist = dist[listIndex];
       }
 
       // choose the m nearest nodes
       Arrays.sort(list);
       destNode = i;
       for (listIndex = m; (--listIndex) >= 0;) {
-        data[i++] = list[listIndex].m_node;
+        c = list[listIndex];
+        data[i++] = nearNodes[listIndex] = c.m_node;
+        nearDists[listIndex] = c.m_dist;
       }
       Arrays.sort(data, destNode, i);
+      f.cacheNeighbors(sourceNode, nearNodes, nearDists, 0, m);
     }
   }
 
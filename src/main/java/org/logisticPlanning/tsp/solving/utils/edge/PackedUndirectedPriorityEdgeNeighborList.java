@@ -0,0 +1,392 @@
+package org.logisticPlanning.tsp.solving.utils.edge;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A struct-of-arrays version of the
+ * {@link UndirectedPriorityEdgeNeighborList}: This class manages the same
+ * bounded lists of edges connected to each node and follows exactly the
+ * same check-in rules, but it does not create any
+ * {@link org.logisticPlanning.tsp.solving.utils.edge.PriorityEdge edge
+ * objects}. Instead, the two end nodes, the priority {@code h}, and an
+ * additional {@code int} value of each edge are stored in primitive
+ * arrays. Edges are exposed as indexes into these arrays. Node indices must
+ * be one-based.
+ * </p>
+ * <p>
+ * After all edges have been checked in, {@link #sort()} will sort all
+ * edges according to their priority. The edges can then be visited in
+ * that order via {@link #getSortedEdge(int)}. The order is the same as
+ * the one of the edge array returned by
+ * {@link UndirectedPriorityEdgeNeighborList#getEdgeArray()}.
+ * </p>
+ */
+public class PackedUndirectedPriorityEdgeNeighborList {
+
+  /** the first ends of the edges */
+  private final int[] m_a;
+
+  /** the second ends of the edges */
+  private final int[] m_b;
+
+  /** the priorities of the edges */
+  private final int[] m_h;
+
+  /** the additional values of the edges */
+  private final int[] m_v;
+
+  /** the neighbor list length */
+  private final int m_neighborListLength;
+
+  /** the number of edges we have */
+  private final int[] m_sizes;
+
+  /** the temporary array for sorting */
+  private final int[] m_tmp;
+
+  /** the temporary keys for sorting a single neighbor list */
+  private final long[] m_keys;
+
+  /**
+   * the sorted edges, each packing the priority in its upper and the edge
+   * index in its lower 32 bits
+   */
+  private long[] m_sorted;
+
+  /**
+   * Create a new packed priority neighbor list for undirected edges.
+   *
+   * @param n
+   *          the number of nodes
+   * @param neighborListLength
+   *          the neighbor list length for each node
+   */
+  public PackedUndirectedPriorityEdgeNeighborList(final int n,
+      final int neighborListLength) {
+    super();
+
+    final int size;
+
+    size = (n * neighborListLength);
+    this.m_neighborListLength = neighborListLength;
+    this.m_a = new int[size];
+    this.m_b = new int[size];
+    this.m_h = new int[size];
+    this.m_v = new int[size];
+    this.m_sizes = new int[n];
+    this.m_tmp = new int[neighborListLength];
+    this.m_keys = new long[neighborListLength];
+  }
+
+  /**
+   * get the number of nodes this neighbor list can manage
+   *
+   * @return the number of nodes this neighbor list can manage
+   */
+  public final int n() {
+    return this.m_sizes.length;
+  }
+
+  /**
+   * get the neighbor list length
+   *
+   * @return the neighbor list length
+   */
+  public final int getNeighborListLength() {
+    return this.m_neighborListLength;
+  }
+
+  /** clear this edge list */
+  public final void clear() {
+    Arrays.fill(this.m_sizes, 0);
+  }
+
+  /**
+   * Try to check in an edge whose additional value equals its priority.
+   *
+   * @param a
+   *          the first end
+   * @param b
+   *          the second end
+   * @param h
+   *          the heuristic value
+   * @return the index of the edge (if an edge was inserted), or {@code -1}
+   *         if {@code h} was too big
+   * @see #checkIn(int, int, int, int)
+   */
+  public final int checkIn(final int a, final int b, final int h) {
+    return this.checkIn(a, b, h, h);
+  }
+
+  /**
+   * Try to check in an edge. This method follows exactly the same rules
+   * as {@link UndirectedPriorityEdgeNeighborList#checkIn(int, int, int)}:
+   * For each node, we keep at most {@link #m_neighborListLength}
+   * neighboring edges with the lowest priority values, and each edge has
+   * two chances to enter the list, once for each of its incident nodes.
+   * The returned index is only valid until the next edge is checked in,
+   * as later edges may shift it within its neighbor list.
+   *
+   * @param a
+   *          the first end
+   * @param b
+   *          the second end
+   * @param h
+   *          the heuristic value
+   * @param value
+   *          an additional value to store with the edge, e.g., its length
+   * @return the index of the edge (if an edge was inserted), or {@code -1}
+   *         if {@code h} was too big
+   */
+  public final int checkIn(final int a, final int b, final int h,
+      final int value) {
+    final int[] sizes, hs;
+    final int nls;
+    int y, slot, size, fromIndex, toIndex, low, high, mid, use, midH;
+
+    sizes = this.m_sizes;
+    hs = this.m_h;
+    nls = this.m_neighborListLength;
+
+    // We will try to push this into both neighbor lists, the list for node
+    // a and the list for node b.
+    outer: for (y = 2; y > 0; y--) {
+
+      slot = (((y == 2) ? a : b) - 1);// choose one of the two lists
+      size = sizes[slot]; // how many nodes are in it?
+      fromIndex = (slot * nls);
+
+      if (size < nls) {// ok, we still have some free slots
+        use = (fromIndex + (size++));
+        sizes[slot] = size;
+        this.__store(use, a, b, h, value);
+        if (size >= nls) {
+          // ok, we just filled that list, so now we sort it
+          use = this.__sortRange(fromIndex);
+        }
+        return use;
+      }
+
+      // Ok, there was no free slot: try to find one by using binary
+      // search, starting at the end of the list (mid=high) since we assume
+      // that most edges will be longer than the top nls edges.
+      low = fromIndex;
+      toIndex = (fromIndex + nls);
+      high = (toIndex - 1);
+      mid = high;
+
+      search: {
+        while (low <= high) {
+          midH = hs[mid];
+          if (midH < h) {
+            low = (mid + 1);
+          } else {
+            if (midH > h) {
+              high = (mid - 1);
+            } else {
+              break search;
+            }
+          }
+
+          mid = ((low + high) >>> 1);
+        }
+      }
+
+      if (low >= toIndex) {// the edge was too long (in heuristic terms)
+        continue outer;
+      }
+
+      // ok, there is at least one worse edge: we drop the last (worst)
+      // edge in the list and shift back the rest in a fast arraycopy move
+      high = (toIndex - low - 1);
+      mid = (low + 1);
+      System.arraycopy(this.m_a, low, this.m_a, mid, high);
+      System.arraycopy(this.m_b, low, this.m_b, mid, high);
+      System.arraycopy(hs, low, hs, mid, high);
+      System.arraycopy(this.m_v, low, this.m_v, mid, high);
+
+      this.__store(low, a, b, h, value);
+      return low;
+    }
+
+    return (-1);
+  }
+
+  /**
+   * store an edge at a given index
+   *
+   * @param index
+   *          the index
+   * @param a
+   *          the first end
+   * @param b
+   *          the second end
+   * @param h
+   *          the heuristic value
+   * @param value
+   *          the additional value
+   */
+  private final void __store(final int index, final int a, final int b,
+      final int h, final int value) {
+    this.m_a[index] = a;
+    this.m_b[index] = b;
+    this.m_h[index] = h;
+    this.m_v[index] = value;
+  }
+
+  /**
+   * Stably sort a complete neighbor list according to the priorities of
+   * its edges.
+   *
+   * @param fromIndex
+   *          the start index of the neighbor list
+   * @return the new index of the edge which was the last one in the list
+   *         before sorting
+   */
+  private final int __sortRange(final int fromIndex) {
+    final long[] keys;
+    final int[] hs;
+    final int nls;
+    int i;
+
+    keys = this.m_keys;
+    hs = this.m_h;
+    nls = this.m_neighborListLength;
+
+    for (i = nls; (--i) >= 0;) {
+      keys[i] = ((((long) (hs[fromIndex + i])) << 32) | i);
+    }
+    Arrays.sort(keys);
+
+    this.__permute(this.m_a, fromIndex);
+    this.__permute(this.m_b, fromIndex);
+    this.__permute(hs, fromIndex);
+    this.__permute(this.m_v, fromIndex);
+
+    for (i = nls; (--i) > 0;) {
+      if (((int) (keys[i])) == (nls - 1)) {
+        break;
+      }
+    }
+    return (fromIndex + i);
+  }
+
+  /**
+   * apply the permutation stored in the lower bits of {@link #m_keys} to
+   * a neighbor list in the given array
+   *
+   * @param data
+   *          the array
+   * @param fromIndex
+   *          the start index of the neighbor list
+   */
+  private final void __permute(final int[] data, final int fromIndex) {
+    final long[] keys;
+    final int[] tmp;
+    int i;
+
+    keys = this.m_keys;
+    tmp = this.m_tmp;
+    for (i = tmp.length; (--i) >= 0;) {
+      tmp[i] = data[fromIndex + ((int) (keys[i]))];
+    }
+    System.arraycopy(tmp, 0, data, fromIndex, tmp.length);
+  }
+
+  /**
+   * Sort all edges according to their priority. Edges with the same
+   * priority keep their relative order. After this call, no further edges
+   * should be checked in before {@link #clear()} is invoked.
+   *
+   * @return the number of edges
+   */
+  public final int sort() {
+    final int[] sizes, hs;
+    final int nls;
+    long[] sorted;
+    int slot, index, end, count;
+
+    sizes = this.m_sizes;
+    hs = this.m_h;
+    nls = this.m_neighborListLength;
+
+    count = 0;
+    for (slot = sizes.length; (--slot) >= 0;) {
+      count += sizes[slot];
+    }
+
+    sorted = this.m_sorted;
+    if ((sorted == null) || (sorted.length < count)) {
+      this.m_sorted = sorted = new long[count];
+    }
+
+    count = 0;
+    for (slot = 0; slot < sizes.length; slot++) {
+      index = (slot * nls);
+      for (end = (index + sizes[slot]); index < end; index++) {
+        sorted[count++] = ((((long) (hs[index])) << 32) | index);
+      }
+    }
+
+    Arrays.sort(sorted, 0, count);
+    return count;
+  }
+
+  /**
+   * Get the index of the edge at the given position in the order
+   * established by {@link #sort()}
+   *
+   * @param rank
+   *          the position, must be smaller than the value returned by
+   *          {@link #sort()}
+   * @return the index of the edge
+   */
+  public final int getSortedEdge(final int rank) {
+    return ((int) (this.m_sorted[rank]));
+  }
+
+  /**
+   * Get the first end of an edge
+   *
+   * @param index
+   *          the index of the edge
+   * @return the first end of the edge
+   */
+  public final int getA(final int index) {
+    return this.m_a[index];
+  }
+
+  /**
+   * Get the second end of an edge
+   *
+   * @param index
+   *          the index of the edge
+   * @return the second end of the edge
+   */
+  public final int getB(final int index) {
+    return this.m_b[index];
+  }
+
+  /**
+   * Get the priority of an edge
+   *
+   * @param index
+   *          the index of the edge
+   * @return the priority of the edge
+   */
+  public final int getPriority(final int index) {
+    return this.m_h[index];
+  }
+
+  /**
+   * Get the additional value of an edge
+   *
+   * @param index
+   *          the index of the edge
+   * @return the additional value of the edge
+   */
+  public final int getValue(final int index) {
+    return this.m_v[index];
+  }
+}
@@ -0,0 +1,116 @@
+package org.logisticPlanning.tsp.solving.utils.edge;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A sorted edge stream is a compact, primitive-array based snapshot of the
+ * globally sorted edge array of an
+ * {@link UndirectedPriorityEdgeNeighborList}. Each edge is stored as one
+ * {@code long} packing its two (one-based) nodes plus an {@code int} value
+ * which is usually the length of the edge. The priority that was used to
+ * sort the edges is not stored, only the order it defined.
+ * </p>
+ * <p>
+ * Building an edge list requires scanning all {@code O(n^2)} node pairs,
+ * whereas iterating over a stream only takes time proportional to its
+ * length. Heuristics which are applied several times to the same problem
+ * instance during a run can therefore build a stream once and reuse it
+ * afterwards.
+ * </p>
+ */
+public final class SortedEdgeStream {
+
+  /** the packed node pairs */
+  private long[] m_pairs;
+
+  /** the edge values */
+  private int[] m_values;
+
+  /** the number of edges in the stream */
+  private int m_size;
+
+  /**
+   * Create a new sorted edge stream
+   *
+   * @param capacity
+   *          the expected number of edges
+   */
+  public SortedEdgeStream(final int capacity) {
+    super();
+    this.m_pairs = new long[Math.max(1, capacity)];
+    this.m_values = new int[this.m_pairs.length];
+  }
+
+  /** remove all edges from this stream */
+  public final void clear() {
+    this.m_size = 0;
+  }
+
+  /**
+   * Append an edge to the end of the stream. The edges must be added in
+   * the order in which they should later be visited.
+   *
+   * @param a
+   *          the (one-based) first node of the edge
+   * @param b
+   *          the (one-based) second node of the edge
+   * @param value
+   *          the value of the edge, e.g., its length
+   */
+  public final void add(final int a, final int b, final int value) {
+    final int size;
+
+    size = this.m_size;
+    if (size >= this.m_pairs.length) {
+      this.m_pairs = Arrays.copyOf(this.m_pairs, (size << 1));
+      this.m_values = Arrays.copyOf(this.m_values, (size << 1));
+    }
+
+    this.m_pairs[size] = ((((long) a) << 32) | (b & 0xffffffffl));
+    this.m_values[size] = value;
+    this.m_size = (size + 1);
+  }
+
+  /**
+   * Get the number of edges in this stream
+   *
+   * @return the number of edges in this stream
+   */
+  public final int size() {
+    return this.m_size;
+  }
+
+  /**
+   * Get the first node of the edge at the given index
+   *
+   * @param index
+   *          the index of the edge
+   * @return the (one-based) first node of the edge
+   */
+  public final int a(final int index) {
+    return ((int) (this.m_pairs[index] >>> 32));
+  }
+
+  /**
+   * Get the second node of the edge at the given index
+   *
+   * @param index
+   *          the index of the edge
+   * @return the (one-based) second node of the edge
+   */
+  public final int b(final int index) {
+    return ((int) (this.m_pairs[index]));
+  }
+
+  /**
+   * Get the value of the edge at the given index
+   *
+   * @param index
+   *          the index of the edge
+   * @return the value of the edge
+   */
+  public final int value(final int index) {
+    return this.m_values[index];
+  }
+}
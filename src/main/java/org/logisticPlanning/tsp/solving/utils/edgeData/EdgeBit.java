@@ -193,6 +193,45 @@ public abstract class EdgeBit extends EdgeNumber implements Cloneable {
         : new _AsymmetricEdgeBitLongArray(n));
   }
 
+  /**
+   * Allocate an edge bit instance with all bits set to {@code false},
+   * choosing a sparse representation if at most {@code maxEdgesPerNode}
+   * edges incident to any node will be set at the same time and this
+   * needs less than half the memory of a dense bit matrix, or if
+   * {@code n} is too large for a dense matrix. Otherwise, this method
+   * behaves like {@link #allocate(int, boolean, EdgeBit)}.
+   *
+   * @param n
+   *          the number of nodes
+   * @param symmetric
+   *          is the instance symmetric?
+   * @param maxEdgesPerNode
+   *          the maximum number of edges incident to a node which are set
+   *          at the same time, or {@code 0} if unknown
+   * @param old
+   *          the old edge bit instance that may be re-used
+   * @return the {@code EdgeBits} instance with the given features and all
+   *         bits set to {@code false}
+   */
+  public static final EdgeBit allocate(final int n,
+      final boolean symmetric, final int maxEdgesPerNode,
+      final EdgeBit old) {
+
+    if (!(EdgeNumber._preferSparse(n, symmetric, 0.125d,
+        _SparseEdgeMap.BYTES_PER_KEY_EDGE, maxEdgesPerNode))) {
+      return EdgeBit.allocate(n, symmetric,
+          (((old != null) && old.isSparse()) ? null : old));
+    }
+
+    if ((old != null) && (old.m_n == n) && old.isSparse()
+        && (symmetric == old.isSymmetric())) {
+      old.clear();
+      return old;
+    }
+
+    return new _SparseEdgeBit(n, symmetric);
+  }
+
   /** {@inheritDoc} */
   @Override
   public final String toString() {
@@ -48,6 +48,17 @@ public abstract class EdgeData implements Serializable {
    */
   public abstract boolean isSymmetric();
 
+  /**
+   * Is this edge data instance sparse, i.e., does it only store the edges
+   * with non-default values instead of a full matrix?
+   *
+   * @return {@code true} if the data is stored sparsely, {@code false}
+   *         otherwise
+   */
+  public boolean isSparse() {
+    return false;
+  }
+
   /**
    * Clear all data: set all edge values to {@code 0}.
    */
@@ -164,6 +164,12 @@ public abstract class EdgeNumber extends EdgeData {
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * the largest number of nodes for which all dense matrices can be
+   * allocated: {@value}
+   */
+  static final int MAX_DENSE_DIMENSION = 46341;
+
   /**
    * create
    *
@@ -406,6 +412,31 @@ public abstract class EdgeNumber extends EdgeData {
    */
   public abstract void dec(final int a, final int b);
 
+  /**
+   * Store all nodes {@code b} for which edge {@code (a,b)} has a non-zero
+   * value in {@code dest}, in no particular order. This takes time
+   * proportional to {@code n} for dense matrices, but only to the number
+   * of stored edges of {@code a} for {@link #isSparse() sparse} ones.
+   *
+   * @param a
+   *          the first city of the edges
+   * @param dest
+   *          the destination array, which must have room for at least
+   *          {@code n-1} nodes
+   * @return the number of nodes stored in {@code dest}
+   */
+  public int getNonZeroEdges(final int a, final int[] dest) {
+    int b, count;
+
+    count = 0;
+    for (b = this.m_n; b > 0; b--) {
+      if ((b != a) && (this.getDouble(a, b) != 0d)) {
+        dest[count++] = b;
+      }
+    }
+    return count;
+  }
+
   /**
    * Get the minimum value allowed by this class
    *
@@ -513,6 +544,126 @@ public abstract class EdgeNumber extends EdgeData {
         : new _AsymmetricEdgeLong(n));
   }
 
+  /**
+   * Allocate an {@link EdgeNumber} instance with all data elements set to
+   * 0, choosing between a dense and a sparse representation. If it is
+   * known that at most {@code maxEdgesPerNode} edges incident to any node
+   * will have a non-zero value at the same time, e.g., {@code 2*ps} for an
+   * edge histogram of a population of {@code ps} tours, a sparse
+   * representation needs memory proportional to {@code n*maxEdgesPerNode}
+   * instead of {@code n}<sup>2</sup>. It is chosen if it needs less than
+   * half of the memory of the dense one or if {@code n} is too large for a
+   * dense matrix. Otherwise, this method behaves like
+   * {@link #allocate(int, boolean, long, long, boolean, EdgeNumber)}.
+   *
+   * @param n
+   *          the number of nodes
+   * @param symmetric
+   *          is the instance symmetric?
+   * @param minValue
+   *          the minimum value to be stored, specified as 64 bit signed
+   *          integer (long)
+   * @param maxValue
+   *          the maximum value to be stored, specified as 64 bit signed
+   *          integer (long)
+   * @param requiresFloats
+   *          do we need to support floating point numbers?
+   * @param maxEdgesPerNode
+   *          the maximum number of edges incident to a node which have a
+   *          non-zero value at the same time, or {@code 0} if unknown
+   * @param old
+   *          the old edge byte instance that may be re-used
+   * @return the
+   *         {@link org.logisticPlanning.tsp.solving.utils.edgeData.EdgeNumber
+   *         EdgeNumber} instance with the given features and all bits set
+   *         to {@code 0}
+   */
+  public static final EdgeNumber allocate(final int n,
+      final boolean symmetric, final long minValue, final long maxValue,
+      final boolean requiresFloats, final int maxEdgesPerNode,
+      final EdgeNumber old) {
+    final double denseBytes;
+
+    if (requiresFloats) {
+      denseBytes = 4d;
+    } else {
+      if ((minValue >= 0) && (maxValue <= 1)) {
+        return EdgeBit.allocate(n, symmetric, maxEdgesPerNode,
+            ((old instanceof EdgeBit) ? ((EdgeBit) old) : null));
+      }
+      if ((minValue >= (java.lang.Byte.MIN_VALUE))
+          && (maxValue <= (java.lang.Byte.MAX_VALUE))) {
+        denseBytes = 1d;
+      } else {
+        if ((minValue >= (java.lang.Short.MIN_VALUE))
+            && (maxValue <= (java.lang.Short.MAX_VALUE))) {
+          denseBytes = 2d;
+        } else {
+          if ((minValue >= (java.lang.Integer.MIN_VALUE))
+              && (maxValue <= (java.lang.Integer.MAX_VALUE))) {
+            denseBytes = 4d;
+          } else {
+            denseBytes = 8d;
+          }
+        }
+      }
+    }
+
+    if (!(EdgeNumber._preferSparse(n, symmetric, denseBytes,
+        _SparseEdgeMap.BYTES_PER_VALUE_EDGE, maxEdgesPerNode))) {
+      return EdgeNumber.allocate(n, symmetric, minValue, maxValue,
+          requiresFloats, (((old != null) && old.isSparse()) ? null : old));
+    }
+
+    if ((old != null) && (old.m_n == n) && old.isSparse()
+        && (symmetric == old.isSymmetric())
+        && (old.areFloatsAllowed() == requiresFloats)) {
+      old.clear();
+      return old;
+    }
+
+    return (requiresFloats ? new _SparseEdgeDouble(n, symmetric)
+        : new _SparseEdgeLong(n, symmetric));
+  }
+
+  /**
+   * Should a sparse representation be used instead of a dense matrix?
+   *
+   * @param n
+   *          the number of nodes
+   * @param symmetric
+   *          is the instance symmetric?
+   * @param denseBytes
+   *          the bytes per edge in the dense matrix
+   * @param sparseBytes
+   *          the bytes per edge in the sparse representation
+   * @param maxEdgesPerNode
+   *          the maximum number of edges incident to a node which have a
+   *          non-default value at the same time, or {@code 0} if unknown
+   * @return {@code true} if the sparse representation needs less than
+   *         half the memory of the dense one or {@code n} is too large for
+   *         a dense matrix, {@code false} otherwise
+   */
+  static final boolean _preferSparse(final int n, final boolean symmetric,
+      final double denseBytes, final int sparseBytes,
+      final int maxEdgesPerNode) {
+    final long pairs;
+
+    if (maxEdgesPerNode <= 0) {
+      return false;
+    }
+    if (n > EdgeNumber.MAX_DENSE_DIMENSION) {
+      return true;
+    }
+
+    pairs = (((long) n) * (n - 1));
+    // every node's table holds its at most min(n-1, maxEdgesPerNode)
+    // edges, i.e., symmetric edges are stored twice
+    return ((((double) n) * Math.min((n - 1), maxEdgesPerNode) * //
+    sparseBytes) < //
+    ((symmetric ? (pairs >>> 1) : pairs) * denseBytes));
+  }
+
   /**
    * Allocate an {@link EdgeNumber} instance with all data elements set to
    * 0. Try to re-use an existing instance {@code old}, if possible. Use
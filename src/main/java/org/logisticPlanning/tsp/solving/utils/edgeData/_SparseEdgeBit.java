@@ -0,0 +1,127 @@
+package org.logisticPlanning.tsp.solving.utils.edgeData;
+
+/**
+ * <p>
+ * This class is an internal class. You <em>MUST NEVER</em> instantiate
+ * this class. It is only public for unit testing purposes. Use
+ * {@link org.logisticPlanning.tsp.solving.utils.edgeData.EdgeBit#allocate(int, boolean, int, EdgeBit)}
+ * to get the right type of
+ * {@link org.logisticPlanning.tsp.solving.utils.edgeData.EdgeBit EdgeBits}
+ * .
+ * </p>
+ * <p>
+ * {@link _SparseEdgeBit} represents the bits as set of the edges whose
+ * bit differs from a default value, stored in per-node hash tables. The
+ * default value is {@code false} after {@link #clear()} and {@code true}
+ * after {@link #setAll()}. This class is intended for large symmetric or
+ * asymmetric TSPs where only few edges per node differ from the default.
+ * </p>
+ */
+public final class _SparseEdgeBit extends EdgeBit {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the edges whose bit differs from {@link #m_default} */
+  private _SparseEdgeMap m_map;
+
+  /** the default value of the bits */
+  private boolean m_default;
+
+  /**
+   * create the _SparseEdgeBit
+   *
+   * @param n
+   *          the number of nodes in the tsp
+   * @param symmetric
+   *          is the instance symmetric?
+   */
+  public _SparseEdgeBit(final int n, final boolean symmetric) {
+    super(n);
+    this.m_map = new _SparseEdgeMap(n, symmetric, false);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean get(final int a, final int b) {
+    return (this.m_map._contains(a, b) != this.m_default);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean toggle(final int a, final int b) {
+    if (this.m_map._remove(a, b)) {
+      return this.m_default;
+    }
+    this.m_map._insert(a, b);
+    return (!(this.m_default));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void set(final int a, final int b) {
+    this.set(a, b, true);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void clear(final int a, final int b) {
+    this.set(a, b, false);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void set(final int a, final int b, final boolean value) {
+    if (value == this.m_default) {
+      this.m_map._remove(a, b);
+    } else {
+      this.m_map._insert(a, b);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setAll() {
+    this.m_map._clear();
+    this.m_default = true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void clear() {
+    this.m_map._clear();
+    this.m_default = false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isSymmetric() {
+    return this.m_map.m_symmetric;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isSparse() {
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getNonZeroEdges(final int a, final int[] dest) {
+    if (this.m_default) {
+      return super.getNonZeroEdges(a, dest);
+    }
+    return this.m_map._nonZero(a, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _SparseEdgeBit clone() {
+    final _SparseEdgeBit res;
+
+    res = ((_SparseEdgeBit) (super.clone()));
+    res.m_map = res.m_map._copy();
+
+    return res;
+  }
+}
@@ -0,0 +1,203 @@
+package org.logisticPlanning.tsp.solving.utils.edgeData;
+
+/**
+ * <p>
+ * This class is an internal class. You <em>MUST NEVER</em> instantiate
+ * this class. It is only public for unit testing purposes. Use
+ * {@link org.logisticPlanning.tsp.solving.utils.edgeData.EdgeNumber#allocate(int, boolean, long, long, boolean, int, EdgeNumber)}
+ * to get the right type of
+ * {@link org.logisticPlanning.tsp.solving.utils.edgeData.EdgeNumber
+ * EdgeNumber}.
+ * </p>
+ * <p>
+ * A sparse class that assigns a double to each edge, for symmetric or
+ * asymmetric TSPs.
+ * Only the edges with non-zero values occupy memory, in per-node hash
+ * tables, so this class can be used for large TSPs if only few edges per
+ * node have a non-zero value at any time, as is the case for edge
+ * histograms built from a population of tours.
+ * </p>
+ */
+public final class _SparseEdgeDouble extends EdgeNumber {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the map */
+  private final _SparseEdgeMap m_map;
+
+  /**
+   * create
+   *
+   * @param n
+   *          the number of nodes
+   * @param symmetric
+   *          is the instance symmetric?
+   */
+  public _SparseEdgeDouble(final int n, final boolean symmetric) {
+    super(n);
+    this.m_map = new _SparseEdgeMap(n, symmetric, true);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setByte(final int a, final int b, final byte value) {
+    this.m_map._set(a, b, Double.doubleToLongBits(value));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final byte getByte(final int a, final int b) {
+    return ((byte) (Double.longBitsToDouble(this.m_map._get(a, b))));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void addByte(final int a, final int b, final byte value) {
+    this.m_map._addDouble(a, b, value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setShort(final int a, final int b, final short value) {
+    this.m_map._set(a, b, Double.doubleToLongBits(value));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final short getShort(final int a, final int b) {
+    return ((short) (Double.longBitsToDouble(this.m_map._get(a, b))));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void addShort(final int a, final int b, final short value) {
+    this.m_map._addDouble(a, b, value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setInt(final int a, final int b, final int value) {
+    this.m_map._set(a, b, Double.doubleToLongBits(value));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getInt(final int a, final int b) {
+    return ((int) (Double.longBitsToDouble(this.m_map._get(a, b))));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void addInt(final int a, final int b, final int value) {
+    this.m_map._addDouble(a, b, value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setLong(final int a, final int b, final long value) {
+    this.m_map._set(a, b, Double.doubleToLongBits(value));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int a, final int b) {
+    return ((long) (Double.longBitsToDouble(this.m_map._get(a, b))));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void addLong(final int a, final int b, final long value) {
+    this.m_map._addDouble(a, b, value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setFloat(final int a, final int b, final float value) {
+    this.m_map._set(a, b, Double.doubleToLongBits(value));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final float getFloat(final int a, final int b) {
+    return ((float) (Double.longBitsToDouble(this.m_map._get(a, b))));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void addFloat(final int a, final int b, final float value) {
+    this.m_map._addDouble(a, b, value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setDouble(final int a, final int b, final double value) {
+    this.m_map._set(a, b, Double.doubleToLongBits(value));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int a, final int b) {
+    return Double.longBitsToDouble(this.m_map._get(a, b));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void addDouble(final int a, final int b, final double value) {
+    this.m_map._addDouble(a, b, value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void inc(final int a, final int b) {
+    this.m_map._addDouble(a, b, 1d);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void dec(final int a, final int b) {
+    this.m_map._addDouble(a, b, (-1d));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getMinimumAllowedValue() {
+    return (java.lang.Long.MIN_VALUE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getMaximumAllowedValue() {
+    return (java.lang.Long.MAX_VALUE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean areFloatsAllowed() {
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isSymmetric() {
+    return this.m_map.m_symmetric;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isSparse() {
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getNonZeroEdges(final int a, final int[] dest) {
+    return this.m_map._nonZero(a, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void clear() {
+    this.m_map._clear();
+  }
+}
@@ -0,0 +1,513 @@
+package org.logisticPlanning.tsp.solving.utils.edgeData;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The backing store of the sparse edge data structures: For each node,
+ * an open-addressing hash table with linear probing maps the other nodes
+ * of its edges to {@code long} values. Edge {@code (a,b)} is stored in the
+ * table of node {@code a} under the key {@code b}. In the symmetric case,
+ * it is also stored in the table of node {@code b} under the key
+ * {@code a}, so all edges incident to a node can be
+ * {@link #_nonZero(int, int[]) listed} from its table alone. The tables
+ * are allocated lazily and
+ * grow when they become half full. Before a table grows, the entries
+ * whose value is {@code 0} are dropped, so the memory consumption is
+ * bounded by the number of edges with non-zero values, not by the number
+ * of edges ever touched.
+ * </p>
+ * <p>
+ * The map may be used without values, as a set of edges, in which case
+ * entries are only removed {@link #_remove(int, int) explicitly}.
+ * </p>
+ */
+final class _SparseEdgeMap implements Serializable {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the initial capacity of a table: {@value} */
+  private static final int MIN_CAPACITY = 8;
+
+  /**
+   * the bytes needed per edge: a key and a value, at a load factor of at
+   * most one half: {@value}
+   */
+  static final int BYTES_PER_VALUE_EDGE = (2 * (4 + 8));
+
+  /**
+   * the bytes needed per edge in a map without values, at a load factor
+   * of at most one half: {@value}
+   */
+  static final int BYTES_PER_KEY_EDGE = (2 * 4);
+
+  /** is the map symmetric? */
+  final boolean m_symmetric;
+
+  /**
+   * the keys: the table of node {@code i} is at index {@code i-1}, it is
+   * {@code null} until the first edge is stored, and {@code 0} marks an
+   * empty slot
+   */
+  int[][] m_keys;
+
+  /**
+   * the values, at the same indexes as the keys, or {@code null} if this
+   * map holds no values
+   */
+  long[][] m_values;
+
+  /** the number of occupied slots in the tables */
+  int[] m_sizes;
+
+  /**
+   * create
+   *
+   * @param n
+   *          the number of nodes
+   * @param symmetric
+   *          is the map symmetric?
+   * @param values
+   *          should the map hold values?
+   */
+  _SparseEdgeMap(final int n, final boolean symmetric,
+      final boolean values) {
+    super();
+    this.m_symmetric = symmetric;
+    this.m_keys = new int[n][];
+    this.m_values = (values ? new long[n][] : null);
+    this.m_sizes = new int[n];
+  }
+
+  /**
+   * Compute the home slot of a key
+   *
+   * @param key
+   *          the key
+   * @param mask
+   *          the table mask
+   * @return the home slot
+   */
+  private static final int __home(final int key, final int mask) {
+    int h;
+
+    h = (key * 0x9e3779b9);
+    return ((h ^ (h >>> 16)) & mask);
+  }
+
+  /**
+   * Find the slot of an edge
+   *
+   * @param row
+   *          the table index
+   * @param key
+   *          the key
+   * @return the slot, or {@code -1} if the edge is not in the map
+   */
+  private final int __find(final int row, final int key) {
+    final int[] keys;
+    final int mask;
+    int slot, k;
+
+    keys = this.m_keys[row];
+    if (keys == null) {
+      return (-1);
+    }
+
+    mask = (keys.length - 1);
+    slot = _SparseEdgeMap.__home(key, mask);
+    while ((k = keys[slot]) != 0) {
+      if (k == key) {
+        return slot;
+      }
+      slot = ((slot + 1) & mask);
+    }
+    return (-1);
+  }
+
+  /**
+   * Find the slot of an edge and insert it if it is not yet in the map.
+   *
+   * @param row
+   *          the table index
+   * @param key
+   *          the key
+   * @return the slot
+   */
+  private final int __slot(final int row, final int key) {
+    int[] keys;
+    int mask, slot, k;
+
+    keys = this.m_keys[row];
+    if (keys == null) {
+      this.m_keys[row] = keys = new int[_SparseEdgeMap.MIN_CAPACITY];
+      if (this.m_values != null) {
+        this.m_values[row] = new long[_SparseEdgeMap.MIN_CAPACITY];
+      }
+    }
+
+    mask = (keys.length - 1);
+    slot = _SparseEdgeMap.__home(key, mask);
+    while ((k = keys[slot]) != 0) {
+      if (k == key) {
+        return slot;
+      }
+      slot = ((slot + 1) & mask);
+    }
+
+    // the key is new: make sure that the table stays at most half full
+    if (((this.m_sizes[row] + 1) << 1) > keys.length) {
+      this.__rehash(row);
+      keys = this.m_keys[row];
+      mask = (keys.length - 1);
+      slot = _SparseEdgeMap.__home(key, mask);
+      while (keys[slot] != 0) {
+        slot = ((slot + 1) & mask);
+      }
+    }
+
+    keys[slot] = key;
+    this.m_sizes[row]++;
+    return slot;
+  }
+
+  /**
+   * Re-build the table of a node such that one more entry can be added:
+   * the entries with value {@code 0} are dropped and the capacity is
+   * chosen such that the table is at most half full.
+   *
+   * @param row
+   *          the table index
+   */
+  private final void __rehash(final int row) {
+    final int[] oldKeys, newKeys;
+    final long[] oldValues, newValues;
+    int live, capacity, mask, i, slot, key;
+
+    oldKeys = this.m_keys[row];
+    oldValues = ((this.m_values != null) ? this.m_values[row] : null);
+
+    live = 0;
+    for (i = oldKeys.length; (--i) >= 0;) {
+      if ((oldKeys[i] != 0) && ((oldValues == null) || //
+          (oldValues[i] != 0L))) {
+        live++;
+      }
+    }
+
+    capacity = _SparseEdgeMap.MIN_CAPACITY;
+    while (capacity < ((live + 1) << 1)) {
+      capacity <<= 1;
+    }
+
+    newKeys = new int[capacity];
+    newValues = ((oldValues != null) ? new long[capacity] : null);
+    mask = (capacity - 1);
+    for (i = oldKeys.length; (--i) >= 0;) {
+      key = oldKeys[i];
+      if ((key != 0) && ((oldValues == null) || (oldValues[i] != 0L))) {
+        slot = _SparseEdgeMap.__home(key, mask);
+        while (newKeys[slot] != 0) {
+          slot = ((slot + 1) & mask);
+        }
+        newKeys[slot] = key;
+        if (newValues != null) {
+          newValues[slot] = oldValues[i];
+        }
+      }
+    }
+
+    this.m_keys[row] = newKeys;
+    if (newValues != null) {
+      this.m_values[row] = newValues;
+    }
+    this.m_sizes[row] = live;
+  }
+
+  /**
+   * Get the value of an edge
+   *
+   * @param a
+   *          the first node of the edge
+   * @param b
+   *          the second node of the edge
+   * @return the value, or {@code 0} if the edge is not in the map
+   */
+  final long _get(final int a, final int b) {
+    final int slot;
+
+    slot = this.__find((a - 1), b);
+    return ((slot >= 0) ? this.m_values[a - 1][slot] : 0L);
+  }
+
+  /**
+   * Set the value of an edge
+   *
+   * @param a
+   *          the first node of the edge
+   * @param b
+   *          the second node of the edge
+   * @param value
+   *          the new value
+   */
+  final void _set(final int a, final int b, final long value) {
+    this.__set(a, b, value);
+    if (this.m_symmetric && (a != b)) {
+      this.__set(b, a, value);
+    }
+  }
+
+  /**
+   * Set the value of an edge in the table of its first node only
+   *
+   * @param a
+   *          the first node of the edge
+   * @param b
+   *          the second node of the edge
+   * @param value
+   *          the new value
+   */
+  private final void __set(final int a, final int b, final long value) {
+    int slot;
+
+    if (value == 0L) {
+      slot = this.__find((a - 1), b);
+      if (slot < 0) {
+        return;
+      }
+    } else {
+      slot = this.__slot((a - 1), b);
+    }
+    this.m_values[a - 1][slot] = value;
+  }
+
+  /**
+   * Add to the value of an edge
+   *
+   * @param a
+   *          the first node of the edge
+   * @param b
+   *          the second node of the edge
+   * @param value
+   *          the value to add
+   */
+  final void _add(final int a, final int b, final long value) {
+    int slot;
+
+    // find the slot first, as this may replace the table
+    slot = this.__slot((a - 1), b);
+    this.m_values[a - 1][slot] += value;
+    if (this.m_symmetric && (a != b)) {
+      slot = this.__slot((b - 1), a);
+      this.m_values[b - 1][slot] += value;
+    }
+  }
+
+  /**
+   * Add to the value of an edge whose value is the bit pattern of a
+   * {@code double}
+   *
+   * @param a
+   *          the first node of the edge
+   * @param b
+   *          the second node of the edge
+   * @param value
+   *          the value to add
+   */
+  final void _addDouble(final int a, final int b, final double value) {
+    final long[] values;
+    final long bits;
+    int slot;
+
+    slot = this.__slot((a - 1), b);
+    values = this.m_values[a - 1];
+    bits = Double.doubleToLongBits(//
+        Double.longBitsToDouble(values[slot]) + value);
+    values[slot] = bits;
+    if (this.m_symmetric && (a != b)) {
+      slot = this.__slot((b - 1), a);
+      this.m_values[b - 1][slot] = bits;
+    }
+  }
+
+  /**
+   * Check whether an edge is in the map
+   *
+   * @param a
+   *          the first node of the edge
+   * @param b
+   *          the second node of the edge
+   * @return {@code true} if the edge is in the map, {@code false}
+   *         otherwise
+   */
+  final boolean _contains(final int a, final int b) {
+    return (this.__find((a - 1), b) >= 0);
+  }
+
+  /**
+   * Put an edge into the map
+   *
+   * @param a
+   *          the first node of the edge
+   * @param b
+   *          the second node of the edge
+   */
+  final void _insert(final int a, final int b) {
+    this.__slot((a - 1), b);
+    if (this.m_symmetric && (a != b)) {
+      this.__slot((b - 1), a);
+    }
+  }
+
+  /**
+   * Remove an edge from the map
+   *
+   * @param a
+   *          the first node of the edge
+   * @param b
+   *          the second node of the edge
+   * @return {@code true} if the edge was in the map, {@code false}
+   *         otherwise
+   */
+  final boolean _remove(final int a, final int b) {
+    if (this.__remove((a - 1), b)) {
+      if (this.m_symmetric && (a != b)) {
+        this.__remove((b - 1), a);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Remove a key from one table. The following entries of the probe
+   * sequence are shifted backwards, so no deletion markers are needed.
+   *
+   * @param row
+   *          the table index
+   * @param k
+   *          the key
+   * @return {@code true} if the key was in the table, {@code false}
+   *         otherwise
+   */
+  private final boolean __remove(final int row, final int k) {
+    final int[] keys;
+    final long[] values;
+    final int mask;
+    int slot, next, home, key;
+
+    slot = this.__find(row, k);
+    if (slot < 0) {
+      return false;
+    }
+
+    keys = this.m_keys[row];
+    values = ((this.m_values != null) ? this.m_values[row] : null);
+    mask = (keys.length - 1);
+    next = slot;
+    for (;;) {
+      next = ((next + 1) & mask);
+      key = keys[next];
+      if (key == 0) {
+        break;
+      }
+      home = _SparseEdgeMap.__home(key, mask);
+      // the entry at next may move to slot only if its home is not in
+      // the cyclic range (slot, next]
+      if ((slot <= next) ? ((home <= slot) || (home > next))
+          : ((home <= slot) && (home > next))) {
+        keys[slot] = key;
+        if (values != null) {
+          values[slot] = values[next];
+        }
+        slot = next;
+      }
+    }
+
+    keys[slot] = 0;
+    if (values != null) {
+      values[slot] = 0L;
+    }
+    this.m_sizes[row]--;
+    return true;
+  }
+
+  /**
+   * Store the nodes {@code b} for which edge {@code (a,b)} is in the map
+   * and, if the map holds values, has a non-zero value
+   *
+   * @param a
+   *          the node
+   * @param dest
+   *          the destination array
+   * @return the number of nodes stored in {@code dest}
+   */
+  final int _nonZero(final int a, final int[] dest) {
+    final int[] keys;
+    final long[] values;
+    int i, count, key;
+
+    keys = this.m_keys[a - 1];
+    if (keys == null) {
+      return 0;
+    }
+    values = ((this.m_values != null) ? this.m_values[a - 1] : null);
+
+    count = 0;
+    for (i = keys.length; (--i) >= 0;) {
+      key = keys[i];
+      if ((key != 0) && ((values == null) || (values[i] != 0L))) {
+        dest[count++] = key;
+      }
+    }
+    return count;
+  }
+
+  /** Remove all edges from the map, but keep the tables. */
+  final void _clear() {
+    final int[][] keys;
+    final long[][] values;
+    int i;
+
+    keys = this.m_keys;
+    values = this.m_values;
+    for (i = keys.length; (--i) >= 0;) {
+      if (this.m_sizes[i] > 0) {
+        Arrays.fill(keys[i], 0);
+        if (values != null) {
+          Arrays.fill(values[i], 0L);
+        }
+        this.m_sizes[i] = 0;
+      }
+    }
+  }
+
+  /**
+   * Create a deep copy of this map
+   *
+   * @return the copy
+   */
+  final _SparseEdgeMap _copy() {
+    final _SparseEdgeMap res;
+    int i;
+
+    res = new _SparseEdgeMap(this.m_keys.length, this.m_symmetric,
+        (this.m_values != null));
+    for (i = this.m_keys.length; (--i) >= 0;) {
+      if (this.m_keys[i] != null) {
+        res.m_keys[i] = this.m_keys[i].clone();
+        if (this.m_values != null) {
+          res.m_values[i] = this.m_values[i].clone();
+        }
+      }
+    }
+    System.arraycopy(this.m_sizes, 0, res.m_sizes, 0, this.m_sizes.length);
+    return res;
+  }
+}
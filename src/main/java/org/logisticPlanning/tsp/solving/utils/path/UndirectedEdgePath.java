@@ -61,6 +61,20 @@ public class UndirectedEdgePath {
         this.m_elements[edge.b - 1]);
   }
 
+  /**
+   * Try to add the edge between two nodes to a path
+   *
+   * @param a
+   *          the (one-based) first node of the edge
+   * @param b
+   *          the (one-based) second node of the edge
+   * @return {@code true} if the edge was added, {@code false} if not
+   */
+  public final boolean tryAddToPath(final int a, final int b) {
+    return this.tryAddToPath(this.m_elements[a - 1],//
+        this.m_elements[b - 1]);
+  }
+
   /**
    * Try to add an edge to a path
    *
@@ -30,15 +30,16 @@ public class NamedObject implements Serializable, Cloneable {
   /** {@inheritDoc} */
   @Override
   public final String toString() {
-    return this.m_name;
+    return this.name();
   }
 
   /**
-   * get the name
+   * get the name. Objects whose name depends on their configuration may
+   * override this method to compute the name from their current state.
    *
    * @return the name
    */
-  public final String name() {
+  public String name() {
     return this.m_name;
   }
 
@@ -55,7 +56,7 @@ public class NamedObject implements Serializable, Cloneable {
   /** {@inheritDoc} */
   @Override
   public int hashCode() {
-    return this.m_name.hashCode();
+    return this.name().hashCode();
   }
 
   /** {@inheritDoc} */
@@ -65,7 +66,7 @@ public class NamedObject implements Serializable, Cloneable {
       return true;
     }
     if (o instanceof NamedObject) {
-      return this.m_name.equals(((NamedObject) o).m_name);
+      return this.name().equals(((NamedObject) o).name());
     }
     return false;
   }
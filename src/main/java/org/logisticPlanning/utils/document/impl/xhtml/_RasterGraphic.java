@@ -34,6 +34,12 @@ final class _RasterGraphic extends ProxyGraphic<Graphics2D> {
     this.m_img = img;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  protected final int getResolution() {
+    return this.m_img.getWidth();
+  }
+
   /** {@inheritDoc} */
   @SuppressWarnings("resource")
   @Override
@@ -64,6 +64,12 @@ public class Document extends Element {
   /** the macros */
   private final HashSet<MacroDescriptor> m_macros;
 
+  /** the worker pool for graphics, created on demand */
+  private _GraphicWorkers m_graphicWorkers;
+
+  /** has it been checked whether graphics can be processed in parallel? */
+  private boolean m_graphicWorkersChecked;
+
   /**
    * instantiate
    *
@@ -597,7 +603,46 @@ public class Document extends Element {
             "Document must contain at least one section."); //$NON-NLS-1$
       }
       this.m_current = null;
-      this.doClose();
+      try {
+        this.__closeGraphicWorkers();
+      } finally {
+        this.doClose();
+      }
+    }
+  }
+
+  /**
+   * Get the worker pool for painting and finishing graphics
+   *
+   * @return the worker pool, or {@code null} if graphics must be processed
+   *         synchronously
+   */
+  final _GraphicWorkers _graphicWorkers() {
+    final int threads;
+
+    if (!(this.m_graphicWorkersChecked)) {
+      this.m_graphicWorkersChecked = true;
+      threads = this.getOwner().getDriver().getGraphicThreads();
+      if (threads > 0) {
+        this.m_graphicWorkers = new _GraphicWorkers(threads);
+      }
+    }
+    return this.m_graphicWorkers;
+  }
+
+  /**
+   * Wait until all graphics have been painted and finished
+   *
+   * @throws IOException
+   *           if painting or finishing a graphic failed
+   */
+  private final void __closeGraphicWorkers() throws IOException {
+    final _GraphicWorkers workers;
+
+    workers = this.m_graphicWorkers;
+    if (workers != null) {
+      this.m_graphicWorkers = null;
+      workers._close();
     }
   }
 
@@ -23,10 +23,18 @@ public abstract class DocumentDriver extends LoggerOwner {
   public static final String PARAM_DOCUMENT_LOGGER = "documentLogger"; //$NON-NLS-1$
   /** the parameter for the chart driver: {@value} */
   public static final String PARAM_CHART_DRIVER = "chartDriver"; //$NON-NLS-1$
+  /**
+   * the parameter for the number of threads used to paint and encode
+   * graphics, {@code 0} for doing so synchronously: {@value}
+   */
+  public static final String PARAM_GRAPHIC_THREADS = "graphicThreads"; //$NON-NLS-1$
 
   /** the chart driver to use */
   private ChartDriver m_charts;
 
+  /** the number of threads used to paint and encode graphics */
+  private int m_graphicThreads;
+
   /**
    * instantiate the driver
    *
@@ -36,6 +44,7 @@ public abstract class DocumentDriver extends LoggerOwner {
   protected DocumentDriver(final String name) {
     super(name, DocumentDriver.PARAM_DOCUMENT_LOGGER);
     this.m_charts = this.createDefaultChartDriver();
+    this.m_graphicThreads = Runtime.getRuntime().availableProcessors();
   }
 
   /**
@@ -83,6 +92,17 @@ public abstract class DocumentDriver extends LoggerOwner {
     return this.m_charts;
   }
 
+  /**
+   * Get the number of worker threads which each document uses to paint
+   * and encode its graphics while its text is generated
+   *
+   * @return the number of worker threads, or {@code 0} if graphics are
+   *         painted and encoded synchronously
+   */
+  public int getGraphicThreads() {
+    return this.m_graphicThreads;
+  }
+
   /** {@inheritDoc} */
   @Override
   public void configure(final Configuration config) {
@@ -90,6 +110,10 @@ public abstract class DocumentDriver extends LoggerOwner {
 
     this.m_charts = config.getInstance(DocumentDriver.PARAM_CHART_DRIVER,
         ChartDriver.class, null, this.m_charts);
+
+    this.m_graphicThreads = config.getInt(
+        DocumentDriver.PARAM_GRAPHIC_THREADS, 0, 10000,
+        this.m_graphicThreads);
   }
 
   /** {@inheritDoc} */
@@ -100,6 +124,9 @@ public abstract class DocumentDriver extends LoggerOwner {
     Configurable.printKey(DocumentDriver.PARAM_CHART_DRIVER, ps);
     Configurable.printlnObject(this.m_charts, ps);
 
+    Configurable.printKey(DocumentDriver.PARAM_GRAPHIC_THREADS, ps);
+    ps.println(this.m_graphicThreads);
+
   }
 
   /** {@inheritDoc} */
@@ -109,6 +136,10 @@ public abstract class DocumentDriver extends LoggerOwner {
 
     Configurable.printKey(DocumentDriver.PARAM_CHART_DRIVER, ps);
     ps.println("The chart driver."); //$NON-NLS-1$
+
+    Configurable.printKey(DocumentDriver.PARAM_GRAPHIC_THREADS, ps);
+    ps.println(//
+        "The number of threads used to paint and encode graphics, 0 for doing so synchronously."); //$NON-NLS-1$
   }
 
   /**
@@ -1,19 +1,40 @@
 package org.logisticPlanning.utils.document.spec;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+
+import org.logisticPlanning.utils.graphics.chart.spec.AbstractChart;
 
 /**
+ * <p>
  * A graphics 2d object designed as output context for graphics. You can
  * use the initial {@link java.awt.Graphics2D#getClipBounds() clip bounds}
  * of this graphic determine its size.
+ * </p>
+ * <p>
+ * Charts should be drawn via {@link #paint(AbstractChart)}. If the
+ * graphic {@link #isAsynchronous() supports it} and the
+ * {@link org.logisticPlanning.utils.document.spec.DocumentDriver#getGraphicThreads()
+ * document driver} provides worker threads, the chart is only compiled
+ * right away. Drawing it and {@link #finish() encoding} the graphic then
+ * happen on a worker thread of the document after the graphic has been
+ * {@link #close() closed}, while the text of the document is generated.
+ * The document waits for all of its graphics when it is closed.
+ * Everything drawn directly into the graphic is drawn before the deferred
+ * charts.
+ * </p>
  */
 public abstract class Graphic extends Graphics2D implements Closeable {
 
   /** the owning element */
   private final FigureBody m_owner;
 
+  /** the charts whose painting has been deferred */
+  private ArrayList<AbstractChart> m_charts;
+
   /**
    * instantiate
    *
@@ -28,6 +49,88 @@ public abstract class Graphic extends Graphics2D implements Closeable {
     this.m_owner = owner;
   }
 
+  /**
+   * Can this graphic be painted and finished by another thread than the
+   * one which created it?
+   *
+   * @return {@code true} if the graphic can be painted and finished
+   *         asynchronously, {@code false} otherwise
+   */
+  protected boolean isAsynchronous() {
+    return false;
+  }
+
+  /**
+   * Get the worker pool to be used for this graphic
+   *
+   * @return the worker pool, or {@code null} if the graphic must be
+   *         painted and finished synchronously
+   */
+  private final _GraphicWorkers __workers() {
+    final Document doc;
+
+    if (this.isAsynchronous()) {
+      doc = this.m_owner.m_document;
+      if (doc != null) {
+        return doc._graphicWorkers();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Paint a chart into this graphic. The chart is
+   * {@link org.logisticPlanning.utils.graphics.chart.spec.AbstractChart#prepare()
+   * compiled} immediately, so its lines may be changed afterwards. It is
+   * drawn either immediately or asynchronously after the graphic has been
+   * closed.
+   *
+   * @param chart
+   *          the chart
+   */
+  public void paint(final AbstractChart chart) {
+    chart.prepare(this.getResolution());
+    if (this.__workers() == null) {
+      chart.paint(this);
+      return;
+    }
+    if (this.m_charts == null) {
+      this.m_charts = new ArrayList<>(1);
+    }
+    this.m_charts.add(chart);
+  }
+
+  /**
+   * Get the horizontal resolution of this graphic, i.e., the number of
+   * device units (such as pixels) available horizontally. Charts use this
+   * information to omit details which would not be visible anyway. By
+   * default, this is the width of the initial
+   * {@link java.awt.Graphics2D#getClipBounds() clip bounds}, which are
+   * derived from the figure size computed by the
+   * {@link org.logisticPlanning.utils.document.spec.DocumentDimensions
+   * document dimensions}.
+   *
+   * @return the horizontal resolution, or {@code 0} if unknown
+   */
+  protected int getResolution() {
+    final Rectangle bounds;
+
+    bounds = this.getClipBounds();
+    return ((bounds != null) ? Math.max(0, bounds.width) : 0);
+  }
+
+  /**
+   * Finish the graphic: dispose it and write its contents to the
+   * destination. This method is called exactly once after the graphic has
+   * been {@link #close() closed}, either directly or by a worker thread.
+   *
+   * @throws IOException
+   *           if io fails
+   */
+  protected void finish() throws IOException {
+    this.dispose();
+  }
+
   /**
    * Get the owning figure body object
    *
@@ -40,8 +143,24 @@ public abstract class Graphic extends Graphics2D implements Closeable {
   /** {@inheritDoc} */
   @Override
   public void close() throws IOException {
+    final _GraphicWorkers workers;
+    final _GraphicJob job;
+
     try {
-      this.dispose();
+      job = new _GraphicJob(this, this.m_charts);
+      this.m_charts = null;
+      workers = this.__workers();
+      if (workers != null) {
+        workers._submit(job);
+      } else {
+        try {
+          job.call();
+        } catch (final IOException | RuntimeException ex) {
+          throw ex;
+        } catch (final Exception ex) {
+          throw new IOException(ex);
+        }
+      }
     } finally {
       this.m_owner.graphicEnd(this);
     }
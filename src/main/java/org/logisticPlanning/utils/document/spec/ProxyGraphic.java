@@ -613,9 +613,18 @@ public abstract class ProxyGraphic<GT extends Graphics2D> extends Graphic {
     }
   }
 
+  /**
+   * {@inheritDoc} Proxy graphics only forward to the wrapped graphics
+   * object, so they can be finished asynchronously.
+   */
+  @Override
+  protected boolean isAsynchronous() {
+    return true;
+  }
+
   /** {@inheritDoc} */
   @Override
-  public void close() throws IOException {
+  protected void finish() throws IOException {
     try {
       try {
         this.closeInner(this.m_out);
@@ -625,7 +634,7 @@ public abstract class ProxyGraphic<GT extends Graphics2D> extends Graphic {
         throw new IOException(t);
       }
     } finally {
-      super.close();
+      super.finish();
     }
   }
 
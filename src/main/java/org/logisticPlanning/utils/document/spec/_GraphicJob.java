@@ -0,0 +1,50 @@
+package org.logisticPlanning.utils.document.spec;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+
+import org.logisticPlanning.utils.graphics.chart.spec.AbstractChart;
+
+/**
+ * The job which paints the deferred charts of a
+ * {@link org.logisticPlanning.utils.document.spec.Graphic} and then
+ * {@link org.logisticPlanning.utils.document.spec.Graphic#finish()
+ * finishes} it, i.e., encodes and writes it.
+ */
+final class _GraphicJob implements Callable<Object> {
+
+  /** the graphic */
+  private final Graphic m_graphic;
+
+  /** the charts to paint, or {@code null} if there are none */
+  private final ArrayList<AbstractChart> m_charts;
+
+  /**
+   * create the job
+   *
+   * @param graphic
+   *          the graphic
+   * @param charts
+   *          the charts to paint, or {@code null} if there are none
+   */
+  _GraphicJob(final Graphic graphic, final ArrayList<AbstractChart> charts) {
+    super();
+    this.m_graphic = graphic;
+    this.m_charts = charts;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Object call() throws Exception {
+    try {
+      if (this.m_charts != null) {
+        for (final AbstractChart chart : this.m_charts) {
+          chart.paint(this.m_graphic);
+        }
+      }
+    } finally {
+      this.m_graphic.finish();
+    }
+    return null;
+  }
+}
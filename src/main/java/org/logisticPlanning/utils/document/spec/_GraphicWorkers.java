@@ -0,0 +1,139 @@
+package org.logisticPlanning.utils.document.spec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bounded worker pool of a
+ * {@link org.logisticPlanning.utils.document.spec.Document} which paints
+ * and encodes its {@link org.logisticPlanning.utils.document.spec.Graphic
+ * graphics} while the text of the document is generated. The queue of
+ * waiting jobs is bounded: if it is full, the thread closing a graphic
+ * performs the job itself. This limits the number of images which are
+ * kept in memory at the same time.
+ */
+final class _GraphicWorkers implements ThreadFactory {
+
+  /** the thread pool */
+  private final ThreadPoolExecutor m_pool;
+
+  /** the jobs that may not yet have completed */
+  private final ArrayList<Future<Object>> m_jobs;
+
+  /** the first error that has occurred */
+  private Throwable m_error;
+
+  /**
+   * create the worker pool
+   *
+   * @param threads
+   *          the number of worker threads
+   */
+  _GraphicWorkers(final int threads) {
+    super();
+
+    this.m_pool = new ThreadPoolExecutor(threads, threads, 0L,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(
+            threads << 1), this, new ThreadPoolExecutor.CallerRunsPolicy());
+    this.m_jobs = new ArrayList<>();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Thread newThread(final Runnable r) {
+    final Thread t;
+
+    t = new Thread(r, "GraphicWorker"); //$NON-NLS-1$
+    t.setDaemon(true);
+    return t;
+  }
+
+  /**
+   * Get the result of a completed job and remember its error, if any
+   *
+   * @param job
+   *          the job
+   */
+  private final void __collect(final Future<Object> job) {
+    try {
+      job.get();
+    } catch (final ExecutionException ee) {
+      if (this.m_error == null) {
+        this.m_error = ee.getCause();
+      }
+    } catch (final Throwable t) {
+      if (this.m_error == null) {
+        this.m_error = t;
+      }
+    }
+  }
+
+  /**
+   * Submit a job
+   *
+   * @param job
+   *          the job
+   * @throws IOException
+   *           if an earlier job has failed
+   */
+  final void _submit(final _GraphicJob job) throws IOException {
+    final ArrayList<Future<Object>> jobs;
+    Future<Object> f;
+    int i;
+
+    jobs = this.m_jobs;
+    for (i = jobs.size(); (--i) >= 0;) {
+      f = jobs.get(i);
+      if (f.isDone()) {
+        this.__collect(f);
+        jobs.remove(i);
+      }
+    }
+    this.__check();
+
+    jobs.add(this.m_pool.submit(job));
+  }
+
+  /**
+   * Throw the first error that has occurred, if any
+   *
+   * @throws IOException
+   *           if a job has failed
+   */
+  private final void __check() throws IOException {
+    final Throwable t;
+
+    t = this.m_error;
+    if (t != null) {
+      this.m_error = null;
+      if (t instanceof IOException) {
+        throw ((IOException) t);
+      }
+      throw new IOException(t);
+    }
+  }
+
+  /**
+   * Wait until all jobs have completed and shut down the pool
+   *
+   * @throws IOException
+   *           if a job has failed
+   */
+  final void _close() throws IOException {
+    try {
+      for (final Future<Object> f : this.m_jobs) {
+        this.__collect(f);
+      }
+      this.m_jobs.clear();
+    } finally {
+      this.m_pool.shutdown();
+    }
+    this.__check();
+  }
+}
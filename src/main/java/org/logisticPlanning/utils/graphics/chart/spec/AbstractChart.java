@@ -18,6 +18,13 @@ public class AbstractChart {
   /** has the diagram been compiled? */
   private boolean m_compiled;
 
+  /**
+   * the horizontal resolution of the output, i.e., the number of device
+   * units (such as pixels) available for the chart, or {@code 0} if
+   * unknown
+   */
+  private int m_resolution;
+
   /**
    * Create a new abstract chart
    *
@@ -83,11 +90,52 @@ public class AbstractChart {
    */
   public final void paint(final Graphics2D graph, final Rectangle bounds) {
     graph.setClip(bounds);
+    this.prepare(bounds.width);
+    this.draw(graph, bounds);
+  }
+
+  /**
+   * Compile the chart, if this has not yet happened. Afterwards, the data
+   * of the chart cannot be changed anymore and painting the chart does not
+   * access the lines that were added to it. This method is invoked
+   * automatically before the chart is painted the first time, but it may
+   * also be called earlier, e.g., if the chart is to be painted by another
+   * thread while the lines are modified.
+   */
+  public final void prepare() {
     if (!(this.m_compiled)) {
       this.m_compiled = true;
       this.compile();
     }
-    this.draw(graph, bounds);
+  }
+
+  /**
+   * Compile the chart for a given horizontal output resolution, if this
+   * has not yet happened. The resolution allows the chart to omit data
+   * which would not be visible anyway, e.g., to reduce lines with many
+   * points to a few points per pixel.
+   *
+   * @param resolution
+   *          the number of device units (e.g., pixels) the chart will be
+   *          drawn into horizontally, or {@code 0} if unknown
+   * @see #prepare()
+   */
+  public final void prepare(final int resolution) {
+    if (!(this.m_compiled)) {
+      this.m_resolution = Math.max(0, resolution);
+      this.prepare();
+    }
+  }
+
+  /**
+   * Get the horizontal resolution of the output, i.e., the number of
+   * device units (such as pixels) the chart will be drawn into
+   * horizontally
+   *
+   * @return the horizontal resolution, or {@code 0} if unknown
+   */
+  protected final int getResolution() {
+    return this.m_resolution;
   }
 
   /**
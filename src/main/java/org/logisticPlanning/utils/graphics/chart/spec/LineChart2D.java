@@ -9,6 +9,8 @@ import org.logisticPlanning.utils.graphics.chart.spec.range.AxisRange2DDef;
 import org.logisticPlanning.utils.math.data.iteration.BoundsReducingIterator2D;
 import org.logisticPlanning.utils.math.data.iteration.DataCollectionIterator2D;
 import org.logisticPlanning.utils.math.data.iteration.DistanceBasedReducingIterator2D;
+import org.logisticPlanning.utils.math.data.iteration.LargestTriangleThreeBucketsIterator2D;
+import org.logisticPlanning.utils.math.data.iteration.StairsBucketReducingIterator2D;
 import org.logisticPlanning.utils.math.data.iteration.StraightReducingIterator2D;
 import org.logisticPlanning.utils.math.data.point.Point2D;
 import org.logisticPlanning.utils.text.TextUtils;
@@ -18,6 +20,22 @@ import org.logisticPlanning.utils.text.TextUtils;
  */
 public abstract class LineChart2D extends AbstractChart {
 
+  /**
+   * the number of points per unit of the horizontal
+   * {@link #getResolution() resolution} to which lines are reduced with
+   * the
+   * {@link org.logisticPlanning.utils.math.data.iteration.LargestTriangleThreeBucketsIterator2D
+   * LTTB} method
+   */
+  private static final int POINTS_PER_UNIT = 2;
+
+  /**
+   * the maximum number of points per bucket returned by the
+   * {@link org.logisticPlanning.utils.math.data.iteration.StairsBucketReducingIterator2D
+   * stairs-preserving reduction}
+   */
+  private static final int POINTS_PER_STAIRS_BUCKET = 4;
+
   /** the axis range */
   private final AxisRange2D m_range;
   /** the x-axis label */
@@ -231,7 +249,18 @@ public abstract class LineChart2D extends AbstractChart {
   }
 
   /**
-   * iterate over all the points in a given line in an effective way
+   * Iterate over all the points in a given line in an effective way. The
+   * points outside of the axis range and those on straight segments are
+   * omitted. Lines with more points than the
+   * {@link org.logisticPlanning.utils.graphics.chart.spec.ChartDriver#getMaxPointsPerLine()
+   * maximum number of points per line} or than can be distinguished at
+   * the {@link #getResolution() horizontal resolution} of the output are
+   * then reduced: Lines drawn as stairs are reduced to at most four points
+   * per pixel with a
+   * {@link org.logisticPlanning.utils.math.data.iteration.StairsBucketReducingIterator2D
+   * stairs-preserving} reduction, all other lines are reduced with the
+   * {@link org.logisticPlanning.utils.math.data.iteration.LargestTriangleThreeBucketsIterator2D
+   * LTTB} method.
    *
    * @param line
    *          the line
@@ -240,7 +269,9 @@ public abstract class LineChart2D extends AbstractChart {
   protected final Iterator<Point2D> iterateLinePoints(final Line2D line) {
     final AxisRange2D range;
     final double minX, maxX, minY, maxY, dist, scaleX, scaleY;
-    final int maxPoints;
+    final int maxPoints, resolution;
+    final ELineMode mode;
+    int target;
     Iterator<Point2D> it, it2;
 
     range = this.m_range;
@@ -257,7 +288,9 @@ public abstract class LineChart2D extends AbstractChart {
             minX, maxX, minY, maxY));
 
     maxPoints = this.getDriver().getMaxPointsPerLine();
+    target = Integer.MAX_VALUE;
     if ((maxPoints > 0) && (maxPoints < Integer.MAX_VALUE)) {
+      target = maxPoints;
       scaleX = (1d / (maxX - minX));
       scaleY = (1d / (maxY - minY));
       dist = (1d / maxPoints);
@@ -268,7 +301,35 @@ public abstract class LineChart2D extends AbstractChart {
       }
     }
 
-    it2 = line.getLineMode().iterate(it);
+    // reduce the line to the resolution of the output
+    resolution = this.getResolution();
+    mode = line.getLineMode();
+    if (mode == ELineMode.DIRECT) {
+      if ((resolution > 0)
+          && (resolution < (Integer.MAX_VALUE / LineChart2D.POINTS_PER_UNIT))) {
+        target = Math.min(target,
+            (resolution * LineChart2D.POINTS_PER_UNIT));
+      }
+      if (target < Integer.MAX_VALUE) {
+        it = new LargestTriangleThreeBucketsIterator2D(it, Math.max(target,
+            LargestTriangleThreeBucketsIterator2D.MIN_TARGET));
+      }
+    } else {
+      if (target < Integer.MAX_VALUE) {
+        target /= LineChart2D.POINTS_PER_STAIRS_BUCKET;
+      }
+      if (resolution > 0) {
+        target = Math.min(target, resolution);
+      }
+      if ((target < Integer.MAX_VALUE) && (minX < maxX)
+          && (minX > Double.NEGATIVE_INFINITY)
+          && (maxX < Double.POSITIVE_INFINITY)) {
+        it = new StairsBucketReducingIterator2D(it, minX, maxX,
+            Math.max(1, target));
+      }
+    }
+
+    it2 = mode.iterate(it);
     if (it2 != it) {
       it = new StraightReducingIterator2D(//
           new BoundsReducingIterator2D(//
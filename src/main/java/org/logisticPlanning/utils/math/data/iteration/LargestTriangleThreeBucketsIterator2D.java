@@ -0,0 +1,209 @@
+package org.logisticPlanning.utils.math.data.iteration;
+
+import java.util.Iterator;
+
+import org.logisticPlanning.utils.math.data.point.Point2D;
+
+/**
+ * <p>
+ * An iterator that reduces the number of points of a line to a given
+ * target number by using the &quot;Largest-Triangle-Three-Buckets&quot;
+ * (LTTB) method by Steinarsson: The first and last point are always kept.
+ * The points in between are divided into {@code target-2} buckets of
+ * (nearly) equal size. From each bucket, the point is chosen which forms
+ * the largest triangle with the point chosen from the previous bucket and
+ * the average point of the next bucket. This preserves the visual shape
+ * of the line, in particular its peaks and valleys, much better than
+ * omitting points based on their distance or picking every
+ * {@code k}<sup>th</sup> point.
+ * </p>
+ * <p>
+ * Different from the other iterators in this package, this iterator needs
+ * to see all points of the line before it can return the first one. The
+ * coordinates are therefore copied into primitive arrays when the first
+ * point is requested. If the line has no more than {@code target} points,
+ * all of them are returned.
+ * </p>
+ */
+public final class LargestTriangleThreeBucketsIterator2D extends
+    _PointIteratorWrapper2D {
+
+  /** The serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the minimum target number of points */
+  public static final int MIN_TARGET = 3;
+
+  /** the target number of points */
+  private final int m_target;
+
+  /** the x-coordinates, or {@code null} if not yet loaded */
+  private double[] m_x;
+
+  /** the y-coordinates */
+  private double[] m_y;
+
+  /** the indexes of the selected points */
+  private int[] m_selected;
+
+  /** the number of selected points */
+  private int m_count;
+
+  /** the index of the next selected point to return */
+  private int m_next;
+
+  /**
+   * instantiate
+   *
+   * @param source
+   *          the source iterator
+   * @param target
+   *          the target number of points, must be at least
+   *          {@link #MIN_TARGET}
+   */
+  public LargestTriangleThreeBucketsIterator2D(
+      final Iterator<Point2D> source, final int target) {
+    super(source);
+    if (target < LargestTriangleThreeBucketsIterator2D.MIN_TARGET) {
+      throw new IllegalArgumentException(//
+          "Target number of points must be at least " + //$NON-NLS-1$
+              LargestTriangleThreeBucketsIterator2D.MIN_TARGET
+              + ", but is " + target); //$NON-NLS-1$
+    }
+    this.m_target = target;
+  }
+
+  /** load all points from the source and select the points to return */
+  private final void __load() {
+    double[] x, y;
+    int n;
+    Point2D p;
+
+    x = new double[Math.min(this.m_target << 1, 1024)];
+    y = new double[x.length];
+    n = 0;
+    while ((p = super._loadNextPoint()) != null) {
+      if (n >= x.length) {
+        x = LargestTriangleThreeBucketsIterator2D.__grow(x);
+        y = LargestTriangleThreeBucketsIterator2D.__grow(y);
+      }
+      x[n] = p.getX();
+      y[n] = p.getY();
+      n++;
+    }
+
+    this.m_x = x;
+    this.m_y = y;
+    this.m_selected = new int[Math.min(n, this.m_target)];
+    this.m_count = LargestTriangleThreeBucketsIterator2D._select(x, y, n,
+        this.m_target, this.m_selected);
+  }
+
+  /**
+   * grow an array
+   *
+   * @param data
+   *          the array
+   * @return the new, larger array
+   */
+  private static final double[] __grow(final double[] data) {
+    final double[] res;
+
+    res = new double[data.length << 1];
+    System.arraycopy(data, 0, res, 0, data.length);
+    return res;
+  }
+
+  /**
+   * Select the points to keep with the LTTB method
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates
+   * @param n
+   *          the number of points
+   * @param target
+   *          the target number of points
+   * @param dest
+   *          the destination array for the indexes of the selected points
+   * @return the number of selected points
+   */
+  static final int _select(final double[] x, final double[] y,
+      final int n, final int target, final int[] dest) {
+    final double every;
+    int i, j, count, a, start, end, nextStart, nextEnd, best;
+    double avgX, avgY, ax, ay, area, bestArea;
+
+    if (n <= target) {
+      for (i = n; (--i) >= 0;) {
+        dest[i] = i;
+      }
+      return n;
+    }
+
+    every = (((double) (n - 2)) / (target - 2));
+    count = 0;
+    a = 0;
+    dest[count++] = 0;
+
+    for (i = 0; i < (target - 2); i++) {
+      // the range of the current bucket
+      start = (((int) (i * every)) + 1);
+      end = Math.min((((int) ((i + 1) * every)) + 1), (n - 1));
+
+      // the average point of the next bucket
+      nextStart = end;
+      nextEnd = Math.min((((int) ((i + 2) * every)) + 1), n);
+      if (nextStart >= nextEnd) {
+        nextStart = (n - 1);
+        nextEnd = n;
+      }
+      avgX = avgY = 0d;
+      for (j = nextStart; j < nextEnd; j++) {
+        avgX += x[j];
+        avgY += y[j];
+      }
+      avgX /= (nextEnd - nextStart);
+      avgY /= (nextEnd - nextStart);
+
+      // the point of the current bucket with the largest triangle
+      ax = x[a];
+      ay = y[a];
+      best = start;
+      bestArea = (-1d);
+      for (j = start; j < end; j++) {
+        area = Math.abs(((ax - avgX) * (y[j] - ay))
+            - ((ax - x[j]) * (avgY - ay)));
+        if (area > bestArea) {
+          bestArea = area;
+          best = j;
+        }
+      }
+
+      dest[count++] = best;
+      a = best;
+    }
+
+    dest[count++] = (n - 1);
+    return count;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final Point2D _loadNextPoint() {
+    final int i;
+
+    if (this.m_x == null) {
+      this.__load();
+    }
+    if (this.m_next >= this.m_count) {
+      this.m_x = this.m_y = new double[0];
+      this.m_selected = null;
+      this.m_count = this.m_next = 0;
+      return null;
+    }
+    i = this.m_selected[this.m_next++];
+    return new Point2D(this.m_x[i], this.m_y[i]);
+  }
+}
@@ -0,0 +1,226 @@
+package org.logisticPlanning.utils.math.data.iteration;
+
+import java.util.Iterator;
+
+import org.logisticPlanning.utils.math.data.point.Point2D;
+
+/**
+ * <p>
+ * An iterator that reduces the number of points of a line to a given
+ * horizontal resolution while preserving the visual appearance of step
+ * functions, i.e., of lines drawn as
+ * {@link org.logisticPlanning.utils.math.data.iteration.StairsKeepLeftIterator2D
+ * stairs}. The range of {@code x}-coordinates is divided into a given
+ * number of buckets of equal width, e.g., one bucket per pixel of the
+ * output. Of all the points falling into one bucket, only the first one,
+ * the one with the smallest {@code y}-coordinate, the one with the largest
+ * {@code y}-coordinate, and the last one are kept, in their original order.
+ * </p>
+ * <p>
+ * Different from an
+ * {@link org.logisticPlanning.utils.math.data.iteration.LargestTriangleThreeBucketsIterator2D
+ * LTTB} reduction, this keeps the full vertical extent of the line in each
+ * bucket as well as the value with which the line enters and leaves the
+ * bucket. A step function therefore only changes inside the width of a
+ * single bucket. The iterator needs no buffer beyond the four points of
+ * the current bucket and returns at most four points per bucket.
+ * </p>
+ */
+public final class StairsBucketReducingIterator2D extends
+    _PointIteratorWrapper2D {
+
+  /** The serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the smallest x-coordinate */
+  private final double m_minX;
+
+  /** the number of buckets per unit of the x-axis */
+  private final double m_scale;
+
+  /** the largest bucket index */
+  private final long m_maxBucket;
+
+  /** the coordinates of the points kept from the current bucket */
+  private final double[] m_keep;
+
+  /** the number of points to return from {@link #m_keep} */
+  private int m_keepCount;
+
+  /** the index of the next point in {@link #m_keep} to return */
+  private int m_keepNext;
+
+  /** the point loaded from the next bucket, or {@code null} */
+  private Point2D m_pending;
+
+  /**
+   * instantiate
+   *
+   * @param source
+   *          the source iterator
+   * @param minX
+   *          the smallest x-coordinate to expect
+   * @param maxX
+   *          the largest x-coordinate to expect
+   * @param buckets
+   *          the number of buckets, e.g., the number of horizontal pixels
+   */
+  public StairsBucketReducingIterator2D(final Iterator<Point2D> source,
+      final double minX, final double maxX, final int buckets) {
+    super(source);
+    if (buckets <= 0) {
+      throw new IllegalArgumentException(//
+          "Number of buckets must be positive, but is " + buckets); //$NON-NLS-1$
+    }
+    if ((!(minX < maxX)) || (minX <= Double.NEGATIVE_INFINITY)
+        || (maxX >= Double.POSITIVE_INFINITY)) {
+      throw new IllegalArgumentException(//
+          "Range of x-coordinates must be finite and non-empty, but is [" + //$NON-NLS-1$
+              minX + ',' + maxX + ']');
+    }
+    this.m_minX = minX;
+    this.m_scale = (buckets / (maxX - minX));
+    this.m_maxBucket = (buckets - 1);
+    this.m_keep = new double[8];
+  }
+
+  /**
+   * Get the bucket of an x-coordinate
+   *
+   * @param x
+   *          the x-coordinate
+   * @return the bucket
+   */
+  private final long __bucket(final double x) {
+    final double d;
+
+    d = ((x - this.m_minX) * this.m_scale);
+    if (d <= 0d) {
+      return 0L;
+    }
+    if (d >= this.m_maxBucket) {
+      return this.m_maxBucket;
+    }
+    return ((long) d);
+  }
+
+  /**
+   * Load the points of the next bucket into {@link #m_keep}
+   *
+   * @return {@code true} if a bucket was loaded, {@code false} if the
+   *         source is exhausted
+   */
+  private final boolean __loadBucket() {
+    final double[] keep;
+    final long bucket;
+    Point2D p;
+    double x, y, firstX, firstY, minX, minY, maxX, maxY, lastX, lastY;
+    int firstIdx, minIdx, maxIdx, lastIdx, idx, count;
+
+    p = this.m_pending;
+    this.m_pending = null;
+    if (p == null) {
+      p = super._loadNextPoint();
+      if (p == null) {
+        return false;
+      }
+    }
+
+    bucket = this.__bucket(firstX = minX = maxX = lastX = p.getX());
+    firstY = minY = maxY = lastY = p.getY();
+    firstIdx = minIdx = maxIdx = lastIdx = idx = 0;
+
+    while ((p = super._loadNextPoint()) != null) {
+      x = p.getX();
+      if (this.__bucket(x) != bucket) {
+        // the source may re-use point objects, so we copy it
+        this.m_pending = new Point2D(x, p.getY());
+        break;
+      }
+      y = p.getY();
+      idx++;
+      if (y < minY) {
+        minX = x;
+        minY = y;
+        minIdx = idx;
+      }
+      if (y > maxY) {
+        maxX = x;
+        maxY = y;
+        maxIdx = idx;
+      }
+      lastX = x;
+      lastY = y;
+      lastIdx = idx;
+    }
+
+    keep = this.m_keep;
+    keep[0] = firstX;
+    keep[1] = firstY;
+    count = 1;
+    if (minIdx < maxIdx) {
+      count = StairsBucketReducingIterator2D.__add(keep, count, minIdx,
+          firstIdx, minX, minY);
+      count = StairsBucketReducingIterator2D.__add(keep, count, maxIdx,
+          firstIdx, maxX, maxY);
+    } else {
+      count = StairsBucketReducingIterator2D.__add(keep, count, maxIdx,
+          firstIdx, maxX, maxY);
+      count = StairsBucketReducingIterator2D.__add(keep, count, minIdx,
+          firstIdx, minX, minY);
+    }
+    if ((lastIdx != minIdx) && (lastIdx != maxIdx)) {
+      count = StairsBucketReducingIterator2D.__add(keep, count, lastIdx,
+          firstIdx, lastX, lastY);
+    }
+
+    this.m_keepCount = count;
+    this.m_keepNext = 0;
+    return true;
+  }
+
+  /**
+   * Add a point to the list of kept points, unless it is the first point
+   *
+   * @param keep
+   *          the list of kept points
+   * @param count
+   *          the number of points in the list
+   * @param idx
+   *          the index of the point in the bucket
+   * @param firstIdx
+   *          the index of the first point in the bucket
+   * @param x
+   *          the x-coordinate
+   * @param y
+   *          the y-coordinate
+   * @return the new number of points in the list
+   */
+  private static final int __add(final double[] keep, final int count,
+      final int idx, final int firstIdx, final double x, final double y) {
+    final int i;
+
+    if (idx == firstIdx) {
+      return count;
+    }
+    i = (count << 1);
+    keep[i] = x;
+    keep[i + 1] = y;
+    return (count + 1);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final Point2D _loadNextPoint() {
+    final int i;
+
+    if (this.m_keepNext >= this.m_keepCount) {
+      if (!(this.__loadBucket())) {
+        return null;
+      }
+    }
+
+    i = ((this.m_keepNext++) << 1);
+    return new Point2D(this.m_keep[i], this.m_keep[i + 1]);
+  }
+}
@@ -27,6 +27,23 @@ import java.util.Random;
  * code as possible.</li>
  * <li>Finally, we add additional routines for generating random number.</li>
  * </ol>
+ * <p>
+ * Work inside a single run may be distributed over several threads. Each
+ * thread then needs its own generator, but the run must remain
+ * reproducible from its one (logged) seed. For this purpose, a
+ * randomizer can be {@link #split() split}: The child is seeded with a
+ * value obtained by passing the next output of the parent through the
+ * finalizer of the SplitMix64 generator&nbsp;[<a href="#cite_SLF2014FSPRNG"
+ * style="font-weight:bold">3</a>], which places the child at an
+ * unrelated position in the period of the parent. As long as the parent
+ * splits its children in a fixed order, all streams are deterministic
+ * functions of the seed of the parent. Alternatively, a generator can
+ * {@link #jump(long) jump ahead} any number of steps in logarithmic time,
+ * so that workers can also be given disjoint blocks of the very same
+ * sequence. The bulk methods {@link #nextInts(int[], int, int, int)} and
+ * {@link #nextDoubles(double[], int, int)} produce exactly the same
+ * numbers as the corresponding sequence of single calls, just faster.
+ * </p>
  * <h2>References</h2>
  * <ol>
  * <li><div><span id="cite_K1969TAOCPSNA" />Donald Ervin Knuth: <span
@@ -62,6 +79,15 @@ import java.util.Random;
  * [<a
  * href="http://projecteuclid.org/euclid.aoms/1177706645">1</a>]</div></
  * div></li>
+ * <li><div><span id="cite_SLF2014FSPRNG" />Guy L. Steele Jr., Doug Lea,
+ * and&nbsp;Christine H. Flood: <span style="font-weight:bold">&ldquo;Fast
+ * Splittable Pseudorandom Number Generators,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Proceedings of the 2014
+ * ACM International Conference on Object Oriented Programming Systems
+ * Languages &amp; Applications (OOPSLA'14)</span>, pages 453&ndash;472,
+ * October&nbsp;20&ndash;24, 2014, Portland, OR, USA. doi:&nbsp;<a
+ * href="http://dx.doi.org/10.1145/2660193.2660195">10.1145/2660193.
+ * 2660195</a></div></li>
  * </ol>
  */
 public final class Randomizer extends Random {
@@ -75,6 +101,9 @@ public final class Randomizer extends Random {
   /** the MASK */
   private static final long MASK = ((1L << 48l) - 1l);
 
+  /** the double unit: {@value} */
+  private static final double DOUBLE_UNIT = (1d / (1L << 53));
+
   /** the random number generator for getting seeds */
   private static final Random SEEDS = new Random();
 
@@ -185,6 +214,182 @@ public final class Randomizer extends Random {
     return (v1 * ymultiplier);
   }
 
+  /**
+   * The finalizer of the SplitMix64 generator: a bijective function that
+   * maps similar inputs to very different outputs
+   *
+   * @param z
+   *          the input
+   * @return the mixed output
+   */
+  private static final long __mix(final long z) {
+    long x;
+
+    x = z;
+    x = ((x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L);
+    x = ((x ^ (x >>> 27)) * 0x94D049BB133111EBL);
+    return (x ^ (x >>> 31));
+  }
+
+  /**
+   * Get a seed for an independent sub-stream. The seed is a deterministic
+   * function of the current state of this randomizer, which advances as
+   * if {@link #nextLong()} had been called. Seeding a different randomizer
+   * with the result yields a stream that is not correlated with the
+   * stream of this randomizer.
+   *
+   * @return the seed for the sub-stream
+   * @see #split()
+   */
+  public final long nextSeed() {
+    return Randomizer.__mix(this.nextLong());
+  }
+
+  /**
+   * Split off a new randomizer with an independent stream. The new
+   * randomizer is {@link #Randomizer(long) seeded} with
+   * {@link #nextSeed()}, so a sequence of splits is fully determined by
+   * the seed of this randomizer.
+   *
+   * @return the new randomizer
+   * @see #nextSeed()
+   */
+  public final Randomizer split() {
+    return new Randomizer(this.nextSeed());
+  }
+
+  /**
+   * Advance the state of this randomizer as if {@link #next(int)} had been
+   * called {@code steps} times, in {@code O(log steps)} time. Since the
+   * period of the generator is {@code 2<sup>48</sup>}, {@code steps} is
+   * taken modulo {@code 2<sup>48</sup>}, i.e., negative values move the
+   * generator backwards. Workers can thus be given disjoint blocks of the
+   * same sequence, e.g., by jumping {@code i*2<sup>40</sup>} steps for the
+   * {@code i}<sup>th</sup> worker.
+   *
+   * @param steps
+   *          the number of steps to jump ahead
+   */
+  public final void jump(final long steps) {
+    long n, mult, add, accMult, accAdd;
+
+    mult = Randomizer.MULTIPLIER;
+    add = Randomizer.ADDEND;
+    accMult = 1L;
+    accAdd = 0L;
+    for (n = (steps & Randomizer.MASK); n != 0L; n >>>= 1) {
+      if ((n & 1L) != 0L) {
+        accMult *= mult;
+        accAdd = ((accAdd * mult) + add);
+      }
+      add *= (mult + 1L);
+      mult *= mult;
+    }
+
+    this.m_seed = (((accMult * this.m_seed) + accAdd) & Randomizer.MASK);
+    this.m_haveNextNextGaussian = false;
+  }
+
+  /**
+   * Fill a sub-sequence of an array with uniformly distributed
+   * {@code int}s from {@code 0} (inclusive) to {@code bound} (exclusive).
+   * The result is exactly the same as calling {@link #nextInt(int)}
+   * {@code count} times.
+   *
+   * @param dest
+   *          the destination array
+   * @param start
+   *          the start index
+   * @param count
+   *          the number of elements to generate
+   * @param bound
+   *          the exclusive upper bound, must be positive
+   */
+  public final void nextInts(final int[] dest, final int start,
+      final int count, final int bound) {
+    final int end;
+    long seed;
+    int i, bits, val;
+
+    if (bound <= 0) {
+      super.nextInt(-1);// throw the original exception
+    }
+
+    seed = this.m_seed;
+    end = (start + count);
+    if ((bound & (-bound)) == bound) {
+      for (i = start; i < end; i++) {
+        seed = (((seed * Randomizer.MULTIPLIER) + Randomizer.ADDEND) & Randomizer.MASK);
+        dest[i] = ((int) ((bound * ((long) ((int) (seed >>> 17)))) >> 31));
+      }
+    } else {
+      for (i = start; i < end; i++) {
+        do {
+          seed = (((seed * Randomizer.MULTIPLIER) + Randomizer.ADDEND) & Randomizer.MASK);
+          bits = ((int) (seed >>> 17));
+          val = (bits % bound);
+        } while (((bits - val) + (bound - 1)) < 0);
+        dest[i] = val;
+      }
+    }
+    this.m_seed = seed;
+  }
+
+  /**
+   * Fill an array with uniformly distributed {@code int}s from {@code 0}
+   * (inclusive) to {@code bound} (exclusive).
+   *
+   * @param dest
+   *          the destination array
+   * @param bound
+   *          the exclusive upper bound, must be positive
+   * @see #nextInts(int[], int, int, int)
+   */
+  public final void nextInts(final int[] dest, final int bound) {
+    this.nextInts(dest, 0, dest.length, bound);
+  }
+
+  /**
+   * Fill a sub-sequence of an array with uniformly distributed
+   * {@code double}s from {@code [0,1)}. The result is exactly the same as
+   * calling {@link #nextDouble()} {@code count} times.
+   *
+   * @param dest
+   *          the destination array
+   * @param start
+   *          the start index
+   * @param count
+   *          the number of elements to generate
+   */
+  public final void nextDoubles(final double[] dest, final int start,
+      final int count) {
+    final int end;
+    long seed, high;
+    int i;
+
+    seed = this.m_seed;
+    end = (start + count);
+    for (i = start; i < end; i++) {
+      seed = (((seed * Randomizer.MULTIPLIER) + Randomizer.ADDEND) & Randomizer.MASK);
+      high = (((long) ((int) (seed >>> 22))) << 27);
+      seed = (((seed * Randomizer.MULTIPLIER) + Randomizer.ADDEND) & Randomizer.MASK);
+      dest[i] = ((high + ((int) (seed >>> 21))) * Randomizer.DOUBLE_UNIT);
+    }
+    this.m_seed = seed;
+  }
+
+  /**
+   * Fill an array with uniformly distributed {@code double}s from
+   * {@code [0,1)}.
+   *
+   * @param dest
+   *          the destination array
+   * @see #nextDoubles(double[], int, int)
+   */
+  public final void nextDoubles(final double[] dest) {
+    this.nextDoubles(dest, 0, dest.length);
+  }
+
   /**
    * <p>
    * <strong>This method had a bug until version 0.9.8 of TSPSuite. It did
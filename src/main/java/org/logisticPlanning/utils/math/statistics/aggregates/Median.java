@@ -6,7 +6,9 @@ import org.logisticPlanning.utils.math.statistics.IStatisticPoint;
 
 /**
  * An aggregate the computes the median.
- * <em>Warning: Uses lots of memory.</em> .
+ * <em>Warning: Uses lots of memory.</em> . For very large data, the
+ * {@link org.logisticPlanning.utils.math.statistics.aggregates.QuantileSketch}
+ * approximates the median in bounded memory.
  */
 public class Median extends ScalarAggregate implements IStatisticPoint {
 
@@ -0,0 +1,578 @@
+package org.logisticPlanning.utils.math.statistics.aggregates;
+
+import java.util.Arrays;
+
+import org.logisticPlanning.utils.collections.lists.ArraySetView;
+import org.logisticPlanning.utils.math.statistics.EStatisticParameter;
+import org.logisticPlanning.utils.math.statistics.IStatisticPoint;
+import org.logisticPlanning.utils.math.statistics.Quantile;
+
+/**
+ * <p>
+ * An aggregate which approximates quantiles in bounded memory, based on
+ * the KLL sketch by Karnin, Lang, and Liberty. Different from
+ * {@link org.logisticPlanning.utils.math.statistics.aggregates.Median},
+ * which stores every visited value, this aggregate keeps only about
+ * {@code 3k} values, where {@code k} is the accuracy parameter passed to
+ * the constructor.
+ * </p>
+ * <p>
+ * The values are stored in levels. Each value on level {@code h}
+ * represents {@code 2<sup>h</sup>} visited values. New values enter level
+ * {@code 0}. Once a level exceeds its capacity, it is sorted and every
+ * second value is promoted to the next level, while the others are
+ * discarded. The capacities decrease geometrically from the top level
+ * downwards. The rank of a value returned by {@link #getQuantile(double)}
+ * differs from the requested rank by about {@link #getRankError()} times
+ * the number of visited values.
+ * </p>
+ * <p>
+ * As long as less than {@code k} values have been visited, nothing is
+ * discarded and the quantiles are exactly the same as those computed by
+ * {@link org.logisticPlanning.utils.math.statistics.Quantile}. The minimum
+ * and maximum are always exact. Whether the values at the odd or even
+ * positions of a level are promoted is decided by a coin flip. The coin is
+ * a small xorshift generator with a fixed seed, so the same sequence of
+ * values always yields the same results. (Simply alternating between odd
+ * and even positions makes the error about twice as large.)
+ * </p>
+ * <p>
+ * Sketches can be {@link #merge(QuantileSketch) merged}: Several threads
+ * may each fill their own sketch, which are then combined into one. The
+ * error bound of the merged sketch is the same as if all values had been
+ * visited by a single sketch.
+ * </p>
+ */
+public class QuantileSketch extends ScalarAggregate implements
+    IStatisticPoint {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the default accuracy parameter: {@value} */
+  public static final int DEFAULT_K = 200;
+
+  /** the minimum accuracy parameter: {@value} */
+  public static final int MIN_K = 8;
+
+  /** the minimum capacity of a level: {@value} */
+  private static final int MIN_CAPACITY = 2;
+
+  /** the factor by which the capacities decrease per level */
+  private static final double CAPACITY_DECAY = (2d / 3d);
+
+  /**
+   * the constant relating the accuracy parameter and the rank error, as
+   * observed over many quantiles of large data sets
+   */
+  private static final double ERROR_FACTOR = 3.3d;
+
+  /** the initial state of the coin */
+  private static final long COIN_SEED = 0x9e3779b97f4a7c15L;
+
+  /** the list of supported statistic parameters */
+  private static final ArraySetView<EStatisticParameter> LIST = //
+  EStatisticParameter.makeList(//
+      EStatisticParameter.MINIMUM,//
+      EStatisticParameter.PERCENTILE_05,//
+      EStatisticParameter.PERCENTILE_25,//
+      EStatisticParameter.MEDIAN,//
+      EStatisticParameter.PERCENTILE_75,//
+      EStatisticParameter.PERCENTILE_95,//
+      EStatisticParameter.MAXIMUM);
+
+  /** the quantile returned by {@link #getResult()} */
+  private final double m_quantile;
+
+  /** the accuracy parameter */
+  private final int m_k;
+
+  /** the values of the levels */
+  private double[][] m_levels;
+
+  /** the number of values in each level */
+  private int[] m_sizes;
+
+  /** the capacities of the levels */
+  private int[] m_capacities;
+
+  /** the number of levels */
+  private int m_levelCount;
+
+  /** the number of visited values */
+  private long m_count;
+
+  /** the smallest visited value */
+  private double m_min;
+
+  /** the largest visited value */
+  private double m_max;
+
+  /** the state of the coin */
+  private long m_coin;
+
+  /**
+   * Create a quantile sketch
+   *
+   * @param quantile
+   *          the quantile returned by {@link #getResult()}, in
+   *          {@code [0,1]}
+   * @param k
+   *          the accuracy parameter, at least {@link #MIN_K}: larger values
+   *          mean smaller errors and more memory
+   */
+  public QuantileSketch(final double quantile, final int k) {
+    super();
+
+    if ((quantile < 0d) || (quantile > 1d)) {
+      throw new IllegalArgumentException(//
+          "Quantile must be in [0,1], but is " + quantile); //$NON-NLS-1$
+    }
+    if (k < QuantileSketch.MIN_K) {
+      throw new IllegalArgumentException(//
+          "Accuracy parameter must be at least " + QuantileSketch.MIN_K + //$NON-NLS-1$
+              ", but is " + k); //$NON-NLS-1$
+    }
+
+    this.m_quantile = quantile;
+    this.m_k = k;
+    this.__clear();
+  }
+
+  /**
+   * Create a quantile sketch with the {@link #DEFAULT_K default accuracy}
+   *
+   * @param quantile
+   *          the quantile returned by {@link #getResult()}, in
+   *          {@code [0,1]}
+   */
+  public QuantileSketch(final double quantile) {
+    this(quantile, QuantileSketch.DEFAULT_K);
+  }
+
+  /**
+   * Create a quantile sketch for the median with the {@link #DEFAULT_K
+   * default accuracy}
+   */
+  public QuantileSketch() {
+    this(0.5d);
+  }
+
+  /**
+   * Get the accuracy parameter which is needed to achieve a given
+   * normalized rank error
+   *
+   * @param rankError
+   *          the normalized rank error, in {@code (0,1)}
+   * @return the corresponding accuracy parameter
+   */
+  public static final int getK(final double rankError) {
+    if ((rankError <= 0d) || (rankError >= 1d)) {
+      throw new IllegalArgumentException(//
+          "Rank error must be in (0,1), but is " + rankError); //$NON-NLS-1$
+    }
+    return ((int) (Math.max(QuantileSketch.MIN_K,
+        Math.min(Integer.MAX_VALUE,
+            Math.ceil(QuantileSketch.ERROR_FACTOR / rankError)))));
+  }
+
+  /**
+   * Get the approximate normalized rank error of this sketch, i.e., the
+   * fraction of the visited values by which the rank of a returned
+   * quantile may differ from the requested rank
+   *
+   * @return the approximate normalized rank error
+   */
+  public final double getRankError() {
+    return (QuantileSketch.ERROR_FACTOR / this.m_k);
+  }
+
+  /**
+   * Get the accuracy parameter
+   *
+   * @return the accuracy parameter
+   */
+  public final int getK() {
+    return this.m_k;
+  }
+
+  /**
+   * Get the number of visited values
+   *
+   * @return the number of visited values
+   */
+  public final long getCount() {
+    return this.m_count;
+  }
+
+  /** clear the sketch */
+  private final void __clear() {
+    this.m_levels = new double[1][];
+    this.m_levels[0] = new double[this.m_k];
+    this.m_sizes = new int[1];
+    this.m_levelCount = 1;
+    this.m_count = 0L;
+    this.m_min = Double.NaN;
+    this.m_max = Double.NaN;
+    this.m_coin = QuantileSketch.COIN_SEED;
+    this.__capacities();
+  }
+
+  /** compute the capacities of the levels */
+  private final void __capacities() {
+    final int count;
+    int h;
+
+    count = this.m_levelCount;
+    if ((this.m_capacities == null)
+        || (this.m_capacities.length != count)) {
+      this.m_capacities = new int[count];
+    }
+    for (h = count; (--h) >= 0;) {
+      this.m_capacities[h] = ((int) (Math.max(QuantileSketch.MIN_CAPACITY,
+          Math.ceil(this.m_k
+              * Math.pow(QuantileSketch.CAPACITY_DECAY,
+                  ((count - 1) - h))))));
+    }
+  }
+
+  /**
+   * Append a value to a level
+   *
+   * @param h
+   *          the level
+   * @param value
+   *          the value
+   */
+  private final void __append(final int h, final double value) {
+    double[] level;
+    int size;
+
+    level = this.m_levels[h];
+    size = this.m_sizes[h];
+    if (size >= level.length) {
+      this.m_levels[h] = level = Arrays.copyOf(level,
+          Math.max(QuantileSketch.MIN_CAPACITY, (size << 1)));
+    }
+    level[size] = value;
+    this.m_sizes[h] = (size + 1);
+  }
+
+  /** add a new, empty level on top */
+  private final void __addLevel() {
+    final int count;
+
+    count = this.m_levelCount;
+    if (count >= this.m_levels.length) {
+      this.m_levels = Arrays.copyOf(this.m_levels, (count + 1));
+      this.m_sizes = Arrays.copyOf(this.m_sizes, (count + 1));
+    }
+    if (this.m_levels[count] == null) {
+      this.m_levels[count] = new double[QuantileSketch.MIN_CAPACITY];
+    }
+    this.m_sizes[count] = 0;
+    this.m_levelCount = (count + 1);
+    this.__capacities();
+  }
+
+  /**
+   * Compact a level: sort it and promote every second value to the next
+   * level. If the level has an odd number of values, its largest value
+   * stays.
+   *
+   * @param h
+   *          the level
+   */
+  private final void __compact(final int h) {
+    final double[] level;
+    final int size, pairs;
+    long coin;
+    int i;
+
+    if ((h + 1) >= this.m_levelCount) {
+      this.__addLevel();
+    }
+
+    level = this.m_levels[h];
+    size = this.m_sizes[h];
+    Arrays.sort(level, 0, size);
+    pairs = (size >>> 1);
+
+    coin = this.m_coin;
+    coin ^= (coin << 13);
+    coin ^= (coin >>> 7);
+    coin ^= (coin << 17);
+    this.m_coin = coin;
+
+    for (i = ((coin < 0L) ? 1 : 0); i < (pairs << 1); i += 2) {
+      this.__append((h + 1), level[i]);
+    }
+
+    if ((size & 1) != 0) {
+      level[0] = level[size - 1];
+      this.m_sizes[h] = 1;
+    } else {
+      this.m_sizes[h] = 0;
+    }
+  }
+
+  /** compact all levels which exceed their capacity */
+  private final void __compress() {
+    int h;
+
+    for (h = 0; h < this.m_levelCount; h++) {
+      if (this.m_sizes[h] >= this.m_capacities[h]) {
+        this.__compact(h);
+      }
+    }
+  }
+
+  /**
+   * Update the minimum and maximum
+   *
+   * @param min
+   *          the new minimum candidate
+   * @param max
+   *          the new maximum candidate
+   */
+  private final void __minMax(final double min, final double max) {
+    if ((this.m_count <= 0L) || (Double.compare(min, this.m_min) < 0)) {
+      this.m_min = min;
+    }
+    if ((this.m_count <= 0L) || (Double.compare(max, this.m_max) > 0)) {
+      this.m_max = max;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void visitDouble(final double value) {
+    this.__minMax(value, value);
+    this.m_count++;
+    this.__append(0, value);
+    if (this.m_sizes[0] >= this.m_capacities[0]) {
+      this.__compress();
+    }
+  }
+
+  /**
+   * Merge another sketch into this one. Afterwards, this sketch represents
+   * the values visited by both sketches. The other sketch is not modified.
+   *
+   * @param other
+   *          the other sketch
+   */
+  public void merge(final QuantileSketch other) {
+    final QuantileSketch src;
+    final double[][] levels;
+    final int[] sizes;
+    double[] level;
+    int h, i;
+
+    if ((other == null) || (other.m_count <= 0L)) {
+      return;
+    }
+    src = ((other == this) ? this.clone() : other);
+
+    this.__minMax(src.m_min, src.m_max);
+    this.m_count += src.m_count;
+
+    while (this.m_levelCount < src.m_levelCount) {
+      this.__addLevel();
+    }
+
+    levels = src.m_levels;
+    sizes = src.m_sizes;
+    for (h = src.m_levelCount; (--h) >= 0;) {
+      level = levels[h];
+      for (i = sizes[h]; (--i) >= 0;) {
+        this.__append(h, level[i]);
+      }
+    }
+
+    this.__compress();
+  }
+
+  /**
+   * Get the value of the given rank from the levels, which must all be
+   * sorted
+   *
+   * @param rank
+   *          the rank, starting at {@code 1}
+   * @param pos
+   *          the current read position inside each level, will be
+   *          modified
+   * @param weight
+   *          the accumulated weight of the values before the read
+   *          positions, stored at index {@code 0}, will be modified
+   * @return the value
+   */
+  private final double __rank(final long rank, final int[] pos,
+      final long[] weight) {
+    double best, v;
+    int h, bestLevel;
+
+    best = Double.NaN;
+    for (;;) {
+      bestLevel = (-1);
+      for (h = this.m_levelCount; (--h) >= 0;) {
+        if (pos[h] < this.m_sizes[h]) {
+          v = this.m_levels[h][pos[h]];
+          if ((bestLevel < 0) || (Double.compare(v, best) < 0)) {
+            best = v;
+            bestLevel = h;
+          }
+        }
+      }
+      if (bestLevel < 0) {
+        return this.m_max;
+      }
+      if ((weight[0] + (1L << bestLevel)) >= rank) {
+        return best;
+      }
+      weight[0] += (1L << bestLevel);
+      pos[bestLevel]++;
+    }
+  }
+
+  /**
+   * Get the (approximate) quantile of the visited values
+   *
+   * @param quantile
+   *          the quantile, in {@code [0,1]}
+   * @return the quantile value, or {@link java.lang.Double#NaN} if no value
+   *         has been visited
+   */
+  public final double getQuantile(final double quantile) {
+    final long count;
+    final double pos, low, v, lower, upper;
+    final int[] positions;
+    final long[] weight;
+    int h;
+
+    count = this.m_count;
+    if (count <= 0L) {
+      return Double.NaN;
+    }
+
+    if (this.m_levelCount <= 1) {
+      Arrays.sort(this.m_levels[0], 0, this.m_sizes[0]);
+      return Quantile.getQuantile(this.m_levels[0], 0, this.m_sizes[0],
+          quantile);
+    }
+
+    if (quantile <= 0d) {
+      return this.m_min;
+    }
+    if (quantile >= 1d) {
+      return this.m_max;
+    }
+
+    pos = (quantile * (count + 1L));
+    if (pos < 1d) {
+      return this.m_min;
+    }
+    if (pos >= count) {
+      return this.m_max;
+    }
+
+    for (h = this.m_levelCount; (--h) >= 0;) {
+      Arrays.sort(this.m_levels[h], 0, this.m_sizes[h]);
+    }
+    positions = new int[this.m_levelCount];
+    weight = new long[1];
+
+    low = Math.floor(pos);
+    lower = this.__rank(((long) low), positions, weight);
+
+    v = (pos - low);
+    if (v <= 0d) {
+      return lower;
+    }
+
+    upper = this.__rank((((long) low) + 1L), positions, weight);
+    if (upper <= lower) {
+      return lower;
+    }
+    return Math.max(lower,
+        Math.min(upper, (lower + (v * (upper - lower)))));
+  }
+
+  /**
+   * Obtain the (approximate) quantile specified in the constructor
+   *
+   * @return the quantile value, or {@link java.lang.Double#NaN} if no value
+   *         has been visited
+   */
+  @Override
+  public double getResult() {
+    return this.getQuantile(this.m_quantile);
+  }
+
+  /** reset the sketch */
+  @Override
+  public void reset() {
+    this.__clear();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public QuantileSketch clone() {
+    final QuantileSketch q;
+    int h;
+
+    q = ((QuantileSketch) (super.clone()));
+    q.m_levels = this.m_levels.clone();
+    for (h = q.m_levels.length; (--h) >= 0;) {
+      if (q.m_levels[h] != null) {
+        q.m_levels[h] = q.m_levels[h].clone();
+      }
+    }
+    q.m_sizes = this.m_sizes.clone();
+    q.m_capacities = this.m_capacities.clone();
+    return q;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return ((("q" + this.m_quantile) + '=') + this.getResult()); //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ArraySetView<EStatisticParameter> getParameters() {
+    return QuantileSketch.LIST;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getParameter(final EStatisticParameter param) {
+    switch (param) {
+      case MINIMUM: {
+        return this.getQuantile(0d);
+      }
+      case PERCENTILE_05: {
+        return this.getQuantile(0.05d);
+      }
+      case PERCENTILE_25: {
+        return this.getQuantile(0.25d);
+      }
+      case MEDIAN: {
+        return this.getQuantile(0.5d);
+      }
+      case PERCENTILE_75: {
+        return this.getQuantile(0.75d);
+      }
+      case PERCENTILE_95: {
+        return this.getQuantile(0.95d);
+      }
+      case MAXIMUM: {
+        return this.getQuantile(1d);
+      }
+      default: {
+        throw new UnsupportedOperationException(String.valueOf(param));
+      }
+    }
+  }
+}
@@ -7,7 +7,8 @@ import org.logisticPlanning.utils.math.data.collection.ArrayDataCollectionView;
 import org.logisticPlanning.utils.math.data.collection.IDataCollection;
 import org.logisticPlanning.utils.math.statistics.EStatisticParameter;
 import org.logisticPlanning.utils.math.statistics.IStatisticDataCollection;
-import org.logisticPlanning.utils.math.statistics.aggregates.OrderStatisticInfo;
+import org.logisticPlanning.utils.math.statistics.Quantile;
+import org.logisticPlanning.utils.math.statistics.aggregates.StatisticInfo;
 import org.logisticPlanning.utils.utils.EmptyUtils;
 import org.logisticPlanning.utils.utils.comparison.EComparison;
 
@@ -184,16 +185,14 @@ public class StatisticSeries extends ArrayDataCollectionView implements
   private static final double[] makeSeries(final IDataCollection[] source,
       final int dimX, final int dimY, final int approxMaxPoints,
       final boolean beginWhenDataIsThereForAllCollections) {
-    final int[] indexes;
-    final double[] data;
     final int sourceCount;
-    final OrderStatisticInfo info;
+    final StatisticInfo info;
+    final _SeriesSweep sweep;
     final double skip;
-    boolean noNewPoint;
-    double[] buffer;
-    double lastX, curX, x, lastY, currentSkip;
+    double[] buffer, sorted;
+    double curX, x, currentSkip;
     IDataCollection r;
-    int i, j, e, size, capacity, index, dataSize, inc;
+    int i, e, size, capacity, index, inc;
 
     if ((source == null) || ((sourceCount = source.length) <= 0)) {
       throw new IllegalArgumentException(//
@@ -223,60 +222,29 @@ public class StatisticSeries extends ArrayDataCollectionView implements
       skip = 0d;
     }
 
-    // ok, done with initialization, let's go
-    curX = Double.NaN;
-
     // create the backing data structure
     index = size = 0;
     buffer = new double[capacity * StatisticSeries.STATISTIC_SERIES_DIM];
 
-    // the iteration data structure
-    indexes = new int[sourceCount];
-    data = new double[sourceCount];
-    Arrays.fill(data, Double.NaN);
-    info = new OrderStatisticInfo();
+    // the sweep line keeps the current y-values of all sources, sorted,
+    // and the next x-coordinates at which new y-values follow
+    sweep = new _SeriesSweep(source, dimX, dimY);
+    info = new StatisticInfo();
 
     currentSkip = Double.POSITIVE_INFINITY;// always store first point
 
     // build the point array
-    outer: for (;;) {// create the points
+    for (;;) {// create the points
 
       // get the next x-value which is larger than the current x value and
-      // leades to a different y value
-      lastX = curX;
-      curX = Double.POSITIVE_INFINITY;
-      noNewPoint = true;
-      inc = 1;
-      inner: for (i = sourceCount; (--i) >= 0;) {
-        // for each data collection, find the next larger x value
-        lastY = data[i];
-        r = source[i];
-        e = r.size();
-
-        loopy: for (j = indexes[i]; j < e; j++) {
-          x = r.get(j, dimX);
-          if (x <= lastX) {// no advancement in x
-            continue loopy;
-          }
-          if (r.get(j, dimY) == lastY) {// same y -> same point
-            continue loopy;
-          }
-          noNewPoint = false;
-          if (x < curX) {// ok, found new current x
-            curX = x;
-            inc = 1;
-          } else {
-            if (x <= curX) {
-              inc++;
-            }
-          }
-          continue inner;
-        }
-      }
+      // leads to a different y value for at least one source: the number
+      // of such sources is inc
+      curX = sweep._peek();
+      inc = sweep._pop();
 
       // we are at the end - no new point is generated
-      if (noNewPoint) {
-        break outer;
+      if (inc <= 0) {
+        break;
       }
 
       if (Math.abs(curX) <= 0d) {// check for -0d
@@ -285,48 +253,32 @@ public class StatisticSeries extends ArrayDataCollectionView implements
 
       currentSkip += inc;
       if (currentSkip < skip) {
-        inc = 0;
-        continue outer;
+        sweep._skip(curX);
+        continue;
       }
 
       currentSkip -= skip;
       if ((currentSkip >= Double.POSITIVE_INFINITY) || (currentSkip <= 0d)) {
         currentSkip = Math.max((inc - skip), 0d);
       }
-      inc = 0;
 
       // new x-value found. so let's get the value of the y-coordinate
       // belonging to the point with the largest x value <= curX for each
       // source
-      dataSize = 0;
+      sweep._update(curX);
+
+      // maybe there is no point for the given x-coordinate for some
+      // sources, e.g.: smallest DE=45, but some runs may have the first DE
+      // at 100
       info.reset();
       for (i = sourceCount; (--i) >= 0;) {
-        r = source[i];
-        e = r.size();
-
-        inner3: for (j = indexes[i]; j < e; j++) {
-          x = r.get(j, dimX);
-          if (x <= curX) {
-            continue inner3;
-          }
-          break inner3;
-        }
-
-        j--;
-
-        // maybe there is no point for the given x-coordinate, e.g.:
-        // smallest
-        // DE=45, but some runs may have the first DE at 100
-        if (j >= 0) {
-          indexes[i] = j;
-          data[dataSize++] = lastY = r.get(j, dimY);
-          info.visitDouble(lastY);
+        if (sweep._hasData(i)) {
+          info.visitDouble(sweep._y(i));
         }
       }
 
       // if beginWhenDataIsThereForAllCollections is true, we only begin
-      // the
-      // series when data is there for all source
+      // the series when data is there for all source
       if (beginWhenDataIsThereForAllCollections
           && (info.getCount() < sourceCount)) {
         continue;
@@ -339,7 +291,8 @@ public class StatisticSeries extends ArrayDataCollectionView implements
             (capacity * StatisticSeries.STATISTIC_SERIES_DIM));
       }
 
-      StatisticSeries.__store(buffer, index, curX, info, dataSize);
+      StatisticSeries.__store(buffer, index, curX, info, sweep.m_sorted,
+          sweep.m_count);
 
       size++;
       index += StatisticSeries.STATISTIC_SERIES_DIM;
@@ -351,16 +304,18 @@ public class StatisticSeries extends ArrayDataCollectionView implements
 
         curX = Double.NEGATIVE_INFINITY;
         info.reset();
-        for (i = dataSize = sourceCount; (--i) >= 0;) {
+        sorted = new double[sourceCount];
+        for (i = sourceCount; (--i) >= 0;) {
           r = source[i];
           e = (r.size() - 1);
           x = r.get(e, dimX);
           if (x > curX) {
             curX = x;
           }
-          data[i] = x = r.get(e, dimY);
+          sorted[i] = x = r.get(e, dimY);
           info.visitDouble(x);
         }
+        Arrays.sort(sorted);
 
         // if beginWhenDataIsThereForAllCollections is true, we only
         // begin the
@@ -380,7 +335,8 @@ public class StatisticSeries extends ArrayDataCollectionView implements
                 (capacity * StatisticSeries.STATISTIC_SERIES_DIM));
           }
 
-          StatisticSeries.__store(buffer, index, curX, info, dataSize);
+          StatisticSeries.__store(buffer, index, curX, info, sorted,
+              sourceCount);
 
           size++;
           index += StatisticSeries.STATISTIC_SERIES_DIM;
@@ -403,21 +359,28 @@ public class StatisticSeries extends ArrayDataCollectionView implements
    *          the buffer
    * @param info
    *          the info
-   * @param dataSize
-   *          the data size
+   * @param sorted
+   *          the sorted y-values
+   * @param count
+   *          the number of sorted y-values
    */
   private static final void __store(final double[] buffer,
-      final int index, final double curX, final OrderStatisticInfo info,
-      final int dataSize) {
+      final int index, final double curX, final StatisticInfo info,
+      final double[] sorted, final int count) {
     // the data was loaded, so compute
 
     // store the data
     buffer[index + StatisticSeries.DIM_Y_MIN] = info.getMinimum();
-    buffer[index + StatisticSeries.DIM_Y_Q05] = info.getQuantile(0.05d);
-    buffer[index + StatisticSeries.DIM_Y_Q25] = info.getQuantile(0.25d);
-    buffer[index + StatisticSeries.DIM_Y_MEDIAN] = info.getQuantile(0.5d);
-    buffer[index + StatisticSeries.DIM_Y_Q75] = info.getQuantile(0.75d);
-    buffer[index + StatisticSeries.DIM_Y_Q95] = info.getQuantile(0.95d);
+    buffer[index + StatisticSeries.DIM_Y_Q05] = Quantile.getQuantile(
+        sorted, 0, count, 0.05d);
+    buffer[index + StatisticSeries.DIM_Y_Q25] = Quantile.getQuantile(
+        sorted, 0, count, 0.25d);
+    buffer[index + StatisticSeries.DIM_Y_MEDIAN] = Quantile.getQuantile(
+        sorted, 0, count, 0.5d);
+    buffer[index + StatisticSeries.DIM_Y_Q75] = Quantile.getQuantile(
+        sorted, 0, count, 0.75d);
+    buffer[index + StatisticSeries.DIM_Y_Q95] = Quantile.getQuantile(
+        sorted, 0, count, 0.95d);
     buffer[index + StatisticSeries.DIM_Y_MAX] = info.getMaximum();
     buffer[index + StatisticSeries.DIM_Y_MEAN] = info.getArithmeticMean();
     buffer[index + StatisticSeries.DIM_Y_VARIANCE] = info.getVariance();
@@ -0,0 +1,512 @@
+package org.logisticPlanning.utils.math.statistics.series;
+
+import org.logisticPlanning.utils.math.data.collection.IDataCollection;
+
+/**
+ * <p>
+ * The sweep line used to build a
+ * {@link org.logisticPlanning.utils.math.statistics.series.StatisticSeries}
+ * : For each source data collection, we keep its current {@code y}-value
+ * and the next {@code x}-coordinate where a point with a different
+ * {@code y}-value follows (the &quot;event&quot;). The events of all
+ * sources are kept in an indexed min-heap, so the next {@code x}-coordinate
+ * of the series can be found in {@code O(1)} and the sources reaching it
+ * in {@code O(log n)} each, without re-scanning all sources.
+ * </p>
+ * <p>
+ * The series must not change, so the events are defined exactly as in the
+ * original scan: The {@code y}-value a source is compared with is not its
+ * own current value, but the entry at its index in the array of the
+ * current values of all sources with data, compacted in descending order
+ * of the sources. We therefore keep these comparison values separately
+ * and recompute the event of a source whenever its comparison value
+ * changes. As a consequence, all sources need to be brought up to date at
+ * each stored point, so storing a point takes {@code O(R)} time for
+ * {@code R} sources, as does computing the mean and variance in source
+ * order. Skipped points and the search for the next {@code x}-coordinate
+ * only touch the sources whose events are reached.
+ * </p>
+ * <p>
+ * The current {@code y}-values of all sources that have data are
+ * additionally kept in a sorted array. When a source changes its value,
+ * only its old value is removed from and its new value is inserted into
+ * this array via binary search, so the array never needs to be sorted
+ * again. For the small numbers of sources we deal with (usually up to a
+ * few hundred runs), shifting the elements of a primitive array is faster
+ * than maintaining a tree-based order-statistic structure.
+ * </p>
+ */
+final class _SeriesSweep {
+
+  /** the sources */
+  private final IDataCollection[] m_source;
+
+  /** the x dimension */
+  private final int m_dimX;
+
+  /** the y dimension */
+  private final int m_dimY;
+
+  /**
+   * the index of the point of each source which defines its current
+   * {@code y}-value, or {@code -1} if the source has no data yet
+   */
+  private final int[] m_index;
+
+  /** the current {@code y}-values of the sources */
+  private final double[] m_y;
+
+  /**
+   * the index of the event point of each source, or the size of the source
+   * if there is none
+   */
+  private final int[] m_event;
+
+  /** the {@code x}-coordinates of the event points */
+  private final double[] m_eventX;
+
+  /** the heap of sources, ordered by their event {@code x}-coordinates */
+  private final int[] m_heap;
+
+  /** the position of each source in the heap, or {@code -1} */
+  private final int[] m_pos;
+
+  /** the number of sources in the heap */
+  private int m_heapSize;
+
+  /**
+   * the {@code y}-values the points of each source are compared with to
+   * find its next event: the current values of all sources with data,
+   * compacted in descending order of the sources
+   */
+  private final double[] m_cmp;
+
+  /** the sources whose events need to be recomputed */
+  private final int[] m_stale;
+
+  /** is a source in the stale list? */
+  private final boolean[] m_isStale;
+
+  /** the number of stale sources */
+  private int m_staleCount;
+
+  /** the sources whose event is the current {@code x}-coordinate */
+  private final int[] m_popped;
+
+  /** the number of popped sources */
+  private int m_poppedCount;
+
+  /** the current {@code y}-values of the sources with data, sorted */
+  final double[] m_sorted;
+
+  /** the number of sources with data */
+  int m_count;
+
+  /**
+   * create the sweep line
+   *
+   * @param source
+   *          the sources
+   * @param dimX
+   *          the x dimension
+   * @param dimY
+   *          the y dimension
+   */
+  _SeriesSweep(final IDataCollection[] source, final int dimX,
+      final int dimY) {
+    super();
+
+    final int n;
+    int i;
+
+    this.m_source = source;
+    this.m_dimX = dimX;
+    this.m_dimY = dimY;
+
+    n = source.length;
+    this.m_index = new int[n];
+    this.m_y = new double[n];
+    this.m_event = new int[n];
+    this.m_eventX = new double[n];
+    this.m_heap = new int[n];
+    this.m_pos = new int[n];
+    this.m_cmp = new double[n];
+    this.m_stale = new int[n];
+    this.m_isStale = new boolean[n];
+    this.m_popped = new int[n];
+    this.m_sorted = new double[n];
+
+    for (i = n; (--i) >= 0;) {
+      this.m_index[i] = (-1);
+      this.m_y[i] = Double.NaN;
+      this.m_cmp[i] = Double.NaN;
+      this.m_pos[i] = (-1);
+      this.m_event[i] = 0;
+      this.__event(i, Double.NaN);
+    }
+  }
+
+  /**
+   * Find the next event of a source: the first point after its current
+   * event candidate whose {@code x}-coordinate is larger than
+   * {@code lastX} and whose {@code y}-value differs from the comparison
+   * value of the source. The source is then (re-)inserted into the heap.
+   *
+   * @param src
+   *          the source
+   * @param lastX
+   *          the current {@code x}-coordinate
+   */
+  private final void __event(final int src, final double lastX) {
+    final IDataCollection r;
+    final double y;
+    final int e;
+    int j;
+    double x;
+
+    r = this.m_source[src];
+    e = r.size();
+    y = this.m_cmp[src];
+
+    for (j = Math.max(this.m_event[src], this.m_index[src]); j < e; j++) {
+      x = r.get(j, this.m_dimX);
+      if (x <= lastX) {// no advancement in x
+        continue;
+      }
+      if (r.get(j, this.m_dimY) == y) {// same y -> same point
+        continue;
+      }
+      this.m_event[src] = j;
+      this.m_eventX[src] = x;
+      this.__heapSet(src);
+      return;
+    }
+
+    this.m_event[src] = e;
+    this.__heapRemove(src);
+  }
+
+  /**
+   * Get the {@code x}-coordinate of the next event.
+   *
+   * @return the {@code x}-coordinate of the next event, or
+   *         {@link java.lang.Double#NaN} if there is none
+   */
+  final double _peek() {
+    return ((this.m_heapSize > 0) ? this.m_eventX[this.m_heap[0]]
+        : Double.NaN);
+  }
+
+  /**
+   * Remove all sources whose event is at the smallest {@code x}
+   * -coordinate from the heap.
+   *
+   * @return the number of removed sources
+   */
+  final int _pop() {
+    final double x;
+    int src;
+
+    this.m_poppedCount = 0;
+    if (this.m_heapSize <= 0) {
+      return 0;
+    }
+
+    x = this.m_eventX[this.m_heap[0]];
+    while ((this.m_heapSize > 0)
+        && (this.m_eventX[src = this.m_heap[0]] <= x)) {
+      this.__heapRemove(src);
+      this.m_popped[this.m_poppedCount++] = src;
+    }
+    return this.m_poppedCount;
+  }
+
+  /**
+   * The point at the current {@code x}-coordinate is skipped: find the
+   * next events of the popped sources without updating their values.
+   *
+   * @param curX
+   *          the current {@code x}-coordinate
+   */
+  final void _skip(final double curX) {
+    int i;
+
+    for (i = this.m_poppedCount; (--i) >= 0;) {
+      this.__event(this.m_popped[i], curX);
+    }
+    this.m_poppedCount = 0;
+  }
+
+  /**
+   * Mark the event of a source as stale
+   *
+   * @param src
+   *          the source
+   */
+  private final void __stale(final int src) {
+    if (!(this.m_isStale[src])) {
+      this.m_isStale[src] = true;
+      this.m_stale[this.m_staleCount++] = src;
+    }
+  }
+
+  /**
+   * Update the values of all sources to the given {@code x}-coordinate
+   * and find the next events of the sources which have been popped or
+   * whose comparison value has changed.
+   *
+   * @param curX
+   *          the current {@code x}-coordinate
+   */
+  final void _update(final double curX) {
+    final int[] stale;
+    IDataCollection r;
+    int i, j, e, count;
+    double y;
+
+    for (i = this.m_poppedCount; (--i) >= 0;) {
+      this.__stale(this.m_popped[i]);
+    }
+
+    count = 0;
+    for (i = this.m_source.length; (--i) >= 0;) {
+      r = this.m_source[i];
+      e = r.size();
+      for (j = Math.max(0, this.m_index[i]); j < e; j++) {
+        if (r.get(j, this.m_dimX) > curX) {
+          break;
+        }
+      }
+      j--;
+
+      // maybe there is no point for the given x-coordinate yet
+      if (j < 0) {
+        continue;
+      }
+
+      if (j != this.m_index[i]) {
+        y = r.get(j, this.m_dimY);
+        if (this.m_index[i] < 0) {
+          this.__insert(y);
+        } else {
+          if (Double.doubleToRawLongBits(y) != //
+          Double.doubleToRawLongBits(this.m_y[i])) {
+            this.__remove(this.m_y[i]);
+            this.__insert(y);
+          }
+        }
+        this.m_index[i] = j;
+        this.m_y[i] = y;
+      }
+
+      // the source at index count is compared with the value of source i
+      y = this.m_y[i];
+      if (Double.doubleToRawLongBits(y) != //
+      Double.doubleToRawLongBits(this.m_cmp[count])) {
+        this.m_cmp[count] = y;
+        this.__stale(count);
+      }
+      count++;
+    }
+
+    stale = this.m_stale;
+    for (i = this.m_staleCount; (--i) >= 0;) {
+      j = stale[i];
+      this.m_isStale[j] = false;
+      // search the next event starting right at the current point
+      this.m_event[j] = 0;
+      this.__event(j, curX);
+    }
+
+    this.m_staleCount = 0;
+    this.m_poppedCount = 0;
+  }
+
+  /**
+   * Does a given source have data?
+   *
+   * @param src
+   *          the source
+   * @return {@code true} if it has data, {@code false} otherwise
+   */
+  final boolean _hasData(final int src) {
+    return (this.m_index[src] >= 0);
+  }
+
+  /**
+   * Get the current {@code y}-value of a given source
+   *
+   * @param src
+   *          the source
+   * @return the current {@code y}-value
+   */
+  final double _y(final int src) {
+    return this.m_y[src];
+  }
+
+  /**
+   * Find the position of a value in the sorted array, using the same
+   * total order as {@link java.util.Arrays#sort(double[])}
+   *
+   * @param y
+   *          the value
+   * @return the index of the first element which is not less than
+   *         {@code y}
+   */
+  private final int __find(final double y) {
+    final double[] sorted;
+    int low, high, mid;
+
+    sorted = this.m_sorted;
+    low = 0;
+    high = this.m_count;
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (Double.compare(sorted[mid], y) < 0) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * insert a value into the sorted array
+   *
+   * @param y
+   *          the value
+   */
+  private final void __insert(final double y) {
+    final int i;
+
+    i = this.__find(y);
+    System.arraycopy(this.m_sorted, i, this.m_sorted, (i + 1),
+        (this.m_count - i));
+    this.m_sorted[i] = y;
+    this.m_count++;
+  }
+
+  /**
+   * remove a value from the sorted array
+   *
+   * @param y
+   *          the value
+   */
+  private final void __remove(final double y) {
+    final int i;
+
+    i = this.__find(y);
+    this.m_count--;
+    System.arraycopy(this.m_sorted, (i + 1), this.m_sorted, i,
+        (this.m_count - i));
+  }
+
+  /**
+   * insert a source into the heap or update its position
+   *
+   * @param src
+   *          the source
+   */
+  private final void __heapSet(final int src) {
+    int pos;
+
+    pos = this.m_pos[src];
+    if (pos < 0) {
+      pos = this.m_heapSize++;
+      this.m_heap[pos] = src;
+      this.m_pos[src] = pos;
+    }
+    this.__siftDown(this.__siftUp(pos));
+  }
+
+  /**
+   * remove a source from the heap
+   *
+   * @param src
+   *          the source
+   */
+  private final void __heapRemove(final int src) {
+    final int pos, last;
+
+    pos = this.m_pos[src];
+    if (pos < 0) {
+      return;
+    }
+    this.m_pos[src] = (-1);
+    last = this.m_heap[--this.m_heapSize];
+    if (last != src) {
+      this.m_heap[pos] = last;
+      this.m_pos[last] = pos;
+      this.__siftDown(this.__siftUp(pos));
+    }
+  }
+
+  /**
+   * move the element at the given heap position up
+   *
+   * @param pos
+   *          the position
+   * @return the new position
+   */
+  private final int __siftUp(final int pos) {
+    final int[] heap;
+    final int src;
+    final double x;
+    int i, parent;
+
+    heap = this.m_heap;
+    src = heap[pos];
+    x = this.m_eventX[src];
+    i = pos;
+    while (i > 0) {
+      parent = ((i - 1) >>> 1);
+      if (this.m_eventX[heap[parent]] <= x) {
+        break;
+      }
+      heap[i] = heap[parent];
+      this.m_pos[heap[i]] = i;
+      i = parent;
+    }
+    heap[i] = src;
+    this.m_pos[src] = i;
+    return i;
+  }
+
+  /**
+   * move the element at the given heap position down
+   *
+   * @param pos
+   *          the position
+   */
+  private final void __siftDown(final int pos) {
+    final int[] heap;
+    final int src, size;
+    final double x;
+    int i, child;
+
+    heap = this.m_heap;
+    size = this.m_heapSize;
+    src = heap[pos];
+    x = this.m_eventX[src];
+    i = pos;
+    for (;;) {
+      child = ((i << 1) + 1);
+      if (child >= size) {
+        break;
+      }
+      if (((child + 1) < size)
+          && (this.m_eventX[heap[child + 1]] < this.m_eventX[heap[child]])) {
+        child++;
+      }
+      if (this.m_eventX[heap[child]] >= x) {
+        break;
+      }
+      heap[i] = heap[child];
+      this.m_pos[heap[i]] = i;
+      i = child;
+    }
+    heap[i] = src;
+    this.m_pos[src] = i;
+  }
+}
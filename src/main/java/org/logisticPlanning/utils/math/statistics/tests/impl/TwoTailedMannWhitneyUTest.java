@@ -4,7 +4,6 @@ import java.util.Arrays;
 
 import org.logisticPlanning.utils.math.data.collection.IDataCollection;
 import org.logisticPlanning.utils.math.functions.stochastic.NormalCDF;
-import org.logisticPlanning.utils.math.statistics.aggregates.StableSum;
 import org.logisticPlanning.utils.math.statistics.tests.spec.BivariateTwoTailedTest;
 import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTest;
 import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTestResult;
@@ -22,7 +21,13 @@ import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTestRes
  * href="#cite_H1984AEMSPFCTMUGUASD" style="font-weight:bold">8</a>].
  * </p>
  * <p>
- * TODO: This class needs to be tested.
+ * When several samples are compared with each other, each sample is
+ * sorted only once. The rank sum of one sample inside the union of two
+ * samples is then obtained by merging the two sorted arrays: the rank of a
+ * group of tied values is the number of values before the group plus the
+ * mean position inside the group. This yields exactly the same (average)
+ * ranks and, since all ranks are multiples of {@code 0.5}, exactly the
+ * same rank sums as ranking the union of the two samples from scratch.
  * </p>
  * <p>
  * TODO: Read&nbsp;[<a href="#cite_NK2009RAEOAFCTSOTMWT"
@@ -160,74 +165,148 @@ public final class TwoTailedMannWhitneyUTest extends
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
-  /** the double buffer */
-  private transient double[] m_doubleBuf;
-  /** the second double buffer */
-  private transient double[] m_doubleBuf2;
-  /** the rank buffer */
-  private transient double[] m_rankBuf;
+  /** the sorted samples */
+  private transient double[][] m_sorted;
+  /** the sizes of the sorted samples */
+  private transient int[] m_sizes;
 
   /** the internal constructor */
   public TwoTailedMannWhitneyUTest() {
     super("MannWhitneyUTest"); //$NON-NLS-1$
   }
 
+  /**
+   * Make sure that there are at least {@code n} sorted sample buffers
+   *
+   * @param n
+   *          the number of buffers
+   */
+  private final void __buffers(final int n) {
+    final double[][] sorted;
+
+    sorted = this.m_sorted;
+    if ((sorted == null) || (sorted.length < n)) {
+      this.m_sorted = new double[n][];
+      this.m_sizes = new int[n];
+    }
+  }
+
+  /**
+   * Store the values of a data set in dimension {@code dim} into the
+   * buffer with the given index and sort them
+   *
+   * @param data
+   *          the data set
+   * @param dim
+   *          the dimension
+   * @param index
+   *          the buffer index
+   */
+  private final void __sort(final IDataCollection data, final int dim,
+      final int index) {
+    final int l;
+    double[] buf;
+    int i;
+
+    l = data.size();
+    buf = this.m_sorted[index];
+    if ((buf == null) || (buf.length < l)) {
+      this.m_sorted[index] = buf = new double[l];
+    }
+    for (i = l; (--i) >= 0;) {
+      buf[i] = data.get(i, dim);
+    }
+    Arrays.sort(buf, 0, l);
+    this.m_sizes[index] = l;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void beginTest(final int dim,
+      final IDataCollection... dataSets) {
+    int i;
+
+    this.__buffers(dataSets.length);
+    for (i = dataSets.length; (--i) >= 0;) {
+      this.__sort(dataSets[i], dim, i);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final void doTest(final MultivariateTestResult dest,
       final int dim, final IDataCollection a, final IDataCollection b,
       final int i, final int j) {
-    final int l1, l2, l;
-    final StableSum ss;
-    double[] srt, data, ranks;
-    double rs1, d, e, rs2, u, p;
-    int ii, jj;
+    final double[][] sorted;
+    final int[] sizes;
 
-    l1 = a.size();
-    l2 = b.size();
-    l = (l1 + l2);
+    sorted = this.m_sorted;
+    sizes = this.m_sizes;
+    TwoTailedMannWhitneyUTest.__test(dest, sorted[i], sizes[i],
+        sorted[j], sizes[j], i, j);
+  }
 
-    srt = this.m_doubleBuf;
-    if ((srt == null) || (srt.length < l)) {
-      this.m_doubleBuf = srt = new double[l];
-    }
-    data = this.m_doubleBuf2;
-    if ((data == null) || (data.length < l1)) {
-      this.m_doubleBuf2 = data = new double[l1];
-    }
+  /**
+   * Perform the test on two sorted samples
+   *
+   * @param dest
+   *          the destination
+   * @param a
+   *          the first sample, sorted
+   * @param l1
+   *          the size of the first sample
+   * @param b
+   *          the second sample, sorted
+   * @param l2
+   *          the size of the second sample
+   * @param i
+   *          the index of the first data set
+   * @param j
+   *          the index of the second data set
+   */
+  private static final void __test(final MultivariateTestResult dest,
+      final double[] a, final int l1, final double[] b, final int l2,
+      final int i, final int j) {
+    final int l;
+    double rs1, d, e, rs2, u, p;
+    int ia, ib, ca, cb, pos;
 
-    for (ii = l1; (--ii) >= 0;) {
-      srt[ii] = data[ii] = a.get(ii, dim);
-    }
-    jj = l1;
-    for (ii = l2; (--ii) >= 0;) {
-      srt[jj++] = b.get(ii, dim);
-    }
-    Arrays.sort(srt, 0, l);
+    l = (l1 + l2);
 
-    ranks = this.m_rankBuf;
-    if ((ranks == null) || (ranks.length < l)) {
-      this.m_rankBuf = ranks = new double[l];
-    }
+    // merge the two samples: for each group of tied values, ca values stem
+    // from a and cb values from b, and all of them get the same rank
+    rs1 = 0d;
+    pos = 0;
+    ia = ib = 0;
+    while ((ia < l1) || (ib < l2)) {
+      if (ia >= l1) {
+        d = b[ib];
+      } else {
+        d = a[ia];
+        if ((ib < l2) && (Double.compare((e = b[ib]), d) < 0)) {
+          d = e;
+        }
+      }
 
-    ii = 0;
-    while (ii < l) {
-      jj = ii;
-      d = srt[ii];
-      while ((jj < l)
-          && ((d == (e = srt[jj])) || (Double.compare(d, e) == 0))) {
-        jj++;
+      ca = ia;
+      while ((ia < l1)
+          && ((d == (e = a[ia])) || (Double.compare(d, e) == 0))) {
+        ia++;
       }
+      ca = (ia - ca);
 
-      Arrays.fill(ranks, ii, jj, (ii + (((jj - ii) + 1) * 0.5d)));
-      ii = jj;
-    }
+      cb = ib;
+      while ((ib < l2)
+          && ((d == (e = b[ib])) || (Double.compare(d, e) == 0))) {
+        ib++;
+      }
+      cb = (ib - cb);
 
-    ss = new StableSum();
-    for (ii = l1; (--ii) >= 0;) {
-      ss.visitDouble(ranks[Arrays.binarySearch(srt, 0, l, data[ii])]);
+      if (ca > 0) {
+        rs1 += (ca * (pos + (((ca + cb) + 1) * 0.5d)));
+      }
+      pos += (ca + cb);
     }
-    rs1 = ss.getResult();
 
     rs2 = (((0.5d * l) * (l + 1)) - rs1);
     u = Math.min(rs1 - ((0.5d * l1) * (l1 + 1)), rs2
@@ -246,8 +325,8 @@ public final class TwoTailedMannWhitneyUTest extends
     TwoTailedMannWhitneyUTest r;
 
     r = ((TwoTailedMannWhitneyUTest) (super.clone()));
-    r.m_doubleBuf = null;
-    r.m_rankBuf = null;
+    r.m_sorted = null;
+    r.m_sizes = null;
 
     return r;
   }
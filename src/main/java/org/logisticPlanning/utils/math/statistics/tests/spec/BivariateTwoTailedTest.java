@@ -45,12 +45,29 @@ public abstract class BivariateTwoTailedTest extends MultivariateTest {
       final int dim, final IDataCollection a, final IDataCollection b,
       final int i, final int j);
 
+  /**
+   * This method is invoked once before the data sets are compared
+   * pairwise. Tests which can re-use information about a data set over
+   * several comparisons, e.g., its sorted values, may prepare this
+   * information here. By default, it does nothing.
+   *
+   * @param dim
+   *          the dimension to be compared
+   * @param dataSets
+   *          the data sets
+   */
+  protected void beginTest(final int dim,
+      final IDataCollection... dataSets) {
+    //
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final void doTest(final MultivariateTestResult dest,
       final int dim, final IDataCollection... dataSets) {
     int i, j;
 
+    this.beginTest(dim, dataSets);
     for (i = dataSets.length; (--i) > 0;) {
       for (j = i; (--j) >= 0;) {
         this.doTest(dest, dim, dataSets[i], dataSets[j], i, j);
@@ -3,6 +3,7 @@ package test.junit.org.logisticPlanning.tsp.benchmarking.dist;
 import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceCache;
 import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
 import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateCanonical;
 import org.logisticPlanning.utils.math.random.Randomizer;
@@ -297,6 +298,225 @@ public class DistanceComputerTest extends TestBase {
     }
   }
 
+  /**
+   * Test whether the batched distance computations
+   * {@link org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer#distances(int, int[], int, int, int[])}
+   * and
+   * {@link org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer#distanceRow(int, int[])}
+   * return the same values as single distance computations.
+   */
+  @Test(timeout = 3600000)
+  public final void testDistanceComputerBatches() {
+    final DistanceComputer[] ds;
+    final int[] to, out, row;
+    final int n;
+    int z, i, j, off, len;
+
+    ds = new DistanceComputer[] { this.getDistanceComputerMat(),
+        this.getDistanceComputerNoMat() };
+    n = ds[0].n();
+    to = PermutationCreateCanonical.canonical(n);
+    out = new int[n];
+    row = new int[n];
+
+    for (z = Math.min(n, 64); (--z) >= 0;) {
+      synchronized (this.m_r) {
+        i = (this.m_r.nextInt(n) + 1);
+        this.m_r.shuffle(to, 0, n);
+        off = this.m_r.nextInt(n);
+        len = this.m_r.nextInt((n - off) + 1);
+      }
+
+      for (final DistanceComputer d : ds) {
+        d.distanceRow(i, row);
+        for (j = n; j > 0; j--) {
+          Assert.assertEquals(DistanceComputerTest.DISAGREE_POINT_DISTANCE,
+              d.distance(i, j), row[j - 1]);
+        }
+
+        d.distances(i, to, off, len, out);
+        for (j = (off + len); (--j) >= off;) {
+          Assert.assertEquals(DistanceComputerTest.DISAGREE_POINT_DISTANCE,
+              d.distance(i, to[j]), out[j]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test whether a {@link DistanceCache distance cache} in front of the
+   * raw distance computer returns exactly the same distances, both with a
+   * budget giving neighbor slots and a direct-mapped table and with a
+   * tiny budget causing many collisions.
+   */
+  @Test(timeout = 3600000)
+  public final void testDistanceCache() {
+    final DistanceComputer raw;
+    final int[] tour, nodes, dists;
+    final int n, tests;
+    DistanceComputer d;
+    DistanceCache cache;
+    long queries;
+    int z, i, j, k;
+
+    raw = this.getDistanceComputerNoMat();
+    n = raw.n();
+    tests = DistanceComputerTest.getRequiredTests(n);
+    tour = PermutationCreateCanonical.canonical(n);
+    nodes = new int[DistanceCache.MAX_NEIGHBOR_SLOTS];
+    dists = new int[DistanceCache.MAX_NEIGHBOR_SLOTS];
+
+    for (final long memory : new long[] { (n * 64L), 512L }) {
+      d = DistanceCache.cache(raw, memory);
+      if (!(d instanceof DistanceCache)) {
+        continue;
+      }
+      cache = ((DistanceCache) d);
+      queries = 0L;
+
+      for (z = tests; (--z) >= 0;) {
+        synchronized (this.m_r) {
+          i = (this.m_r.nextInt(n) + 1);
+          j = (this.m_r.nextInt(n) + 1);
+        }
+        for (k = 2; (--k) >= 0;) {
+          Assert.assertEquals(DistanceComputerTest.DISAGREE_POINT_DISTANCE,
+              raw.distance(i, j), cache.distance(i, j));
+          Assert.assertEquals(DistanceComputerTest.DISAGREE_POINT_DISTANCE,
+              raw.distance(j, i), cache.distance(j, i));
+          if (i != j) {
+            queries += 2L;
+          }
+        }
+
+        if ((z & 15) == 0) {
+          for (k = nodes.length; (--k) >= 0;) {
+            synchronized (this.m_r) {
+              nodes[k] = (this.m_r.nextInt(n) + 1);
+            }
+            dists[k] = raw.distance(i, nodes[k]);
+          }
+          cache.cacheNeighbors(i, nodes, dists, 0, nodes.length);
+        }
+      }
+
+      Assert.assertEquals(queries, (cache.getNeighborHits()
+          + cache.getTableHits() + cache.getMisses()));
+      Assert.assertTrue(cache.getHitRate() > 0d);
+
+      for (z = 8; (--z) >= 0;) {
+        synchronized (this.m_r) {
+          this.m_r.shuffle(tour, 0, n);
+        }
+        Assert.assertEquals(DistanceComputerTest.DISAGREE_EVAL,
+            raw.evaluate(tour), cache.evaluate(tour));
+      }
+    }
+  }
+
+  /**
+   * Test whether the {@link DistanceCache#share() views} of a distance
+   * cache share the cached distances but count their hits and misses
+   * separately, and whether no counts are lost if several threads use
+   * their own views at the same time.
+   *
+   * @throws Throwable
+   *           if a thread fails
+   */
+  @Test(timeout = 3600000)
+  public final void testDistanceCacheShare() throws Throwable {
+    final DistanceComputer raw, d;
+    final DistanceCache cache, view;
+    final Thread[] threads;
+    final DistanceCache[] views;
+    final long[] queries;
+    final Throwable[] errors;
+    final int n;
+    int i, j, t;
+
+    raw = this.getDistanceComputerNoMat();
+    n = raw.n();
+    d = DistanceCache.cache(raw, (n * 64L));
+    if ((n < 2) || (!(d instanceof DistanceCache))) {
+      return;
+    }
+    cache = ((DistanceCache) d);
+    view = cache.share();
+
+    synchronized (this.m_r) {
+      i = (this.m_r.nextInt(n) + 1);
+      j = (1 + ((i + this.m_r.nextInt(n - 1)) % n));
+    }
+
+    Assert.assertEquals(raw.distance(i, j), cache.distance(i, j));
+    Assert.assertEquals(1L, cache.getMisses());
+    Assert.assertEquals(raw.distance(j, i), view.distance(j, i));
+    Assert.assertEquals(0L, view.getMisses());
+    Assert.assertEquals(1L, (view.getNeighborHits() + view.getTableHits()));
+    Assert.assertEquals(1L, cache.getMisses());
+    Assert.assertEquals(0L,
+        (cache.getNeighborHits() + cache.getTableHits()));
+
+    view.resetStatistics();
+    Assert.assertEquals(0L, (view.getNeighborHits() + view.getTableHits()
+        + view.getMisses()));
+    Assert.assertEquals(raw.distance(i, j), view.distance(i, j));
+    Assert.assertEquals(0L, view.getMisses());
+
+    threads = new Thread[4];
+    views = new DistanceCache[threads.length];
+    queries = new long[threads.length];
+    errors = new Throwable[threads.length];
+    for (t = threads.length; (--t) >= 0;) {
+      final int index = t;
+      final long seed;
+      synchronized (this.m_r) {
+        seed = this.m_r.nextLong();
+      }
+      views[t] = cache.share();
+      threads[t] = new Thread() {
+        @Override
+        public final void run() {
+          final Randomizer r;
+          final DistanceCache v;
+          int z, a, b;
+
+          r = new Randomizer(seed);
+          v = views[index];
+          try {
+            for (z = DistanceComputerTest.getRequiredTests(n); (--z) >= 0;) {
+              a = (r.nextInt(Math.min(n, 64)) + 1);
+              b = (r.nextInt(Math.min(n, 64)) + 1);
+              Assert.assertEquals(
+                  DistanceComputerTest.DISAGREE_POINT_DISTANCE,
+                  raw.distance(a, b), v.distance(a, b));
+              if (a != b) {
+                queries[index]++;
+              }
+            }
+          } catch (final Throwable error) {
+            errors[index] = error;
+          }
+        }
+      };
+    }
+
+    for (final Thread thread : threads) {
+      thread.start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    for (t = threads.length; (--t) >= 0;) {
+      if (errors[t] != null) {
+        throw errors[t];
+      }
+      Assert.assertEquals(queries[t], (views[t].getNeighborHits()
+          + views[t].getTableHits() + views[t].getMisses()));
+    }
+  }
+
   /**
    * get the number of required random tests
    *
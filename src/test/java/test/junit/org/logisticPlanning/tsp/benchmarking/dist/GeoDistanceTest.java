@@ -0,0 +1,185 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateCanonical;
+
+import test.junit.TestBase;
+
+/**
+ * Check that the distance computers for geographical coordinates, which
+ * use pre-computed tables of sines and cosines, return exactly the same
+ * distances as the reference formula from the TSPLIB documentation for
+ * every pair of nodes of every bundled instance of type {@code GEO}.
+ */
+public class GeoDistanceTest extends TestBase {
+
+  /** create */
+  public GeoDistanceTest() {
+    super();
+  }
+
+  /**
+   * Convert a coordinate given in the TSPLIB {@code DDD.MM} format to
+   * radians, exactly as specified in the TSPLIB documentation
+   *
+   * @param x
+   *          the coordinate
+   * @return the radians
+   */
+  private static final double toRadians(final double x) {
+    final int deg;
+    final double min;
+
+    deg = ((int) x);
+    min = (x - deg);
+    return ((3.141592d * (deg + ((5.0d * min) / 3.0d))) / 180.0d);
+  }
+
+  /**
+   * The reference formula from the TSPLIB documentation
+   *
+   * @param xa
+   *          the first coordinate of the first node
+   * @param ya
+   *          the second coordinate of the first node
+   * @param xb
+   *          the first coordinate of the second node
+   * @param yb
+   *          the second coordinate of the second node
+   * @return the distance
+   */
+  private static final int reference(final double xa, final double ya,
+      final double xb, final double yb) {
+    final double latA, longA, latB, longB, q1, q2, q3;
+
+    latA = GeoDistanceTest.toRadians(xa);
+    longA = GeoDistanceTest.toRadians(ya);
+    latB = GeoDistanceTest.toRadians(xb);
+    longB = GeoDistanceTest.toRadians(yb);
+
+    q1 = Math.cos(longA - longB);
+    q2 = Math.cos(latA - latB);
+    q3 = Math.cos(latA + latB);
+    return ((int) ((6378.388d * Math
+        .acos(0.5d * (((1.0d + q1) * q2) - ((1.0d - q1) * q3)))) + 1.0d));
+  }
+
+  /**
+   * Load the coordinates of an instance if it is of type {@code GEO}
+   *
+   * @param inst
+   *          the instance
+   * @return the coordinates, as pairs, or {@code null} if the instance is
+   *         not of type {@code GEO}
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final double[] loadGeoCoordinates(final Instance inst)
+      throws IOException {
+    final double[] coords;
+    String s;
+    String[] t;
+    boolean geo;
+    int i;
+
+    if (!(inst.symmetric())) {
+      return null;
+    }
+
+    geo = false;
+    coords = new double[inst.n() << 1];
+    try (InputStream is = Instance.class.getResourceAsStream(inst.name()
+        + ".tsp")) { //$NON-NLS-1$
+      try (BufferedReader br = new BufferedReader(new InputStreamReader(
+          is))) {
+        while ((s = br.readLine()) != null) {
+          s = s.trim();
+          if (s.startsWith("EDGE_WEIGHT_TYPE")) { //$NON-NLS-1$
+            geo = s.endsWith("GEO"); //$NON-NLS-1$
+            if (!geo) {
+              return null;
+            }
+            continue;
+          }
+          if (s.equals("NODE_COORD_SECTION")) { //$NON-NLS-1$
+            if (!geo) {
+              return null;
+            }
+            for (i = inst.n(); (--i) >= 0;) {
+              t = br.readLine().trim().split("\\s+"); //$NON-NLS-1$
+              coords[(Integer.parseInt(t[0]) - 1) << 1] = Double
+                  .parseDouble(t[1]);
+              coords[((Integer.parseInt(t[0]) - 1) << 1) + 1] = Double
+                  .parseDouble(t[2]);
+            }
+            return coords;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Test all node pairs of all {@code GEO} instances
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testAllPairsOfAllGeoInstances() throws IOException {
+    final ArrayList<Instance> tested;
+    int[] tour;
+    DistanceComputer dist;
+    double[] coords;
+    long total;
+    int i, j, n, ref;
+
+    tested = new ArrayList<>();
+    for (final Instance inst : Instance.ALL_INSTANCES) {
+      coords = GeoDistanceTest.loadGeoCoordinates(inst);
+      if (coords == null) {
+        continue;
+      }
+      tested.add(inst);
+
+      // load without matrix, i.e., the computer works on the coordinates
+      dist = inst.load(0);
+      n = dist.n();
+
+      total = 0L;
+      for (i = 1; i <= n; i++) {
+        Assert.assertEquals(inst.name(), 0, dist.distance(i, i));
+        for (j = (i + 1); j <= n; j++) {
+          ref = GeoDistanceTest.reference(coords[(i - 1) << 1],
+              coords[((i - 1) << 1) + 1], coords[(j - 1) << 1],
+              coords[((j - 1) << 1) + 1]);
+          Assert.assertEquals(((((inst.name() + ':') + i) + '-') + j), ref,
+              dist.distance(i, j));
+          Assert.assertEquals(((((inst.name() + ':') + j) + '-') + i), ref,
+              dist.distance(j, i));
+          if (j == (i + 1)) {
+            total += ref;
+          }
+        }
+      }
+
+      tour = new int[n];
+      PermutationCreateCanonical.makeCanonical(tour);
+      total += GeoDistanceTest.reference(coords[(n - 1) << 1],
+          coords[((n - 1) << 1) + 1], coords[0], coords[1]);
+      Assert.assertEquals(inst.name(), total, dist.evaluate(tour));
+    }
+
+    Assert.assertFalse(tested.isEmpty());
+  }
+}
@@ -0,0 +1,153 @@
+package test.junit.org.logisticPlanning.tsp.evaluation.data.properties.objective;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
+import org.logisticPlanning.tsp.evaluation.data.Run;
+import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.objective.FirstHittingTimes;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * Test the
+ * {@link org.logisticPlanning.tsp.evaluation.data.properties.objective.FirstHittingTimes
+ * first hitting times} by comparing them with a linear scan over the runs.
+ */
+public class FirstHittingTimesTest {
+
+  /** the relative goals */
+  private static final double[] GOALS = { 0d, 0.01d, 0.025d, 0.1d };
+
+  /** create */
+  public FirstHittingTimesTest() {
+    super();
+  }
+
+  /**
+   * create a random run
+   *
+   * @param rand
+   *          the randomizer
+   * @param name
+   *          the name
+   * @param opt
+   *          the optimum
+   * @return the run
+   */
+  private static final Run __makeRun(final Randomizer rand,
+      final String name, final long opt) {
+    final DataPoint[] data;
+    long f, fe;
+    int i;
+
+    data = new DataPoint[1 + rand.nextInt(40)];
+    f = (opt + rand.nextInt(20000));
+    fe = 1l;
+    for (i = 0; i < data.length; i++) {
+      if ((i > 0) && (rand.nextInt(3) > 0)) {
+        f = Math.max(opt, (f - 1l - rand.nextInt(3000)));
+      }
+      fe += (1l + rand.nextInt(100));
+      data[i] = new DataPoint(fe, (fe * 48l), fe, f,
+          ((f - opt) / ((double) opt)), (fe / 10d), true, false, false,
+          false, (i >= (data.length - 1)));
+    }
+    return new Run(name, data);
+  }
+
+  /**
+   * find the first point of a run which reaches a given threshold via
+   * linear search
+   *
+   * @param run
+   *          the run
+   * @param f
+   *          the threshold
+   * @return the point, or {@code null}
+   */
+  private static final DataPoint __scanF(final Run run, final long f) {
+    for (final DataPoint p : run) {
+      if (p.getBestF() <= f) {
+        return p;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * find the first point of a run which reaches a given relative goal via
+   * linear search
+   *
+   * @param run
+   *          the run
+   * @param goal
+   *          the relative goal
+   * @return the point, or {@code null}
+   */
+  private static final DataPoint __scanRelF(final Run run,
+      final double goal) {
+    for (final DataPoint p : run) {
+      if (p.getRelBestF() <= goal) {
+        return p;
+      }
+    }
+    return null;
+  }
+
+  /** test the first hitting times against a linear scan */
+  @Test(timeout = 3600000)
+  public void testAgainstLinearScan() {
+    final Randomizer rand;
+    final long opt;
+    final long[] thresholds;
+    FirstHittingTimes hits;
+    RunSet rs;
+    Run[] runs;
+    Run run;
+    DataPoint last;
+    int rep, i, t;
+
+    rand = new Randomizer();
+    opt = Instance.ATT48.optimum();
+    thresholds = Benchmark.getLogObjectiveValues(opt);
+
+    for (rep = 0; rep < 100; rep++) {
+      runs = new Run[1 + rand.nextInt(10)];
+      for (i = runs.length; (--i) >= 0;) {
+        runs[i] = FirstHittingTimesTest.__makeRun(rand, ("r" + i), opt); //$NON-NLS-1$
+      }
+      rs = new RunSet(Instance.ATT48, runs);
+      hits = new FirstHittingTimes(rs, thresholds,
+          FirstHittingTimesTest.GOALS);
+
+      for (i = 0; i < runs.length; i++) {
+        run = runs[i];
+        for (final long f : thresholds) {
+          t = hits.getThresholdIndex(f);
+          Assert.assertTrue(t >= 0);
+          Assert.assertSame(FirstHittingTimesTest.__scanF(run, f),
+              hits.getHit(i, t));
+          Assert.assertSame(FirstHittingTimesTest.__scanF(run, f + 1l),
+              hits.findBestF(i, f + 1l));
+        }
+
+        for (final double goal : FirstHittingTimesTest.GOALS) {
+          t = hits.getGoalIndex(goal);
+          Assert.assertTrue(t >= 0);
+          Assert.assertSame(FirstHittingTimesTest.__scanRelF(run, goal),
+              hits.getGoalHit(i, t));
+          Assert.assertSame(
+              FirstHittingTimesTest.__scanRelF(run, 0.5d * goal),
+              hits.findRelBestF(i, 0.5d * goal));
+        }
+
+        last = run.last();
+        Assert.assertSame(
+            FirstHittingTimesTest.__scanF(run, last.getBestF()),
+            hits.getConvergence(i));
+      }
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Tests of the objective value related properties from package
+ * {@link org.logisticPlanning.tsp.evaluation.data.properties.objective} .
+ */
+package test.junit.org.logisticPlanning.tsp.evaluation.data.properties.objective;
+
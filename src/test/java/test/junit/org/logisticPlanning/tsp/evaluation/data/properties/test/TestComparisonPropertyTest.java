@@ -0,0 +1,176 @@
+package test.junit.org.logisticPlanning.tsp.evaluation.data.properties.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
+import org.logisticPlanning.tsp.evaluation.data.Accessor;
+import org.logisticPlanning.tsp.evaluation.data.EPropertyType;
+import org.logisticPlanning.tsp.evaluation.data.Experiment;
+import org.logisticPlanning.tsp.evaluation.data.ExperimentSet;
+import org.logisticPlanning.tsp.evaluation.data.Run;
+import org.logisticPlanning.tsp.evaluation.data.RunSet;
+import org.logisticPlanning.tsp.evaluation.data.properties.instance.SharedInstancesProperty;
+import org.logisticPlanning.tsp.evaluation.data.properties.limit.LimitDataCollectionProperty;
+import org.logisticPlanning.tsp.evaluation.data.properties.test.TestComparisonProperty;
+import org.logisticPlanning.tsp.evaluation.data.properties.test.TestComparisonResult;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.logisticPlanning.utils.math.statistics.tests.impl.TwoTailedMannWhitneyUTest;
+
+/**
+ * Test the
+ * {@link org.logisticPlanning.tsp.evaluation.data.properties.test.TestComparisonProperty
+ * test comparison property}: performing the tests in parallel must yield
+ * exactly the same results as performing them sequentially.
+ */
+public class TestComparisonPropertyTest {
+
+  /** create */
+  public TestComparisonPropertyTest() {
+    super();
+  }
+
+  /**
+   * create a random run
+   *
+   * @param rand
+   *          the randomizer
+   * @param name
+   *          the name
+   * @param opt
+   *          the optimum
+   * @param offset
+   *          the maximum offset of the starting objective value
+   * @return the run
+   */
+  private static final Run __makeRun(final Randomizer rand,
+      final String name, final long opt, final int offset) {
+    final DataPoint[] data;
+    long f, fe;
+    int i;
+
+    data = new DataPoint[1 + rand.nextInt(20)];
+    f = (opt + rand.nextInt(offset));
+    fe = 1l;
+    for (i = 0; i < data.length; i++) {
+      if ((i > 0) && (rand.nextInt(3) > 0)) {
+        f = Math.max(opt, (f - 1l - rand.nextInt(300)));
+      }
+      fe += (1l + rand.nextInt(100));
+      data[i] = new DataPoint(fe, (fe * 48l), fe, f,
+          ((f - opt) / ((double) opt)), (fe / 10d), true, false, false,
+          false, (i >= (data.length - 1)));
+    }
+    return new Run(name, data);
+  }
+
+  /**
+   * create a random experiment set
+   *
+   * @param rand
+   *          the randomizer
+   * @return the experiment set
+   */
+  private static final ExperimentSet __makeExperimentSet(
+      final Randomizer rand) {
+    final Experiment[] exps;
+    RunSet[] sets;
+    Instance inst;
+    Run[] runs;
+    int i, j, k, offset;
+
+    exps = new Experiment[2 + rand.nextInt(5)];
+    for (i = exps.length; (--i) >= 0;) {
+      offset = (1 + rand.nextInt(3000));
+      sets = new RunSet[2 + rand.nextInt(10)];
+      for (j = sets.length; (--j) >= 0;) {
+        inst = Instance.SYMMETRIC_INSTANCES.get(j);
+        runs = new Run[1 + rand.nextInt(15)];
+        for (k = runs.length; (--k) >= 0;) {
+          runs[k] = TestComparisonPropertyTest.__makeRun(rand,
+              ("r" + k), inst.optimum(), offset); //$NON-NLS-1$
+        }
+        sets[j] = new RunSet(inst, runs);
+      }
+      exps[i] = new Experiment(("e" + i), null, sets); //$NON-NLS-1$
+    }
+
+    return new ExperimentSet("es", exps); //$NON-NLS-1$
+  }
+
+  /**
+   * create a test comparison property which never stores its results, so
+   * that they are computed anew for each query
+   *
+   * @param limit
+   *          the limit property
+   * @param axs
+   *          the accessor
+   * @return the property
+   */
+  private static final TestComparisonProperty __makeProperty(
+      final LimitDataCollectionProperty limit, final Accessor axs) {
+    return new TestComparisonProperty(EPropertyType.NEVER_STORED,
+        SharedInstancesProperty.NON_EMPTY_SHARED, limit,
+        new TwoTailedMannWhitneyUTest(), axs, 0.05d, true);
+  }
+
+  /**
+   * compare the results of a sequential and a parallel test
+   *
+   * @param limit
+   *          the limit property
+   * @param axs
+   *          the accessor
+   */
+  private static final void __testParallel(
+      final LimitDataCollectionProperty limit, final Accessor axs) {
+    final Randomizer rand;
+    final TestComparisonProperty seq, par;
+    ExperimentSet es;
+    TestComparisonResult a, b;
+    int rep, i, j, wins;
+
+    rand = new Randomizer();
+    wins = 0;
+    seq = TestComparisonPropertyTest.__makeProperty(limit, axs);
+    seq.setMaxThreads(1);
+    par = TestComparisonPropertyTest.__makeProperty(limit, axs);
+    par.setMaxThreads(4);
+
+    for (rep = 0; rep < 50; rep++) {
+      es = TestComparisonPropertyTest.__makeExperimentSet(rand);
+      a = seq.get(es, null);
+      b = par.get(es, null);
+      Assert.assertNotNull(a);
+      Assert.assertNotNull(b);
+
+      for (i = es.size(); (--i) >= 0;) {
+        for (j = es.size(); (--j) >= 0;) {
+          Assert.assertEquals(a.getWins(i, j), b.getWins(i, j));
+          wins += a.getWins(i, j);
+          Assert.assertEquals(a.getLosses(i, j), b.getLosses(i, j));
+          Assert.assertEquals(a.getEvens(i, j), b.getEvens(i, j));
+        }
+      }
+    }
+
+    // make sure that the tests actually found some differences
+    Assert.assertTrue(wins > 0);
+  }
+
+  /** compare sequential and parallel tests on the end-of-run quality */
+  @Test(timeout = 3600000)
+  public void testParallelEqualsSequentialEndOfRunF() {
+    TestComparisonPropertyTest.__testParallel(
+        LimitDataCollectionProperty.END_OF_RUN, Accessor.F);
+  }
+
+  /** compare sequential and parallel tests on the FEs to the optimum */
+  @Test(timeout = 3600000)
+  public void testParallelEqualsSequentialOptimumFE() {
+    TestComparisonPropertyTest.__testParallel(
+        LimitDataCollectionProperty.create(DataPoint.RELATIVE_F_INDEX, 0d),
+        Accessor.FE);
+  }
+}
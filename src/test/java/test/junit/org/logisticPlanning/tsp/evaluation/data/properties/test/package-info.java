@@ -0,0 +1,6 @@
+/**
+ * Tests of the statistical test comparison properties from package
+ * {@link org.logisticPlanning.tsp.evaluation.data.properties.test} .
+ */
+package test.junit.org.logisticPlanning.tsp.evaluation.data.properties.test;
+
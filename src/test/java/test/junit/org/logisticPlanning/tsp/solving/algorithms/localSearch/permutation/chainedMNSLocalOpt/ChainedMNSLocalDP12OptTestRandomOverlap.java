@@ -0,0 +1,27 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.chainedMNSLocalOpt;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.chainedMNSLocalOpt.ChainedMNSLocalNOpt;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer;
+
+/**
+ * the test of the chained MNS local 12-opt algorithm based on dynamic
+ * programming
+ */
+public class ChainedMNSLocalDP12OptTestRandomOverlap extends
+    ChainedMNSLocalNOptTestRandomOverlap {
+
+  /** create */
+  public ChainedMNSLocalDP12OptTestRandomOverlap() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected ChainedMNSLocalNOpt createAlgorithm() {
+    final ChainedMNSLocalNOpt algo;
+
+    algo = super.createAlgorithm();
+    algo.setLocalOptimizer(new DynamicProgrammingLocalOptimizer(12));
+    return algo;
+  }
+}
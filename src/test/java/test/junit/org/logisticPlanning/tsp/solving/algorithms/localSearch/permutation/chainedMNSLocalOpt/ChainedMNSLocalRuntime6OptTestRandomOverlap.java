@@ -0,0 +1,28 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.chainedMNSLocalOpt;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.chainedMNSLocalOpt.ChainedMNSLocalNOpt;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer;
+
+/**
+ * the test of the chained MNS local 6-opt algorithm with an optimizer
+ * generated at runtime
+ */
+public class ChainedMNSLocalRuntime6OptTestRandomOverlap extends
+    ChainedMNSLocalNOptTestRandomOverlap {
+
+  /** create */
+  public ChainedMNSLocalRuntime6OptTestRandomOverlap() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected ChainedMNSLocalNOpt createAlgorithm() {
+    final ChainedMNSLocalNOpt algo;
+
+    algo = super.createAlgorithm();
+    algo.setLocalOptimizer(new DynamicProgrammingLocalOptimizer(6));
+    algo.setGeneratingLocalOptimizer(true);
+    return algo;
+  }
+}
@@ -0,0 +1,24 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.hc;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.hc.UpdatingPermutationHillClimber;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmAsymmetricTest;
+
+/**
+ * the test of the hill climbing of permutations on both symmetric and
+ * asymmetric instances
+ */
+public class UpdatingPermutationHillClimberAsymmetricTest extends
+    TSPAlgorithmAsymmetricTest {
+
+  /** create */
+  public UpdatingPermutationHillClimberAsymmetricTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected UpdatingPermutationHillClimber createAlgorithm() {
+    return new UpdatingPermutationHillClimber();
+  }
+}
@@ -0,0 +1,39 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.hc;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.hc.UpdatingPermutationHillClimber;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.config.ListParser;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * the test of the hill climbing of permutations with the operator set
+ * configured to swap and the Or-opt segment insertion operators
+ */
+public class UpdatingPermutationHillClimberOrOptTest extends
+    TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public UpdatingPermutationHillClimberOrOptTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected UpdatingPermutationHillClimber createAlgorithm() {
+    final UpdatingPermutationHillClimber algo;
+    final Configuration config;
+    final char sep;
+
+    sep = ListParser.LIST_ITEM_SEPARATOR;
+    config = new Configuration();
+    config.putString(
+        UpdatingPermutationHillClimber.PARAM_UPDATING_OPERATORS,//
+        "swap" + sep + "orOpt1" + sep + "orOpt2" + sep + //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+            "orOpt2r" + sep + "orOpt3" + sep + "orOpt3r"); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+
+    algo = new UpdatingPermutationHillClimber();
+    algo.configure(config);
+    return algo;
+  }
+}
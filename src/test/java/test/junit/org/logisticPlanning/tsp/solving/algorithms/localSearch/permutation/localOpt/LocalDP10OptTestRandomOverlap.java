@@ -0,0 +1,25 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.localOpt;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.localOpt.LocalNOpt;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer;
+
+/**
+ * the test of the local 10-opt algorithm based on dynamic programming
+ */
+public class LocalDP10OptTestRandomOverlap extends LocalNOptTestRandomOverlap {
+
+  /** create */
+  public LocalDP10OptTestRandomOverlap() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected LocalNOpt createAlgorithm() {
+    final LocalNOpt algo;
+
+    algo = super.createAlgorithm();
+    algo.setLocalOptimizer(new DynamicProgrammingLocalOptimizer(10));
+    return algo;
+  }
+}
@@ -0,0 +1,28 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.localOpt;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.localOpt.LocalNOpt;
+import org.logisticPlanning.tsp.solving.operators.permutation.localOpt.DynamicProgrammingLocalOptimizer;
+
+/**
+ * the test of the local 7-opt algorithm with an optimizer generated at
+ * runtime
+ */
+public class LocalRuntime7OptTestRandomOverlap extends
+    LocalNOptTestRandomOverlap {
+
+  /** create */
+  public LocalRuntime7OptTestRandomOverlap() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected LocalNOpt createAlgorithm() {
+    final LocalNOpt algo;
+
+    algo = super.createAlgorithm();
+    algo.setLocalOptimizer(new DynamicProgrammingLocalOptimizer(7));
+    algo.setGeneratingLocalOptimizer(true);
+    return algo;
+  }
+}
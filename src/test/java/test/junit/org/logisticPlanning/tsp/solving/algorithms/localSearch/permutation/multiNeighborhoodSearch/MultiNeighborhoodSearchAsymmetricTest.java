@@ -0,0 +1,24 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch.MultiNeighborhoodSearch;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmAsymmetricTest;
+
+/**
+ * the test of the multi neighborhood search of permutations on both
+ * symmetric and asymmetric instances
+ */
+public class MultiNeighborhoodSearchAsymmetricTest extends
+    TSPAlgorithmAsymmetricTest {
+
+  /** create */
+  public MultiNeighborhoodSearchAsymmetricTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected MultiNeighborhoodSearch createAlgorithm() {
+    return new MultiNeighborhoodSearch();
+  }
+}
@@ -0,0 +1,30 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.EImprovementSelectionPolicy;
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationRNS;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmAsymmetricTest;
+
+/**
+ * the test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationRNS
+ * random neighborhood search} for permutations on both symmetric and
+ * asymmetric instances
+ */
+public class PermutationRNSBestImprovementAsymmetricTest extends
+    TSPAlgorithmAsymmetricTest {
+
+  /** create */
+  public PermutationRNSBestImprovementAsymmetricTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PermutationRNS createAlgorithm() {
+    final PermutationRNS r;
+    r = new PermutationRNS();
+    r.setImprovementSelectionPolicy(EImprovementSelectionPolicy.ALWAYS_USE_BEST_IMPROVEMENT);
+    return r;
+  }
+}
@@ -0,0 +1,40 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationRNS;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.config.ListParser;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * the test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationRNS
+ * random neighborhood search} for permutations with the neighborhoods
+ * configured to swap, reversal, and the Or-opt segment insertion operators
+ * via its neighborhoods parameter
+ */
+public class PermutationRNSOrOptTest extends TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public PermutationRNSOrOptTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PermutationRNS createAlgorithm() {
+    final PermutationRNS algo;
+    final Configuration config;
+    final char sep;
+
+    sep = ListParser.LIST_ITEM_SEPARATOR;
+    config = new Configuration();
+    config.putString(PermutationRNS.PARAM_NEIGHBORHOODS,//
+        "swap" + sep + "inversion" + sep + "orOpt1" + sep + //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+            "orOpt2r" + sep + "orOpt3"); //$NON-NLS-1$//$NON-NLS-2$
+
+    algo = new PermutationRNS();
+    algo.configure(config);
+    return algo;
+  }
+}
@@ -0,0 +1,30 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.EImprovementSelectionPolicy;
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationVNS;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmAsymmetricTest;
+
+/**
+ * the test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationVNS
+ * variable neighborhood search} for permutations on both symmetric and
+ * asymmetric instances
+ */
+public class PermutationVNSBestImprovementAsymmetricTest extends
+    TSPAlgorithmAsymmetricTest {
+
+  /** create */
+  public PermutationVNSBestImprovementAsymmetricTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PermutationVNS createAlgorithm() {
+    final PermutationVNS r;
+    r = new PermutationVNS();
+    r.setImprovementSelectionPolicy(EImprovementSelectionPolicy.ALWAYS_USE_BEST_IMPROVEMENT);
+    return r;
+  }
+}
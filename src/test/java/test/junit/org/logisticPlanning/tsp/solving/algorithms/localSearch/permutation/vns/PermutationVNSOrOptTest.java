@@ -0,0 +1,40 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationVNS;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.config.ListParser;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * the test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationVNS
+ * variable neighborhood search} for permutations with the neighborhoods
+ * configured to swap, reversal, and the Or-opt segment insertion operators
+ * via the shared updating operators parameter
+ */
+public class PermutationVNSOrOptTest extends TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public PermutationVNSOrOptTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PermutationVNS createAlgorithm() {
+    final PermutationVNS algo;
+    final Configuration config;
+    final char sep;
+
+    sep = ListParser.LIST_ITEM_SEPARATOR;
+    config = new Configuration();
+    config.putString(PermutationVNS.PARAM_UPDATING_OPERATORS,//
+        "swap" + sep + "inversion" + sep + "orOpt1" + sep + //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+            "orOpt2r" + sep + "orOpt3"); //$NON-NLS-1$//$NON-NLS-2$
+
+    algo = new PermutationVNS();
+    algo.configure(config);
+    return algo;
+  }
+}
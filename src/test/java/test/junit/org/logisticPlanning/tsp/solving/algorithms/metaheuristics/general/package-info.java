@@ -0,0 +1,4 @@
+/**
+ * Tests of general metaheuristic approaches.
+ */
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general;
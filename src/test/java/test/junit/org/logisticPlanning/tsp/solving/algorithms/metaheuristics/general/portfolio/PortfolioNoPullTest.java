@@ -0,0 +1,29 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio;
+
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio.Portfolio;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * The test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio.Portfolio
+ * algorithm portfolio} whose members only publish their best tours, but
+ * never pull the incumbent.
+ */
+public class PortfolioNoPullTest extends TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public PortfolioNoPullTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected Portfolio createAlgorithm() {
+    final Portfolio res;
+
+    res = new Portfolio();
+    res.setPullingIncumbent(false);
+    return res;
+  }
+}
@@ -0,0 +1,72 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.LogPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio.Portfolio;
+
+import test.junit.TempDir;
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * The test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio.Portfolio
+ * algorithm portfolio}.
+ */
+public class PortfolioTest extends TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public PortfolioTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected Portfolio createAlgorithm() {
+    return new Portfolio();
+  }
+
+  /**
+   * Test that the members of the portfolio stop at the FE and DE budget
+   * of the run and that the run never registers more work than allowed.
+   *
+   * @throws Throwable
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testBudget_KROA100() throws Throwable {
+    final long[] maxFEs = { 1l, 100l, 5000l, 100000l, Long.MAX_VALUE };
+    final long[] maxDEs = { Long.MAX_VALUE, Long.MAX_VALUE,
+        Long.MAX_VALUE, Long.MAX_VALUE, 1000000l };
+    final Portfolio algo;
+    Benchmark bm;
+    ObjectiveFunction f;
+    LogPoint cur;
+    int i;
+
+    algo = this.createAlgorithm();
+    for (i = 0; i < maxFEs.length; i++) {
+      try (final TempDir tempDir = new TempDir()) {
+        bm = new Benchmark(tempDir.getDir(), Instance.KROA100);
+        bm.setMaxFEs(maxFEs[i]);
+        bm.setMaxDEs(maxDEs[i]);
+        bm.setMaxRuntime(3600000l);
+        f = bm.createObjective();
+
+        f.beginRun(algo);
+        try {
+          algo.call(f);
+          cur = f.getCurrentLogPoint();
+          Assert.assertTrue(cur.getConsumedFEs() <= maxFEs[i]);
+          Assert.assertTrue(cur.getConsumedDEs() <= maxDEs[i]);
+          Assert.assertTrue(cur.getBestF() < Long.MAX_VALUE);
+        } finally {
+          f.endRun();
+        }
+      }
+    }
+  }
+}
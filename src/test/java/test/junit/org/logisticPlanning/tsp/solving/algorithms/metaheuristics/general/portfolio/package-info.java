@@ -0,0 +1,4 @@
+/**
+ * Tests of the algorithm portfolio.
+ */
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.portfolio;
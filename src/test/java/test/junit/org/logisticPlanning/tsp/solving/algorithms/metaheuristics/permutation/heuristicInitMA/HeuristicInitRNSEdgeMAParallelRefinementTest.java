@@ -0,0 +1,40 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.heuristicInitMA;
+
+import java.util.Random;
+
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.heuristicInitMA.HeuristicInitRNSEdgeMA;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * the test of the permutation-based heuristic init edge MA with RNS
+ * mutation, refining the offspring on several threads
+ */
+public class HeuristicInitRNSEdgeMAParallelRefinementTest extends
+    TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public HeuristicInitRNSEdgeMAParallelRefinementTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected HeuristicInitRNSEdgeMA createAlgorithm() {
+    HeuristicInitRNSEdgeMA res;
+    Random r;
+    int mu, lambda;
+
+    res = new HeuristicInitRNSEdgeMA();
+    res.setParentsSurvive(false);
+
+    r = new Random();
+    mu = (1 + r.nextInt(512));
+    lambda = (mu + 1 + r.nextInt(512));
+    res.setMu(mu);
+    res.setLambda(lambda);
+    res.setRefinementThreads(2 + r.nextInt(3));
+
+    return res;
+  }
+}
@@ -0,0 +1,150 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.ma;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.LogPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea.EA;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.heuristicInitMA.HeuristicInitRNSEdgeMA;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.ma.PermutationMA;
+
+import test.junit.TempDir;
+
+/**
+ * Test that the parallel refinement of memetic algorithms yields the same
+ * results for any number of threads and stays within the FE budget.
+ */
+public class PermutationMAParallelRefinementTest {
+
+  /** the random seed of the runs */
+  private static final long SEED = 0x5eed1234abcdL;
+
+  /** the maximum FEs of a run */
+  private static final long MAX_FES = 20000L;
+
+  /** the maximum DEs of a run */
+  private static final long MAX_DES = 50000000L;
+
+  /** create */
+  public PermutationMAParallelRefinementTest() {
+    super();
+  }
+
+  /**
+   * Perform one run with a fixed seed and an FE budget
+   *
+   * @param inst
+   *          the instance
+   * @param algo
+   *          the algorithm
+   * @return the consumed FEs, DEs, the best tour length, and the best
+   *         tour
+   * @throws Throwable
+   *           if io fails
+   */
+  private static final long[] __run(final Instance inst, final EA algo)
+      throws Throwable {
+    final Benchmark bm;
+    final ObjectiveFunction f;
+    final LogPoint cur;
+    final int[] best;
+    final long[] res;
+    int i;
+
+    try (final TempDir tempDir = new TempDir()) {
+      bm = new Benchmark(tempDir.getDir(), inst);
+      bm.setMaxDEs(PermutationMAParallelRefinementTest.MAX_DES);
+      bm.setMaxFEs(PermutationMAParallelRefinementTest.MAX_FES);
+      bm.setMaxRuntime(3600000L);
+      f = bm.createObjective();
+
+      f.getRandom().setSeed(PermutationMAParallelRefinementTest.SEED);
+      f.beginRun(algo);
+      try {
+        algo.call(f);
+        cur = f.getCurrentLogPoint();
+        best = new int[f.n()];
+        f.getCopyOfBest(best);
+
+        res = new long[3 + best.length];
+        res[0] = cur.getConsumedFEs();
+        res[1] = cur.getConsumedDEs();
+        res[2] = cur.getBestF();
+        for (i = best.length; (--i) >= 0;) {
+          res[3 + i] = best[i];
+        }
+        Assert.assertEquals(res[2], f.evaluate(best));
+      } finally {
+        f.endRun();
+      }
+    }
+
+    Assert.assertTrue(res[0] <= PermutationMAParallelRefinementTest.MAX_FES);
+    return res;
+  }
+
+  /**
+   * Run an algorithm with different numbers of refinement threads and
+   * check that the results are identical
+   *
+   * @param inst
+   *          the instance
+   * @param algo
+   *          the algorithm
+   * @throws Throwable
+   *           if io fails
+   */
+  private static final void __testThreads(final Instance inst,
+      final EA algo) throws Throwable {
+    final long[] expected;
+    int threads;
+
+    algo.setRefinementThreads(2);
+    expected = PermutationMAParallelRefinementTest.__run(inst, algo);
+    for (threads = 3; threads <= 5; threads++) {
+      algo.setRefinementThreads(threads);
+      Assert.assertArrayEquals(expected,
+          PermutationMAParallelRefinementTest.__run(inst, algo));
+    }
+  }
+
+  /**
+   * test the permutation MA on
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#CH130}
+   *
+   * @throws Throwable
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testPermutationMA_CH130() throws Throwable {
+    final PermutationMA algo;
+
+    algo = new PermutationMA();
+    algo.setMu(8);
+    algo.setLambda(16);
+    PermutationMAParallelRefinementTest.__testThreads(Instance.CH130,
+        algo);
+  }
+
+  /**
+   * test the heuristic init RNS edge MA, which refines its offspring in
+   * parallel, on
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#CH130}
+   *
+   * @throws Throwable
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testHeuristicInitRNSEdgeMA_CH130() throws Throwable {
+    final HeuristicInitRNSEdgeMA algo;
+
+    algo = new HeuristicInitRNSEdgeMA();
+    algo.setParentsSurvive(false);
+    algo.setMu(8);
+    algo.setLambda(16);
+    PermutationMAParallelRefinementTest.__testThreads(Instance.CH130,
+        algo);
+  }
+}
@@ -0,0 +1,129 @@
+package test.junit.org.logisticPlanning.tsp.solving.operators.permutation.recombination;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateUniform;
+import org.logisticPlanning.tsp.solving.operators.permutation.recombination.PermutationEdgeAssemblyCrossover;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TempDir;
+import test.junit.org.logisticPlanning.tsp.solving.operators.permutation.PermutationOperatorTest;
+
+/**
+ * Test the permutation edge assembly crossover (EAX)
+ */
+public class PermutationEdgeAssemblyCrossoverTest extends PermutationOperatorTest {
+
+  /** instantiate */
+  public PermutationEdgeAssemblyCrossoverTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PermutationEdgeAssemblyCrossover createOperator() {
+    return new PermutationEdgeAssemblyCrossover();
+  }
+
+  /**
+   * Recombine identical and nearly identical parents on an asymmetric
+   * instance and check that the stored tour length of the offspring is
+   * its real length and that the offspring of identical parents equals
+   * the first parent.
+   *
+   * @param inst
+   *          the asymmetric instance
+   * @throws Throwable
+   *           if io fails
+   */
+  private final void __testAsymmetricSimilarParents(final Instance inst)
+      throws Throwable {
+    final PermutationEdgeAssemblyCrossover op;
+    final Individual<int[]> a, b, dest;
+    final ObjectiveFunction f;
+    final Benchmark bm;
+    final Randomizer r;
+    final int n;
+    int i, j, k, t;
+
+    op = this.createOperator();
+    a = new Individual<>();
+    b = new Individual<>();
+    dest = new Individual<>();
+
+    try (final TempDir tempDir = new TempDir()) {
+      bm = new Benchmark(tempDir.getDir(), inst);
+      bm.setMaxDEs(Long.MAX_VALUE);
+      bm.setMaxFEs(Long.MAX_VALUE);
+      bm.setMaxRuntime(30000L);
+      f = bm.createObjective();
+      n = f.n();
+
+      Assert.assertFalse(f.symmetric());
+
+      f.beginRun(this.m_dummy);
+      try {
+        op.beginRun(f);
+        try {
+          r = f.getRandom();
+          for (i = 0; i < 100; i++) {
+            a.solution = PermutationCreateUniform.create(n, r);
+            a.tourLength = f.evaluate(a.solution);
+
+            b.assign(a);
+            b.solution = b.solution.clone();
+            op.recombine(dest, f, a, b);
+            Assert.assertArrayEquals(a.solution, dest.solution);
+            Assert.assertEquals(f.evaluate(dest.solution),
+                dest.tourLength);
+
+            // swap two adjacent nodes to create few non-common edges
+            j = r.nextInt(n);
+            k = ((j + 1) % n);
+            t = b.solution[j];
+            b.solution[j] = b.solution[k];
+            b.solution[k] = t;
+            b.tourLength = f.evaluate(b.solution);
+            op.recombine(dest, f, a, b);
+            Assert.assertEquals(f.evaluate(dest.solution),
+                dest.tourLength);
+          }
+        } finally {
+          op.endRun(f);
+        }
+      } finally {
+        f.endRun();
+      }
+    }
+  }
+
+  /**
+   * Recombine identical and nearly identical parents on the asymmetric
+   * instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#BR17}.
+   *
+   * @throws Throwable
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testAsymmetricSimilarParents_BR17() throws Throwable {
+    this.__testAsymmetricSimilarParents(Instance.BR17);
+  }
+
+  /**
+   * Recombine identical and nearly identical parents on the asymmetric
+   * instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#FTV33}.
+   *
+   * @throws Throwable
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testAsymmetricSimilarParents_FTV33() throws Throwable {
+    this.__testAsymmetricSimilarParents(Instance.FTV33);
+  }
+}
@@ -0,0 +1,22 @@
+package test.junit.org.logisticPlanning.tsp.solving.operators.permutation.recombination;
+
+import org.logisticPlanning.tsp.solving.operators.permutation.recombination.PermutationPartitionCrossover;
+
+import test.junit.org.logisticPlanning.tsp.solving.operators.permutation.PermutationOperatorTest;
+
+/**
+ * Test the permutation generalized partition crossover (GPX)
+ */
+public class PermutationPartitionCrossoverTest extends PermutationOperatorTest {
+
+  /** instantiate */
+  public PermutationPartitionCrossoverTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PermutationPartitionCrossover createOperator() {
+    return new PermutationPartitionCrossover();
+  }
+}
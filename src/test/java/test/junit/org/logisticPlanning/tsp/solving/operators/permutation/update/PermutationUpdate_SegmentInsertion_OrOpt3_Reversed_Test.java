@@ -0,0 +1,20 @@
+package test.junit.org.logisticPlanning.tsp.solving.operators.permutation.update;
+
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_SegmentInsertion;
+
+/** test an update operator */
+public class PermutationUpdate_SegmentInsertion_OrOpt3_Reversed_Test extends
+    _PermutationUpdateOperatorTest {
+
+  /** instantiate */
+  public PermutationUpdate_SegmentInsertion_OrOpt3_Reversed_Test() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PermutationUpdateOperator createOperator() {
+    return PermutationUpdate_SegmentInsertion.OR_OPT_3_REVERSED;
+  }
+}
@@ -3600,6 +3600,27 @@ public class _PermutationUpdateOperatorTest extends
     }
   }
 
+  /**
+   * Test whether updating works correctly on a given asymmetric instance
+   * (see {@link org.logisticPlanning.tsp.benchmarking.instances.Instance})
+   * with random and special indices. Operators which
+   * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator#requiresSymmetry()
+   * require symmetric distances} are not tested.
+   *
+   * @param inst
+   *          the instance to test
+   * @throws IOException
+   *           if io fails
+   */
+  private final void testUpdateAsymmetric(final Instance inst)
+      throws IOException {
+    if (this.getOperator().requiresSymmetry()) {
+      return;
+    }
+    this.testUpdateRand(inst);
+    this.testUpdateSpecial(inst);
+  }
+
   /**
    * Test whether updating with random indices works correctly on the
    * instance
@@ -6648,4 +6669,88 @@ public class _PermutationUpdateOperatorTest extends
     this.testUpdateSpecial(Instance.VM1748);
   }
 
+  /**
+   * Test whether updating works correctly on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#BR17}.
+   *
+   * @throws IOException
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testUpdateAsymmetric_BR17() throws IOException {
+    this.testUpdateAsymmetric(Instance.BR17);
+  }
+
+  /**
+   * Test whether updating works correctly on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#FTV33}.
+   *
+   * @throws IOException
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testUpdateAsymmetric_FTV33() throws IOException {
+    this.testUpdateAsymmetric(Instance.FTV33);
+  }
+
+  /**
+   * Test whether updating works correctly on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#P43}.
+   *
+   * @throws IOException
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testUpdateAsymmetric_P43() throws IOException {
+    this.testUpdateAsymmetric(Instance.P43);
+  }
+
+  /**
+   * Test whether updating works correctly on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#FTV44}.
+   *
+   * @throws IOException
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testUpdateAsymmetric_FTV44() throws IOException {
+    this.testUpdateAsymmetric(Instance.FTV44);
+  }
+
+  /**
+   * Test whether updating works correctly on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#RY48P}.
+   *
+   * @throws IOException
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testUpdateAsymmetric_RY48P() throws IOException {
+    this.testUpdateAsymmetric(Instance.RY48P);
+  }
+
+  /**
+   * Test whether updating works correctly on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#FT53}.
+   *
+   * @throws IOException
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testUpdateAsymmetric_FT53() throws IOException {
+    this.testUpdateAsymmetric(Instance.FT53);
+  }
+
+  /**
+   * Test whether updating works correctly on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#KRO124P}.
+   *
+   * @throws IOException
+   *           if io fails
+   */
+  @Test(timeout = 3600000)
+  public final void testUpdateAsymmetric_KRO124P() throws IOException {
+    this.testUpdateAsymmetric(Instance.KRO124P);
+  }
+
 }
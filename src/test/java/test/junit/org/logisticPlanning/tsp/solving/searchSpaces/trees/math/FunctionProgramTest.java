@@ -0,0 +1,146 @@
+package test.junit.org.logisticPlanning.tsp.solving.searchSpaces.trees.math;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.solving.operators.trees.TreeOperationUtils;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.NodeTypeSet;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.ReflectionNodeType;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.Function;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionCompiler;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.FunctionProgram;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Abs;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Add;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Angle;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Ceil;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Div;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Exp;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Floor;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Frac;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Log;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Mul;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Pow;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Round;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Sqrt;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.arith.Sub;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.basic.ConstantType;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.basic.VariableType;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.basic.WriteType;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.ctrl.IfThenElse;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.trig.ASin;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.trig.ATan;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.trig.Cos;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.trig.Sin;
+import org.logisticPlanning.tsp.solving.searchSpaces.trees.math.trig.Tan;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TestBase;
+
+/**
+ * Test whether compiled function programs compute exactly the same
+ * results as the interpreted function trees.
+ */
+public class FunctionProgramTest extends TestBase {
+
+  /** the number of variables */
+  private static final int VAR_COUNT = 4;
+
+  /** create */
+  public FunctionProgramTest() {
+    super();
+  }
+
+  /**
+   * make the node type set with all mathematical functions
+   *
+   * @return the node type set
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static final NodeTypeSet<Function> makeNTS() {
+    final NodeTypeSet<Function> nts;
+    final NodeTypeSet<Function>[] binary, unary, ternary;
+
+    nts = new NodeTypeSet<>();
+    binary = new NodeTypeSet[] { nts, nts };
+    unary = new NodeTypeSet[] { nts };
+    ternary = new NodeTypeSet[] { nts, nts, nts };
+
+    for (final Class<?> c : new Class<?>[] { Abs.class, Ceil.class,
+        Exp.class, Floor.class, Frac.class, Log.class, Round.class,
+        Sqrt.class, ASin.class, ATan.class, Cos.class, Sin.class,
+        Tan.class }) {
+      nts.add(new ReflectionNodeType(c, unary));
+    }
+    for (final Class<?> c : new Class<?>[] { Add.class, Angle.class,
+        Div.class, Mul.class, Pow.class, Sub.class }) {
+      nts.add(new ReflectionNodeType(c, binary));
+    }
+    nts.add(new ReflectionNodeType<>(IfThenElse.class, ternary));
+    nts.add(new WriteType(FunctionProgramTest.VAR_COUNT, unary));
+    nts.add(new VariableType(FunctionProgramTest.VAR_COUNT));
+    nts.add(new ConstantType());
+    nts.commit();
+    return nts;
+  }
+
+  /**
+   * Compile random trees and compare the results and the side effects on
+   * the data of the programs with those of the trees
+   */
+  @Test(timeout = 3600000)
+  public void testCompileRandomTrees() {
+    final NodeTypeSet<Function> nts;
+    final FunctionCompiler compiler;
+    final Randomizer r;
+    final double[] a, b;
+    Function f;
+    FunctionProgram p;
+    int tree, eval, i;
+    double x, y;
+
+    nts = FunctionProgramTest.makeNTS();
+    compiler = new FunctionCompiler();
+    r = new Randomizer();
+    a = new double[FunctionProgramTest.VAR_COUNT];
+    b = new double[FunctionProgramTest.VAR_COUNT];
+
+    for (tree = 0; tree < 5000; tree++) {
+      f = TreeOperationUtils.createTree(nts, (1 + r.nextInt(9)),
+          r.nextBoolean(), r);
+      p = compiler.compileProgram(f);
+      Assert.assertEquals(p.getCodeLength(),
+          compiler.compileProgram(f).getCodeLength());
+
+      for (i = a.length; (--i) >= 0;) {
+        switch (r.nextInt(4)) {
+          case 0: {
+            a[i] = 0d;
+            break;
+          }
+          case 1: {
+            a[i] = (r.nextInt(7) - 3);
+            break;
+          }
+          case 2: {
+            a[i] = ((r.nextDouble() - 0.5d) * 1e4d);
+            break;
+          }
+          default: {
+            a[i] = r.nextGaussian();
+          }
+        }
+      }
+      System.arraycopy(a, 0, b, 0, a.length);
+
+      // repeated evaluations also check the evolving memory
+      for (eval = 0; eval < 10; eval++) {
+        x = f.compute(a);
+        y = p.compute(b);
+        Assert.assertEquals(Double.doubleToLongBits(x),
+            Double.doubleToLongBits(y));
+        Assert.assertTrue(Arrays.equals(a, b));
+      }
+    }
+  }
+}
@@ -0,0 +1,7 @@
+/**
+ * Testing the mathematical function trees in package
+ * {@link org.logisticPlanning.tsp.solving.searchSpaces.trees.math}
+ * .
+ */
+package test.junit.org.logisticPlanning.tsp.solving.searchSpaces.trees.math;
+
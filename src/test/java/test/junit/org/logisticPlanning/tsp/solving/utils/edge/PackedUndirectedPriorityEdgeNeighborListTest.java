@@ -0,0 +1,69 @@
+package test.junit.org.logisticPlanning.tsp.solving.utils.edge;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.solving.utils.edge.PackedUndirectedPriorityEdgeNeighborList;
+import org.logisticPlanning.tsp.solving.utils.edge.PriorityEdge;
+import org.logisticPlanning.tsp.solving.utils.edge.UndirectedPriorityEdgeNeighborList;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * A test making sure that the
+ * {@link org.logisticPlanning.tsp.solving.utils.edge.PackedUndirectedPriorityEdgeNeighborList
+ * packed neighbor list} behaves exactly like the
+ * {@link org.logisticPlanning.tsp.solving.utils.edge.UndirectedPriorityEdgeNeighborList
+ * object-based one}.
+ */
+public final class PackedUndirectedPriorityEdgeNeighborListTest {
+
+  /** instantiate */
+  public PackedUndirectedPriorityEdgeNeighborListTest() {
+    super();
+  }
+
+  /**
+   * Check in the same random edges into both lists and compare the
+   * resulting sorted edge sequences.
+   */
+  @Test(timeout = 3600000)
+  public void testSameEdgeOrder() {
+    final Randomizer r;
+    UndirectedPriorityEdgeNeighborList<PriorityEdge> objs;
+    PackedUndirectedPriorityEdgeNeighborList packed;
+    PriorityEdge[] edges;
+    int n, nls, range, i, j, count, index, k;
+
+    r = new Randomizer();
+
+    for (k = 1000; (--k) >= 0;) {
+      n = (2 + r.nextInt(60));
+      nls = (1 + r.nextInt(n - 1));
+      range = (1 + r.nextInt(r.nextBoolean() ? 5 : 1000));
+
+      objs = new UndirectedPriorityEdgeNeighborList<>(n, nls);
+      packed = new PackedUndirectedPriorityEdgeNeighborList(n, nls);
+
+      for (i = 1; i < n; i++) {
+        for (j = (i + 1); j <= n; j++) {
+          index = (r.nextInt(range) - (range >>> 1));
+          Assert.assertEquals(objs.checkIn(i, j, index) != null,
+              packed.checkIn(i, j, index, (-index)) >= 0);
+        }
+      }
+
+      edges = objs.getEdgeArray();
+      count = packed.sort();
+      for (i = 0; i < count; i++) {
+        index = packed.getSortedEdge(i);
+        Assert.assertNotNull(edges[i]);
+        Assert.assertEquals(edges[i].a, packed.getA(index));
+        Assert.assertEquals(edges[i].b, packed.getB(index));
+        Assert.assertEquals(edges[i].h, packed.getPriority(index));
+        Assert.assertEquals(-edges[i].h, packed.getValue(index));
+      }
+      if (count < edges.length) {
+        Assert.assertNull(edges[count]);
+      }
+    }
+  }
+}
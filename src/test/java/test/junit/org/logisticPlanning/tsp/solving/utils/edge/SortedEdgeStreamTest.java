@@ -0,0 +1,290 @@
+package test.junit.org.logisticPlanning.tsp.solving.utils.edge;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.solving.algorithms.heuristics.savings.SavingsEdge;
+import org.logisticPlanning.tsp.solving.algorithms.heuristics.savings.SavingsEdgeNeighborhoodList;
+import org.logisticPlanning.tsp.solving.utils.edge.PackedUndirectedPriorityEdgeNeighborList;
+import org.logisticPlanning.tsp.solving.utils.edge.PriorityEdge;
+import org.logisticPlanning.tsp.solving.utils.edge.SortedEdgeStream;
+import org.logisticPlanning.tsp.solving.utils.edge.UndirectedPriorityEdgeNeighborList;
+
+/**
+ * A test making sure that the
+ * {@link org.logisticPlanning.tsp.solving.utils.edge.SortedEdgeStream
+ * sorted edge streams} built by the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.heuristics.edgeGreedy.EdgeGreedyHeuristic
+ * edge-greedy} and the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.heuristics.savings.SavingsHeuristic
+ * savings heuristic} from the
+ * {@link org.logisticPlanning.tsp.solving.utils.edge.PackedUndirectedPriorityEdgeNeighborList
+ * packed neighbor list} visit the edges of real instances in exactly the
+ * order of the comparator-based sort of the
+ * {@link org.logisticPlanning.tsp.solving.utils.edge.UndirectedPriorityEdgeNeighborList
+ * object-based neighbor list} which the heuristics used before, including
+ * the order of edges with equal priority.
+ */
+public final class SortedEdgeStreamTest {
+
+  /** the neighbor list length meaning "all edges" */
+  private static final int ALL = 0;
+
+  /** instantiate */
+  public SortedEdgeStreamTest() {
+    super();
+  }
+
+  /**
+   * Get the neighbor list length to use
+   *
+   * @param n
+   *          the number of nodes
+   * @param nls
+   *          the requested neighbor list length, or {@link #ALL}
+   * @return the neighbor list length
+   */
+  private static final int __nls(final int n, final int nls) {
+    return ((nls == SortedEdgeStreamTest.ALL) ? (n - 1) : Math.min(nls,
+        (n - 1)));
+  }
+
+  /**
+   * Check that the stream has the same edges in the same order as the
+   * edge array sorted by the comparator
+   *
+   * @param stream
+   *          the stream
+   * @param edges
+   *          the edge array sorted by the comparator
+   * @param values
+   *          the values of the edges, or {@code null} if the priorities
+   *          are the values
+   * @return the number of edges in the stream which have the same
+   *         priority as their predecessor
+   */
+  private static final int __assertSameOrder(final SortedEdgeStream stream,
+      final PriorityEdge[] edges, final int[] values) {
+    final int size;
+    int i, ties;
+
+    size = stream.size();
+    Assert.assertTrue(size > 0);
+    Assert.assertTrue(size <= edges.length);
+    if (size < edges.length) {
+      Assert.assertNull(edges[size]);
+    }
+
+    ties = 0;
+    for (i = 0; i < size; i++) {
+      Assert.assertNotNull(edges[i]);
+      Assert.assertEquals(edges[i].a, stream.a(i));
+      Assert.assertEquals(edges[i].b, stream.b(i));
+      Assert.assertEquals(((values != null) ? values[i] : edges[i].h),
+          stream.value(i));
+      if ((i > 0) && (edges[i].h == edges[i - 1].h)) {
+        ties++;
+      }
+    }
+
+    return ties;
+  }
+
+  /**
+   * Build the edge stream of the edge-greedy heuristic in the same way as
+   * the heuristic does and compare it with the comparator-based sort.
+   *
+   * @param dist
+   *          the distance computer
+   * @param nls
+   *          the neighbor list length, or {@link #ALL}
+   * @return the number of ties in the stream
+   */
+  private static final int __testEdgeGreedy(final DistanceComputer dist,
+      final int nls) {
+    final int n, len;
+    final UndirectedPriorityEdgeNeighborList<PriorityEdge> objs;
+    final PackedUndirectedPriorityEdgeNeighborList packed;
+    final SortedEdgeStream stream;
+    int i, j, size, edge, d;
+
+    n = dist.n();
+    len = SortedEdgeStreamTest.__nls(n, nls);
+    objs = new UndirectedPriorityEdgeNeighborList<>(n, len);
+    packed = new PackedUndirectedPriorityEdgeNeighborList(n, len);
+    stream = new SortedEdgeStream(n * len);
+
+    for (i = 1; i < n; i++) {
+      for (j = (i + 1); j <= n; j++) {
+        d = dist.distance(i, j);
+        objs.checkIn(i, j, d);
+        packed.checkIn(i, j, d);
+      }
+    }
+
+    size = packed.sort();
+    for (i = 0; i < size; i++) {
+      edge = packed.getSortedEdge(i);
+      stream.add(packed.getA(edge), packed.getB(edge),
+          packed.getPriority(edge));
+    }
+
+    return SortedEdgeStreamTest.__assertSameOrder(stream,
+        objs.getEdgeArray(), null);
+  }
+
+  /**
+   * Build the edge stream of the savings heuristic in the same way as the
+   * heuristic does and compare it with the comparator-based sort.
+   *
+   * @param dist
+   *          the distance computer
+   * @param nls
+   *          the neighbor list length, or {@link #ALL}
+   * @param depot
+   *          the depot
+   * @return the number of ties in the stream
+   */
+  private static final int __testSavings(final DistanceComputer dist,
+      final int nls, final int depot) {
+    final int n, len;
+    final int[] rootDist, values;
+    final SavingsEdgeNeighborhoodList objs;
+    final PackedUndirectedPriorityEdgeNeighborList packed;
+    final SortedEdgeStream stream;
+    final SavingsEdge[] edges;
+    SavingsEdge temp;
+    int i, j, iO, jO, rdi, d, size, edge;
+
+    n = dist.n();
+    len = SortedEdgeStreamTest.__nls((n - 1), nls);
+    objs = new SavingsEdgeNeighborhoodList(n, len);
+    packed = new PackedUndirectedPriorityEdgeNeighborList(n, len);
+    stream = new SortedEdgeStream(n * len);
+
+    rootDist = new int[n - 1];
+    for (i = 1; i < depot; i++) {
+      rootDist[i - 1] = dist.distance(depot, i);
+    }
+    for (i++; i <= n; i++) {
+      rootDist[i - 2] = dist.distance(depot, i);
+    }
+
+    for (i = 1; i < n; i++) {
+      if (i == depot) {
+        continue;
+      }
+      iO = ((i > depot) ? (i - 1) : i);
+      rdi = rootDist[iO - 1];
+      for (j = (i + 1); j <= n; j++) {
+        if (j == depot) {
+          continue;
+        }
+        d = dist.distance(i, j);
+        jO = ((j > depot) ? (j - 1) : j);
+        temp = objs.checkIn(iO, jO, d - rdi - rootDist[jO - 1]);
+        if (temp != null) {
+          temp.distance = d;
+        }
+        packed.checkIn(iO, jO, d - rdi - rootDist[jO - 1], d);
+      }
+    }
+
+    size = packed.sort();
+    for (i = 0; i < size; i++) {
+      edge = packed.getSortedEdge(i);
+      stream.add(packed.getA(edge), packed.getB(edge),
+          packed.getValue(edge));
+    }
+
+    edges = objs.getEdgeArray();
+    values = new int[size];
+    for (i = Math.min(size, edges.length); (--i) >= 0;) {
+      if (edges[i] != null) {
+        values[i] = edges[i].distance;
+      }
+    }
+
+    return SortedEdgeStreamTest.__assertSameOrder(stream, edges, values);
+  }
+
+  /**
+   * Test the edge streams of both heuristics on one instance
+   *
+   * @param inst
+   *          the instance
+   * @throws Throwable
+   *           if loading the instance fails
+   */
+  private static final void __test(final Instance inst) throws Throwable {
+    final DistanceComputer dist;
+    final int n;
+    int ties;
+
+    dist = inst.load(Integer.MAX_VALUE);
+    n = dist.n();
+
+    // the complete edge lists must contain ties for the test to be
+    // meaningful
+    ties = SortedEdgeStreamTest.__testEdgeGreedy(dist,
+        SortedEdgeStreamTest.ALL);
+    Assert.assertTrue(ties > 0);
+    SortedEdgeStreamTest.__testEdgeGreedy(dist, 5);
+
+    for (final int depot : new int[] { 1, ((n + 1) >>> 1), n }) {
+      ties = SortedEdgeStreamTest.__testSavings(dist,
+          SortedEdgeStreamTest.ALL, depot);
+      Assert.assertTrue(ties > 0);
+      SortedEdgeStreamTest.__testSavings(dist, 5, depot);
+    }
+  }
+
+  /**
+   * test the edge streams on the symmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#GR24}
+   *
+   * @throws Throwable
+   *           if loading the instance fails
+   */
+  @Test(timeout = 3600000)
+  public void testSymmetric_GR24() throws Throwable {
+    SortedEdgeStreamTest.__test(Instance.GR24);
+  }
+
+  /**
+   * test the edge streams on the symmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#ATT48}
+   *
+   * @throws Throwable
+   *           if loading the instance fails
+   */
+  @Test(timeout = 3600000)
+  public void testSymmetric_ATT48() throws Throwable {
+    SortedEdgeStreamTest.__test(Instance.ATT48);
+  }
+
+  /**
+   * test the edge streams on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#BR17}
+   *
+   * @throws Throwable
+   *           if loading the instance fails
+   */
+  @Test(timeout = 3600000)
+  public void testAsymmetric_BR17() throws Throwable {
+    SortedEdgeStreamTest.__test(Instance.BR17);
+  }
+
+  /**
+   * test the edge streams on the asymmetric instance
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.Instance#FT53}
+   *
+   * @throws Throwable
+   *           if loading the instance fails
+   */
+  @Test(timeout = 3600000)
+  public void testAsymmetric_FT53() throws Throwable {
+    SortedEdgeStreamTest.__test(Instance.FT53);
+  }
+}
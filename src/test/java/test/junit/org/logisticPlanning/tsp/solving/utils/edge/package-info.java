@@ -0,0 +1,6 @@
+/**
+ * Tests for the {@link org.logisticPlanning.tsp.solving.utils.edge}
+ * package.
+ */
+package test.junit.org.logisticPlanning.tsp.solving.utils.edge;
+
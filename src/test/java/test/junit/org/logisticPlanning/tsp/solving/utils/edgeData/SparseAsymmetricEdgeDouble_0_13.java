@@ -0,0 +1,49 @@
+package test.junit.org.logisticPlanning.tsp.solving.utils.edgeData;
+
+import org.logisticPlanning.tsp.solving.utils.edgeData.EdgeNumber;
+import org.logisticPlanning.tsp.solving.utils.edgeData._SparseEdgeDouble;
+
+/**
+ * Testing a configuration of the sparse EdgeNumber facility.
+ */
+public class SparseAsymmetricEdgeDouble_0_13 extends _EdgeNumberTest {
+
+  /** create the SparseAsymmetricEdgeDouble_0_13 */
+  public SparseAsymmetricEdgeDouble_0_13() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final boolean isSymmetric() {
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int n() {
+    return 13;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long getMaxValue() {
+    return Short.MAX_VALUE;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int floatType() {
+    return 2;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final EdgeNumber allocate(final EdgeNumber old) {
+    if (old != null) {
+      old.clear();
+      return old;
+    }
+    return new _SparseEdgeDouble(this.n(), this.isSymmetric());
+  }
+}
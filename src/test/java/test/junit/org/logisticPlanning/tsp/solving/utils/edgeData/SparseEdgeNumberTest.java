@@ -0,0 +1,162 @@
+package test.junit.org.logisticPlanning.tsp.solving.utils.edgeData;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.eda.templateBasedEHBSA.TemplateBasedEHBSA;
+import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateCanonical;
+import org.logisticPlanning.tsp.solving.utils.edgeData.EdgeBit;
+import org.logisticPlanning.tsp.solving.utils.edgeData.EdgeNumber;
+import org.logisticPlanning.tsp.solving.utils.edgeData._SparseEdgeLong;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TestBase;
+
+/**
+ * Test the choice between dense and sparse edge data and use a sparse
+ * edge histogram like an estimation of distribution algorithm does.
+ */
+public class SparseEdgeNumberTest extends TestBase {
+
+  /** create */
+  public SparseEdgeNumberTest() {
+    super();
+  }
+
+  /** Test whether the allocation picks dense or sparse data correctly */
+  @Test(timeout = 3600000)
+  public void testAllocation() {
+    EdgeNumber e;
+
+    // unknown number of edges per node: always dense
+    e = EdgeNumber.allocate(1000, true, 0, 100, false, 0, null);
+    Assert.assertFalse(e.isSparse());
+
+    // many edges per node compared to n: dense
+    e = EdgeNumber.allocate(1000, true, 0, 100, false, 200, null);
+    Assert.assertFalse(e.isSparse());
+    Assert.assertSame(e,
+        EdgeNumber.allocate(1000, true, 0, 100, false, 200, e));
+
+    // few edges per node compared to n: sparse
+    e = EdgeNumber.allocate(20000, true, 0, 100, false, 200, e);
+    Assert.assertTrue(e.isSparse());
+    Assert.assertFalse(e.areFloatsAllowed());
+    Assert.assertTrue(e.isSymmetric());
+    Assert.assertSame(e,
+        EdgeNumber.allocate(20000, true, 0, 100, false, 200, e));
+    e = EdgeNumber.allocate(20000, false, 0, 100, true, 200, e);
+    Assert.assertTrue(e.isSparse());
+    Assert.assertTrue(e.areFloatsAllowed());
+    Assert.assertFalse(e.isSymmetric());
+
+    // too many nodes for a dense matrix
+    e = EdgeNumber.allocate(50000, true, 0, 100000, false, 20000, null);
+    Assert.assertTrue(e.isSparse());
+
+    // bits
+    e = EdgeNumber.allocate(20000, true, 0, 1, false, 2, null);
+    Assert.assertTrue(e instanceof EdgeBit);
+    Assert.assertTrue(e.isSparse());
+    Assert.assertFalse(EdgeBit.allocate(100, true, 2, null).isSparse());
+  }
+
+  /**
+   * Test whether the edge histogram of the template-based EHBSA in its
+   * default configuration is dense for small and sparse for large
+   * {@code n}
+   */
+  @Test(timeout = 3600000)
+  public void testDefaultEHBSAHistogramAllocation() {
+    int ps;
+
+    for (final int n : new int[] { 1000, 100000 }) {
+      ps = (TemplateBasedEHBSA.DEFAULT_FIXED_POPULATION_SIZE + //
+      ((int) (0.5d + (n * TemplateBasedEHBSA.DEFAULT_POPULATION_SIZE_FACTOR))));
+      for (final boolean symmetric : new boolean[] { true, false }) {
+        Assert.assertEquals((n - 1), TemplateBasedEHBSA
+            .maxHistogramEdgesPerNode(n, ps, symmetric));
+        Assert.assertEquals(
+            (n > 50000),
+            EdgeNumber.allocate(n, symmetric, 0, ps, false,
+                TemplateBasedEHBSA.maxHistogramEdgesPerNode(n, ps,
+                    symmetric), null).isSparse());
+      }
+    }
+
+    Assert.assertEquals(16,
+        TemplateBasedEHBSA.maxHistogramEdgesPerNode(20000, 8, true));
+    Assert.assertEquals(8,
+        TemplateBasedEHBSA.maxHistogramEdgesPerNode(20000, 8, false));
+  }
+
+  /**
+   * Add and remove random tours to and from a sparse edge histogram and
+   * compare with a dense one.
+   */
+  @Test(timeout = 3600000)
+  public void testHistogram() {
+    final Randomizer r;
+    final int n, ps;
+    int[][] pop;
+    EdgeNumber sparse, dense;
+    int[] tour, a, b;
+    int round, i, j, last, count;
+
+    r = new Randomizer();
+    n = 500;
+    ps = 8;
+    a = new int[n];
+    b = new int[n];
+
+    for (final boolean symmetric : new boolean[] { true, false }) {
+      pop = new int[ps][];
+      sparse = new _SparseEdgeLong(n, symmetric);
+      dense = EdgeNumber.allocate(n, symmetric, 0, ps, false, null);
+      Assert.assertFalse(dense.isSparse());
+
+      for (round = 0; round < 400; round++) {
+        i = r.nextInt(ps);
+        tour = pop[i];
+        if (tour != null) {
+          last = tour[n - 1];
+          for (final int k : tour) {
+            sparse.dec(last, k);
+            dense.dec(last, k);
+            last = k;
+          }
+        }
+        tour = pop[i] = PermutationCreateCanonical.canonical(n);
+        r.shuffle(tour, 0, n);
+        last = tour[n - 1];
+        for (final int k : tour) {
+          sparse.inc(last, k);
+          dense.inc(last, k);
+          last = k;
+        }
+
+        if ((round % 50) == 0) {
+          for (i = n; i > 0; i--) {
+            for (j = n; j > 0; j--) {
+              if (i != j) {
+                Assert.assertEquals(dense.getInt(i, j),
+                    sparse.getInt(i, j));
+              }
+            }
+
+            count = dense.getNonZeroEdges(i, a);
+            Assert.assertEquals(count, sparse.getNonZeroEdges(i, b));
+            Assert.assertTrue(count <= TemplateBasedEHBSA
+                .maxHistogramEdgesPerNode(n, ps, symmetric));
+            Arrays.sort(a, 0, count);
+            Arrays.sort(b, 0, count);
+            for (j = count; (--j) >= 0;) {
+              Assert.assertEquals(a[j], b[j]);
+            }
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package test.junit.org.logisticPlanning.tsp.solving.utils.edgeData;
+
+import org.logisticPlanning.tsp.solving.utils.edgeData.EdgeBit;
+import org.logisticPlanning.tsp.solving.utils.edgeData._SparseEdgeBit;
+
+/**
+ * The test for sparse symmetric edge bits
+ */
+public class SparseSymmetricEdgeBitTest extends _SymmetricEdgeBitTest {
+
+  /** instantiate */
+  public SparseSymmetricEdgeBitTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected EdgeBit instantiate(final int n) {
+    return new _SparseEdgeBit(n, true);
+  }
+}
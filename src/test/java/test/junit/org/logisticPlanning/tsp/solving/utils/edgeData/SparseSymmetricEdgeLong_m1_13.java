@@ -0,0 +1,49 @@
+package test.junit.org.logisticPlanning.tsp.solving.utils.edgeData;
+
+import org.logisticPlanning.tsp.solving.utils.edgeData.EdgeNumber;
+import org.logisticPlanning.tsp.solving.utils.edgeData._SparseEdgeLong;
+
+/**
+ * Testing a configuration of the sparse EdgeNumber facility.
+ */
+public class SparseSymmetricEdgeLong_m1_13 extends _EdgeNumberTest {
+
+  /** create the SparseSymmetricEdgeLong_m1_13 */
+  public SparseSymmetricEdgeLong_m1_13() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final boolean isSymmetric() {
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int n() {
+    return 13;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long getMaxValue() {
+    return ((java.lang.Long.MAX_VALUE) + (-1l));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int floatType() {
+    return 0;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final EdgeNumber allocate(final EdgeNumber old) {
+    if (old != null) {
+      old.clear();
+      return old;
+    }
+    return new _SparseEdgeLong(this.n(), this.isSymmetric());
+  }
+}
@@ -68,19 +68,28 @@ public abstract class _EdgeNumberTest extends TestBase {
    * @return the edge bit set
    */
   protected final EdgeNumber get() {
+    return (this.m_inst = this.allocate(this.m_inst));
+  }
+
+  /**
+   * Allocate the edge number instance
+   *
+   * @param old
+   *          the old instance, or {@code null}
+   * @return the edge number instance
+   */
+  EdgeNumber allocate(final EdgeNumber old) {
     final int ft;
 
     ft = this.floatType();
 
     if (ft <= 1) {
-      return (this.m_inst = EdgeNumber.allocate(this.n(),
-          this.isSymmetric(), this.getMinValue(), this.getMaxValue(),
-          (ft != 0), this.m_inst));
+      return EdgeNumber.allocate(this.n(), this.isSymmetric(),
+          this.getMinValue(), this.getMaxValue(), (ft != 0), old);
     }
 
-    return (this.m_inst = EdgeNumber.allocate(this.n(),
-        this.isSymmetric(), Double.NEGATIVE_INFINITY,
-        Double.POSITIVE_INFINITY, true, this.m_inst));
+    return EdgeNumber.allocate(this.n(), this.isSymmetric(),
+        Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true, old);
   }
 
   /** Test the instance features */
@@ -8,6 +8,8 @@ import org.junit.Test;
 import org.logisticPlanning.utils.math.data.collection.ListCollection;
 import org.logisticPlanning.utils.math.data.iteration.BoundsReducingIterator2D;
 import org.logisticPlanning.utils.math.data.iteration.DataCollectionIterator2D;
+import org.logisticPlanning.utils.math.data.iteration.LargestTriangleThreeBucketsIterator2D;
+import org.logisticPlanning.utils.math.data.iteration.StairsBucketReducingIterator2D;
 import org.logisticPlanning.utils.math.data.iteration.StairsKeepLeftIterator2D;
 import org.logisticPlanning.utils.math.data.iteration.StraightReducingIterator2D;
 import org.logisticPlanning.utils.math.data.point.Point2D;
@@ -189,4 +191,81 @@ public class IteratorTests extends TestBase {
     Assert.assertEquals(list.get(10), it.next());
     Assert.assertFalse(it.hasNext());
   }
+
+  /** test the LTTB reduction */
+  @Test(timeout = 3600000)
+  public void testLargestTriangleThreeBucketsIterator2D() {
+    final ArrayList<Point2D> list;
+    Iterator<Point2D> it;
+    Point2D p, last;
+    int i, count;
+    double maxY;
+
+    list = new ArrayList<>();
+    for (i = 0; i < 10000; i++) {
+      list.add(new Point2D(i, ((i == 4321) ? 100d : Math.sin(i / 100d))));
+    }
+
+    it = new LargestTriangleThreeBucketsIterator2D(//
+        new DataCollectionIterator2D(null, new ListCollection(list, 2),
+            null), 100);
+
+    count = 0;
+    last = null;
+    maxY = Double.NEGATIVE_INFINITY;
+    while (it.hasNext()) {
+      p = it.next();
+      if (last == null) {
+        Assert.assertEquals(list.get(0), p);
+      } else {
+        Assert.assertTrue(p.getX() > last.getX());
+      }
+      maxY = Math.max(maxY, p.getY());
+      last = p;
+      count++;
+    }
+    Assert.assertEquals(100, count);
+    Assert.assertEquals(list.get(list.size() - 1), last);
+    Assert.assertEquals(100d, maxY, 0d);// the peak must be kept
+
+    // short lines are not changed
+    it = new LargestTriangleThreeBucketsIterator2D(//
+        new DataCollectionIterator2D(null, new ListCollection(
+            list.subList(0, 50), 2), null), 100);
+    for (i = 0; i < 50; i++) {
+      Assert.assertEquals(list.get(i), it.next());
+    }
+    Assert.assertFalse(it.hasNext());
+  }
+
+  /** test the stairs-preserving bucket reduction */
+  @Test(timeout = 3600000)
+  public void testStairsBucketReducingIterator2D() {
+    final ArrayList<Point2D> list;
+    final Iterator<Point2D> it;
+
+    list = new ArrayList<>();
+    list.add(new Point2D(0d, 5d));// 0: bucket 0, first
+    list.add(new Point2D(0.2d, 7d));// 1: bucket 0
+    list.add(new Point2D(0.4d, 9d));// 2: bucket 0, max
+    list.add(new Point2D(0.6d, 1d));// 3: bucket 0, min
+    list.add(new Point2D(0.8d, 4d));// 4: bucket 0, last
+    list.add(new Point2D(1.5d, 3d));// 5: bucket 1, only point
+    list.add(new Point2D(2.1d, 2d));// 6: bucket 2, first and max
+    list.add(new Point2D(2.5d, 1d));// 7: bucket 2, min and last
+    list.add(new Point2D(3d, 0d));// 8: bucket 2 (clamped), min and last
+
+    it = new StairsBucketReducingIterator2D(//
+        new DataCollectionIterator2D(null, new ListCollection(list, 2),
+            null), 0d, 3d, 3);
+
+    Assert.assertEquals(list.get(0), it.next());
+    Assert.assertEquals(list.get(2), it.next());
+    Assert.assertEquals(list.get(3), it.next());
+    Assert.assertEquals(list.get(4), it.next());
+    Assert.assertEquals(list.get(5), it.next());
+    Assert.assertEquals(list.get(6), it.next());
+    Assert.assertEquals(list.get(8), it.next());
+    Assert.assertFalse(it.hasNext());
+  }
 }
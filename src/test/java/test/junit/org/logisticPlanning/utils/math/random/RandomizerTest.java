@@ -150,4 +150,104 @@ public class RandomizerTest extends TestBase {
     }
   }
 
+  /**
+   * Test whether the bulk methods produce exactly the same numbers as the
+   * single calls. This should never fail.
+   */
+  @Test(timeout = 3600000)
+  public void testRandomizerBulkSameAsSingle() {
+    final Randomizer a, b;
+    final Random seed;
+    final int[] ints;
+    final double[] doubles;
+    int i, j, bound;
+    long s;
+
+    a = this.createRandomizer();
+    b = this.createRandomizer();
+    seed = new Random();
+    ints = new int[100];
+    doubles = new double[100];
+
+    for (i = 1; i < 10000; i++) {
+      s = seed.nextLong();
+      a.setSeed(s);
+      b.setSeed(s);
+      bound = ((i & 1) == 0) ? (1 << seed.nextInt(31))
+          : (1 + seed.nextInt(Integer.MAX_VALUE));
+
+      a.nextInts(ints, 3, 90, bound);
+      for (j = 3; j < 93; j++) {
+        Assert.assertEquals(b.nextInt(bound), ints[j]);
+      }
+      a.nextDoubles(doubles, 5, 80);
+      for (j = 5; j < 85; j++) {
+        Assert.assertEquals(Double.doubleToLongBits(b.nextDouble()),
+            Double.doubleToLongBits(doubles[j]));
+      }
+      Assert.assertEquals(b.nextLong(), a.nextLong());
+    }
+  }
+
+  /**
+   * Test whether jumping ahead is the same as drawing numbers and whether
+   * jumping back restores the state. This should never fail.
+   */
+  @Test(timeout = 3600000)
+  public void testRandomizerJump() {
+    final Randomizer a, b;
+    final Random seed;
+    int i, j, steps;
+    long s, r;
+
+    a = this.createRandomizer();
+    b = this.createRandomizer();
+    seed = new Random();
+
+    for (i = 1; i < 10000; i++) {
+      s = seed.nextLong();
+      a.setSeed(s);
+      b.setSeed(s);
+      steps = seed.nextInt(1000);
+
+      a.jump(steps);
+      for (j = steps; (--j) >= 0;) {
+        b.nextInt();
+      }
+      r = a.nextLong();
+      Assert.assertEquals(b.nextLong(), r);
+
+      a.jump(-(steps + 2));
+      a.jump(steps + 2);
+      Assert.assertEquals(b.nextLong(), a.nextLong());
+    }
+  }
+
+  /**
+   * Test whether splitting is deterministic and yields different streams.
+   * This should never fail.
+   */
+  @Test(timeout = 3600000)
+  public void testRandomizerSplit() {
+    final Randomizer a, b;
+    final Random seed;
+    Randomizer ca, cb;
+    long s;
+
+    a = this.createRandomizer();
+    b = this.createRandomizer();
+    seed = new Random();
+
+    for (int i = 1; i < 100000; i++) {
+      s = seed.nextLong();
+      a.setSeed(s);
+      b.setSeed(s);
+
+      ca = a.split();
+      cb = b.split();
+      Assert.assertEquals(ca.nextLong(), cb.nextLong());
+      Assert.assertEquals(a.nextLong(), b.nextLong());
+      Assert.assertFalse(ca.nextLong() == a.nextLong());
+    }
+  }
 }
@@ -0,0 +1,182 @@
+package test.junit.org.logisticPlanning.utils.math.statistics.aggregates;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.utils.math.statistics.Quantile;
+import org.logisticPlanning.utils.math.statistics.aggregates.QuantileSketch;
+
+import test.junit.TestBase;
+
+/**
+ * the test for the
+ * {@link org.logisticPlanning.utils.math.statistics.aggregates.QuantileSketch}
+ * class.
+ */
+public class QuantileSketchTest extends TestBase {
+
+  /** the quantiles to check */
+  private static final double[] QUANTILES = { 0d, 0.01d, 0.05d, 0.25d,
+      0.5d, 0.75d, 0.95d, 0.99d, 1d };
+
+  /** create */
+  public QuantileSketchTest() {
+    super();
+  }
+
+  /**
+   * Check the quantiles of a sketch against the exact quantiles of the
+   * sorted data
+   *
+   * @param sketch
+   *          the sketch
+   * @param sorted
+   *          the sorted data
+   * @param exact
+   *          should the results be exact?
+   */
+  private static final void __check(final QuantileSketch sketch,
+      final double[] sorted, final boolean exact) {
+    double q, v, tolerance;
+    int low, high;
+
+    Assert.assertEquals(sorted.length, sketch.getCount());
+    tolerance = (3d * sketch.getRankError() * sorted.length);
+
+    for (final double quantile : QuantileSketchTest.QUANTILES) {
+      q = Quantile.getQuantile(sorted, 0, sorted.length, quantile);
+      v = sketch.getQuantile(quantile);
+      if (exact || (quantile <= 0d) || (quantile >= 1d)) {
+        Assert.assertEquals(q, v, 0d);
+        continue;
+      }
+
+      // the rank of the approximate value must be close to the requested
+      // one
+      low = Arrays.binarySearch(sorted, Math.nextAfter(v,
+          Double.NEGATIVE_INFINITY));
+      high = Arrays.binarySearch(sorted, Math.nextUp(v));
+      low = ((low < 0) ? (-(low + 1)) : low);
+      high = ((high < 0) ? (-(high + 1)) : high);
+      Assert.assertTrue(
+          (quantile * sorted.length) >= (low - tolerance));
+      Assert.assertTrue(
+          (quantile * sorted.length) <= (high + tolerance));
+    }
+  }
+
+  /**
+   * Create random data
+   *
+   * @param r
+   *          the random number generator
+   * @param n
+   *          the number of values
+   * @return the data
+   */
+  private static final double[] __data(final Random r, final int n) {
+    final double[] data;
+    int i;
+
+    data = new double[n];
+    for (i = n; (--i) >= 0;) {
+      data[i] = ((r.nextInt(3) <= 0) ? r.nextInt(100) : //
+          r.nextGaussian() * 1000d);
+    }
+    return data;
+  }
+
+  /**
+   * Test whether the sketch is exact as long as it did not need to
+   * discard any value
+   */
+  @Test(timeout = 3600000)
+  public void testExactForSmallData() {
+    final Random r;
+    QuantileSketch sketch;
+    double[] data;
+    int n;
+
+    r = new Random();
+    for (n = 1; n < QuantileSketch.DEFAULT_K; n++) {
+      data = QuantileSketchTest.__data(r, n);
+      sketch = new QuantileSketch();
+      for (final double d : data) {
+        sketch.visitDouble(d);
+      }
+      Arrays.sort(data);
+      QuantileSketchTest.__check(sketch, data, true);
+      Assert.assertEquals(
+          Quantile.getQuantile(data, 0, data.length, 0.5d),
+          sketch.getResult(), 0d);
+    }
+  }
+
+  /** Test the approximation quality for large data */
+  @Test(timeout = 3600000)
+  public void testApproximationForLargeData() {
+    final Random r;
+    QuantileSketch sketch;
+    double[] data;
+
+    r = new Random();
+    for (final int n : new int[] { 1000, 10000, 100000, 1000000 }) {
+      data = QuantileSketchTest.__data(r, n);
+      sketch = new QuantileSketch(0.5d, QuantileSketch.getK(0.01d));
+      for (final double d : data) {
+        sketch.visitDouble(d);
+      }
+      Arrays.sort(data);
+      QuantileSketchTest.__check(sketch, data, false);
+    }
+  }
+
+  /** Test whether merged sketches have the same accuracy */
+  @Test(timeout = 3600000)
+  public void testMerge() {
+    final Random r;
+    final QuantileSketch[] sketches;
+    final QuantileSketch merged;
+    final double[] data;
+    int i;
+
+    r = new Random();
+    data = QuantileSketchTest.__data(r, 200000);
+    sketches = new QuantileSketch[7];
+    for (i = sketches.length; (--i) >= 0;) {
+      sketches[i] = new QuantileSketch();
+    }
+    for (i = data.length; (--i) >= 0;) {
+      sketches[i % sketches.length].visitDouble(data[i]);
+    }
+
+    merged = new QuantileSketch();
+    for (final QuantileSketch s : sketches) {
+      merged.merge(s);
+    }
+    Arrays.sort(data);
+    QuantileSketchTest.__check(merged, data, false);
+  }
+
+  /** Test resetting and cloning */
+  @Test(timeout = 3600000)
+  public void testResetAndClone() {
+    final QuantileSketch a;
+    final QuantileSketch b;
+    int i;
+
+    a = new QuantileSketch(0.25d, QuantileSketch.MIN_K);
+    for (i = 0; i < 1000; i++) {
+      a.visitDouble(i);
+    }
+    b = a.clone();
+    a.reset();
+    Assert.assertEquals(0L, a.getCount());
+    Assert.assertTrue(Double.isNaN(a.getResult()));
+    Assert.assertEquals(1000L, b.getCount());
+    Assert.assertEquals(0d, b.getQuantile(0d), 0d);
+    Assert.assertEquals(999d, b.getQuantile(1d), 0d);
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Here we test the aggregates from package
+ * {@link org.logisticPlanning.utils.math.statistics.aggregates}.
+ */
+package test.junit.org.logisticPlanning.utils.math.statistics.aggregates;
+
@@ -0,0 +1,6 @@
+/**
+ * Here we test the statistics utilities from package
+ * {@link org.logisticPlanning.utils.math.statistics}.
+ */
+package test.junit.org.logisticPlanning.utils.math.statistics;
+
@@ -0,0 +1,305 @@
+package test.junit.org.logisticPlanning.utils.math.statistics.series;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.utils.math.data.collection.ArrayDataCollectionView;
+import org.logisticPlanning.utils.math.data.collection.IDataCollection;
+import org.logisticPlanning.utils.math.statistics.aggregates.OrderStatisticInfo;
+import org.logisticPlanning.utils.math.statistics.series.StatisticSeries;
+
+import test.junit.TestBase;
+
+/**
+ * the test for the
+ * {@link org.logisticPlanning.utils.math.statistics.series.StatisticSeries}
+ * class: the series must be exactly the same as the ones created by the
+ * original algorithm, which re-scanned all sources for each point and
+ * sorted their values.
+ */
+public class StatisticSeriesTest extends TestBase {
+
+  /** create */
+  public StatisticSeriesTest() {
+    super();
+  }
+
+  /**
+   * The original algorithm for creating the series, kept as reference
+   *
+   * @param source
+   *          the source array
+   * @param dimX
+   *          the indexing dimension
+   * @param dimY
+   *          the data value dimension
+   * @param approxMaxPoints
+   *          the approximate number of maximum points along the x-axis
+   * @param beginWhenDataIsThereForAllCollections
+   *          begin the series at the first point where data exists from
+   *          all collections
+   * @return the series data
+   */
+  private static final double[] __reference(
+      final IDataCollection[] source, final int dimX, final int dimY,
+      final int approxMaxPoints,
+      final boolean beginWhenDataIsThereForAllCollections) {
+    final int[] indexes;
+    final double[] data;
+    final int sourceCount;
+    final OrderStatisticInfo info;
+    final double skip;
+    boolean noNewPoint;
+    double[] buffer;
+    double lastX, curX, x, lastY, currentSkip;
+    IDataCollection r;
+    int i, j, e, size, capacity, index, dataSize, inc;
+
+    sourceCount = source.length;
+    capacity = 0;
+    for (final IDataCollection c : source) {
+      capacity += c.size();
+    }
+    x = (((double) capacity) / approxMaxPoints);
+    skip = (((approxMaxPoints > 0) && (capacity > approxMaxPoints) && //
+    (x > 1d)) ? x : 0d);
+
+    curX = Double.NaN;
+    index = size = 0;
+    buffer = new double[capacity * StatisticSeries.STATISTIC_SERIES_DIM];
+    indexes = new int[sourceCount];
+    data = new double[sourceCount];
+    Arrays.fill(data, Double.NaN);
+    info = new OrderStatisticInfo();
+    currentSkip = Double.POSITIVE_INFINITY;
+    dataSize = 0;
+
+    outer: for (;;) {
+      lastX = curX;
+      curX = Double.POSITIVE_INFINITY;
+      noNewPoint = true;
+      inc = 1;
+      inner: for (i = sourceCount; (--i) >= 0;) {
+        lastY = data[i];
+        r = source[i];
+        e = r.size();
+        for (j = indexes[i]; j < e; j++) {
+          x = r.get(j, dimX);
+          if (x <= lastX) {
+            continue;
+          }
+          if (r.get(j, dimY) == lastY) {
+            continue;
+          }
+          noNewPoint = false;
+          if (x < curX) {
+            curX = x;
+            inc = 1;
+          } else {
+            if (x <= curX) {
+              inc++;
+            }
+          }
+          continue inner;
+        }
+      }
+
+      if (noNewPoint) {
+        break outer;
+      }
+      if (Math.abs(curX) <= 0d) {
+        curX = 0d;
+      }
+
+      currentSkip += inc;
+      if (currentSkip < skip) {
+        continue outer;
+      }
+      currentSkip -= skip;
+      if ((currentSkip >= Double.POSITIVE_INFINITY) || (currentSkip <= 0d)) {
+        currentSkip = Math.max((inc - skip), 0d);
+      }
+
+      dataSize = 0;
+      info.reset();
+      for (i = sourceCount; (--i) >= 0;) {
+        r = source[i];
+        e = r.size();
+        for (j = indexes[i]; j < e; j++) {
+          if (r.get(j, dimX) > curX) {
+            break;
+          }
+        }
+        j--;
+        if (j >= 0) {
+          indexes[i] = j;
+          data[dataSize++] = lastY = r.get(j, dimY);
+          info.visitDouble(lastY);
+        }
+      }
+
+      if (beginWhenDataIsThereForAllCollections
+          && (info.getCount() < sourceCount)) {
+        continue;
+      }
+
+      StatisticSeriesTest.__store(buffer, index, curX, info);
+      size++;
+      index += StatisticSeries.STATISTIC_SERIES_DIM;
+    }
+
+    if (currentSkip > 0d) {
+      curX = Double.NEGATIVE_INFINITY;
+      info.reset();
+      for (i = sourceCount; (--i) >= 0;) {
+        r = source[i];
+        e = (r.size() - 1);
+        x = r.get(e, dimX);
+        if (x > curX) {
+          curX = x;
+        }
+        info.visitDouble(r.get(e, dimY));
+      }
+
+      if (((!beginWhenDataIsThereForAllCollections) || //
+          (info.getCount() >= sourceCount))
+          && ((index < StatisticSeries.STATISTIC_SERIES_DIM) || //
+          (buffer[(index + StatisticSeries.DIM_X)
+              - StatisticSeries.STATISTIC_SERIES_DIM] < curX))) {
+        StatisticSeriesTest.__store(buffer, index, curX, info);
+        size++;
+        index += StatisticSeries.STATISTIC_SERIES_DIM;
+      }
+    }
+
+    return Arrays.copyOf(buffer, index);
+  }
+
+  /**
+   * Store a point of the reference series
+   *
+   * @param buffer
+   *          the buffer
+   * @param index
+   *          the index
+   * @param curX
+   *          the current x
+   * @param info
+   *          the info
+   */
+  private static final void __store(final double[] buffer,
+      final int index, final double curX, final OrderStatisticInfo info) {
+    buffer[index + StatisticSeries.DIM_Y_MIN] = info.getMinimum();
+    buffer[index + StatisticSeries.DIM_Y_Q05] = info.getQuantile(0.05d);
+    buffer[index + StatisticSeries.DIM_Y_Q25] = info.getQuantile(0.25d);
+    buffer[index + StatisticSeries.DIM_Y_MEDIAN] = info.getQuantile(0.5d);
+    buffer[index + StatisticSeries.DIM_Y_Q75] = info.getQuantile(0.75d);
+    buffer[index + StatisticSeries.DIM_Y_Q95] = info.getQuantile(0.95d);
+    buffer[index + StatisticSeries.DIM_Y_MAX] = info.getMaximum();
+    buffer[index + StatisticSeries.DIM_Y_MEAN] = info.getArithmeticMean();
+    buffer[index + StatisticSeries.DIM_Y_VARIANCE] = info.getVariance();
+    buffer[index + StatisticSeries.DIM_COUNT] = info.getCount();
+    buffer[index + StatisticSeries.DIM_X] = curX;
+  }
+
+  /**
+   * Create a random run: a data collection whose first dimension rises
+   * monotonously
+   *
+   * @param r
+   *          the random number generator
+   * @param fewValues
+   *          should the second dimension only take few distinct values,
+   *          so that runs share values and values repeat?
+   * @return the run
+   */
+  private static final IDataCollection __run(final Random r,
+      final boolean fewValues) {
+    final double[] data;
+    final int size;
+    double x, y;
+    int i;
+
+    size = (1 + r.nextInt(200));
+    data = new double[size << 1];
+    x = r.nextInt(30);
+    y = (fewValues ? r.nextInt(6) : r.nextDouble());
+    for (i = 0; i < size; i++) {
+      data[i << 1] = x;
+      data[(i << 1) + 1] = y;
+      x += r.nextInt(4);
+      if (fewValues) {
+        if (r.nextInt(3) == 0) {
+          y = r.nextInt(6);
+        }
+      } else {
+        y -= (0.1d * r.nextDouble());
+      }
+    }
+    return new ArrayDataCollectionView(data, size, 2);
+  }
+
+  /**
+   * compare the series with the reference on random run sets
+   *
+   * @param fewValues
+   *          should the y-values only take few distinct values?
+   */
+  private static final void __testRandom(final boolean fewValues) {
+    final Random r;
+    final int[] runCounts, maxPoints;
+    IDataCollection[] runs;
+    StatisticSeries series;
+    double[] expected;
+    int round, i, j;
+
+    r = new Random();
+    runCounts = new int[] { 1, 2, 5, 30, 100 };
+    maxPoints = new int[] { -1, 10, 100, 1000 };
+
+    for (round = 0; round < 200; round++) {
+      runs = new IDataCollection[runCounts[r.nextInt(runCounts.length)]];
+      for (i = runs.length; (--i) >= 0;) {
+        runs[i] = StatisticSeriesTest.__run(r, fewValues);
+      }
+
+      for (final int max : maxPoints) {
+        for (final boolean all : new boolean[] { true, false }) {
+          expected = StatisticSeriesTest.__reference(runs, 0, 1, max, all);
+          series = new StatisticSeries(runs, 0, 1, max, all);
+
+          Assert.assertEquals(
+              (expected.length / StatisticSeries.STATISTIC_SERIES_DIM),
+              series.size());
+          for (i = series.size(); (--i) >= 0;) {
+            for (j = StatisticSeries.STATISTIC_SERIES_DIM; (--j) >= 0;) {
+              Assert.assertEquals(Double.doubleToLongBits(//
+                  expected[(i * StatisticSeries.STATISTIC_SERIES_DIM) + j]),
+                  Double.doubleToLongBits(series.get(i, j)));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * compare the series with the reference on random run sets where runs
+   * share and repeat their y-values
+   */
+  @Test(timeout = 3600000)
+  public void testRandomRunsFewValues() {
+    StatisticSeriesTest.__testRandom(true);
+  }
+
+  /**
+   * compare the series with the reference on random run sets where the
+   * y-values of each run fall strictly
+   */
+  @Test(timeout = 3600000)
+  public void testRandomRunsDistinctValues() {
+    StatisticSeriesTest.__testRandom(false);
+  }
+}
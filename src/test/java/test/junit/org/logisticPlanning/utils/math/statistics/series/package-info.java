@@ -0,0 +1,6 @@
+/**
+ * Here we test the statistic series from package
+ * {@link org.logisticPlanning.utils.math.statistics.series}.
+ */
+package test.junit.org.logisticPlanning.utils.math.statistics.series;
+
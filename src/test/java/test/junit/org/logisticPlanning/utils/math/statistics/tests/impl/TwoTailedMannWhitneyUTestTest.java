@@ -0,0 +1,192 @@
+package test.junit.org.logisticPlanning.utils.math.statistics.tests.impl;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.utils.math.data.collection.ArrayDataCollectionView;
+import org.logisticPlanning.utils.math.data.collection.IDataCollection;
+import org.logisticPlanning.utils.math.functions.stochastic.NormalCDF;
+import org.logisticPlanning.utils.math.statistics.tests.impl.TwoTailedMannWhitneyUTest;
+import org.logisticPlanning.utils.math.statistics.tests.spec.BivariateTwoTailedTest;
+import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTest;
+import org.logisticPlanning.utils.math.statistics.tests.spec.MultivariateTestResult;
+
+import test.junit.TestBase;
+
+/**
+ * the test for the
+ * {@link org.logisticPlanning.utils.math.statistics.tests.impl.TwoTailedMannWhitneyUTest}
+ * class: the results must be exactly the same as the ones of the original
+ * implementation, which ranked the union of each pair of samples from
+ * scratch.
+ */
+public class TwoTailedMannWhitneyUTestTest extends TestBase {
+
+  /** create */
+  public TwoTailedMannWhitneyUTestTest() {
+    super();
+  }
+
+  /**
+   * Create a random sample
+   *
+   * @param r
+   *          the random number generator
+   * @param fewValues
+   *          should the sample only take few distinct values, so that
+   *          there are many ties?
+   * @return the sample
+   */
+  private static final IDataCollection __sample(final Random r,
+      final boolean fewValues) {
+    final double[] data;
+    int i;
+
+    data = new double[1 + r.nextInt(60)];
+    for (i = data.length; (--i) >= 0;) {
+      if (fewValues) {
+        switch (r.nextInt(10)) {
+          case 0: {
+            data[i] = (-0d);
+            break;
+          }
+          case 1: {
+            data[i] = 0d;
+            break;
+          }
+          default: {
+            data[i] = r.nextInt(8);
+          }
+        }
+      } else {
+        data[i] = r.nextGaussian();
+      }
+    }
+    return new ArrayDataCollectionView(data, data.length, 1);
+  }
+
+  /**
+   * compare the test with the reference on random samples
+   *
+   * @param fewValues
+   *          should the samples only take few distinct values?
+   */
+  private static final void __testRandom(final boolean fewValues) {
+    final Random r;
+    final TwoTailedMannWhitneyUTest test;
+    final _ReferenceMannWhitneyUTest ref;
+    IDataCollection[] samples;
+    MultivariateTestResult a, b;
+    int round, i, j;
+
+    r = new Random();
+    test = new TwoTailedMannWhitneyUTest();
+    ref = new _ReferenceMannWhitneyUTest();
+
+    for (round = 0; round < 1000; round++) {
+      samples = new IDataCollection[2 + r.nextInt(10)];
+      for (i = samples.length; (--i) >= 0;) {
+        samples[i] = TwoTailedMannWhitneyUTestTest.__sample(r, fewValues);
+      }
+
+      a = ref.test(null, 0, samples);
+      b = test.test(null, 0, samples);
+
+      Assert.assertEquals(a.n(), b.n());
+      for (i = samples.length; (--i) >= 0;) {
+        for (j = samples.length; (--j) >= 0;) {
+          if (i != j) {
+            Assert.assertEquals(a.compare(i, j), b.compare(i, j));
+            Assert.assertEquals(
+                Double.doubleToLongBits(a.getErrorProbability(i, j)),
+                Double.doubleToLongBits(b.getErrorProbability(i, j)));
+          }
+        }
+      }
+    }
+  }
+
+  /** compare the test with the reference on samples with many ties */
+  @Test(timeout = 3600000)
+  public void testRandomSamplesFewValues() {
+    TwoTailedMannWhitneyUTestTest.__testRandom(true);
+  }
+
+  /** compare the test with the reference on samples without ties */
+  @Test(timeout = 3600000)
+  public void testRandomSamplesDistinctValues() {
+    TwoTailedMannWhitneyUTestTest.__testRandom(false);
+  }
+
+  /**
+   * The original implementation of the Mann-Whitney U test, which ranks
+   * the union of each pair of samples from scratch, kept as reference.
+   */
+  private static final class _ReferenceMannWhitneyUTest extends
+      BivariateTwoTailedTest {
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** create */
+    _ReferenceMannWhitneyUTest() {
+      super("ReferenceMannWhitneyUTest"); //$NON-NLS-1$
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void doTest(final MultivariateTestResult dest,
+        final int dim, final IDataCollection a, final IDataCollection b,
+        final int i, final int j) {
+      final int l1, l2, l;
+      final double[] srt, data, ranks;
+      double rs1, d, e, rs2, u, p;
+      int ii, jj;
+
+      l1 = a.size();
+      l2 = b.size();
+      l = (l1 + l2);
+
+      srt = new double[l];
+      data = new double[l1];
+      for (ii = l1; (--ii) >= 0;) {
+        srt[ii] = data[ii] = a.get(ii, dim);
+      }
+      jj = l1;
+      for (ii = l2; (--ii) >= 0;) {
+        srt[jj++] = b.get(ii, dim);
+      }
+      Arrays.sort(srt, 0, l);
+
+      ranks = new double[l];
+      ii = 0;
+      while (ii < l) {
+        jj = ii;
+        d = srt[ii];
+        while ((jj < l)
+            && ((d == (e = srt[jj])) || (Double.compare(d, e) == 0))) {
+          jj++;
+        }
+
+        Arrays.fill(ranks, ii, jj, (ii + (((jj - ii) + 1) * 0.5d)));
+        ii = jj;
+      }
+
+      rs1 = 0d;
+      for (ii = l1; (--ii) >= 0;) {
+        rs1 += ranks[Arrays.binarySearch(srt, 0, l, data[ii])];
+      }
+
+      rs2 = (((0.5d * l) * (l + 1)) - rs1);
+      u = Math.min(rs1 - ((0.5d * l1) * (l1 + 1)), rs2
+          - ((0.5d * l2) * (l2 + 1)));
+
+      p = (1d - NormalCDF.INSTANCE.compute((((0.5d * l1) * l2) - u)
+          / Math.sqrt((((1d / 12d) * l1) * l2) * (l + 1))));
+
+      MultivariateTest.setResult(dest, i, j,
+          Double.compare((rs1 / l1), (rs2 / l2)), (p + p));
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Here we test the statistical tests from package
+ * {@link org.logisticPlanning.utils.math.statistics.tests.impl}.
+ */
+package test.junit.org.logisticPlanning.utils.math.statistics.tests.impl;
+